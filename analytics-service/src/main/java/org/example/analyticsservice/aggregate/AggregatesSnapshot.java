@@ -0,0 +1,20 @@
+package org.example.analyticsservice.aggregate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serializable copy of {@link LiveAggregates}, together with the last applied offset of every
+ * partition so consumption resumes exactly where the copy was taken.
+ */
+public record AggregatesSnapshot(
+        Instant takenAt,
+        Map<String, Map<Integer, Long>> offsets,
+        List<MinuteStats> minutes,
+        List<RankingSlot> trips
+) {
+
+    public record RankingSlot(long hour, long[][] sketch, Map<UUID, Long> candidates) {}
+}
@@ -0,0 +1,65 @@
+package org.example.analyticsservice.aggregate;
+
+import org.example.kafka.event.BookingFailedEvent;
+import org.example.kafka.event.OrderCancelledEvent;
+import org.example.kafka.event.OrderConfirmedEvent;
+import org.example.kafka.event.OrderCreatedEvent;
+import org.example.kafka.event.PaymentFailedEvent;
+import org.example.kafka.event.PaymentSucceededEvent;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One consumed event reduced to what the aggregates need. Trip, seats and revenue are only
+ * known for confirmed orders; {@code fallbackTime} (the record timestamp) is used when an
+ * older payload carries no time of its own.
+ */
+public record AnalyticsEvent(
+        UUID eventId,
+        Instant occurredAt,
+        FunnelStage stage,
+        UUID tripId,
+        int seats,
+        BigDecimal revenue
+) {
+
+    public static AnalyticsEvent of(OrderCreatedEvent event, Instant fallbackTime) {
+        return simple(event.eventId(), orElse(event.createdAt(), fallbackTime), FunnelStage.ORDER_CREATED);
+    }
+
+    public static AnalyticsEvent of(OrderConfirmedEvent event, Instant fallbackTime) {
+        return new AnalyticsEvent(
+                event.eventId(),
+                orElse(event.confirmedAt(), fallbackTime),
+                FunnelStage.ORDER_CONFIRMED,
+                event.tripId(),
+                event.seatsCount() != null ? event.seatsCount() : 0,
+                event.totalPrice() != null ? event.totalPrice() : BigDecimal.ZERO);
+    }
+
+    public static AnalyticsEvent of(OrderCancelledEvent event, Instant fallbackTime) {
+        return simple(event.eventId(), orElse(event.cancelledAt(), fallbackTime), FunnelStage.ORDER_CANCELLED);
+    }
+
+    public static AnalyticsEvent of(PaymentSucceededEvent event, Instant fallbackTime) {
+        return simple(event.eventId(), orElse(event.paidAt(), fallbackTime), FunnelStage.PAYMENT_SUCCEEDED);
+    }
+
+    public static AnalyticsEvent of(PaymentFailedEvent event, Instant fallbackTime) {
+        return simple(event.eventId(), orElse(event.failedAt(), fallbackTime), FunnelStage.PAYMENT_FAILED);
+    }
+
+    public static AnalyticsEvent of(BookingFailedEvent event, Instant fallbackTime) {
+        return simple(event.eventId(), orElse(event.timestamp(), fallbackTime), FunnelStage.BOOKING_FAILED);
+    }
+
+    private static AnalyticsEvent simple(UUID eventId, Instant occurredAt, FunnelStage stage) {
+        return new AnalyticsEvent(eventId, occurredAt, stage, null, 0, BigDecimal.ZERO);
+    }
+
+    private static Instant orElse(Instant time, Instant fallbackTime) {
+        return time != null ? time : fallbackTime;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.analyticsservice.aggregate;
+
+import java.util.UUID;
+
+/**
+ * Count-min sketch over UUID keys: a fixed {@code depth x width} table of counters that
+ * estimates per-key totals in constant memory no matter how many distinct keys are seen.
+ * Estimates never undercount; with conservative update they overcount only by what colliding
+ * keys contribute to the least loaded row.
+ */
+final class CountMinSketch {
+
+    private final long[][] table;
+    private final int mask;
+
+    CountMinSketch(int depth, int width) {
+        this(new long[depth][width]);
+    }
+
+    CountMinSketch(long[][] table) {
+        int width = table.length > 0 ? table[0].length : 0;
+        if (table.length == 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch needs at least one row and a power-of-two width");
+        }
+        this.table = table;
+        this.mask = width - 1;
+    }
+
+    void add(UUID key, long weight) {
+        long h1 = h1(key);
+        long h2 = h2(key);
+        long target = estimate(h1, h2) + weight;
+        for (int row = 0; row < table.length; row++) {
+            int index = index(row, h1, h2);
+            if (table[row][index] < target) {
+                table[row][index] = target;
+            }
+        }
+    }
+
+    long estimate(UUID key) {
+        return estimate(h1(key), h2(key));
+    }
+
+    int depth() {
+        return table.length;
+    }
+
+    int width() {
+        return mask + 1;
+    }
+
+    long[][] table() {
+        long[][] copy = new long[table.length][];
+        for (int row = 0; row < table.length; row++) {
+            copy[row] = table[row].clone();
+        }
+        return copy;
+    }
+
+    private long estimate(long h1, long h2) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < table.length; row++) {
+            min = Math.min(min, table[row][index(row, h1, h2)]);
+        }
+        return min;
+    }
+
+    private int index(int row, long h1, long h2) {
+        return (int) ((h1 + row * h2) & mask);
+    }
+
+    private static long h1(UUID key) {
+        return mix(key.getMostSignificantBits() ^ Long.rotateLeft(key.getLeastSignificantBits(), 32));
+    }
+
+    private static long h2(UUID key) {
+        return mix(key.getLeastSignificantBits() + 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.analyticsservice.aggregate;
+
+/**
+ * Steps an order goes through on its way from checkout to a confirmed ticket, in the order a
+ * successful purchase passes them. The failure stages count orders that dropped out.
+ */
+public enum FunnelStage {
+    ORDER_CREATED,
+    PAYMENT_SUCCEEDED,
+    PAYMENT_FAILED,
+    BOOKING_FAILED,
+    ORDER_CONFIRMED,
+    ORDER_CANCELLED
+}
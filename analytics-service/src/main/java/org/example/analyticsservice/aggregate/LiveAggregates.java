@@ -0,0 +1,128 @@
+package org.example.analyticsservice.aggregate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory windowed aggregates fed by the event listeners: per-minute funnel counters and
+ * revenue, and the approximate top trips by seats sold.
+ * <p>
+ * Every applied event also advances the recorded offset of its partition, so a snapshot is a
+ * consistent cut of the streams that consumption can resume from. Events are bucketed by their
+ * own time rather than arrival time, and redeliveries of the same event id are ignored.
+ */
+@Component
+public class LiveAggregates {
+
+    private static final int SKETCH_DEPTH = 4;
+
+    private final int windowMinutes;
+    private final int rankingHours;
+    private final int rankingCapacity;
+    private final MinuteWindow minutes;
+    private final TripRanking trips;
+    private final Map<String, Map<Integer, Long>> offsets = new HashMap<>();
+    private final Map<UUID, Boolean> recentEventIds;
+
+    public LiveAggregates(
+            @Value("${analytics.window.minutes:1440}") int windowMinutes,
+            @Value("${analytics.top-trips.hours:24}") int rankingHours,
+            @Value("${analytics.top-trips.candidates:100}") int rankingCapacity,
+            @Value("${analytics.top-trips.sketch-width:1024}") int sketchWidth,
+            @Value("${analytics.dedup.capacity:100000}") int dedupCapacity) {
+        this.windowMinutes = windowMinutes;
+        this.rankingHours = rankingHours;
+        this.rankingCapacity = rankingCapacity;
+        this.minutes = new MinuteWindow(windowMinutes);
+        this.trips = new TripRanking(rankingHours, rankingCapacity, SKETCH_DEPTH, sketchWidth);
+        this.recentEventIds = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                return size() > dedupCapacity;
+            }
+        };
+    }
+
+    /**
+     * Applies an event read from {@code topic}/{@code partition} at {@code offset}.
+     *
+     * @return whether the event changed the aggregates
+     */
+    public synchronized boolean apply(String topic, int partition, long offset, AnalyticsEvent event) {
+        Map<Integer, Long> topicOffsets = offsets.computeIfAbsent(topic, t -> new HashMap<>());
+        Long applied = topicOffsets.get(partition);
+        if (applied != null && offset <= applied) {
+            return false;
+        }
+        topicOffsets.put(partition, offset);
+
+        if (event.eventId() != null && recentEventIds.put(event.eventId(), Boolean.TRUE) != null) {
+            return false;
+        }
+        long minute = epochMinute(event.occurredAt());
+        boolean recorded = minutes.record(minute, event.stage(), event.seats(), event.revenue());
+        if (recorded && event.stage() == FunnelStage.ORDER_CONFIRMED && event.tripId() != null) {
+            trips.record(Math.floorDiv(minute, 60), event.tripId(), event.seats());
+        }
+        return recorded;
+    }
+
+    public synchronized Long appliedOffset(String topic, int partition) {
+        Map<Integer, Long> topicOffsets = offsets.get(topic);
+        return topicOffsets != null ? topicOffsets.get(partition) : null;
+    }
+
+    /**
+     * Minutes in {@code [from, to]} that saw at least one event, oldest first.
+     */
+    public synchronized List<MinuteStats> minutes(Instant from, Instant to) {
+        return minutes.range(epochMinute(from), epochMinute(to));
+    }
+
+    /**
+     * Trips with the most seats sold in the hours {@code from} and {@code to} fall into and
+     * those in between, best first.
+     */
+    public synchronized List<TripScore> topTrips(Instant from, Instant to, int limit) {
+        return trips.top(Math.floorDiv(epochMinute(from), 60), Math.floorDiv(epochMinute(to), 60), limit);
+    }
+
+    public synchronized AggregatesSnapshot snapshot() {
+        Map<String, Map<Integer, Long>> offsetsCopy = new HashMap<>();
+        offsets.forEach((topic, byPartition) -> offsetsCopy.put(topic, Map.copyOf(byPartition)));
+        return new AggregatesSnapshot(Instant.now(), offsetsCopy, minutes.snapshot(), trips.snapshot());
+    }
+
+    /**
+     * Loads a snapshot into empty aggregates, before any event is applied.
+     */
+    public synchronized void restore(AggregatesSnapshot snapshot) {
+        snapshot.offsets().forEach((topic, byPartition) ->
+                offsets.computeIfAbsent(topic, t -> new HashMap<>()).putAll(byPartition));
+        minutes.restore(snapshot.minutes());
+        trips.restore(snapshot.trips());
+    }
+
+    public int windowMinutes() {
+        return windowMinutes;
+    }
+
+    public int rankingHours() {
+        return rankingHours;
+    }
+
+    public int rankingCapacity() {
+        return rankingCapacity;
+    }
+
+    private static long epochMinute(Instant time) {
+        return Math.floorDiv(time.getEpochSecond(), 60);
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.analyticsservice.aggregate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Everything that happened in one minute: events per funnel stage, plus seats sold and revenue
+ * of the orders confirmed in it.
+ */
+public record MinuteStats(long epochMinute, Map<FunnelStage, Long> counts, long seats, BigDecimal revenue) {
+
+    public long count(FunnelStage stage) {
+        return counts.getOrDefault(stage, 0L);
+    }
+}
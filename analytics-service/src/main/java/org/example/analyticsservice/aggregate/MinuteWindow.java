@@ -0,0 +1,109 @@
+package org.example.analyticsservice.aggregate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-minute counters for the most recent {@code size} minutes, kept in a ring indexed by epoch
+ * minute so recording an event is O(1) and old minutes are overwritten instead of evicted.
+ * Events older than the ring are dropped.
+ */
+final class MinuteWindow {
+
+    private static final FunnelStage[] STAGES = FunnelStage.values();
+
+    private final int size;
+    private final long[] minutes;
+    private final long[][] counts;
+    private final long[] seats;
+    private final BigDecimal[] revenue;
+    private long latest = Long.MIN_VALUE;
+
+    MinuteWindow(int size) {
+        this.size = size;
+        this.minutes = new long[size];
+        this.counts = new long[size][STAGES.length];
+        this.seats = new long[size];
+        this.revenue = new BigDecimal[size];
+        Arrays.fill(minutes, Long.MIN_VALUE);
+    }
+
+    boolean record(long minute, FunnelStage stage, int seatCount, BigDecimal amount) {
+        int slot = slotFor(minute);
+        if (slot < 0) {
+            return false;
+        }
+        counts[slot][stage.ordinal()]++;
+        seats[slot] += seatCount;
+        revenue[slot] = revenue[slot].add(amount);
+        return true;
+    }
+
+    /**
+     * Minutes in {@code [fromMinute, toMinute]} that saw at least one event, oldest first.
+     */
+    List<MinuteStats> range(long fromMinute, long toMinute) {
+        List<MinuteStats> result = new ArrayList<>();
+        for (long minute = Math.max(fromMinute, toMinute - size + 1); minute <= toMinute; minute++) {
+            int slot = (int) Math.floorMod(minute, (long) size);
+            if (minutes[slot] == minute) {
+                result.add(stats(slot));
+            }
+        }
+        return result;
+    }
+
+    List<MinuteStats> snapshot() {
+        if (latest == Long.MIN_VALUE) {
+            return List.of();
+        }
+        return range(latest - size + 1, latest);
+    }
+
+    void restore(List<MinuteStats> stored) {
+        for (MinuteStats stats : stored) {
+            int slot = slotFor(stats.epochMinute());
+            if (slot < 0) {
+                continue;
+            }
+            for (FunnelStage stage : STAGES) {
+                counts[slot][stage.ordinal()] += stats.count(stage);
+            }
+            seats[slot] += stats.seats();
+            revenue[slot] = revenue[slot].add(stats.revenue());
+        }
+    }
+
+    /**
+     * Slot holding {@code minute}, claimed and cleared if it still holds an older minute, or -1
+     * if the minute has already left the window.
+     */
+    private int slotFor(long minute) {
+        if (latest != Long.MIN_VALUE && minute <= latest - size) {
+            return -1;
+        }
+        int slot = (int) Math.floorMod(minute, (long) size);
+        if (minutes[slot] != minute) {
+            minutes[slot] = minute;
+            Arrays.fill(counts[slot], 0);
+            seats[slot] = 0;
+            revenue[slot] = BigDecimal.ZERO;
+        }
+        latest = Math.max(latest, minute);
+        return slot;
+    }
+
+    private MinuteStats stats(int slot) {
+        Map<FunnelStage, Long> byStage = new EnumMap<>(FunnelStage.class);
+        for (FunnelStage stage : STAGES) {
+            if (counts[slot][stage.ordinal()] != 0) {
+                byStage.put(stage, counts[slot][stage.ordinal()]);
+            }
+        }
+        return new MinuteStats(minutes[slot], byStage, seats[slot], revenue[slot]);
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.analyticsservice.aggregate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Approximate top trips by seats sold over the most recent {@code hours} hours.
+ * <p>
+ * Each hour has a {@link CountMinSketch} for per-trip totals and a min-heap of the
+ * {@code capacity} trips with the highest estimates so far, so memory stays constant however
+ * many trips are sold. A query ranks the union of the candidates of the requested hours by
+ * their summed estimates instead of sorting every trip.
+ */
+final class TripRanking {
+
+    private final int hours;
+    private final int capacity;
+    private final int depth;
+    private final int width;
+    private final Slot[] slots;
+    private long latest = Long.MIN_VALUE;
+
+    TripRanking(int hours, int capacity, int depth, int width) {
+        this.hours = hours;
+        this.capacity = capacity;
+        this.depth = depth;
+        this.width = width;
+        this.slots = new Slot[hours];
+    }
+
+    boolean record(long hour, UUID tripId, long seats) {
+        Slot slot = slotFor(hour);
+        if (slot == null) {
+            return false;
+        }
+        slot.add(tripId, seats);
+        return true;
+    }
+
+    /**
+     * The {@code limit} trips with the most seats sold in hours {@code [fromHour, toHour]}.
+     */
+    List<TripScore> top(long fromHour, long toHour, int limit) {
+        List<Slot> inRange = new ArrayList<>();
+        Set<UUID> candidates = new HashSet<>();
+        for (long hour = Math.max(fromHour, toHour - hours + 1); hour <= toHour; hour++) {
+            Slot slot = slots[(int) Math.floorMod(hour, (long) hours)];
+            if (slot != null && slot.hour == hour) {
+                inRange.add(slot);
+                candidates.addAll(slot.candidates.keySet());
+            }
+        }
+        return candidates.stream()
+                .map(tripId -> new TripScore(tripId, inRange.stream()
+                        .mapToLong(slot -> slot.sketch.estimate(tripId))
+                        .sum()))
+                .sorted(Comparator.comparingLong(TripScore::seats).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    List<AggregatesSnapshot.RankingSlot> snapshot() {
+        List<AggregatesSnapshot.RankingSlot> result = new ArrayList<>();
+        for (Slot slot : slots) {
+            if (slot != null && slot.hour > latest - hours) {
+                result.add(new AggregatesSnapshot.RankingSlot(slot.hour, slot.sketch.table(), Map.copyOf(slot.candidates)));
+            }
+        }
+        return result;
+    }
+
+    void restore(List<AggregatesSnapshot.RankingSlot> stored) {
+        for (AggregatesSnapshot.RankingSlot rankingSlot : stored) {
+            CountMinSketch sketch = new CountMinSketch(rankingSlot.sketch());
+            if (sketch.depth() != depth || sketch.width() != width
+                    || (latest != Long.MIN_VALUE && rankingSlot.hour() <= latest - hours)) {
+                continue;
+            }
+            Slot slot = new Slot(rankingSlot.hour(), sketch);
+            rankingSlot.candidates().forEach(slot::offer);
+            slots[(int) Math.floorMod(slot.hour, (long) hours)] = slot;
+            latest = Math.max(latest, slot.hour);
+        }
+    }
+
+    private Slot slotFor(long hour) {
+        if (latest != Long.MIN_VALUE && hour <= latest - hours) {
+            return null;
+        }
+        int index = (int) Math.floorMod(hour, (long) hours);
+        if (slots[index] == null || slots[index].hour != hour) {
+            slots[index] = new Slot(hour, new CountMinSketch(depth, width));
+        }
+        latest = Math.max(latest, hour);
+        return slots[index];
+    }
+
+    private final class Slot {
+
+        private final long hour;
+        private final CountMinSketch sketch;
+        private final Map<UUID, Long> candidates = new HashMap<>();
+        private final PriorityQueue<UUID> heap = new PriorityQueue<>(Comparator.comparingLong(candidates::get));
+
+        private Slot(long hour, CountMinSketch sketch) {
+            this.hour = hour;
+            this.sketch = sketch;
+        }
+
+        private void add(UUID tripId, long seats) {
+            sketch.add(tripId, seats);
+            offer(tripId, sketch.estimate(tripId));
+        }
+
+        private void offer(UUID tripId, long estimate) {
+            if (candidates.containsKey(tripId)) {
+                heap.remove(tripId);
+            } else if (candidates.size() >= capacity) {
+                UUID weakest = heap.peek();
+                if (candidates.get(weakest) >= estimate) {
+                    return;
+                }
+                heap.poll();
+                candidates.remove(weakest);
+            }
+            candidates.put(tripId, estimate);
+            heap.add(tripId);
+        }
+    }
+}
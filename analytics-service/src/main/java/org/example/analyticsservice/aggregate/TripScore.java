@@ -0,0 +1,5 @@
+package org.example.analyticsservice.aggregate;
+
+import java.util.UUID;
+
+public record TripScore(UUID tripId, long seats) {}
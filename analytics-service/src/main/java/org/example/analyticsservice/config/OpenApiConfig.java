@@ -0,0 +1,18 @@
+package org.example.analyticsservice.config;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Info;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OpenApiConfig {
+
+    @Bean
+    public OpenAPI analyticsServiceOpenAPI() {
+        return new OpenAPI()
+                .info(new Info().title("Analytics Service API")
+                        .description("Analytics Service API")
+                        .version("v1.0.0"));
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.analyticsservice.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.analyticsservice.controller.docs.LiveAnalyticsControllerDocs;
+import org.example.analyticsservice.dto.response.FunnelResponse;
+import org.example.analyticsservice.dto.response.LiveRevenueResponse;
+import org.example.analyticsservice.dto.response.TopTripResponse;
+import org.example.analyticsservice.service.LiveAnalyticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics/live")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class LiveAnalyticsController implements LiveAnalyticsControllerDocs {
+
+    private final LiveAnalyticsService analyticsService;
+
+    @Override
+    @GetMapping("/revenue")
+    public ResponseEntity<LiveRevenueResponse> getRevenue(@RequestParam(defaultValue = "60") int minutes) {
+        return ResponseEntity.ok(analyticsService.getRevenue(minutes));
+    }
+
+    @Override
+    @GetMapping("/funnel")
+    public ResponseEntity<FunnelResponse> getFunnel(@RequestParam(defaultValue = "60") int minutes) {
+        return ResponseEntity.ok(analyticsService.getFunnel(minutes));
+    }
+
+    @Override
+    @GetMapping("/trips/top")
+    public ResponseEntity<List<TopTripResponse>> getTopTrips(
+        @RequestParam(defaultValue = "24") int hours,
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(analyticsService.getTopTrips(hours, limit));
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.analyticsservice.controller.docs;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.analyticsservice.dto.response.FunnelResponse;
+import org.example.analyticsservice.dto.response.LiveRevenueResponse;
+import org.example.analyticsservice.dto.response.TopTripResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@Tag(name = "Live Analytics", description = "Real-time dashboard data aggregated from the event streams")
+public interface LiveAnalyticsControllerDocs {
+
+    @Operation(summary = "Get live revenue", description = "Revenue of confirmed orders per minute over the last minutes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Revenue retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Window outside the retained range"),
+            @ApiResponse(responseCode = "403", description = "Access denied (Admin only)")
+    })
+    ResponseEntity<LiveRevenueResponse> getRevenue(
+            @Parameter(description = "Window length in minutes")
+            @RequestParam(defaultValue = "60") int minutes
+    );
+
+    @Operation(summary = "Get conversion funnel", description = "Orders created, paid, failed and confirmed over the last minutes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Funnel retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Window outside the retained range"),
+            @ApiResponse(responseCode = "403", description = "Access denied (Admin only)")
+    })
+    ResponseEntity<FunnelResponse> getFunnel(
+            @Parameter(description = "Window length in minutes")
+            @RequestParam(defaultValue = "60") int minutes
+    );
+
+    @Operation(summary = "Get top trips", description = "Trips with the most seats sold over the last hours. Seat counts are estimates that never undercount.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Top trips retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Window or limit outside the retained range"),
+            @ApiResponse(responseCode = "403", description = "Access denied (Admin only)")
+    })
+    ResponseEntity<List<TopTripResponse>> getTopTrips(
+            @Parameter(description = "Window length in hours, including the current hour")
+            @RequestParam(defaultValue = "24") int hours,
+
+            @Parameter(description = "Number of trips to return")
+            @RequestParam(defaultValue = "10") int limit
+    );
+}
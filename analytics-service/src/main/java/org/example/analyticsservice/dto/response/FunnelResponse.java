@@ -0,0 +1,16 @@
+package org.example.analyticsservice.dto.response;
+
+import java.time.Instant;
+
+public record FunnelResponse(
+    Instant from,
+    Instant to,
+    long ordersCreated,
+    long paymentsSucceeded,
+    long paymentsFailed,
+    long bookingsFailed,
+    long ordersConfirmed,
+    long ordersCancelled,
+    double paymentRate,
+    double conversionRate
+) {}
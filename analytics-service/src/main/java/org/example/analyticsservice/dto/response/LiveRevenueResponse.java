@@ -0,0 +1,13 @@
+package org.example.analyticsservice.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public record LiveRevenueResponse(
+    Instant from,
+    Instant to,
+    BigDecimal totalRevenue,
+    long orderCount,
+    List<RevenuePoint> perMinute
+) {}
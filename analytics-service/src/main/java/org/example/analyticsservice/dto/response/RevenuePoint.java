@@ -0,0 +1,11 @@
+package org.example.analyticsservice.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record RevenuePoint(
+    Instant minute,
+    BigDecimal revenue,
+    long orderCount,
+    long seats
+) {}
@@ -0,0 +1,8 @@
+package org.example.analyticsservice.dto.response;
+
+import java.util.UUID;
+
+public record TopTripResponse(
+    UUID tripId,
+    long estimatedSeats
+) {}
@@ -0,0 +1,92 @@
+package org.example.analyticsservice.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.example.analyticsservice.aggregate.AnalyticsEvent;
+import org.example.analyticsservice.aggregate.LiveAggregates;
+import org.example.kafka.event.BookingFailedEvent;
+import org.example.kafka.event.OrderCancelledEvent;
+import org.example.kafka.event.OrderConfirmedEvent;
+import org.example.kafka.event.OrderCreatedEvent;
+import org.example.kafka.event.PaymentFailedEvent;
+import org.example.kafka.event.PaymentSucceededEvent;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Feeds the order, payment and booking failure streams into {@link LiveAggregates}.
+ * <p>
+ * On every assignment the consumer is positioned right after the last offset the aggregates
+ * have applied, which after a restart is the one recorded in the restored snapshot, so no
+ * event is counted twice or skipped regardless of what the group had committed.
+ * <p>
+ * The aggregates live in memory, so every replica has to read every partition. Each one
+ * therefore consumes in its own group, named after {@code analytics.instance-id}; a shared
+ * group would split the partitions and leave each replica serving a fraction of the traffic.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalyticsEventsListener implements ConsumerSeekAware {
+
+    private static final String GROUP_ID = "analytics-service-${analytics.instance-id}";
+
+    private final LiveAggregates aggregates;
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.keySet().forEach(partition -> {
+            Long applied = aggregates.appliedOffset(partition.topic(), partition.partition());
+            if (applied != null) {
+                log.info("Resuming {} after offset {}", partition, applied);
+                callback.seek(partition.topic(), partition.partition(), applied + 1);
+            }
+        });
+    }
+
+    @KafkaListener(topics = "order.created", groupId = GROUP_ID)
+    public void onOrderCreated(ConsumerRecord<String, OrderCreatedEvent> record) {
+        apply(record, AnalyticsEvent.of(record.value(), timestampOf(record)));
+    }
+
+    @KafkaListener(topics = "order.confirmed", groupId = GROUP_ID)
+    public void onOrderConfirmed(ConsumerRecord<String, OrderConfirmedEvent> record) {
+        apply(record, AnalyticsEvent.of(record.value(), timestampOf(record)));
+    }
+
+    @KafkaListener(topics = "order.cancelled", groupId = GROUP_ID)
+    public void onOrderCancelled(ConsumerRecord<String, OrderCancelledEvent> record) {
+        apply(record, AnalyticsEvent.of(record.value(), timestampOf(record)));
+    }
+
+    @KafkaListener(topics = "payment.succeeded", groupId = GROUP_ID)
+    public void onPaymentSucceeded(ConsumerRecord<String, PaymentSucceededEvent> record) {
+        apply(record, AnalyticsEvent.of(record.value(), timestampOf(record)));
+    }
+
+    @KafkaListener(topics = "payment.failed", groupId = GROUP_ID)
+    public void onPaymentFailed(ConsumerRecord<String, PaymentFailedEvent> record) {
+        apply(record, AnalyticsEvent.of(record.value(), timestampOf(record)));
+    }
+
+    @KafkaListener(topics = "booking.failed", groupId = GROUP_ID)
+    public void onBookingFailed(ConsumerRecord<String, BookingFailedEvent> record) {
+        apply(record, AnalyticsEvent.of(record.value(), timestampOf(record)));
+    }
+
+    private void apply(ConsumerRecord<String, ?> record, AnalyticsEvent event) {
+        if (!aggregates.apply(record.topic(), record.partition(), record.offset(), event)) {
+            log.debug("Event not counted: topic={}, offset={}, eventId={}", record.topic(), record.offset(), event.eventId());
+        }
+    }
+
+    private static Instant timestampOf(ConsumerRecord<String, ?> record) {
+        return Instant.ofEpochMilli(record.timestamp());
+    }
+}
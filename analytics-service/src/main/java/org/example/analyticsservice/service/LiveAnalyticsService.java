@@ -0,0 +1,107 @@
+package org.example.analyticsservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.analyticsservice.aggregate.FunnelStage;
+import org.example.analyticsservice.aggregate.LiveAggregates;
+import org.example.analyticsservice.aggregate.MinuteStats;
+import org.example.analyticsservice.dto.response.FunnelResponse;
+import org.example.analyticsservice.dto.response.LiveRevenueResponse;
+import org.example.analyticsservice.dto.response.RevenuePoint;
+import org.example.analyticsservice.dto.response.TopTripResponse;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard views over {@link LiveAggregates}. Nothing here touches a service database; every
+ * call costs at most one pass over the minutes or hour slots of the requested window.
+ */
+@Service
+@RequiredArgsConstructor
+public class LiveAnalyticsService {
+
+    private final LiveAggregates aggregates;
+
+    public LiveRevenueResponse getRevenue(int minutes) {
+        requireInRange("minutes", minutes, aggregates.windowMinutes());
+        Instant to = Instant.now();
+        Instant from = windowStart(to, minutes);
+
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        long orderCount = 0;
+        List<RevenuePoint> points = new ArrayList<>();
+        for (MinuteStats stats : aggregates.minutes(from, to)) {
+            long confirmed = stats.count(FunnelStage.ORDER_CONFIRMED);
+            if (confirmed == 0) {
+                continue;
+            }
+            points.add(new RevenuePoint(
+                Instant.ofEpochSecond(stats.epochMinute() * 60),
+                stats.revenue(),
+                confirmed,
+                stats.seats()
+            ));
+            totalRevenue = totalRevenue.add(stats.revenue());
+            orderCount += confirmed;
+        }
+        return new LiveRevenueResponse(from, to, totalRevenue, orderCount, points);
+    }
+
+    public FunnelResponse getFunnel(int minutes) {
+        requireInRange("minutes", minutes, aggregates.windowMinutes());
+        Instant to = Instant.now();
+        Instant from = windowStart(to, minutes);
+
+        Map<FunnelStage, Long> totals = new EnumMap<>(FunnelStage.class);
+        for (MinuteStats stats : aggregates.minutes(from, to)) {
+            stats.counts().forEach((stage, count) -> totals.merge(stage, count, Long::sum));
+        }
+        long created = totals.getOrDefault(FunnelStage.ORDER_CREATED, 0L);
+        long paid = totals.getOrDefault(FunnelStage.PAYMENT_SUCCEEDED, 0L);
+        long confirmed = totals.getOrDefault(FunnelStage.ORDER_CONFIRMED, 0L);
+
+        return new FunnelResponse(
+            from,
+            to,
+            created,
+            paid,
+            totals.getOrDefault(FunnelStage.PAYMENT_FAILED, 0L),
+            totals.getOrDefault(FunnelStage.BOOKING_FAILED, 0L),
+            confirmed,
+            totals.getOrDefault(FunnelStage.ORDER_CANCELLED, 0L),
+            percentOf(paid, created),
+            percentOf(confirmed, created)
+        );
+    }
+
+    public List<TopTripResponse> getTopTrips(int hours, int limit) {
+        requireInRange("hours", hours, aggregates.rankingHours());
+        requireInRange("limit", limit, aggregates.rankingCapacity());
+        Instant to = Instant.now();
+        Instant from = to.truncatedTo(ChronoUnit.HOURS).minus(hours - 1L, ChronoUnit.HOURS);
+
+        return aggregates.topTrips(from, to, limit).stream()
+            .map(score -> new TopTripResponse(score.tripId(), score.seats()))
+            .toList();
+    }
+
+    private static Instant windowStart(Instant to, int minutes) {
+        return to.truncatedTo(ChronoUnit.MINUTES).minus(minutes - 1L, ChronoUnit.MINUTES);
+    }
+
+    private static double percentOf(long part, long whole) {
+        return whole > 0 ? (part * 100.0) / whole : 0.0;
+    }
+
+    private static void requireInRange(String name, int value, int max) {
+        if (value < 1 || value > max) {
+            throw new IllegalArgumentException(name + " must be between 1 and " + max);
+        }
+    }
+}
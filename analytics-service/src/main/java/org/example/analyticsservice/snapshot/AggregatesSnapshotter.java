@@ -0,0 +1,77 @@
+package org.example.analyticsservice.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.analyticsservice.aggregate.AggregatesSnapshot;
+import org.example.analyticsservice.aggregate.LiveAggregates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically copies {@link LiveAggregates} to Redis and loads the copy back on startup,
+ * before the listeners start, so a restart only replays the events since the last snapshot
+ * instead of losing the windows or re-reading the topics from the beginning.
+ * <p>
+ * The key carries {@code analytics.instance-id}, like the consumer group, because the applied
+ * offsets in a snapshot only mean something to the replica that took it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AggregatesSnapshotter {
+
+    private final LiveAggregates aggregates;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${analytics.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analytics.snapshot.key:analytics:snapshot:${analytics.instance-id}}")
+    private String key;
+
+    @PostConstruct
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            if (json == null) {
+                log.info("No analytics snapshot found, starting from committed offsets");
+                return;
+            }
+            AggregatesSnapshot snapshot = objectMapper.readValue(json, AggregatesSnapshot.class);
+            aggregates.restore(snapshot);
+            log.info("Restored analytics snapshot taken at {}: offsets={}", snapshot.takenAt(), snapshot.offsets());
+        } catch (Exception ex) {
+            log.warn("Could not restore analytics snapshot, starting from committed offsets: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${analytics.snapshot.interval-ms:30000}",
+            fixedDelayString = "${analytics.snapshot.interval-ms:30000}")
+    public void save() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            AggregatesSnapshot snapshot = aggregates.snapshot();
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(snapshot));
+            log.debug("Saved analytics snapshot: minutes={}, tripSlots={}", snapshot.minutes().size(), snapshot.trips().size());
+        } catch (Exception ex) {
+            log.warn("Could not save analytics snapshot: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void saveOnShutdown() {
+        save();
+    }
+}
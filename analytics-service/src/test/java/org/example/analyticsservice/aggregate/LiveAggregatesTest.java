@@ -0,0 +1,101 @@
+package org.example.analyticsservice.aggregate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveAggregatesTest {
+
+    private static final String TOPIC = "order.confirmed";
+    private static final Instant NOW = Instant.parse("2030-03-01T10:42:17Z");
+
+    private LiveAggregates aggregates;
+    private long offset;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new LiveAggregates(60, 3, 2, 64, 1000);
+        offset = 0;
+    }
+
+    @Test
+    void apply_CountsEventsPerMinuteWithRevenueOfConfirmedOrders() {
+        apply(event(FunnelStage.ORDER_CREATED, NOW, null, 0, "0"));
+        apply(event(FunnelStage.ORDER_CONFIRMED, NOW, UUID.randomUUID(), 2, "30.00"));
+        apply(event(FunnelStage.ORDER_CONFIRMED, NOW.plusSeconds(60), UUID.randomUUID(), 1, "15.00"));
+
+        List<MinuteStats> minutes = aggregates.minutes(NOW.minusSeconds(600), NOW.plusSeconds(600));
+
+        assertEquals(2, minutes.size());
+        MinuteStats first = minutes.get(0);
+        assertEquals(1, first.count(FunnelStage.ORDER_CREATED));
+        assertEquals(1, first.count(FunnelStage.ORDER_CONFIRMED));
+        assertEquals(2, first.seats());
+        assertEquals(new BigDecimal("30.00"), first.revenue());
+        assertEquals(new BigDecimal("15.00"), minutes.get(1).revenue());
+    }
+
+    @Test
+    void apply_IgnoresRedeliveredEventsAndReplayedOffsets() {
+        AnalyticsEvent event = event(FunnelStage.ORDER_CREATED, NOW, null, 0, "0");
+        assertTrue(aggregates.apply(TOPIC, 0, 5, event));
+
+        assertFalse(aggregates.apply(TOPIC, 0, 6, event));
+        assertFalse(aggregates.apply(TOPIC, 0, 5, event(FunnelStage.ORDER_CREATED, NOW, null, 0, "0")));
+        assertEquals(6L, aggregates.appliedOffset(TOPIC, 0));
+        assertEquals(1, aggregates.minutes(NOW, NOW).get(0).count(FunnelStage.ORDER_CREATED));
+    }
+
+    @Test
+    void apply_DropsEventsOlderThanWindow() {
+        apply(event(FunnelStage.ORDER_CREATED, NOW, null, 0, "0"));
+
+        assertFalse(apply(event(FunnelStage.ORDER_CREATED, NOW.minusSeconds(3600), null, 0, "0")));
+        assertTrue(apply(event(FunnelStage.ORDER_CREATED, NOW.minusSeconds(59 * 60), null, 0, "0")));
+    }
+
+    @Test
+    void topTrips_RanksTripsBySeatsAcrossHours() {
+        UUID busy = UUID.randomUUID();
+        UUID steady = UUID.randomUUID();
+        UUID quiet = UUID.randomUUID();
+        apply(event(FunnelStage.ORDER_CONFIRMED, NOW.minusSeconds(3600), steady, 4, "40"));
+        apply(event(FunnelStage.ORDER_CONFIRMED, NOW, steady, 3, "30"));
+        apply(event(FunnelStage.ORDER_CONFIRMED, NOW, busy, 10, "100"));
+        apply(event(FunnelStage.ORDER_CONFIRMED, NOW, quiet, 1, "10"));
+
+        List<TripScore> top = aggregates.topTrips(NOW.minusSeconds(3600), NOW, 2);
+
+        assertEquals(List.of(new TripScore(busy, 10), new TripScore(steady, 7)), top);
+        assertEquals(List.of(new TripScore(busy, 10), new TripScore(steady, 3)), aggregates.topTrips(NOW, NOW, 2));
+    }
+
+    @Test
+    void restore_ContinuesFromSnapshot() {
+        UUID trip = UUID.randomUUID();
+        apply(event(FunnelStage.ORDER_CONFIRMED, NOW, trip, 2, "20"));
+        AggregatesSnapshot snapshot = aggregates.snapshot();
+
+        LiveAggregates restored = new LiveAggregates(60, 3, 2, 64, 1000);
+        restored.restore(snapshot);
+        restored.apply(TOPIC, 0, offset + 1, event(FunnelStage.ORDER_CONFIRMED, NOW, trip, 1, "10"));
+
+        assertEquals(offset + 1, restored.appliedOffset(TOPIC, 0));
+        assertEquals(new BigDecimal("30"), restored.minutes(NOW, NOW).get(0).revenue());
+        assertEquals(List.of(new TripScore(trip, 3)), restored.topTrips(NOW, NOW, 5));
+    }
+
+    private boolean apply(AnalyticsEvent event) {
+        return aggregates.apply(TOPIC, 0, ++offset, event);
+    }
+
+    private static AnalyticsEvent event(FunnelStage stage, Instant at, UUID tripId, int seats, String revenue) {
+        return new AnalyticsEvent(UUID.randomUUID(), at, stage, tripId, seats, new BigDecimal(revenue));
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.apigateway.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * GCRA limiter whose state lives in Redis, updated by one atomic script per call, so every
+ * gateway instance draws from the same budget per client.
+ *
+ * <p>Two local shortcuts keep Redis off the path of most requests. A client Redis turned away
+ * is rejected locally until the wait Redis reported has passed, so a flood costs no round trips.
+ * With {@code localBatch} above 1, admitted clients take several permits at once and spend them
+ * locally until the lease lapses. Both only ever admit less than Redis alone would.
+ *
+ * <p>If Redis fails or is slow the request is admitted: losing the limiter must not take the
+ * edge down with it. Such calls are counted in {@code gateway.rate-limit.errors}.
+ */
+@Slf4j
+public class DistributedRateLimiter {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ACQUIRE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/gcra_acquire.lua"), List.class);
+    private static final Duration LOCAL_IDLE_EXPIRY = Duration.ofMinutes(1);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final Duration leaseTtl;
+    private final Duration redisTimeout;
+    private final LongSupplier nanoClock;
+    private final Cache<String, ClientState> clients;
+    private final Counter errors;
+
+    public DistributedRateLimiter(
+            ReactiveStringRedisTemplate redisTemplate,
+            RateLimitProperties properties,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoClock) {
+        this.redisTemplate = redisTemplate;
+        this.leaseTtl = properties.leaseTtl();
+        this.redisTimeout = properties.redisTimeout();
+        this.nanoClock = nanoClock;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(properties.localMaxClients())
+                .expireAfterAccess(LOCAL_IDLE_EXPIRY)
+                .build();
+        this.errors = Counter.builder("gateway.rate-limit.errors")
+                .description("Requests admitted because the rate limit state in Redis was unavailable")
+                .register(meterRegistry);
+    }
+
+    public Mono<Decision> acquire(String key, RateLimitProperties.Policy policy) {
+        long now = nanoClock.getAsLong();
+        ClientState state = clients.get(key, k -> new ClientState(now));
+        long blockedFor = state.blockedUntil - now;
+        if (blockedFor > 0) {
+            return Mono.just(new Decision(false, blockedFor, true));
+        }
+        if (state.takeLeased(now)) {
+            return Mono.just(Decision.ADMITTED);
+        }
+
+        long intervalMicros = Math.max(1, TimeUnit.MINUTES.toMicros(1) / policy.requestsPerMinute());
+        long toleranceMicros = intervalMicros * (policy.burst() - 1);
+        return redisTemplate.execute(ACQUIRE_SCRIPT, List.of(key), List.of(
+                        String.valueOf(intervalMicros),
+                        String.valueOf(toleranceMicros),
+                        String.valueOf(Math.max(1, policy.localBatch()))))
+                .next()
+                .timeout(redisTimeout)
+                .map(result -> {
+                    long granted = ((Number) result.get(0)).longValue();
+                    long at = nanoClock.getAsLong();
+                    if (granted == 0) {
+                        long waitNanos = TimeUnit.MICROSECONDS.toNanos(((Number) result.get(1)).longValue());
+                        state.blockedUntil = at + waitNanos;
+                        return new Decision(false, waitNanos, false);
+                    }
+                    if (granted > 1) {
+                        state.lease((int) granted - 1, at + leaseTtl.toNanos());
+                    }
+                    return Decision.ADMITTED;
+                })
+                .onErrorResume(ex -> {
+                    log.debug("Rate limit check failed for {}, admitting: {}", key, ex.toString());
+                    errors.increment();
+                    return Mono.just(Decision.ADMITTED);
+                });
+    }
+
+    /**
+     * @param waitNanos until the client's next request would be admitted, when rejected
+     * @param local     rejected from the local cache without asking Redis
+     */
+    public record Decision(boolean admitted, long waitNanos, boolean local) {
+
+        static final Decision ADMITTED = new Decision(true, 0, false);
+    }
+
+    private static final class ClientState {
+
+        private final AtomicInteger leasedPermits = new AtomicInteger();
+        private volatile long leaseExpiresAt;
+        private volatile long blockedUntil;
+
+        private ClientState(long now) {
+            this.leaseExpiresAt = now;
+            this.blockedUntil = now;
+        }
+
+        boolean takeLeased(long now) {
+            if (leaseExpiresAt - now <= 0) {
+                return false;
+            }
+            while (true) {
+                int permits = leasedPermits.get();
+                if (permits <= 0) {
+                    return false;
+                }
+                if (leasedPermits.compareAndSet(permits, permits - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void lease(int permits, long expiresAt) {
+            leasedPermits.set(permits);
+            leaseExpiresAt = expiresAt;
+        }
+    }
+}
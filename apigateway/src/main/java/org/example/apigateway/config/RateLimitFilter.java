@@ -0,0 +1,123 @@
+package org.example.apigateway.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces the {@link RateLimitProperties} policies of the matched route before the request is
+ * forwarded. Runs after authentication, so user-keyed policies see the validated token subject.
+ * Policies are checked in turn and the first rejection answers 429 with {@code Retry-After}.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private final RateLimitProperties properties;
+    private final DistributedRateLimiter limiter;
+    private final RemoteAddressResolver addressResolver;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(
+            RateLimitProperties properties,
+            ReactiveStringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = new DistributedRateLimiter(redisTemplate, properties, meterRegistry, System::nanoTime);
+        this.addressResolver = properties.trustedProxies() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(properties.trustedProxies())
+                : new RemoteAddressResolver() { };
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Map<String, RateLimitProperties.Policy> policies =
+                route == null || !properties.enabled() ? null : properties.routes().get(route.getId());
+        if (policies == null || policies.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        String address = clientAddress(exchange);
+        return ReactiveSecurityContextHolder.getContext()
+                .map(context -> context.getAuthentication())
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(authentication -> authentication.getName())
+                .defaultIfEmpty("")
+                .flatMap(subject -> Flux.fromIterable(policies.entrySet())
+                        .concatMap(entry -> {
+                            RateLimitProperties.Policy policy = entry.getValue();
+                            String client = policy.key() == RateLimitProperties.KeyType.USER && !subject.isEmpty()
+                                    ? subject
+                                    : address;
+                            String key = properties.keyPrefix() + route.getId() + ":" + entry.getKey() + ":" + client;
+                            return limiter.acquire(key, policy)
+                                    .map(decision -> new Verdict(entry.getKey(), decision));
+                        })
+                        .filter(verdict -> !verdict.decision().admitted())
+                        .next()
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty()))
+                .flatMap(rejection -> rejection
+                        .map(verdict -> reject(exchange, route.getId(), verdict))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    private String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = addressResolver.resolve(exchange);
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, Verdict verdict) {
+        String source = verdict.decision().local() ? "local" : "redis";
+        rejections.computeIfAbsent(routeId + ":" + verdict.policy() + ":" + source, name ->
+                Counter.builder("gateway.rate-limit.rejected")
+                        .description("Requests answered with 429 at the gateway")
+                        .tag("route", routeId)
+                        .tag("policy", verdict.policy())
+                        .tag("source", source)
+                        .register(meterRegistry))
+                .increment();
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+                verdict.decision().waitNanos() + TimeUnit.SECONDS.toNanos(1) - 1));
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    private record Verdict(String policy, DistributedRateLimiter.Decision decision) {
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.apigateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Edge rate limits, bound from {@code rate-limit}. Limits are shared by all gateway instances
+ * through Redis, so adding replicas does not raise them.
+ *
+ * @param enabled          switches the filter off entirely
+ * @param keyPrefix        prefix of the Redis keys holding client state
+ * @param localMaxClients  clients remembered per instance for leased permits and known rejections
+ * @param leaseTtl         how long permits leased from Redis may be spent locally before they lapse
+ * @param redisTimeout     after this the request is let through rather than held up by Redis
+ * @param trustedProxies   proxies in front of the gateway whose {@code X-Forwarded-For} entries are
+ *                         trusted; 0 uses the connection's remote address
+ * @param routes           named policies per gateway route id; every policy of the route applies
+ */
+@ConfigurationProperties("rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("rl:") String keyPrefix,
+        @DefaultValue("100000") long localMaxClients,
+        @DefaultValue("1s") Duration leaseTtl,
+        @DefaultValue("100ms") Duration redisTimeout,
+        @DefaultValue("0") int trustedProxies,
+        Map<String, Map<String, Policy>> routes
+) {
+
+    public RateLimitProperties {
+        routes = routes == null ? Map.of() : Map.copyOf(routes);
+    }
+
+    /**
+     * @param key               what a client is: its address, or the subject of its token
+     * @param requestsPerMinute sustained rate per client across all gateway instances
+     * @param burst             requests a client may send back to back after being idle
+     * @param localBatch        permits taken from Redis at once and spent locally; above 1 this
+     *                          saves Redis round trips for busy clients, while permits left
+     *                          unused when the lease lapses are lost
+     */
+    public record Policy(
+            @DefaultValue("ip") KeyType key,
+            int requestsPerMinute,
+            @DefaultValue("1") int burst,
+            @DefaultValue("1") int localBatch
+    ) {
+    }
+
+    public enum KeyType {
+        /** Client address, see {@code trustedProxies}. */
+        IP,
+        /** Subject of the validated JWT; anonymous requests fall back to the address. */
+        USER
+    }
+}
@@ -0,0 +1,24 @@
+-- KEYS[1] client key
+-- ARGV[1] emission interval (µs), ARGV[2] burst tolerance (µs), ARGV[3] permits wanted
+-- Returns {permits granted, µs until the next permit}; the clock is the Redis server's, shared
+-- by every gateway instance.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+local interval = tonumber(ARGV[1])
+local tolerance = tonumber(ARGV[2])
+local wanted = tonumber(ARGV[3])
+
+local tat = tonumber(redis.call('GET', KEYS[1]))
+if not tat or tat < now then
+    tat = now
+end
+
+local available = math.floor((tolerance - (tat - now)) / interval) + 1
+if available < 1 then
+    return { 0, tat - now - tolerance }
+end
+
+local granted = math.min(available, wanted)
+tat = tat + granted * interval
+redis.call('SET', KEYS[1], string.format('%.0f', tat), 'PX', string.format('%.0f', math.ceil((tat - now) / 1000)))
+return { granted, 0 }
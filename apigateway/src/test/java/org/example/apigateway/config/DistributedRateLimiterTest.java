@@ -0,0 +1,96 @@
+package org.example.apigateway.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class DistributedRateLimiterTest {
+
+    private static final String KEY = "rl:booking-service:per-user:user-1";
+
+    private final AtomicLong clock = new AtomicLong();
+    private ReactiveStringRedisTemplate redisTemplate;
+    private DistributedRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        RateLimitProperties properties = new RateLimitProperties(
+                true, "rl:", 1000, Duration.ofSeconds(1), Duration.ofMillis(100), 0, Map.of());
+        limiter = new DistributedRateLimiter(redisTemplate, properties, new SimpleMeterRegistry(), clock::get);
+    }
+
+    @Test
+    void acquire_whenRedisRejects_rejectsLocallyUntilWaitPassed() {
+        redisReturns(List.of(0L, TimeUnit.SECONDS.toMicros(2)));
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy(RateLimitProperties.KeyType.USER, 60, 1, 1);
+
+        DistributedRateLimiter.Decision first = limiter.acquire(KEY, policy).block();
+        assertFalse(first.admitted());
+        assertFalse(first.local());
+        assertEquals(TimeUnit.SECONDS.toNanos(2), first.waitNanos());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        DistributedRateLimiter.Decision second = limiter.acquire(KEY, policy).block();
+        assertFalse(second.admitted());
+        assertTrue(second.local());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), second.waitNanos());
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    void acquire_spendsLeasedPermitsWithoutRedis() {
+        redisReturns(List.of(3L, 0L));
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy(RateLimitProperties.KeyType.IP, 600, 10, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.acquire(KEY, policy).block().admitted());
+        }
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+
+        assertTrue(limiter.acquire(KEY, policy).block().admitted());
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    void acquire_doesNotSpendLapsedLease() {
+        redisReturns(List.of(3L, 0L));
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy(RateLimitProperties.KeyType.IP, 600, 10, 3);
+
+        limiter.acquire(KEY, policy).block();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.acquire(KEY, policy).block();
+
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    void acquire_whenRedisFails_admits() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.error(new RedisConnectionFailureException("down")));
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy(RateLimitProperties.KeyType.IP, 60, 1, 1);
+
+        assertTrue(limiter.acquire(KEY, policy).block().admitted());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redisReturns(List<Long> result) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(result));
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files, typically from the base and the head of a change:
+ * <pre>{@code
+ * java -cp target/benchmarks.jar org.example.benchmarks.BenchmarkComparison base.json head.json 10
+ * }</pre>
+ * Prints the relative change of every benchmark present in both files and exits with
+ * status 1 if any of them got worse by more than the threshold percentage (5 by default).
+ * Throughput scores are better when higher, time scores when lower.
+ */
+public final class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 5.0;
+
+    private BenchmarkComparison() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <base.json> <head.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Score> base = read(objectMapper.readTree(new File(args[0])));
+        Map<String, Score> head = read(objectMapper.readTree(new File(args[1])));
+
+        List<String> regressions = new ArrayList<>();
+        head.forEach((name, current) -> {
+            Score previous = base.get(name);
+            if (previous == null || previous.value() == 0) {
+                System.out.printf("%-100s %14.3f %s (new)%n", name, current.value(), current.unit());
+                return;
+            }
+            double change = (current.value() - previous.value()) / previous.value() * 100;
+            double worse = current.higherIsBetter() ? -change : change;
+            System.out.printf("%-100s %14.3f -> %14.3f %s (%+.1f%%)%n",
+                    name, previous.value(), current.value(), current.unit(), change);
+            if (worse > threshold) {
+                regressions.add(name);
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%:%n", regressions.size(), threshold);
+            regressions.forEach(name -> System.out.println("  " + name));
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(JsonNode results) {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            String mode = result.path("mode").asText();
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(name(result), new Score(
+                    metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText(),
+                    "thrpt".equals(mode)));
+        }
+        return scores;
+    }
+
+    private static String name(JsonNode result) {
+        StringBuilder name = new StringBuilder(result.path("benchmark").asText())
+                .append(" [").append(result.path("mode").asText());
+        JsonNode params = result.path("params");
+        for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> param = it.next();
+            name.append(", ").append(param.getKey()).append('=').append(param.getValue().asText());
+        }
+        return name.append(']').toString();
+    }
+
+    private record Score(double value, String unit, boolean higherIsBetter) {}
+}
@@ -0,0 +1,86 @@
+package org.example.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.kafka.event.BookingFailedEvent;
+import org.example.kafka.event.BusType;
+import org.example.kafka.event.OrderConfirmedEvent;
+import org.example.kafka.event.OrderCreatedEvent;
+import org.example.kafka.event.PaymentSucceededEvent;
+import org.example.kafka.event.ReservationExpiredEvent;
+import org.example.kafka.event.TripCreatedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the {@code kafka-common} event records with the mapper that
+ * Spring Kafka's {@code JsonSerializer} and {@code JsonDeserializer} build by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private static final Map<String, Object> EVENTS = Map.of(
+            "OrderCreatedEvent", new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                    2, new BigDecimal("91.00"), Instant.now()),
+            "OrderConfirmedEvent", new OrderConfirmedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                    2, new BigDecimal("91.00"), Instant.now()),
+            "PaymentSucceededEvent", new PaymentSucceededEvent(UUID.randomUUID(), UUID.randomUUID(),
+                    UUID.randomUUID(), Instant.now()),
+            "BookingFailedEvent", new BookingFailedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                    UUID.randomUUID(), "Payment initialization failed", Instant.now()),
+            "ReservationExpiredEvent", new ReservationExpiredEvent(UUID.randomUUID(), UUID.randomUUID(),
+                    UUID.randomUUID(), Instant.now()),
+            "TripCreatedEvent", new TripCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), BusType.BUS_50,
+                    Instant.now()));
+
+    @Param({"OrderCreatedEvent", "OrderConfirmedEvent", "PaymentSucceededEvent",
+            "BookingFailedEvent", "ReservationExpiredEvent", "TripCreatedEvent"})
+    public String event;
+
+    private Object payload;
+    private byte[] json;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+        payload = EVENTS.get(event);
+        writer = objectMapper.writerFor(payload.getClass());
+        reader = objectMapper.readerFor(payload.getClass());
+        json = writer.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public Object deserialize() throws Exception {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.benchmarks;
+
+import org.example.bookingservice.dto.request.BookingRequest;
+import org.example.bookingservice.dto.response.BookingResponse;
+import org.example.bookingservice.mapper.BookingMapper;
+import org.example.bookingservice.mapper.BookingMapperImpl;
+import org.example.bookingservice.model.Booking;
+import org.example.bookingservice.model.BookingStatus;
+import org.example.kafka.event.BusType;
+import org.example.kafka.event.TripCreatedEvent;
+import org.example.tripservice.dto.request.TripCreateRequest;
+import org.example.tripservice.dto.response.TripResponse;
+import org.example.tripservice.mapper.RouteMapperImpl;
+import org.example.tripservice.mapper.TripMapper;
+import org.example.tripservice.mapper.TripMapperImpl;
+import org.example.tripservice.model.Route;
+import org.example.tripservice.model.Trip;
+import org.example.tripservice.model.TripStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MapStruct mappers on the booking and trip read and write paths, using the generated
+ * implementations directly as Spring would wire them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private BookingMapper bookingMapper;
+    private TripMapper tripMapper;
+
+    private Booking booking;
+    private BookingRequest bookingRequest;
+    private Trip trip;
+    private Route route;
+    private TripCreateRequest tripCreateRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookingMapper = new BookingMapperImpl();
+        tripMapper = new TripMapperImpl();
+        ReflectionTestUtils.setField(tripMapper, "routeMapper", new RouteMapperImpl());
+
+        booking = Booking.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .tripId(UUID.randomUUID())
+                .seatsCount(2)
+                .status(BookingStatus.WAITING_PAYMENT)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        bookingRequest = new BookingRequest(UUID.randomUUID(), 2, List.of(7, 8));
+
+        route = new Route(UUID.randomUUID(), "Minsk", "Brest");
+        LocalDateTime departure = LocalDateTime.now().plusDays(3);
+        trip = new Trip(UUID.randomUUID(), route, departure, departure.plusHours(4),
+                new BigDecimal("45.50"), BusType.BUS_50.getCapacity(), TripStatus.SCHEDULED, BusType.BUS_50);
+        tripCreateRequest = new TripCreateRequest(route.getId(), departure, departure.plusHours(4),
+                new BigDecimal("45.50"), BusType.BUS_50);
+    }
+
+    @Benchmark
+    public BookingResponse bookingToResponse() {
+        return bookingMapper.toResponse(booking);
+    }
+
+    @Benchmark
+    public Booking bookingRequestToEntity() {
+        return bookingMapper.toEntity(bookingRequest);
+    }
+
+    @Benchmark
+    public TripResponse tripToResponse() {
+        return tripMapper.toResponse(trip);
+    }
+
+    @Benchmark
+    public Trip tripCreateRequestToEntity() {
+        return tripMapper.toEntity(tripCreateRequest, route);
+    }
+
+    @Benchmark
+    public TripCreatedEvent tripToCreatedEvent() {
+        return tripMapper.toCreatedEvent(trip);
+    }
+}
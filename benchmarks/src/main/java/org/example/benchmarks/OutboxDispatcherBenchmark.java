@@ -0,0 +1,132 @@
+package org.example.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.kafka.event.EventType;
+import org.example.kafka.event.OrderCreatedEvent;
+import org.example.outbox.OutboxEventRegistry;
+import org.example.outbox.model.OutboxEvent;
+import org.example.outbox.relay.OutboxDispatcher;
+import org.example.outbox.repository.OutboxEventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.benchmarks.Stubs.stub;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * One {@link OutboxDispatcher#dispatchBatch()} call: payload deserialization, grouping by
+ * partition key, wave-by-wave publishing and the meters. The repository hands out the same
+ * claimed batch every time and the broker acknowledges immediately, so {@code keys} decides
+ * how many waves a batch needs: one key means one wave per event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboxDispatcherBenchmark {
+
+    private static final String TOPIC = "order.created";
+
+    @Param({"100", "500"})
+    public int batchSize;
+
+    @Param({"1", "16", "500"})
+    public int keys;
+
+    private OutboxDispatcher outboxDispatcher;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        OutboxEventRegistry registry = OutboxEventRegistry.builder()
+                .register(EventType.ORDER_CREATED, OrderCreatedEvent.class, TOPIC, event -> event.orderId().toString())
+                .build();
+
+        List<UUID> orderIds = new ArrayList<>(keys);
+        for (int i = 0; i < keys; i++) {
+            orderIds.add(UUID.randomUUID());
+        }
+        List<OutboxEvent> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            UUID orderId = orderIds.get(i % keys);
+            OrderCreatedEvent payload = new OrderCreatedEvent(
+                    UUID.randomUUID(), orderId, UUID.randomUUID(), 2, new BigDecimal("1250.00"), Instant.now());
+            OutboxEvent event = new OutboxEvent();
+            event.setId(UUID.randomUUID());
+            event.setAggregateId(orderId);
+            event.setEventType(EventType.ORDER_CREATED.name());
+            event.setPayloadJson(objectMapper.writeValueAsString(payload));
+            event.setCreatedAt(LocalDateTime.now());
+            batch.add(event);
+        }
+
+        OutboxEventRepository repository = stub(OutboxEventRepository.class);
+        when(repository.claimNew(batchSize)).thenReturn(batch);
+
+        ObjectProvider<MeterRegistry> meterRegistryProvider = stub(ObjectProvider.class);
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+
+        outboxDispatcher = new OutboxDispatcher(
+                repository, registry, new AcknowledgingKafkaTemplate(), objectMapper, meterRegistryProvider);
+        ReflectionTestUtils.setField(outboxDispatcher, "batchSize", batchSize);
+        ReflectionTestUtils.setField(outboxDispatcher, "maxRetries", 5);
+        ReflectionTestUtils.setField(outboxDispatcher, "sendTimeoutMs", 10_000L);
+        ReflectionTestUtils.setField(outboxDispatcher, "dlqTopic", "order.dead-letter");
+    }
+
+    @Benchmark
+    public int dispatchBatch() {
+        return outboxDispatcher.dispatchBatch();
+    }
+
+    /**
+     * A producer whose broker acknowledges every record at once. Overriding {@code send}
+     * rather than stubbing it keeps Mockito out of the per-event path.
+     */
+    private static final class AcknowledgingKafkaTemplate extends KafkaTemplate<String, Object> {
+
+        private static final CompletableFuture<SendResult<String, Object>> ACKNOWLEDGED =
+                CompletableFuture.completedFuture(null);
+
+        @SuppressWarnings("unchecked")
+        private AcknowledgingKafkaTemplate() {
+            super(stub(ProducerFactory.class));
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object data) {
+            return ACKNOWLEDGED;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.benchmarks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.example.paymentservice.config.RateLimitFilter;
+import org.example.paymentservice.config.RateLimitProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment {@link RateLimitFilter} with eight threads sending {@code POST /payments}.
+ * {@code clients} is the number of distinct client addresses: one means every thread
+ * competes for the same limiter state. {@code limitPerMinute} picks the path being measured,
+ * either requests passing through or almost all of them being turned away with 429.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain PASS_THROUGH = (request, response) -> { };
+
+    @Param({"1", "1024"})
+    public int clients;
+
+    @Param({"2147483647", "60"})
+    public int limitPerMinute;
+
+    private RateLimitFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy(
+                "/payments", "POST", RateLimitProperties.KeyType.IP, limitPerMinute, limitPerMinute);
+        RateLimitProperties properties = new RateLimitProperties(100_000, Map.of("payments", policy));
+        filter = new RateLimitFilter(properties, new StaticListableBeanFactory(
+                Map.of("meterRegistry", new SimpleMeterRegistry())).getBeanProvider(MeterRegistry.class));
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private MockHttpServletRequest[] requests;
+
+        @Setup(Level.Trial)
+        public void setUp(RateLimitFilterBenchmark benchmark) {
+            requests = new MockHttpServletRequest[benchmark.clients];
+            for (int i = 0; i < requests.length; i++) {
+                MockHttpServletRequest request = new MockHttpServletRequest("POST", "/payments");
+                request.setRemoteAddr("10.0." + (i / 256) + "." + (i % 256));
+                requests[i] = request;
+            }
+        }
+
+        MockHttpServletRequest next() {
+            return requests[ThreadLocalRandom.current().nextInt(requests.length)];
+        }
+    }
+
+    @Benchmark
+    public int filter(Client client) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(client.next(), response, PASS_THROUGH);
+        return response.getStatus();
+    }
+}
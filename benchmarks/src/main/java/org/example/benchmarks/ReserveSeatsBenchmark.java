@@ -0,0 +1,130 @@
+package org.example.benchmarks;
+
+import org.example.inventoryservice.client.TripServiceClient;
+import org.example.inventoryservice.exception.NotEnoughSeatsException;
+import org.example.inventoryservice.expiry.ReservationExpiryQueue;
+import org.example.inventoryservice.model.Reservation;
+import org.example.inventoryservice.model.Seat;
+import org.example.inventoryservice.model.SeatStatus;
+import org.example.inventoryservice.repository.SeatRepository;
+import org.example.inventoryservice.seatmap.InMemorySeatStateStore;
+import org.example.inventoryservice.seatmap.SeatStateEngine;
+import org.example.inventoryservice.seatmap.SeatStateLease;
+import org.example.inventoryservice.seatmap.SeatWriteBehindJournal;
+import org.example.inventoryservice.service.InventoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.benchmarks.Stubs.stub;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link InventoryService#reserveSeats} with every thread booking seats of the same trip,
+ * on the in-memory seat engine. Each operation reserves a random run of seats and gives
+ * them back, so the trip never sells out; a lost race shows up as a failed attempt rather
+ * than an error. Redis and Kafka are stubbed out, which keeps the numbers about contention
+ * on the trip's bitmap and write-behind journal instead of network round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ReserveSeatsBenchmark {
+
+    private static final UUID TRIP_ID = UUID.randomUUID();
+
+    @Param({"50"})
+    public int capacity;
+
+    @Param({"1", "4"})
+    public int seatsPerReservation;
+
+    private InventoryService inventoryService;
+    private InMemorySeatStateStore seatStateStore;
+    private List<List<Integer>> seatRuns;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        SeatRepository seatRepository = stub(SeatRepository.class);
+        when(seatRepository.findByTripId(TRIP_ID)).thenReturn(seats());
+
+        RedisTemplate<String, Object> redisTemplate = stub(RedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(stub(ValueOperations.class));
+
+        seatStateStore = new InMemorySeatStateStore(
+                new SeatStateEngine(seatRepository, stub(SeatStateLease.class)),
+                new SeatWriteBehindJournal(seatRepository, stub(TransactionTemplate.class)),
+                event -> { });
+        inventoryService = new InventoryService(
+                seatRepository,
+                redisTemplate,
+                stub(KafkaTemplate.class),
+                stub(TripServiceClient.class),
+                seatStateStore,
+                stub(ReservationExpiryQueue.class));
+        ReflectionTestUtils.setField(inventoryService, "dataPrefix", "reservation:data:");
+        ReflectionTestUtils.setField(inventoryService, "reservationTtlMinutes", 15L);
+
+        seatRuns = new ArrayList<>();
+        for (int first = 1; first + seatsPerReservation - 1 <= capacity; first++) {
+            List<Integer> run = new ArrayList<>(seatsPerReservation);
+            for (int seat = first; seat < first + seatsPerReservation; seat++) {
+                run.add(seat);
+            }
+            seatRuns.add(List.copyOf(run));
+        }
+    }
+
+    /**
+     * @return whether the seats were free; the failure rate is the contention being measured
+     */
+    @Benchmark
+    public boolean reserveAndRelease() {
+        List<Integer> seatNumbers = seatRuns.get(ThreadLocalRandom.current().nextInt(seatRuns.size()));
+        try {
+            Reservation reservation = inventoryService.reserveSeats(TRIP_ID, seatNumbers);
+            seatStateStore.release(reservation.tripId(), reservation.seatNumbers());
+            return true;
+        } catch (NotEnoughSeatsException e) {
+            return false;
+        }
+    }
+
+    private List<Seat> seats() {
+        List<Seat> seats = new ArrayList<>(capacity);
+        for (int i = 1; i <= capacity; i++) {
+            Seat seat = new Seat();
+            seat.setTripId(TRIP_ID);
+            seat.setSeatNumber(i);
+            seat.setStatus(SeatStatus.AVAILABLE);
+            seats.add(seat);
+        }
+        return seats;
+    }
+}
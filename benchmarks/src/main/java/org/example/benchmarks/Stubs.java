@@ -0,0 +1,17 @@
+package org.example.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Mockito stand-ins for collaborators outside the measured code. They are stub-only, so
+ * invocations are not recorded and a long benchmark run does not accumulate garbage.
+ */
+final class Stubs {
+
+    private Stubs() {}
+
+    static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.example.tripservice.model.Trip;
+import org.example.tripservice.repository.TripSpecifications;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the trip search query from {@link TripSpecifications} the way
+ * {@code TripService.getTrips} combines them, against Hibernate's real criteria API.
+ * The embedded database only backs the metamodel; no query is executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TripSpecificationsBenchmark {
+
+    /**
+     * {@code all}: from, to and date given; {@code none}: only the upcoming-trips filter applies.
+     */
+    @Param({"all", "none"})
+    public String filters;
+
+    private EmbeddedDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+
+    private String fromCity;
+    private String toCity;
+    private LocalDate date;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(database);
+        factory.setPackagesToScan(Trip.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "none"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+
+        if ("all".equals(filters)) {
+            fromCity = "Minsk";
+            toCity = "Brest";
+            date = LocalDate.now().plusDays(3);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+        database.shutdown();
+    }
+
+    @Benchmark
+    public CriteriaQuery<Trip> toPredicate() {
+        return criteriaQuery(specification());
+    }
+
+    @Benchmark
+    public TypedQuery<Trip> createQuery() {
+        return entityManager.createQuery(criteriaQuery(specification()));
+    }
+
+    private Specification<Trip> specification() {
+        return Specification.where(TripSpecifications.withFromCity(fromCity))
+                .and(TripSpecifications.withToCity(toCity))
+                .and(TripSpecifications.withDepartureDate(date))
+                .and(TripSpecifications.withDepartureNotInPast());
+    }
+
+    private CriteriaQuery<Trip> criteriaQuery(Specification<Trip> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Trip> query = cb.createQuery(Trip.class);
+        Root<Trip> root = query.from(Trip.class);
+        return query.where(specification.toPredicate(root, query, cb));
+    }
+}
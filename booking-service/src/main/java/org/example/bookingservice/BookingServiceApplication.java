@@ -3,8 +3,10 @@ package org.example.bookingservice;
 import net.devh.boot.grpc.client.autoconfigure.GrpcClientAutoConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(exclude = { GrpcClientAutoConfiguration.class })
+@EnableScheduling
 public class BookingServiceApplication {
 
     public static void main(String[] args) {
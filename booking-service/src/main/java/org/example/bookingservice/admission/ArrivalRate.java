@@ -0,0 +1,40 @@
+package org.example.bookingservice.admission;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking attempts per second for one trip, as a sliding window over the current and the
+ * previous second: the previous second counts in proportion to how much of it still overlaps.
+ */
+final class ArrivalRate {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private long windowStart;
+    private int current;
+    private int previous;
+
+    ArrivalRate(long nowNanos) {
+        this.windowStart = nowNanos;
+    }
+
+    /**
+     * Counts one arrival and returns the rate including it.
+     */
+    synchronized int record(long nowNanos) {
+        long elapsed = nowNanos - windowStart;
+        if (elapsed >= 2 * SECOND) {
+            previous = 0;
+            current = 0;
+            windowStart = nowNanos;
+            elapsed = 0;
+        } else if (elapsed >= SECOND) {
+            previous = current;
+            current = 0;
+            windowStart += SECOND;
+            elapsed -= SECOND;
+        }
+        current++;
+        return (int) (previous * (SECOND - elapsed) / SECOND) + current;
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.bookingservice.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.example.bookingservice.dto.response.QueuePositionResponse;
+import org.example.bookingservice.exception.NotEnoughCapacityException;
+import org.example.bookingservice.exception.QueuedForAdmissionException;
+import org.example.bookingservice.model.BookingStatus;
+import org.example.bookingservice.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for trips on sale. While a trip gets fewer than
+ * {@code booking.admission.hot-requests-per-second} booking attempts, they pass straight through.
+ * Above that the trip gets a {@link TripQueue}: only as many reservation attempts run at once as
+ * the trip has seats left times {@code concurrency-factor}, and everyone else gets a FIFO ticket
+ * to poll instead of piling onto the same seat rows and failing.
+ * <p>
+ * Seats left are estimated from the bookings holding seats, re-read at most every
+ * {@code seats-refresh-interval}. Queues are per instance.
+ */
+@Component
+@Slf4j
+public class BookingAdmission {
+
+    /**
+     * Statuses whose bookings hold seats; also used by {@code QueryPlanSelfCheck}.
+     */
+    public static final List<BookingStatus> HOLDING_SEATS =
+            List.of(BookingStatus.SEATS_RESERVED, BookingStatus.WAITING_PAYMENT, BookingStatus.CONFIRMED);
+    private static final int MAX_TRACKED_TRIPS = 100_000;
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final int hotRequestsPerSecond;
+    private final double concurrencyFactor;
+    private final Duration ticketTtl;
+    private final Duration admissionTtl;
+    private final Duration seatsRefreshInterval;
+    private final LongSupplier nanoClock;
+
+    private final Cache<UUID, ArrivalRate> arrivals;
+    private final Cache<UUID, QueueTicket> tickets;
+    private final ConcurrentMap<UUID, TripQueue> queues = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BookingAdmission(
+            BookingRepository bookingRepository,
+            @Value("${booking.admission.enabled:true}") boolean enabled,
+            @Value("${booking.admission.hot-requests-per-second:20}") int hotRequestsPerSecond,
+            @Value("${booking.admission.concurrency-factor:1.5}") double concurrencyFactor,
+            @Value("${booking.admission.ticket-ttl:30s}") Duration ticketTtl,
+            @Value("${booking.admission.admission-ttl:30s}") Duration admissionTtl,
+            @Value("${booking.admission.seats-refresh-interval:2s}") Duration seatsRefreshInterval,
+            @Value("${booking.admission.max-tickets:100000}") long maxTickets) {
+        this(bookingRepository, enabled, hotRequestsPerSecond, concurrencyFactor, ticketTtl, admissionTtl,
+                seatsRefreshInterval, maxTickets, System::nanoTime);
+    }
+
+    BookingAdmission(
+            BookingRepository bookingRepository,
+            boolean enabled,
+            int hotRequestsPerSecond,
+            double concurrencyFactor,
+            Duration ticketTtl,
+            Duration admissionTtl,
+            Duration seatsRefreshInterval,
+            long maxTickets,
+            LongSupplier nanoClock) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+        this.hotRequestsPerSecond = hotRequestsPerSecond;
+        this.concurrencyFactor = concurrencyFactor;
+        this.ticketTtl = ticketTtl;
+        this.admissionTtl = admissionTtl;
+        this.seatsRefreshInterval = seatsRefreshInterval;
+        this.nanoClock = nanoClock;
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_TRIPS)
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .build();
+        this.tickets = Caffeine.newBuilder()
+                .maximumSize(maxTickets)
+                .expireAfterAccess(ticketTtl.plus(admissionTtl))
+                .build();
+    }
+
+    /**
+     * Lets a booking attempt for {@code tripId} through, or puts it in line.
+     *
+     * @param totalSeats  seats of the trip, only asked for when the trip is hot
+     * @param queueTicket ticket from an earlier attempt, if any
+     * @return the admission, to be released once the reservation attempt is over
+     * @throws QueuedForAdmissionException if the caller has to wait; carries the ticket to poll
+     * @throws NotEnoughCapacityException  if the hot trip has no seats left
+     */
+    public Admission admit(UUID tripId, IntSupplier totalSeats, UUID userId, UUID queueTicket) {
+        if (!enabled) {
+            return Admission.NONE;
+        }
+        long now = nanoClock.getAsLong();
+        int rate = arrivals.get(tripId, id -> new ArrivalRate(now)).record(now);
+
+        if (queueTicket != null) {
+            QueueTicket ticket = tickets.getIfPresent(queueTicket);
+            if (ticket != null && ticket.userId.equals(userId) && ticket.queue.tripId().equals(tripId)) {
+                if (ticket.queue.use(ticket, now)) {
+                    return new Admission(ticket.queue, nanoClock);
+                }
+                QueuePositionResponse position = ticket.queue.describe(ticket, now);
+                switch (position.status()) {
+                    case WAITING -> throw new QueuedForAdmissionException(position);
+                    case SOLD_OUT -> throw soldOut(tripId);
+                    // used or lapsed tickets go to the back of the line
+                    default -> { }
+                }
+            }
+        }
+
+        while (true) {
+            TripQueue queue = queues.get(tripId);
+            if (queue == null) {
+                if (rate < hotRequestsPerSecond) {
+                    return Admission.NONE;
+                }
+                queue = queues.computeIfAbsent(tripId, id -> openQueue(id, totalSeats.getAsInt(), rate, now));
+            } else if (rate < hotRequestsPerSecond && queue.retireIfIdle(now)) {
+                queues.remove(tripId, queue);
+                log.info("Trip {} cooled down, admission queue closed", tripId);
+                return Admission.NONE;
+            }
+            refreshRemainingSeats(queue, totalSeats, now);
+
+            TripQueue.Entry entry = queue.enter(userId, now);
+            switch (entry.kind()) {
+                case PASS -> {
+                    return new Admission(queue, nanoClock);
+                }
+                case QUEUED -> {
+                    tickets.put(entry.ticket().id, entry.ticket());
+                    throw new QueuedForAdmissionException(queue.describe(entry.ticket(), now));
+                }
+                case SOLD_OUT -> throw soldOut(tripId);
+                case RETIRED -> queues.remove(tripId, queue);
+            }
+        }
+    }
+
+    /**
+     * Where {@code ticketId} stands; in-memory only, so clients can poll it often.
+     */
+    public QueuePositionResponse position(UUID ticketId, UUID userId) {
+        QueueTicket ticket = tickets.getIfPresent(ticketId);
+        if (ticket == null || !ticket.userId.equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Queue ticket not found: " + ticketId);
+        }
+        return ticket.queue.describe(ticket, nanoClock.getAsLong());
+    }
+
+    private static NotEnoughCapacityException soldOut(UUID tripId) {
+        return new NotEnoughCapacityException("Not enough available seats for trip: " + tripId);
+    }
+
+    private TripQueue openQueue(UUID tripId, int totalSeats, int rate, long now) {
+        int remaining = remainingSeats(tripId, totalSeats);
+        log.info("Trip {} is hot ({} bookings/s, {} seats left), admission queue opened", tripId, rate, remaining);
+        return new TripQueue(tripId, remaining, concurrencyFactor, ticketTtl, admissionTtl, now);
+    }
+
+    private void refreshRemainingSeats(TripQueue queue, IntSupplier totalSeats, long now) {
+        if (queue.claimSeatRefresh(now, seatsRefreshInterval)) {
+            queue.updateRemainingSeats(remainingSeats(queue.tripId(), totalSeats.getAsInt()), now);
+        }
+    }
+
+    private int remainingSeats(UUID tripId, int totalSeats) {
+        long held = bookingRepository.sumSeatsByTripIdAndStatusIn(tripId, HOLDING_SEATS);
+        return (int) Math.max(0, totalSeats - held);
+    }
+
+    /**
+     * A running reservation attempt of a hot trip; releasing it makes room for the next in line.
+     */
+    public static final class Admission {
+
+        /** The trip is not hot; nothing to release. */
+        public static final Admission NONE = new Admission(null, null);
+
+        private final TripQueue queue;
+        private final LongSupplier nanoClock;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Admission(TripQueue queue, LongSupplier nanoClock) {
+            this.queue = queue;
+            this.nanoClock = nanoClock;
+        }
+
+        /**
+         * Ends the attempt; {@code seatsHeld} are the seats it ended up holding. Only the first
+         * call counts.
+         */
+        public void release(int seatsHeld) {
+            if (queue != null && released.compareAndSet(false, true)) {
+                queue.finish(seatsHeld, nanoClock.getAsLong());
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.bookingservice.admission;
+
+public enum QueueStatus {
+    /** In line; poll again after the suggested delay. */
+    WAITING,
+    /** May book now by sending the ticket with {@code POST /booking}. */
+    ADMITTED,
+    /** Already used for a booking attempt. */
+    USED,
+    /** Not polled or not used in time and dropped from the line. */
+    EXPIRED,
+    /** No seats left on the trip. */
+    SOLD_OUT
+}
@@ -0,0 +1,25 @@
+package org.example.bookingservice.admission;
+
+import java.util.UUID;
+
+/**
+ * A place in the line of one hot trip. Mutable state is guarded by the owning {@link TripQueue}.
+ */
+final class QueueTicket {
+
+    final UUID id = UUID.randomUUID();
+    final UUID userId;
+    final long sequence;
+    final TripQueue queue;
+
+    QueueStatus status = QueueStatus.WAITING;
+    long lastSeenNanos;
+    long admittedAtNanos;
+
+    QueueTicket(UUID userId, long sequence, TripQueue queue, long nowNanos) {
+        this.userId = userId;
+        this.sequence = sequence;
+        this.queue = queue;
+        this.lastSeenNanos = nowNanos;
+    }
+}
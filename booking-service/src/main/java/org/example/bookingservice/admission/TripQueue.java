@@ -0,0 +1,160 @@
+package org.example.bookingservice.admission;
+
+import org.example.bookingservice.dto.response.QueuePositionResponse;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+
+/**
+ * FIFO line in front of the reservation attempts of one hot trip. At most
+ * {@code ceil(remainingSeats * concurrencyFactor)} attempts run at a time; when one finishes,
+ * the next tickets in line are admitted. Tickets that stop polling, and admissions that are
+ * not used, lapse so they do not hold the line up.
+ */
+final class TripQueue {
+
+    private static final long MAX_RETRY_AFTER_SECONDS = 10;
+
+    private final UUID tripId;
+    private final double concurrencyFactor;
+    private final long ticketTtlNanos;
+    private final long admissionTtlNanos;
+    private final Deque<QueueTicket> waiting = new ArrayDeque<>();
+    private final Deque<QueueTicket> admitted = new ArrayDeque<>();
+
+    private int inFlight;
+    private int remainingSeats;
+    private long seatsRefreshedAtNanos;
+    private long nextSequence;
+    private boolean retired;
+
+    TripQueue(UUID tripId, int remainingSeats, double concurrencyFactor, Duration ticketTtl,
+              Duration admissionTtl, long nowNanos) {
+        this.tripId = tripId;
+        this.remainingSeats = remainingSeats;
+        this.concurrencyFactor = concurrencyFactor;
+        this.ticketTtlNanos = ticketTtl.toNanos();
+        this.admissionTtlNanos = admissionTtl.toNanos();
+        this.seatsRefreshedAtNanos = nowNanos;
+    }
+
+    UUID tripId() {
+        return tripId;
+    }
+
+    /**
+     * A request without a ticket: it runs right away if nobody is waiting and there is room,
+     * otherwise it gets the next ticket.
+     */
+    synchronized Entry enter(UUID userId, long nowNanos) {
+        if (retired) {
+            return new Entry(EntryKind.RETIRED, null);
+        }
+        advance(nowNanos);
+        if (soldOut()) {
+            return new Entry(EntryKind.SOLD_OUT, null);
+        }
+        if (waiting.isEmpty() && inFlight < limit()) {
+            inFlight++;
+            return new Entry(EntryKind.PASS, null);
+        }
+        QueueTicket ticket = new QueueTicket(userId, nextSequence++, this, nowNanos);
+        waiting.addLast(ticket);
+        return new Entry(EntryKind.QUEUED, ticket);
+    }
+
+    /**
+     * Redeems an admitted ticket for a reservation attempt; its slot was taken on admission.
+     */
+    synchronized boolean use(QueueTicket ticket, long nowNanos) {
+        ticket.lastSeenNanos = nowNanos;
+        advance(nowNanos);
+        if (ticket.status != QueueStatus.ADMITTED) {
+            return false;
+        }
+        ticket.status = QueueStatus.USED;
+        return true;
+    }
+
+    synchronized void finish(int seatsHeld, long nowNanos) {
+        inFlight--;
+        remainingSeats = Math.max(0, remainingSeats - seatsHeld);
+        advance(nowNanos);
+    }
+
+    synchronized QueuePositionResponse describe(QueueTicket ticket, long nowNanos) {
+        ticket.lastSeenNanos = nowNanos;
+        advance(nowNanos);
+        QueueStatus status = ticket.status == QueueStatus.WAITING && soldOut() ? QueueStatus.SOLD_OUT : ticket.status;
+        long position = status == QueueStatus.WAITING ? ticket.sequence - waiting.peekFirst().sequence : 0;
+        long retryAfter = status == QueueStatus.WAITING
+                ? Math.min(MAX_RETRY_AFTER_SECONDS, 1 + position / Math.max(1, limit()))
+                : 0;
+        return new QueuePositionResponse(ticket.id, tripId, status, position, retryAfter);
+    }
+
+    /**
+     * Claims the next refresh of the remaining seats if the last one is older than {@code interval}.
+     */
+    synchronized boolean claimSeatRefresh(long nowNanos, Duration interval) {
+        if (nowNanos - seatsRefreshedAtNanos < interval.toNanos()) {
+            return false;
+        }
+        seatsRefreshedAtNanos = nowNanos;
+        return true;
+    }
+
+    synchronized void updateRemainingSeats(int seats, long nowNanos) {
+        remainingSeats = seats;
+        advance(nowNanos);
+    }
+
+    /**
+     * Closes the queue once nobody waits and no attempt runs, so the trip goes back to being
+     * booked without tickets.
+     */
+    synchronized boolean retireIfIdle(long nowNanos) {
+        advance(nowNanos);
+        if (waiting.isEmpty() && inFlight == 0) {
+            retired = true;
+        }
+        return retired;
+    }
+
+    private void advance(long nowNanos) {
+        while (!admitted.isEmpty() && nowNanos - admitted.peekFirst().admittedAtNanos > admissionTtlNanos) {
+            QueueTicket lapsed = admitted.pollFirst();
+            if (lapsed.status == QueueStatus.ADMITTED) {
+                lapsed.status = QueueStatus.EXPIRED;
+                inFlight--;
+            }
+        }
+        int limit = limit();
+        while (inFlight < limit && !waiting.isEmpty()) {
+            QueueTicket next = waiting.pollFirst();
+            if (nowNanos - next.lastSeenNanos > ticketTtlNanos) {
+                next.status = QueueStatus.EXPIRED;
+                continue;
+            }
+            next.status = QueueStatus.ADMITTED;
+            next.admittedAtNanos = nowNanos;
+            admitted.addLast(next);
+            inFlight++;
+        }
+    }
+
+    private int limit() {
+        return (int) Math.ceil(remainingSeats * concurrencyFactor);
+    }
+
+    private boolean soldOut() {
+        return remainingSeats <= 0 && inFlight == 0;
+    }
+
+    enum EntryKind { PASS, QUEUED, SOLD_OUT, RETIRED }
+
+    record Entry(EntryKind kind, QueueTicket ticket) {
+    }
+}
@@ -2,43 +2,96 @@ package org.example.bookingservice.client.inventory;
 
 import com.booking.inventory.grpc.InventoryServiceGrpc;
 import com.booking.inventory.grpc.ReserveSeatsRequest;
+import com.booking.inventory.grpc.ReserveAnySeatsRequest;
+import com.booking.inventory.grpc.SeatPreference;
 import com.booking.inventory.grpc.ReserveSeatsResponse;
 import com.booking.inventory.grpc.ConfirmReservationRequest;
 import com.booking.inventory.grpc.ReleaseReservationRequest;
+import com.google.protobuf.Empty;
+import io.grpc.Context;
+import io.grpc.stub.StreamObserver;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
 import java.util.UUID;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 @Component
 @RequiredArgsConstructor
 public class InventoryGrpcClient {
 
-    private final InventoryServiceGrpc.InventoryServiceBlockingStub stub;
+    private final InventoryServiceGrpc.InventoryServiceStub stub;
 
-    public ReserveSeatsResponse reserveSeats(UUID tripId, List<Integer> seats) {
-        return stub.reserveSeats(
-                ReserveSeatsRequest.newBuilder()
-                        .setTripId(tripId.toString())
-                        .addAllSeatNumbers(seats)
-                        .build()
-        );
+    @Value("${inventory.grpc.deadline-ms:2000}")
+    private long deadlineMs;
+
+    public Mono<ReserveSeatsResponse> reserveSeats(UUID tripId, List<Integer> seats) {
+        ReserveSeatsRequest request = ReserveSeatsRequest.newBuilder()
+                .setTripId(tripId.toString())
+                .addAllSeatNumbers(seats)
+                .build();
+        return call((deadlineStub, observer) -> deadlineStub.reserveSeats(request, observer));
     }
 
-    public void confirmReservation(UUID reservationId) {
-        stub.confirmReservation(
-                ConfirmReservationRequest.newBuilder()
-                        .setReservationId(reservationId.toString())
-                        .build()
-        );
+    /**
+     * Lets inventory pick {@code count} free seats, next to each other when possible.
+     */
+    public Mono<ReserveSeatsResponse> reserveAnySeats(UUID tripId, int count) {
+        ReserveAnySeatsRequest request = ReserveAnySeatsRequest.newBuilder()
+                .setTripId(tripId.toString())
+                .setCount(count)
+                .setPreference(SeatPreference.TOGETHER)
+                .build();
+        return call((deadlineStub, observer) -> deadlineStub.reserveAnySeats(request, observer));
     }
 
-    public void releaseReservation(UUID reservationId) {
-        stub.releaseReservation(
-                ReleaseReservationRequest.newBuilder()
-                        .setReservationId(reservationId.toString())
-                        .build()
-        );
+    public Mono<Void> confirmReservation(UUID reservationId) {
+        ConfirmReservationRequest request = ConfirmReservationRequest.newBuilder()
+                .setReservationId(reservationId.toString())
+                .build();
+        return this.<Empty>call((deadlineStub, observer) -> deadlineStub.confirmReservation(request, observer))
+                .then();
+    }
+
+    public Mono<Void> releaseReservation(UUID reservationId) {
+        ReleaseReservationRequest request = ReleaseReservationRequest.newBuilder()
+                .setReservationId(reservationId.toString())
+                .build();
+        return this.<Empty>call((deadlineStub, observer) -> deadlineStub.releaseReservation(request, observer))
+                .then();
     }
-}
 
+    /**
+     * Issues a unary call on the async stub when subscribed; the gRPC deadline starts at subscription.
+     * The call runs in its own cancellable context, so cancelling the subscription, for example when a
+     * saga step's timeout fires, cancels the call instead of leaving it running unobserved.
+     */
+    private <T> Mono<T> call(BiConsumer<InventoryServiceGrpc.InventoryServiceStub, StreamObserver<T>> rpc) {
+        return Mono.create(sink -> {
+            Context.CancellableContext context = Context.current().withCancellation();
+            sink.onDispose(() -> context.cancel(null));
+            context.run(() -> rpc.accept(
+                    stub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS),
+                    new StreamObserver<>() {
+                        @Override
+                        public void onNext(T value) {
+                            sink.success(value);
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            sink.error(t);
+                        }
+
+                        @Override
+                        public void onCompleted() {
+                            sink.success();
+                        }
+                    }
+            ));
+        });
+    }
+}
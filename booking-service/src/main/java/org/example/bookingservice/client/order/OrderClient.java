@@ -3,6 +3,7 @@ package org.example.bookingservice.client.order;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import java.util.UUID;
 
 @Component
@@ -14,29 +15,28 @@ public class OrderClient {
         this.webClient = webClientBuilder.baseUrl(orderUrl).build();
     }
 
-    public OrderResponse createOrder(CreateOrderRequest request) {
+    public Mono<OrderResponse> createOrder(CreateOrderRequest request) {
         return webClient.post()
                 .uri("/orders")
                 .bodyValue(request)
                 .retrieve()
-                .bodyToMono(OrderResponse.class)
-                .block();
+                .bodyToMono(OrderResponse.class);
     }
 
-    public void cancelOrder(UUID orderId) {
-        webClient.put()
+    public Mono<Void> cancelOrder(UUID orderId) {
+        return webClient.put()
                 .uri("/orders/{id}/cancel", orderId)
                 .retrieve()
                 .toBodilessEntity()
-                .block();
+                .then();
     }
 
-    public void confirmOrder(UUID orderId) {
-        webClient.put()
+    public Mono<Void> confirmOrder(UUID orderId) {
+        return webClient.put()
                 .uri("/orders/{id}/confirm", orderId)
                 .retrieve()
                 .toBodilessEntity()
-                .block();
+                .then();
     }
 }
 
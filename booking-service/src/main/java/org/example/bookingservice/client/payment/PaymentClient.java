@@ -3,6 +3,7 @@ package org.example.bookingservice.client.payment;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 @Component
 public class PaymentClient {
@@ -13,13 +14,12 @@ public class PaymentClient {
         this.webClient = webClientBuilder.baseUrl(paymentUrl).build();
     }
 
-    public CreatePaymentResponse createPayment(CreatePaymentRequest createPaymentRequest) {
+    public Mono<CreatePaymentResponse> createPayment(CreatePaymentRequest createPaymentRequest) {
         return webClient.post()
                 .uri("/payments")
                 .bodyValue(createPaymentRequest)
                 .retrieve()
-                .bodyToMono(CreatePaymentResponse.class)
-                .block();
+                .bodyToMono(CreatePaymentResponse.class);
     }
 }
 
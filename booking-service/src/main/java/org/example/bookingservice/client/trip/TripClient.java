@@ -1,24 +1,53 @@
 package org.example.bookingservice.client.trip;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
 import java.util.UUID;
 
+/**
+ * Trip lookups for the booking saga, served from a local near cache.
+ * <p>
+ * Concurrent lookups of the same trip share one request to trip-service. Entries live for
+ * {@code trip.cache.ttl-seconds} and are dropped as soon as the trip is cancelled, departs or
+ * arrives, so a trip that stops being bookable is not offered from the cache.
+ */
 @Component
 public class TripClient {
 
     private final WebClient webClient;
+    private final AsyncCache<UUID, TripResponse> trips;
 
-    public TripClient(@Qualifier("tripServiceWebClient") WebClient tripServiceWebClient) {
+    public TripClient(
+            @Qualifier("tripServiceWebClient") WebClient tripServiceWebClient,
+            @Value("${trip.cache.max-size:10000}") long maxSize,
+            @Value("${trip.cache.ttl-seconds:30}") long ttlSeconds) {
         this.webClient = tripServiceWebClient;
+        this.trips = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .buildAsync();
+    }
+
+    public Mono<TripResponse> getTrip(UUID tripId) {
+        // a cancelled subscriber must not cancel a load other callers are waiting on
+        return Mono.fromFuture(() -> trips.get(tripId, (id, executor) -> fetchTrip(id).toFuture()), true);
+    }
+
+    public void evict(UUID tripId) {
+        trips.synchronous().invalidate(tripId);
     }
 
-    public TripResponse getTrip(UUID tripId) {
+    private Mono<TripResponse> fetchTrip(UUID tripId) {
         return webClient.get()
                 .uri("/trips/{id}", tripId)
                 .retrieve()
-                .bodyToMono(TripResponse.class)
-                .block();
+                .bodyToMono(TripResponse.class);
     }
 }
@@ -6,5 +6,6 @@ import java.util.UUID;
 public record TripResponse(
     UUID id,
     BigDecimal price,
-    TripStatus status
+    TripStatus status,
+    int totalSeats
 ) {}
@@ -13,12 +13,16 @@ import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class BookingConfiguration {
 
     private static ExchangeFilterFunction forwardBearerToken() {
-        return ExchangeFilterFunction.ofRequestProcessor(request -> {
-            String token = BearerTokenHolder.getToken();
+        return ExchangeFilterFunction.ofRequestProcessor(request -> Mono.deferContextual(context -> {
+            String token = context.getOrDefault(BearerTokenHolder.CONTEXT_KEY, BearerTokenHolder.getToken());
             if (token != null && !token.isBlank()) {
                 ClientRequest mutated = ClientRequest.from(request)
                         .header(HttpHeaders.AUTHORIZATION, token)
@@ -26,7 +30,7 @@ public class BookingConfiguration {
                 return Mono.just(mutated);
             }
             return Mono.just(request);
-        });
+        }));
     }
 
     @Bean
@@ -43,6 +47,25 @@ public class BookingConfiguration {
                 .build();
     }
 
+    /**
+     * Bounded work queue for bookings accepted in async mode; submissions beyond
+     * {@code queue-capacity} are rejected instead of piling up.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor bookingSagaExecutor(
+            @Value("${booking.async.workers:32}") int workers,
+            @Value("${booking.async.queue-capacity:1000}") int queueCapacity
+    ) {
+        return new ThreadPoolExecutor(
+                workers,
+                workers,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
     @Bean
     public OpenAPI bookingApi() {
         return new OpenAPI().info(new Info().title("Booking Service API")
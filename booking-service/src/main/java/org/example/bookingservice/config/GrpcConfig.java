@@ -24,7 +24,7 @@ public class GrpcConfig {
     }
 
     @Bean
-    public InventoryServiceGrpc.InventoryServiceBlockingStub inventoryServiceBlockingStub(ManagedChannel inventoryChannel) {
-        return InventoryServiceGrpc.newBlockingStub(inventoryChannel);
+    public InventoryServiceGrpc.InventoryServiceStub inventoryServiceStub(ManagedChannel inventoryChannel) {
+        return InventoryServiceGrpc.newStub(inventoryChannel);
     }
 }
@@ -2,20 +2,28 @@ package org.example.bookingservice.controller;
 
 import lombok.RequiredArgsConstructor;
 import jakarta.validation.Valid;
+import org.example.bookingservice.admission.BookingAdmission;
 import org.example.bookingservice.dto.request.BookingRequest;
 import org.example.bookingservice.dto.response.BookingResponse;
 import org.example.bookingservice.dto.response.CreateBookingResponse;
+import org.example.bookingservice.dto.response.QueuePositionResponse;
 import org.example.bookingservice.model.BookingStatus;
 import org.example.bookingservice.service.BookingService;
 import org.example.bookingservice.controller.docs.BookingControllerDocs;
 import org.example.bookingservice.util.SecurityUtils;
+import org.example.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
 
+import java.net.URI;
 import java.util.UUID;
 
 @RestController
@@ -23,11 +31,44 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class BookingController implements BookingControllerDocs {
     private final BookingService bookingService;
+    private final BookingAdmission bookingAdmission;
+
+    @Value("${booking.async.enabled:false}")
+    private boolean asyncEnabled;
 
     @Override
     @PostMapping(consumes = "application/json", produces = "application/json")
-    public ResponseEntity<CreateBookingResponse> createBooking(@Valid @RequestBody BookingRequest bookingRequest){
-        return ResponseEntity.ok(bookingService.createBooking(bookingRequest));
+    public Mono<ResponseEntity<CreateBookingResponse>> createBooking(
+            @Valid @RequestBody BookingRequest bookingRequest,
+            @RequestHeader(value = "X-Queue-Ticket", required = false) UUID queueTicket
+    ){
+        if (asyncEnabled) {
+            return bookingService.submitBooking(bookingRequest, queueTicket)
+                    .map(accepted -> ResponseEntity
+                            .accepted()
+                            .location(URI.create("/booking/" + accepted.bookingId()))
+                            .body(accepted));
+        }
+        return bookingService.createBooking(bookingRequest, queueTicket).map(ResponseEntity::ok);
+    }
+
+    @Override
+    @GetMapping(produces = "application/json", path = "/queue/{ticketId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QueuePositionResponse> getQueuePosition(@PathVariable UUID ticketId) {
+        return ResponseEntity.ok(bookingAdmission.position(ticketId, SecurityUtils.currentUserId()));
+    }
+
+    @Override
+    @GetMapping(produces = "application/json", path = "/{id}")
+    public ResponseEntity<BookingResponse> getBooking(@PathVariable UUID id) {
+        return ResponseEntity.ok(bookingService.getBookingById(id));
+    }
+
+    @Override
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE, path = "/{id}/events")
+    public SseEmitter streamBookingEvents(@PathVariable UUID id) {
+        return bookingService.subscribeToEvents(id);
     }
 
     @GetMapping(produces = "application/json", path = "/me")
@@ -39,6 +80,17 @@ public class BookingController implements BookingControllerDocs {
         return ResponseEntity.ok(bookingService.getAllBookings(currentUserId, null, null, pageable));
     }
 
+    @Override
+    @GetMapping(produces = "application/json", path = "/me/scroll")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<BookingResponse>> scrollMyBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        UUID currentUserId = SecurityUtils.currentUserId();
+        return ResponseEntity.ok(bookingService.scrollBookings(currentUserId, null, null, cursor, size, false));
+    }
+
     @Override
     @GetMapping(produces = "application/json", path = "/all")
     public ResponseEntity<Page<BookingResponse>> getAllBookings(
@@ -50,9 +102,22 @@ public class BookingController implements BookingControllerDocs {
         return ResponseEntity.ok(bookingService.getAllBookings(userId, tripId, status, pageable));
     }
 
+    @Override
+    @GetMapping(produces = "application/json", path = "/all/scroll")
+    public ResponseEntity<CursorPage<BookingResponse>> scrollAllBookings(
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) UUID tripId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(bookingService.scrollBookings(userId, tripId, status, cursor, size, includeTotal));
+    }
+
     @Override
     @DeleteMapping(produces = "application/json", path = "/cancel/{id}")
-    public ResponseEntity<BookingResponse> cancelBooking(@PathVariable UUID id){
-        return ResponseEntity.ok(bookingService.cancelBooking(id));
+    public Mono<ResponseEntity<BookingResponse>> cancelBooking(@PathVariable UUID id){
+        return bookingService.cancelBooking(id).map(ResponseEntity::ok);
     }
 }
@@ -7,20 +7,45 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.example.bookingservice.dto.request.BookingRequest;
 import org.example.bookingservice.dto.response.BookingResponse;
 import org.example.bookingservice.dto.response.CreateBookingResponse;
+import org.example.bookingservice.dto.response.QueuePositionResponse;
 import org.example.bookingservice.model.BookingStatus;
+import org.example.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
 @Tag(name = "Бронирование", description = "API для управления бронированиями билетов")
 public interface BookingControllerDocs {
 
-    @Operation(summary = "Создать новое бронирование", description = "Создает временное бронирование для указанной поездки")
+    @Operation(summary = "Создать новое бронирование", description = "Создает временное бронирование для указанной поездки. Если seatNumbers не переданы, места (по возможности рядом) подбирает inventory-service")
     @ApiResponse(responseCode = "200", description = "Бронирование успешно создано")
+    @ApiResponse(responseCode = "202", description = "Бронирование принято в обработку (асинхронный режим)")
     @ApiResponse(responseCode = "400", description = "Некорректные данные или недостаточно мест")
-    ResponseEntity<CreateBookingResponse> createBooking(BookingRequest bookingRequest);
+    @ApiResponse(responseCode = "429", description = "Поездка в ажиотажном спросе, запрос поставлен в очередь: в теле билет и позиция, в Retry-After - когда проверить снова")
+    @ApiResponse(responseCode = "503", description = "Очередь бронирований переполнена")
+    Mono<ResponseEntity<CreateBookingResponse>> createBooking(
+            BookingRequest bookingRequest,
+            @Parameter(description = "Билет очереди из ответа 429; передается, когда билет получил статус ADMITTED") UUID queueTicket
+    );
+
+    @Operation(summary = "Позиция в очереди", description = "Состояние билета очереди на поездку. Когда статус станет ADMITTED, повторите создание бронирования с заголовком X-Queue-Ticket")
+    @ApiResponse(responseCode = "200", description = "Билет найден")
+    @ApiResponse(responseCode = "404", description = "Билет не найден или истек")
+    ResponseEntity<QueuePositionResponse> getQueuePosition(@Parameter(description = "ID билета очереди") UUID ticketId);
+
+    @Operation(summary = "Получить бронирование", description = "Возвращает текущее состояние бронирования")
+    @ApiResponse(responseCode = "200", description = "Бронирование найдено")
+    @ApiResponse(responseCode = "404", description = "Бронирование не найдено")
+    ResponseEntity<BookingResponse> getBooking(@Parameter(description = "ID бронирования") UUID id);
+
+    @Operation(summary = "Поток событий бронирования", description = "SSE-поток: SEATS_RESERVED, WAITING_PAYMENT со ссылкой на оплату, CONFIRMED или CANCELLED")
+    @ApiResponse(responseCode = "200", description = "Поток открыт")
+    @ApiResponse(responseCode = "404", description = "Бронирование не найдено")
+    SseEmitter streamBookingEvents(@Parameter(description = "ID бронирования") UUID id);
 
     @Operation(summary = "Получить список всех бронирований", description = "Возвращает страницу с бронированиями с возможностью фильтрации")
     @ApiResponse(responseCode = "200", description = "Список успешно получен")
@@ -31,8 +56,28 @@ public interface BookingControllerDocs {
             Pageable pageable
     );
 
+    @Operation(summary = "Мои бронирования (курсорная пагинация)", description = "Возвращает бронирования текущего пользователя от новых к старым. Для следующей страницы передайте nextCursor из предыдущего ответа")
+    @ApiResponse(responseCode = "200", description = "Страница успешно получена")
+    @ApiResponse(responseCode = "400", description = "Некорректный курсор")
+    ResponseEntity<CursorPage<BookingResponse>> scrollMyBookings(
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы") String cursor,
+            @Parameter(description = "Размер страницы (1-100, по умолчанию 20)") Integer size
+    );
+
+    @Operation(summary = "Список бронирований (курсорная пагинация)", description = "Возвращает бронирования от новых к старым без OFFSET: стоимость любой страницы одинакова. Общее количество считается только по запросу")
+    @ApiResponse(responseCode = "200", description = "Страница успешно получена")
+    @ApiResponse(responseCode = "400", description = "Некорректный курсор")
+    ResponseEntity<CursorPage<BookingResponse>> scrollAllBookings(
+            @Parameter(description = "ID пользователя") UUID userId,
+            @Parameter(description = "ID поездки") UUID tripId,
+            @Parameter(description = "Статус бронирования") BookingStatus status,
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы") String cursor,
+            @Parameter(description = "Размер страницы (1-100, по умолчанию 20)") Integer size,
+            @Parameter(description = "Посчитать общее количество бронирований") boolean includeTotal
+    );
+
     @Operation(summary = "Отменить бронирование", description = "Меняет статус бронирования на CANCELLED")
     @ApiResponse(responseCode = "200", description = "Бронирование успешно отменено")
     @ApiResponse(responseCode = "404", description = "Бронирование не найдено")
-    ResponseEntity<BookingResponse> cancelBooking(UUID id);
+    Mono<ResponseEntity<BookingResponse>> cancelBooking(UUID id);
 }
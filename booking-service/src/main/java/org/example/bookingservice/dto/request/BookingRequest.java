@@ -5,6 +5,9 @@ import jakarta.validation.constraints.NotNull;
 import java.util.UUID;
 import java.util.List;
 
+/**
+ * @param seatNumbers seats picked by the user; when absent, inventory picks {@code seatsCount} free seats
+ */
 public record BookingRequest(
         @NotNull(message = "Trip ID is required")
         UUID tripId,
@@ -12,7 +15,6 @@ public record BookingRequest(
         @Min(value = 1, message = "Seats count must be at least 1")
         int seatsCount,
 
-        @NotNull(message = "Seat numbers are required")
         List<Integer> seatNumbers
 ) {
 }
@@ -0,0 +1,15 @@
+package org.example.bookingservice.dto.response;
+
+import org.example.bookingservice.model.BookingStatus;
+import java.time.Instant;
+import java.util.UUID;
+
+public record BookingEventResponse(
+    UUID bookingId,
+    BookingStatus status,
+    UUID orderId,
+    String paymentUrl,
+    Instant reservationExpiresAt,
+    Instant timestamp
+) {
+}
@@ -0,0 +1,13 @@
+package org.example.bookingservice.dto.response;
+
+import org.example.bookingservice.admission.QueueStatus;
+import java.util.UUID;
+
+public record QueuePositionResponse(
+    UUID ticketId,
+    UUID tripId,
+    QueueStatus status,
+    long position,
+    long retryAfterSeconds
+) {
+}
@@ -1,5 +1,8 @@
 package org.example.bookingservice.exception;
 
+import org.example.bookingservice.dto.response.QueuePositionResponse;
+import org.example.pagination.InvalidCursorException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -38,6 +41,21 @@ public class GlobalExceptionHandler {
                 .body(Map.of("message", ex.getMessage()));
     }
 
+    @ExceptionHandler(QueuedForAdmissionException.class)
+    public ResponseEntity<QueuePositionResponse> handleQueued(QueuedForAdmissionException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getPosition().retryAfterSeconds()))
+                .body(ex.getPosition());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
     @ExceptionHandler(BookingNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleNotFound(BookingNotFoundException ex) {
         return ResponseEntity
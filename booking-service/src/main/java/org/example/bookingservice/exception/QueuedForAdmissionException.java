@@ -0,0 +1,20 @@
+package org.example.bookingservice.exception;
+
+import org.example.bookingservice.dto.response.QueuePositionResponse;
+
+/**
+ * The trip is hot and the request was put in line instead of being let through.
+ */
+public class QueuedForAdmissionException extends RuntimeException {
+
+    private final QueuePositionResponse position;
+
+    public QueuedForAdmissionException(QueuePositionResponse position) {
+        super("Queued for trip: " + position.tripId());
+        this.position = position;
+    }
+
+    public QueuePositionResponse getPosition() {
+        return position;
+    }
+}
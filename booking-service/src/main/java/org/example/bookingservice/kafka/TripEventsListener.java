@@ -0,0 +1,37 @@
+package org.example.bookingservice.kafka;
+
+import org.springframework.stereotype.Component;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.example.bookingservice.client.trip.TripClient;
+import org.example.kafka.event.TripArrivedEvent;
+import org.example.kafka.event.TripCancelledEvent;
+import org.example.kafka.event.TripDepartedEvent;
+
+/**
+ * Drops trips from the local {@link TripClient} cache once they stop being bookable. Every
+ * instance holds its own cache, so each one consumes in its own consumer group.
+ */
+@Component
+@RequiredArgsConstructor
+public class TripEventsListener {
+
+    static final String GROUP_ID = "booking-service-trip-cache-${random.uuid}";
+
+    private final TripClient tripClient;
+
+    @KafkaListener(topics = "trip.cancelled", groupId = GROUP_ID)
+    public void onTripCancelled(TripCancelledEvent event) {
+        tripClient.evict(event.tripId());
+    }
+
+    @KafkaListener(topics = "trip.departed", groupId = GROUP_ID)
+    public void onTripDeparted(TripDepartedEvent event) {
+        tripClient.evict(event.tripId());
+    }
+
+    @KafkaListener(topics = "trip.arrived", groupId = GROUP_ID)
+    public void onTripArrived(TripArrivedEvent event) {
+        tripClient.evict(event.tripId());
+    }
+}
@@ -14,12 +14,17 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Transient;
 import lombok.Builder;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.example.rollup.RollupEntry;
+import java.util.List;
 
 @Entity
 @Table(name = "bookings")
+@EntityListeners(BookingRollupListener.class)
 @Getter
 @Setter
 @Builder
@@ -50,6 +55,9 @@ public class Booking {
     @Column
     private UUID orderId;
 
+    @Column(length = 2048)
+    private String paymentUrl;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BookingStatus status;
@@ -62,6 +70,9 @@ public class Booking {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    @Transient
+    private List<RollupEntry> rollupSnapshot;
+
     public void cancel() {
         this.status = BookingStatus.CANCELLED;
     }
@@ -77,6 +88,10 @@ public class Booking {
         this.status = BookingStatus.WAITING_PAYMENT;
     }
 
+    public void attachPaymentUrl(String paymentUrl) {
+        this.paymentUrl = paymentUrl;
+    }
+
     public void confirm() {
         this.status = BookingStatus.CONFIRMED;
     }
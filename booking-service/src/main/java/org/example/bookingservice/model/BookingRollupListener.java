@@ -0,0 +1,64 @@
+package org.example.bookingservice.model;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.example.rollup.Granularity;
+import org.example.rollup.RollupEntry;
+import org.example.rollup.RollupRepository;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the booking analytics rollups in step with the bookings table. Every booking counts
+ * towards {@link #STATUS_SERIES} in the hour it was created under its current status, and
+ * confirmed bookings also towards {@link #CONFIRMED_BY_TRIP_SERIES} for their trip and day.
+ * A status change moves the booking between buckets in the same transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingRollupListener {
+
+    public static final String STATUS_SERIES = "booking.status";
+    public static final String CONFIRMED_BY_TRIP_SERIES = "booking.trip.confirmed";
+
+    private final RollupRepository rollupRepository;
+
+    @PostLoad
+    public void loaded(Booking booking) {
+        booking.setRollupSnapshot(entries(booking));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Booking booking) {
+        booking.setRollupSnapshot(rollupRepository.replace(booking.getRollupSnapshot(), entries(booking)));
+    }
+
+    @PostRemove
+    public void removed(Booking booking) {
+        rollupRepository.replace(booking.getRollupSnapshot(), List.of());
+    }
+
+    static List<RollupEntry> entries(Booking booking) {
+        if (booking.getCreatedAt() == null || booking.getStatus() == null) {
+            return List.of();
+        }
+        LocalDateTime createdAt = LocalDateTime.ofInstant(booking.getCreatedAt(), ZoneOffset.UTC);
+        List<RollupEntry> entries = new ArrayList<>(2);
+        entries.add(RollupEntry.of(STATUS_SERIES, Granularity.HOUR, createdAt,
+                booking.getStatus().name(), booking.getSeatsCount(), BigDecimal.ZERO));
+        if (booking.getStatus() == BookingStatus.CONFIRMED) {
+            entries.add(RollupEntry.of(CONFIRMED_BY_TRIP_SERIES, Granularity.DAY, createdAt,
+                    booking.getTripId().toString(), booking.getSeatsCount(), BigDecimal.ZERO));
+        }
+        return entries;
+    }
+}
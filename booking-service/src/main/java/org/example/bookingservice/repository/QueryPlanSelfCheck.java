@@ -0,0 +1,147 @@
+package org.example.bookingservice.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.bookingservice.admission.BookingAdmission;
+import org.example.bookingservice.model.BookingStatus;
+import org.example.pagination.Keyset;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Startup self-check for the SQL behind {@link BookingRepository} lookups.
+ * <p>
+ * Each query is explained with sequential scans disabled, so the plan shows whether an index
+ * can serve it at all regardless of how small the table is right now. A plan that still scans
+ * the whole {@code bookings} table or sorts it is logged as a warning together with the plan,
+ * since that query will get slower with every booking written. The check never fails startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryPlanSelfCheck {
+
+    private static final String TABLE = "bookings";
+
+    private static final String NEWEST_FIRST = " ORDER BY created_at DESC, id DESC LIMIT ?";
+    private static final String AFTER_CURSOR = " AND created_at <= ? AND (created_at < ? OR id < ?)";
+
+    /**
+     * The SQL Hibernate generates for each lookup, with the same predicates and parameter
+     * shapes: {@code 1=1} is the empty filter of {@code BookingService.filter}, collection
+     * parameters expand to one placeholder per element and pages fetch one extra row.
+     * Change the matching entry whenever a repository query or a booking filter changes.
+     */
+    static final List<CheckedQuery> QUERIES = List.of(
+            new CheckedQuery("findByOrderId",
+                    "SELECT * FROM bookings WHERE order_id = ?",
+                    UUID.randomUUID()),
+            new CheckedQuery("sumSeatsByTripIdAndStatusIn",
+                    "SELECT COALESCE(SUM(seats_count), 0) FROM bookings WHERE trip_id = ? AND status IN ("
+                            + placeholders(BookingAdmission.HOLDING_SEATS.size()) + ")",
+                    args(UUID.randomUUID(), BookingAdmission.HOLDING_SEATS.stream().map(Enum::name))),
+            new CheckedQuery("scrollBookings of user",
+                    "SELECT * FROM bookings WHERE 1=1 AND user_id = ?" + NEWEST_FIRST,
+                    UUID.randomUUID(), Keyset.DEFAULT_SIZE + 1),
+            new CheckedQuery("scrollBookings of user after cursor",
+                    "SELECT * FROM bookings WHERE 1=1 AND user_id = ?" + AFTER_CURSOR + NEWEST_FIRST,
+                    UUID.randomUUID(), now(), now(), UUID.randomUUID(), Keyset.DEFAULT_SIZE + 1),
+            new CheckedQuery("scrollBookings of trip by status",
+                    "SELECT * FROM bookings WHERE 1=1 AND trip_id = ? AND status = ?" + NEWEST_FIRST,
+                    UUID.randomUUID(), BookingStatus.CONFIRMED.name(), Keyset.DEFAULT_SIZE + 1),
+            new CheckedQuery("scrollBookings after cursor",
+                    "SELECT * FROM bookings WHERE 1=1" + AFTER_CURSOR + NEWEST_FIRST,
+                    now(), now(), UUID.randomUUID(), Keyset.DEFAULT_SIZE + 1),
+            new CheckedQuery("count of user",
+                    "SELECT count(*) FROM bookings WHERE 1=1 AND user_id = ?",
+                    UUID.randomUUID()));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${booking.query-plan-check.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkQueryPlans() {
+        if (!enabled) {
+            return;
+        }
+        for (CheckedQuery query : QUERIES) {
+            try {
+                JsonNode plan = explain(query);
+                List<String> problems = findProblems(plan);
+                if (problems.isEmpty()) {
+                    log.debug("Query plan OK for {}: cost={}", query.name(), plan.path("Total Cost").asDouble());
+                } else {
+                    log.warn("Slow query plan for {}: {}. Plan: {}", query.name(), problems, plan);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Could not check query plan for {}: {}", query.name(), ex.getMessage());
+            }
+        }
+    }
+
+    private JsonNode explain(CheckedQuery query) {
+        String json = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + query.sql(), String.class, query.args());
+        });
+        try {
+            return objectMapper.readTree(json).path(0).path("Plan");
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unreadable plan: " + json, ex);
+        }
+    }
+
+    /**
+     * Plan nodes that read or sort the whole bookings table.
+     */
+    static List<String> findProblems(JsonNode plan) {
+        List<String> problems = new ArrayList<>();
+        collectProblems(plan, problems);
+        return problems;
+    }
+
+    private static void collectProblems(JsonNode node, List<String> problems) {
+        String type = node.path("Node Type").asText();
+        if ("Seq Scan".equals(type) && TABLE.equals(node.path("Relation Name").asText())) {
+            problems.add("sequential scan on " + TABLE);
+        }
+        if ("Sort".equals(type)) {
+            problems.add("sort by " + node.path("Sort Key"));
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectProblems(child, problems);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static Object[] args(Object first, Stream<?> rest) {
+        return Stream.concat(Stream.of(first), rest).toArray();
+    }
+
+    private static Timestamp now() {
+        return Timestamp.from(Instant.now());
+    }
+
+    record CheckedQuery(String name, String sql, Object... args) {}
+}
@@ -3,57 +3,60 @@ package org.example.bookingservice.service;
 import lombok.RequiredArgsConstructor;
 import org.example.bookingservice.dto.analytics.BookingStatsResponse;
 import org.example.bookingservice.dto.analytics.PopularTripResponse;
+import org.example.bookingservice.model.BookingRollupListener;
 import org.example.bookingservice.model.BookingStatus;
-import org.example.bookingservice.repository.BookingRepository;
+import org.example.rollup.RollupRepository;
+import org.example.rollup.RollupRow;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * Booking dashboards, read from the rollups maintained by {@link BookingRollupListener} rather
+ * than from the bookings table, so a request costs O(days in range).
+ */
 @Service
 @RequiredArgsConstructor
 public class BookingAnalyticsService {
     
-    private final BookingRepository bookingRepository;
+    private final RollupRepository rollupRepository;
     
-    @Transactional(readOnly = true)
     public BookingStatsResponse getBookingStats(LocalDate startDate, LocalDate endDate) {
-        Instant startInstant = startDate != null ? startDate.atStartOfDay().toInstant(ZoneOffset.UTC) : null;
-        Instant endInstant = endDate != null ? endDate.atTime(23, 59, 59).toInstant(ZoneOffset.UTC) : null;
-        
-        List<Object[]> statusCounts = bookingRepository.countBookingsByStatus(startInstant, endInstant);
-        Map<String, Long> bookingsByStatus = statusCounts.stream()
-            .collect(Collectors.toMap(
-                row -> ((BookingStatus) row[0]).name(),
-                row -> ((Number) row[1]).longValue()
-            ));
+        LocalDateTime from = startOf(startDate);
+        LocalDateTime to = endOf(endDate);
+
+        Map<String, Long> bookingsByStatus = rollupRepository
+            .totals(BookingRollupListener.STATUS_SERIES, from, to)
+            .values().stream()
+            .collect(Collectors.toMap(RollupRow::dimension, RollupRow::count));
         
         long totalBookings = bookingsByStatus.values().stream()
             .mapToLong(Long::longValue)
             .sum();
         
-        Object[] conversionData = bookingRepository.calculateConversionRate(startInstant, endInstant);
         double conversionRate = 0.0;
-        if (conversionData != null && totalBookings > 0) {
-            long confirmed = ((Number) conversionData[0]).longValue();
+        if (totalBookings > 0) {
+            long confirmed = bookingsByStatus.getOrDefault(BookingStatus.CONFIRMED.name(), 0L);
             conversionRate = (confirmed * 100.0) / totalBookings;
         }
         
-        List<Object[]> dailyStats = bookingRepository.getDailyBookingStats(startDate, endDate);
-        Map<LocalDate, BookingStatsResponse.DailyBookingStats> dailyStatsMap = dailyStats.stream()
-            .collect(Collectors.toMap(
-                row -> (LocalDate) row[0],
-                row -> new BookingStatsResponse.DailyBookingStats(
-                    ((Number) row[1]).longValue(),
-                    ((Number) row[2]).longValue()
-                )
-            ));
+        Map<LocalDate, BookingStatsResponse.DailyBookingStats> dailyStatsMap = new TreeMap<>(Comparator.reverseOrder());
+        for (RollupRow row : rollupRepository.daily(BookingRollupListener.STATUS_SERIES, from, to)) {
+            dailyStatsMap.merge(
+                row.bucket().toLocalDate(),
+                new BookingStatsResponse.DailyBookingStats(row.count(), row.quantity()),
+                (a, b) -> new BookingStatsResponse.DailyBookingStats(
+                    a.bookingCount() + b.bookingCount(),
+                    a.totalSeats() + b.totalSeats()
+                ));
+        }
         
         return new BookingStatsResponse(
             totalBookings,
@@ -63,20 +66,23 @@ public class BookingAnalyticsService {
         );
     }
     
-    @Transactional(readOnly = true)
     public List<PopularTripResponse> getPopularTrips(LocalDate startDate, LocalDate endDate, int limit) {
-        Instant startInstant = startDate != null ? startDate.atStartOfDay().toInstant(ZoneOffset.UTC) : null;
-        Instant endInstant = endDate != null ? endDate.atTime(23, 59, 59).toInstant(ZoneOffset.UTC) : null;
-        
-        List<Object[]> popularTrips = bookingRepository.getPopularTrips(startInstant, endInstant);
-        
-        return popularTrips.stream()
-            .limit(limit)
+        return rollupRepository
+            .top(BookingRollupListener.CONFIRMED_BY_TRIP_SERIES, startOf(startDate), endOf(endDate), limit)
+            .stream()
             .map(row -> new PopularTripResponse(
-                (UUID) row[0],
-                ((Number) row[1]).longValue(),
-                ((Number) row[2]).longValue()
+                UUID.fromString(row.dimension()),
+                row.count(),
+                row.quantity()
             ))
             .collect(Collectors.toList());
     }
+
+    private static LocalDateTime startOf(LocalDate date) {
+        return date != null ? date.atStartOfDay() : null;
+    }
+
+    private static LocalDateTime endOf(LocalDate date) {
+        return date != null ? date.plusDays(1).atStartOfDay() : null;
+    }
 }
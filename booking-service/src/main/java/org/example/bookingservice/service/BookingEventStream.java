@@ -0,0 +1,127 @@
+package org.example.bookingservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.bookingservice.dto.response.BookingEventResponse;
+import org.example.bookingservice.model.Booking;
+import org.example.bookingservice.model.BookingStatus;
+import org.example.bookingservice.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Server-sent status events per booking. Changes made on this instance are pushed as they
+ * happen; a periodic refresh from the database picks up changes applied by other instances
+ * (e.g. a payment event consumed elsewhere). Streams complete on CONFIRMED or CANCELLED.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingEventStream {
+
+    private final BookingRepository bookingRepository;
+
+    private final ConcurrentMap<UUID, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    @Value("${booking.events.timeout-ms:600000}")
+    private long timeoutMs;
+
+    public SseEmitter subscribe(Booking booking) {
+        return subscribe(booking, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(Booking booking, SseEmitter emitter) {
+        UUID bookingId = booking.getId();
+        Subscription subscription = subscriptions.computeIfAbsent(bookingId, id -> new Subscription());
+
+        emitter.onCompletion(() -> unsubscribe(bookingId, emitter));
+        emitter.onTimeout(() -> unsubscribe(bookingId, emitter));
+        emitter.onError(ex -> unsubscribe(bookingId, emitter));
+
+        synchronized (subscription) {
+            subscription.emitters.add(emitter);
+            if (subscription.lastStatus == null) {
+                subscription.lastStatus = booking.getStatus();
+            }
+            send(emitter, booking);
+        }
+        if (isTerminal(booking.getStatus())) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    public void publish(Booking booking) {
+        Subscription subscription = subscriptions.get(booking.getId());
+        if (subscription == null) {
+            return;
+        }
+        synchronized (subscription) {
+            if (subscription.lastStatus == booking.getStatus()) {
+                return;
+            }
+            subscription.lastStatus = booking.getStatus();
+            for (SseEmitter emitter : subscription.emitters) {
+                send(emitter, booking);
+                if (isTerminal(booking.getStatus())) {
+                    emitter.complete();
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.events.refresh-interval-ms:2000}")
+    public void refresh() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        List<Booking> bookings = bookingRepository.findAllById(subscriptions.keySet());
+        bookings.forEach(this::publish);
+    }
+
+    private void send(SseEmitter emitter, Booking booking) {
+        BookingEventResponse event = new BookingEventResponse(
+                booking.getId(),
+                booking.getStatus(),
+                booking.getOrderId(),
+                booking.getPaymentUrl(),
+                booking.getReservationExpiresAt(),
+                Instant.now()
+        );
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(booking.getStatus().name())
+                    .data(event));
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping booking event stream: bookingId={}", booking.getId(), ex);
+            unsubscribe(booking.getId(), emitter);
+            emitter.completeWithError(ex);
+        }
+    }
+
+    private void unsubscribe(UUID bookingId, SseEmitter emitter) {
+        subscriptions.computeIfPresent(bookingId, (id, subscription) -> {
+            subscription.emitters.remove(emitter);
+            return subscription.emitters.isEmpty() ? null : subscription;
+        });
+    }
+
+    private static boolean isTerminal(BookingStatus status) {
+        return status == BookingStatus.CONFIRMED || status == BookingStatus.CANCELLED;
+    }
+
+    private static final class Subscription {
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private BookingStatus lastStatus;
+    }
+}
@@ -3,6 +3,7 @@ package org.example.bookingservice.service;
 import com.booking.inventory.grpc.ReserveSeatsResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.bookingservice.admission.BookingAdmission;
 import org.example.bookingservice.client.inventory.InventoryGrpcClient;
 import org.example.bookingservice.client.order.OrderClient;
 import org.example.bookingservice.client.order.CreateOrderRequest;
@@ -21,27 +22,42 @@ import org.example.bookingservice.exception.NotEnoughCapacityException;
 import org.example.bookingservice.model.Booking;
 import org.example.bookingservice.model.BookingStatus;
 import org.example.bookingservice.repository.BookingRepository;
+import org.example.bookingservice.util.BearerTokenHolder;
 import org.example.bookingservice.util.SecurityUtils;
 import org.example.bookingservice.mapper.BookingMapper;
 import org.example.kafka.event.BookingFailedEvent;
+import org.example.pagination.Cursor;
+import org.example.pagination.CursorPage;
+import org.example.pagination.Keyset;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.UUID;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
+    private static final String CREATED_AT = "createdAt";
+
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final InventoryGrpcClient inventoryClient;
@@ -49,40 +65,129 @@ public class BookingService {
     private final PaymentClient paymentClient;
     private final TripClient tripClient;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final BookingEventStream bookingEvents;
+    private final ThreadPoolExecutor bookingSagaExecutor;
+    private final BookingAdmission bookingAdmission;
+
+    @Value("${booking.saga.trip-timeout:2s}")
+    private Duration tripTimeout;
+
+    @Value("${booking.saga.order-timeout:3s}")
+    private Duration orderTimeout;
+
+    @Value("${booking.saga.payment-timeout:5s}")
+    private Duration paymentTimeout;
 
-    public CreateBookingResponse createBooking(BookingRequest request) {
+    /**
+     * Runs the booking saga (trip lookup, seat hold, order, payment) as a non-blocking
+     * pipeline. Each remote step has its own deadline; when the hold, order or payment
+     * step fails the booking is cancelled and {@code booking.failed} is published so
+     * inventory and order-service release what was already taken. Database writes run
+     * on the bounded elastic scheduler. Hot trips go through {@link BookingAdmission} first;
+     * {@code queueTicket} is the ticket of an earlier attempt that was put in line.
+     */
+    public Mono<CreateBookingResponse> createBooking(BookingRequest request, UUID queueTicket) {
         UUID userId = SecurityUtils.currentUserId();
+        String bearerToken = BearerTokenHolder.getToken();
         log.info("Creating booking for user: {}, trip: {}, seats: {}", 
                 userId, request.tripId(), request.seatsCount());
 
-        TripResponse trip = fetchTrip(request.tripId());
-        validateTripIsBookable(trip);
-    
-        Booking booking = createInitialBooking(userId, request);
-        
-        ReserveSeatsResponse reserveResponse = reserveSeats(booking, request.seatNumbers());
-        
-        UUID reservationId = UUID.fromString(reserveResponse.getReservationId());
-        Instant expiresAt = Instant.parse(reserveResponse.getExpiresAt());
-        booking.reserveSeats(reservationId, expiresAt);
-        bookingRepository.save(booking);
-
-        BigDecimal tripPrice = trip.price();
-    
-        OrderResponse orderResponse = createOrder(booking, reservationId, tripPrice);
-        UUID orderId = orderResponse.id();
-        
-        booking.waitForPayment(orderId);
-        bookingRepository.save(booking);
-        CreatePaymentRequest createPaymentRequest = new CreatePaymentRequest(
-                orderId, 
-                orderResponse.totalPrice(), 
-                "usd", 
-                "Payment for order #" + orderId
-        );
-        String paymentUrl = initiatePayment(booking, createPaymentRequest, reservationId);
-    
-        return bookingMapper.toCreateResponse(booking, orderId, paymentUrl, expiresAt);
+        return fetchTrip(request.tripId())
+                .doOnNext(this::validateTripIsBookable)
+                .flatMap(trip -> blocking(() -> bookingAdmission.admit(
+                                request.tripId(), trip::totalSeats, userId, queueTicket))
+                        .flatMap(admission -> blocking(() -> createInitialBooking(userId, request))
+                                .flatMap(booking -> processBooking(booking, trip, request.seatNumbers()))
+                                .doOnNext(created -> admission.release(request.seatsCount()))
+                                .doFinally(signal -> admission.release(0))))
+                .contextWrite(context -> BearerTokenHolder.withToken(context, bearerToken));
+    }
+
+    /**
+     * Async mode: stores the booking in CREATED state and queues the saga on the bounded
+     * booking executor. Progress is reported through {@link #subscribeToEvents}. Admission and
+     * the insert run on the bounded elastic scheduler, and the trip is only looked up there when
+     * {@link BookingAdmission} needs its size, so the request thread never waits on trip-service.
+     */
+    public Mono<CreateBookingResponse> submitBooking(BookingRequest request, UUID queueTicket) {
+        UUID userId = SecurityUtils.currentUserId();
+        String bearerToken = BearerTokenHolder.getToken();
+        log.info("Accepting booking for user: {}, trip: {}, seats: {}",
+                userId, request.tripId(), request.seatsCount());
+
+        return blocking(() -> {
+            BookingAdmission.Admission admission = bookingAdmission.admit(
+                    request.tripId(), () -> fetchTrip(request.tripId())
+                            .contextWrite(context -> BearerTokenHolder.withToken(context, bearerToken))
+                            .block()
+                            .totalSeats(),
+                    userId, queueTicket);
+            Booking booking;
+            try {
+                booking = createInitialBooking(userId, request);
+            } catch (RuntimeException ex) {
+                admission.release(0);
+                throw ex;
+            }
+            try {
+                bookingSagaExecutor.execute(() -> runQueuedBooking(booking, request, bearerToken, admission));
+            } catch (RejectedExecutionException ex) {
+                log.warn("Booking queue is full, rejecting booking: {}", booking.getId());
+                admission.release(0);
+                handleBookingFailure(booking);
+                throw new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many bookings in progress, please retry later"
+                );
+            }
+            return bookingMapper.toCreateResponse(booking, null, null, null);
+        });
+    }
+
+    private void runQueuedBooking(Booking booking, BookingRequest request, String bearerToken,
+                                  BookingAdmission.Admission admission) {
+        try {
+            fetchTrip(request.tripId())
+                    .doOnNext(this::validateTripIsBookable)
+                    .flatMap(trip -> processBooking(booking, trip, request.seatNumbers()))
+                    .contextWrite(context -> BearerTokenHolder.withToken(context, bearerToken))
+                    .block();
+            admission.release(request.seatsCount());
+        } catch (RuntimeException ex) {
+            log.warn("Queued booking failed: bookingId={}, reason={}", booking.getId(), ex.getMessage());
+            if (booking.getStatus() != BookingStatus.CANCELLED) {
+                handleBookingFailure(booking);
+            }
+        } finally {
+            admission.release(0);
+        }
+    }
+
+    public SseEmitter subscribeToEvents(UUID bookingId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + bookingId));
+        checkOwnerOrAdmin(booking, "You can only follow your own booking");
+        return bookingEvents.subscribe(booking);
+    }
+
+    private Mono<CreateBookingResponse> processBooking(Booking booking, TripResponse trip, List<Integer> seatNumbers) {
+        return reserveSeats(booking, seatNumbers)
+                .flatMap(reserveResponse -> blocking(() -> {
+                    booking.reserveSeats(
+                            UUID.fromString(reserveResponse.getReservationId()),
+                            Instant.parse(reserveResponse.getExpiresAt())
+                    );
+                    return save(booking);
+                }))
+                .flatMap(reserved -> createOrder(booking, trip.price()))
+                .flatMap(orderResponse -> initiatePayment(booking, orderResponse)
+                        .flatMap(paymentUrl -> blocking(() -> {
+                            booking.waitForPayment(orderResponse.id());
+                            booking.attachPaymentUrl(paymentUrl);
+                            return save(booking);
+                        }))
+                        .map(saved -> bookingMapper.toCreateResponse(
+                                booking, orderResponse.id(), booking.getPaymentUrl(), booking.getReservationExpiresAt())));
     }
 
     private void validateTripIsBookable(TripResponse trip) {
@@ -94,53 +199,82 @@ public class BookingService {
         }
     }
 
-    private TripResponse fetchTrip(UUID tripId) {
-        try {
-            TripResponse trip = tripClient.getTrip(tripId);
-            if (trip == null) {
-                throw new RuntimeException("Trip not found: " + tripId);
-            }
-            return trip;
-        } catch (Exception ex) {
-            log.error("Failed to fetch trip: tripId={}", tripId, ex);
-            throw new ResponseStatusException(
-                    HttpStatus.INTERNAL_SERVER_ERROR,
-                    "Failed to fetch trip information"
-            );
-        }
+    private Mono<TripResponse> fetchTrip(UUID tripId) {
+        return tripClient.getTrip(tripId)
+                .timeout(tripTimeout)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Trip not found: " + tripId)))
+                .onErrorMap(ex -> {
+                    log.error("Failed to fetch trip: tripId={}", tripId, ex);
+                    return new ResponseStatusException(
+                            HttpStatus.INTERNAL_SERVER_ERROR,
+                            "Failed to fetch trip information"
+                    );
+                });
     }
 
-    private String initiatePayment(Booking booking, CreatePaymentRequest createPaymentRequest, UUID reservationId) {
-        try {
-            CreatePaymentResponse paymentResponse = paymentClient.createPayment(createPaymentRequest);
-            String paymentUrl = paymentResponse.paymentUrl();
-            log.debug("Payment URL created: {}", paymentUrl);
-            return paymentUrl;
-        } catch (Exception ex) {
-            log.error("Failed to create payment for order: {}", createPaymentRequest.orderId(), ex);
-            
-            handleBookingFailure(booking);
-            
-            BookingFailedEvent event = new BookingFailedEvent(
-                UUID.randomUUID(),
-                booking.getId(),
-                createPaymentRequest.orderId(),
-                reservationId,
-                "Failed to create payment: " + ex.getMessage(),
-                Instant.now()
-            );
-            kafkaTemplate.send("booking.failed", booking.getId().toString(), event);
-            
-            throw new ResponseStatusException(
-                    HttpStatus.INTERNAL_SERVER_ERROR,
-                    "Failed to create payment for order: " + createPaymentRequest.orderId()
-            );
-        }
+    private Mono<String> initiatePayment(Booking booking, OrderResponse orderResponse) {
+        UUID orderId = orderResponse.id();
+        CreatePaymentRequest createPaymentRequest = new CreatePaymentRequest(
+                orderId, 
+                orderResponse.totalPrice(), 
+                "usd", 
+                "Payment for order #" + orderId
+        );
+        return paymentClient.createPayment(createPaymentRequest)
+                .timeout(paymentTimeout)
+                .map(CreatePaymentResponse::paymentUrl)
+                .doOnNext(paymentUrl -> log.debug("Payment URL created: {}", paymentUrl))
+                .onErrorResume(ex -> {
+                    log.error("Failed to create payment for order: {}", orderId, ex);
+                    return failBooking(
+                            booking,
+                            orderId,
+                            "Failed to create payment: " + ex.getMessage(),
+                            new ResponseStatusException(
+                                    HttpStatus.INTERNAL_SERVER_ERROR,
+                                    "Failed to create payment for order: " + orderId
+                            )
+                    );
+                });
     }
 
-    private void handleBookingFailure(Booking booking) {
+    private Booking handleBookingFailure(Booking booking) {
         booking.cancel();
-        bookingRepository.save(booking);
+        return save(booking);
+    }
+
+    private Booking save(Booking booking) {
+        Booking saved = bookingRepository.save(booking);
+        bookingEvents.publish(saved);
+        return saved;
+    }
+
+    private void checkOwnerOrAdmin(Booking booking, String message) {
+        checkOwnerOrAdmin(booking, SecurityUtils.currentUserId(), SecurityUtils.currentUserHasRole("ADMIN"), message);
+    }
+
+    private void checkOwnerOrAdmin(Booking booking, UUID currentUserId, boolean isAdmin, String message) {
+        boolean isOwner = booking.getUserId().equals(currentUserId);
+        if (!isOwner && !isAdmin) {
+            log.warn("Access denied: bookingId={} belongs to user {}, current user {}", booking.getId(), booking.getUserId(), currentUserId);
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, message);
+        }
+    }
+
+    private <T> Mono<T> failBooking(Booking booking, UUID orderId, String reason, RuntimeException error) {
+        return blocking(() -> handleBookingFailure(booking))
+                .doOnNext(failed -> {
+                    BookingFailedEvent event = new BookingFailedEvent(
+                        UUID.randomUUID(),
+                        booking.getId(),
+                        orderId,
+                        booking.getReservationId(),
+                        reason,
+                        Instant.now()
+                    );
+                    kafkaTemplate.send("booking.failed", booking.getId().toString(), event);
+                })
+                .then(Mono.error(error));
     }
 
     private Booking createInitialBooking(UUID userId, BookingRequest request) {
@@ -153,64 +287,90 @@ public class BookingService {
         return bookingRepository.save(booking);
     }
 
-    private ReserveSeatsResponse reserveSeats(Booking booking, List<Integer> seatNumbers) {
-        try {
-            ReserveSeatsResponse response = inventoryClient.reserveSeats(
-                    booking.getTripId(),
-                    seatNumbers
-            );
-            log.debug("Seats reserved: reservationId={}, expiresAt={}", 
-                    response.getReservationId(), response.getExpiresAt());
-            return response;
-        } catch (Exception ex) {
-            log.error("Failed to reserve seats for trip: {}", booking.getTripId(), ex);
-            handleBookingFailure(booking);
-            throw new NotEnoughCapacityException(
-                    "Not enough available seats for trip: " + booking.getTripId()
-            );
-        }
+    private Mono<ReserveSeatsResponse> reserveSeats(Booking booking, List<Integer> seatNumbers) {
+        Mono<ReserveSeatsResponse> hold = seatNumbers == null || seatNumbers.isEmpty()
+                ? inventoryClient.reserveAnySeats(booking.getTripId(), booking.getSeatsCount())
+                : inventoryClient.reserveSeats(booking.getTripId(), seatNumbers);
+        return hold
+                .doOnNext(response -> log.debug("Seats reserved: reservationId={}, seats={}, expiresAt={}",
+                        response.getReservationId(), response.getSeatNumbersList(), response.getExpiresAt()))
+                .onErrorResume(ex -> {
+                    log.error("Failed to reserve seats for trip: {}", booking.getTripId(), ex);
+                    return failBooking(
+                            booking,
+                            null,
+                            "Failed to reserve seats: " + ex.getMessage(),
+                            new NotEnoughCapacityException(
+                                    "Not enough available seats for trip: " + booking.getTripId()
+                            )
+                    );
+                });
     }
 
-    private OrderResponse createOrder(Booking booking, UUID reservationId, BigDecimal price) {
-        try {
-            CreateOrderRequest orderRequest = new CreateOrderRequest(
-                    booking.getTripId(),
-                    reservationId,
-                    price,
-                    booking.getSeatsCount()
-            );
-            OrderResponse response = orderClient.createOrder(orderRequest);
-            log.debug("Order created: orderId={}", response.id());
-            return response;
-        } catch (Exception ex) {
-            log.error("Failed to create order for booking: {}", booking.getId(), ex);
-            
-            handleBookingFailure(booking);
-            
-            BookingFailedEvent event = new BookingFailedEvent(
-                UUID.randomUUID(),
-                booking.getId(),
-                null,
-                reservationId,
-                "Failed to create order: " + ex.getMessage(),
-                Instant.now()
-            );
-            kafkaTemplate.send("booking.failed", booking.getId().toString(), event);
-            
-            throw new ResponseStatusException(
-                    HttpStatus.INTERNAL_SERVER_ERROR,
-                    "Failed to create order"
-            );
-        }
+    private Mono<OrderResponse> createOrder(Booking booking, BigDecimal price) {
+        CreateOrderRequest orderRequest = new CreateOrderRequest(
+                booking.getTripId(),
+                booking.getReservationId(),
+                price,
+                booking.getSeatsCount()
+        );
+        return orderClient.createOrder(orderRequest)
+                .timeout(orderTimeout)
+                .doOnNext(response -> log.debug("Order created: orderId={}", response.id()))
+                .onErrorResume(ex -> {
+                    log.error("Failed to create order for booking: {}", booking.getId(), ex);
+                    return failBooking(
+                            booking,
+                            null,
+                            "Failed to create order: " + ex.getMessage(),
+                            new ResponseStatusException(
+                                    HttpStatus.INTERNAL_SERVER_ERROR,
+                                    "Failed to create order"
+                            )
+                    );
+                });
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> work) {
+        return Mono.fromCallable(work).subscribeOn(Schedulers.boundedElastic());
     }
 
     public BookingResponse getBookingById(UUID id) {
-        return bookingRepository.findById(id)
-                .map(booking -> bookingMapper.toResponse(booking))
+        Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + id));
+        checkOwnerOrAdmin(booking, "You can only view your own booking");
+        return bookingMapper.toResponse(booking);
     }
 
     public Page<BookingResponse> getAllBookings(UUID userId, UUID tripId, BookingStatus status, Pageable pageable) {
+        Page<Booking> bookings = bookingRepository.findAll(filter(userId, tripId, status), pageable);
+        return bookings.map(bookingMapper::toResponse);
+    }
+
+    /**
+     * Newest bookings first, continuing after {@code cursor}. The seek on {@code (created_at, id)}
+     * is served by the composite indexes from V4, and the count only runs when asked for.
+     */
+    public CursorPage<BookingResponse> scrollBookings(
+            UUID userId, UUID tripId, BookingStatus status, String cursor, Integer size, boolean includeTotal) {
+        int pageSize = Keyset.pageSize(size);
+        Specification<Booking> filter = filter(userId, tripId, status);
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+
+        Specification<Booking> seek = after != null
+                ? filter.and(Keyset.after(CREATED_AT, after.position(), after.id(), Sort.Direction.DESC))
+                : filter;
+        List<Booking> rows = bookingRepository.findBy(seek, query -> query
+                .sortBy(Keyset.sort(CREATED_AT, Sort.Direction.DESC))
+                .limit(pageSize + 1)
+                .all());
+        Long total = includeTotal ? bookingRepository.count(filter) : null;
+
+        return Keyset.page(rows, pageSize, booking -> new Cursor(booking.getCreatedAt(), booking.getId()), total)
+                .map(bookingMapper::toResponse);
+    }
+
+    private Specification<Booking> filter(UUID userId, UUID tripId, BookingStatus status) {
         Specification<Booking> spec = (root, query, cb) -> cb.conjunction();
 
         if (userId != null) {
@@ -222,53 +382,61 @@ public class BookingService {
         if (status != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
         }
-
-        Page<Booking> bookings = bookingRepository.findAll(spec, pageable);
-        return bookings.map(bookingMapper::toResponse);
+        return spec;
     }
 
-    @Transactional
-    public BookingResponse cancelBooking(UUID id) {
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + id));
-
+    /**
+     * Releases the seat hold and cancels the order side by side, then marks the booking
+     * cancelled. Like {@link #createBooking}, nothing blocks the calling thread: the caller
+     * is resolved up front and database access runs on the bounded elastic scheduler.
+     * A release or order cancellation that fails is logged and does not stop the cancel.
+     */
+    public Mono<BookingResponse> cancelBooking(UUID id) {
         UUID currentUserId = SecurityUtils.currentUserId();
-        boolean isOwner = booking.getUserId().equals(currentUserId);
         boolean isAdmin = SecurityUtils.currentUserHasRole("ADMIN");
-        if (!isOwner && !isAdmin) {
-            log.warn("Cancel denied: bookingId={} belongs to user {}, current user {}", id, booking.getUserId(), currentUserId);
-            throw new ResponseStatusException(
-                    HttpStatus.FORBIDDEN,
-                    "You can only cancel your own booking"
-            );
-        }
-        
-        log.info("Cancelling booking: bookingId={}, orderId={}, reservationId={}", 
-                booking.getId(), booking.getOrderId(), booking.getReservationId());
-        
-        if (booking.getReservationId() != null) {
-            try {
-                inventoryClient.releaseReservation(booking.getReservationId());
-                log.debug("Seats released: reservationId={}", booking.getReservationId());
-            } catch (Exception ex) {
-                log.error("Failed to release reservation: {}", booking.getReservationId(), ex);
-            }
+        String bearerToken = BearerTokenHolder.getToken();
+
+        return blocking(() -> bookingRepository.findById(id)
+                        .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + id)))
+                .doOnNext(booking -> checkOwnerOrAdmin(
+                        booking, currentUserId, isAdmin, "You can only cancel your own booking"))
+                .flatMap(booking -> {
+                    log.info("Cancelling booking: bookingId={}, orderId={}, reservationId={}",
+                            booking.getId(), booking.getOrderId(), booking.getReservationId());
+                    return Mono.when(releaseReservation(booking), cancelOrder(booking))
+                            .then(blocking(() -> {
+                                booking.cancel();
+                                return save(booking);
+                            }));
+                })
+                .doOnNext(booking -> log.info("Booking cancelled successfully: bookingId={}", booking.getId()))
+                .map(bookingMapper::toResponse)
+                .contextWrite(context -> BearerTokenHolder.withToken(context, bearerToken));
+    }
+
+    private Mono<Void> releaseReservation(Booking booking) {
+        if (booking.getReservationId() == null) {
+            return Mono.empty();
         }
-        
-        if (booking.getOrderId() != null) {
-            try {
-                orderClient.cancelOrder(booking.getOrderId());
-                log.debug("Order cancelled: orderId={}", booking.getOrderId());
-            } catch (Exception ex) {
-                log.error("Failed to cancel order: {}", booking.getOrderId(), ex);
-            }
+        return inventoryClient.releaseReservation(booking.getReservationId())
+                .doOnSuccess(released -> log.debug("Seats released: reservationId={}", booking.getReservationId()))
+                .onErrorResume(ex -> {
+                    log.error("Failed to release reservation: {}", booking.getReservationId(), ex);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> cancelOrder(Booking booking) {
+        if (booking.getOrderId() == null) {
+            return Mono.empty();
         }
-        
-        booking.cancel();
-        bookingRepository.save(booking);
-        
-        log.info("Booking cancelled successfully: bookingId={}", booking.getId());
-        return bookingMapper.toResponse(booking);
+        return orderClient.cancelOrder(booking.getOrderId())
+                .timeout(orderTimeout)
+                .doOnSuccess(cancelled -> log.debug("Order cancelled: orderId={}", booking.getOrderId()))
+                .onErrorResume(ex -> {
+                    log.error("Failed to cancel order: {}", booking.getOrderId(), ex);
+                    return Mono.empty();
+                });
     }
 
     @Transactional
@@ -280,7 +448,7 @@ public class BookingService {
                             
                             if (booking.getStatus() != BookingStatus.CANCELLED) {
                                 booking.cancel();
-                                bookingRepository.save(booking);
+                                save(booking);
                                 log.info("Booking status updated to CANCELLED: bookingId={}", booking.getId());
                             } else {
                                 log.debug("Booking already cancelled: bookingId={}", booking.getId());
@@ -298,7 +466,7 @@ public class BookingService {
                         booking -> {
                             if (booking.getStatus() != BookingStatus.CONFIRMED) {
                                 booking.confirm();
-                                bookingRepository.save(booking);
+                                save(booking);
                                 log.info("Booking status updated to CONFIRMED: bookingId={}", booking.getId());
                             } else {
                                 log.debug("Booking already confirmed: bookingId={}", booking.getId());
@@ -317,7 +485,7 @@ public class BookingService {
                         booking -> {
                             if (booking.getStatus() != BookingStatus.CANCELLED) {
                                 booking.cancel();
-                                bookingRepository.save(booking);
+                                save(booking);
                                 log.info("Booking status updated to CANCELLED due to payment failure: bookingId={}", 
                                         booking.getId());
                             } else {
@@ -1,8 +1,16 @@
 package org.example.bookingservice.util;
 
+import reactor.util.context.Context;
 
+/**
+ * Bearer token of the current request. Blocking code reads it from the request thread;
+ * reactive pipelines carry it in the Reactor context under {@link #CONTEXT_KEY}, since
+ * their steps run on other threads.
+ */
 public final class BearerTokenHolder {
 
+    public static final String CONTEXT_KEY = BearerTokenHolder.class.getName();
+
     private static final ThreadLocal<String> TOKEN = new ThreadLocal<>();
 
     private BearerTokenHolder() {}
@@ -18,4 +26,8 @@ public final class BearerTokenHolder {
     public static void clear() {
         TOKEN.remove();
     }
+
+    public static Context withToken(Context context, String token) {
+        return token != null ? context.put(CONTEXT_KEY, token) : context;
+    }
 }
@@ -0,0 +1,4 @@
+-- Keyset pagination seeks on (created_at, id) newest first, optionally narrowed by user or trip
+CREATE INDEX IF NOT EXISTS idx_booking_created_id ON bookings (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_booking_user_created_id ON bookings (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_booking_trip_created_id ON bookings (trip_id, created_at DESC, id DESC);
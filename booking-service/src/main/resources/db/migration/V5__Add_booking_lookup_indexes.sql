@@ -0,0 +1,7 @@
+-- Payment and order events look bookings up by order_id; only bookings past the order step have one
+CREATE INDEX IF NOT EXISTS idx_booking_order_id ON bookings (order_id) WHERE order_id IS NOT NULL;
+
+-- Per-trip listings filtered by status
+CREATE INDEX IF NOT EXISTS idx_booking_trip_status ON bookings (trip_id, status);
+
+-- /booking/me filters on user_id newest first: served by idx_booking_user_created_id from V4
@@ -0,0 +1,174 @@
+package org.example.bookingservice.admission;
+
+import org.example.bookingservice.dto.response.QueuePositionResponse;
+import org.example.bookingservice.exception.NotEnoughCapacityException;
+import org.example.bookingservice.exception.QueuedForAdmissionException;
+import org.example.bookingservice.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAdmissionTest {
+
+    private static final int TOTAL_SEATS = 50;
+    private static final int HOT_RPS = 5;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final UUID tripId = UUID.randomUUID();
+    private BookingAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        admission = new BookingAdmission(bookingRepository, true, HOT_RPS, 1.0,
+                Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofSeconds(2), 1000, clock::get);
+    }
+
+    @Test
+    void coldTripPassesWithoutTouchingTheDatabase() {
+        for (int i = 0; i < HOT_RPS - 1; i++) {
+            assertSame(BookingAdmission.Admission.NONE, admit(UUID.randomUUID(), null));
+        }
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void hotTripAdmitsAsManyAttemptsAsSeatsLeftAndQueuesTheRest() {
+        seatsHeld(TOTAL_SEATS - 2);
+        warmUp();
+
+        BookingAdmission.Admission first = admit(UUID.randomUUID(), null);
+        BookingAdmission.Admission second = admit(UUID.randomUUID(), null);
+        assertNotSame(BookingAdmission.Admission.NONE, first);
+        assertNotSame(BookingAdmission.Admission.NONE, second);
+
+        UUID user = UUID.randomUUID();
+        QueuePositionResponse queued = queued(user, null);
+        assertEquals(QueueStatus.WAITING, queued.status());
+        assertEquals(0, queued.position());
+        assertTrue(queued.retryAfterSeconds() >= 1);
+
+        QueuePositionResponse behind = queued(UUID.randomUUID(), null);
+        assertEquals(1, behind.position());
+    }
+
+    @Test
+    void failedAttemptLetsTheNextTicketIn() {
+        seatsHeld(TOTAL_SEATS - 1);
+        warmUp();
+        BookingAdmission.Admission running = admit(UUID.randomUUID(), null);
+
+        UUID user = UUID.randomUUID();
+        UUID ticket = queued(user, null).ticketId();
+
+        running.release(0);
+        running.release(0);
+        assertEquals(QueueStatus.ADMITTED, admission.position(ticket, user).status());
+
+        BookingAdmission.Admission redeemed = admit(user, ticket);
+        assertNotSame(BookingAdmission.Admission.NONE, redeemed);
+        assertEquals(QueueStatus.USED, admission.position(ticket, user).status());
+    }
+
+    @Test
+    void lastSeatsTakenEndsTheLineWithSoldOut() {
+        seatsHeld(TOTAL_SEATS - 1);
+        warmUp();
+        BookingAdmission.Admission running = admit(UUID.randomUUID(), null);
+        UUID user = UUID.randomUUID();
+        UUID ticket = queued(user, null).ticketId();
+
+        running.release(1);
+
+        assertEquals(QueueStatus.SOLD_OUT, admission.position(ticket, user).status());
+        assertThrows(NotEnoughCapacityException.class, () -> admit(user, ticket));
+        assertThrows(NotEnoughCapacityException.class, () -> admit(UUID.randomUUID(), null));
+    }
+
+    @Test
+    void admissionThatIsNotUsedLapsesAndFreesItsSlot() {
+        seatsHeld(TOTAL_SEATS - 1);
+        warmUp();
+        BookingAdmission.Admission running = admit(UUID.randomUUID(), null);
+        UUID first = UUID.randomUUID();
+        UUID firstTicket = queued(first, null).ticketId();
+        UUID second = UUID.randomUUID();
+        UUID secondTicket = queued(second, null).ticketId();
+        running.release(0);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        admission.position(secondTicket, second);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+        assertEquals(QueueStatus.EXPIRED, admission.position(firstTicket, first).status());
+        assertEquals(QueueStatus.ADMITTED, admission.position(secondTicket, second).status());
+    }
+
+    @Test
+    void ticketsAreOnlyVisibleToTheirOwner() {
+        seatsHeld(TOTAL_SEATS - 1);
+        warmUp();
+        admit(UUID.randomUUID(), null);
+        UUID ticket = queued(UUID.randomUUID(), null).ticketId();
+
+        assertThrows(ResponseStatusException.class, () -> admission.position(ticket, UUID.randomUUID()));
+        assertThrows(ResponseStatusException.class, () -> admission.position(UUID.randomUUID(), UUID.randomUUID()));
+    }
+
+    @Test
+    void queueClosesOnceTheTripCoolsDown() {
+        seatsHeld(0);
+        warmUp();
+        admit(UUID.randomUUID(), null).release(0);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        assertSame(BookingAdmission.Admission.NONE, admit(UUID.randomUUID(), null));
+    }
+
+    @Test
+    void disabledAdmissionLetsEverythingThrough() {
+        BookingAdmission disabled = new BookingAdmission(bookingRepository, false, 1, 1.0,
+                Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofSeconds(2), 1000, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(BookingAdmission.Admission.NONE,
+                    disabled.admit(tripId, () -> TOTAL_SEATS, UUID.randomUUID(), null));
+        }
+    }
+
+    private void seatsHeld(long seats) {
+        when(bookingRepository.sumSeatsByTripIdAndStatusIn(eq(tripId), any())).thenReturn(seats);
+    }
+
+    /** Arrivals that make the trip hot; the last one opens the queue and runs with a slot of its own. */
+    private void warmUp() {
+        for (int i = 0; i < HOT_RPS - 1; i++) {
+            admit(UUID.randomUUID(), null);
+        }
+    }
+
+    private BookingAdmission.Admission admit(UUID userId, UUID ticket) {
+        return admission.admit(tripId, () -> TOTAL_SEATS, userId, ticket);
+    }
+
+    private QueuePositionResponse queued(UUID userId, UUID ticket) {
+        return assertThrows(QueuedForAdmissionException.class, () -> admit(userId, ticket)).getPosition();
+    }
+}
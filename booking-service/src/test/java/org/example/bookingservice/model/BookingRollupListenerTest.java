@@ -0,0 +1,92 @@
+package org.example.bookingservice.model;
+
+import org.example.rollup.RollupEntry;
+import org.example.rollup.RollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingRollupListenerTest {
+
+    @Mock
+    private RollupRepository rollupRepository;
+
+    @InjectMocks
+    private BookingRollupListener listener;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        booking = Booking.builder()
+                .id(UUID.randomUUID())
+                .tripId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .seatsCount(3)
+                .status(BookingStatus.WAITING_PAYMENT)
+                .createdAt(Instant.parse("2030-03-01T10:42:17Z"))
+                .build();
+    }
+
+    @Test
+    void entries_CountsBookingInItsCreationHourUnderCurrentStatus() {
+        List<RollupEntry> entries = BookingRollupListener.entries(booking);
+
+        assertEquals(1, entries.size());
+        RollupEntry entry = entries.get(0);
+        assertEquals(BookingRollupListener.STATUS_SERIES, entry.series());
+        assertEquals(LocalDateTime.of(2030, 3, 1, 10, 0), entry.bucket());
+        assertEquals("WAITING_PAYMENT", entry.dimension());
+        assertEquals(3, entry.quantity());
+    }
+
+    @Test
+    void entries_ConfirmedBookingAlsoCountsTowardsItsTripForTheDay() {
+        booking.setStatus(BookingStatus.CONFIRMED);
+
+        List<RollupEntry> entries = BookingRollupListener.entries(booking);
+
+        assertEquals(2, entries.size());
+        RollupEntry byTrip = entries.get(1);
+        assertEquals(BookingRollupListener.CONFIRMED_BY_TRIP_SERIES, byTrip.series());
+        assertEquals(LocalDateTime.of(2030, 3, 1, 0, 0), byTrip.bucket());
+        assertEquals(booking.getTripId().toString(), byTrip.dimension());
+    }
+
+    @Test
+    void saved_MovesBookingFromLoadedStateToCurrentState() {
+        when(rollupRepository.replace(anyList(), anyList())).thenAnswer(inv -> inv.getArgument(1));
+        listener.loaded(booking);
+        List<RollupEntry> before = booking.getRollupSnapshot();
+
+        booking.setStatus(BookingStatus.CONFIRMED);
+        listener.saved(booking);
+
+        verify(rollupRepository).replace(before, BookingRollupListener.entries(booking));
+        assertEquals(BookingRollupListener.entries(booking), booking.getRollupSnapshot());
+    }
+
+    @Test
+    void removed_RetractsRecordedContribution() {
+        listener.loaded(booking);
+        List<RollupEntry> before = booking.getRollupSnapshot();
+
+        listener.removed(booking);
+
+        verify(rollupRepository).replace(before, List.of());
+    }
+}
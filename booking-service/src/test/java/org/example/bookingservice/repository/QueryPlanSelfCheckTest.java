@@ -0,0 +1,62 @@
+package org.example.bookingservice.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.bookingservice.admission.BookingAdmission;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryPlanSelfCheckTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void findProblems_IndexScanIsFine() throws Exception {
+        JsonNode plan = objectMapper.readTree("""
+                {"Node Type": "Limit", "Plans": [
+                  {"Node Type": "Index Scan", "Relation Name": "bookings", "Index Name": "idx_booking_user_created_id"}
+                ]}
+                """);
+
+        assertTrue(QueryPlanSelfCheck.findProblems(plan).isEmpty());
+    }
+
+    @Test
+    void findProblems_ReportsSeqScanAndSortOnBookings() throws Exception {
+        JsonNode plan = objectMapper.readTree("""
+                {"Node Type": "Limit", "Plans": [
+                  {"Node Type": "Sort", "Sort Key": ["created_at DESC"], "Plans": [
+                    {"Node Type": "Seq Scan", "Relation Name": "bookings"}
+                  ]}
+                ]}
+                """);
+
+        List<String> problems = QueryPlanSelfCheck.findProblems(plan);
+
+        assertEquals(2, problems.size());
+        assertTrue(problems.contains("sequential scan on bookings"));
+    }
+
+    @Test
+    void queries_BindOneArgumentPerPlaceholder() {
+        for (QueryPlanSelfCheck.CheckedQuery query : QueryPlanSelfCheck.QUERIES) {
+            long placeholders = query.sql().chars().filter(c -> c == '?').count();
+            assertEquals(placeholders, query.args().length, query.name());
+        }
+    }
+
+    @Test
+    void queries_SeatSumMirrorsRepositoryPredicates() {
+        QueryPlanSelfCheck.CheckedQuery query = QueryPlanSelfCheck.QUERIES.stream()
+                .filter(q -> q.name().equals("sumSeatsByTripIdAndStatusIn"))
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(query.sql().contains("SUM(seats_count)"));
+        assertTrue(query.sql().contains("status IN (?, ?, ?)"));
+        assertEquals(BookingAdmission.HOLDING_SEATS.size() + 1, query.args().length);
+    }
+}
@@ -0,0 +1,206 @@
+package org.example.bookingservice.service;
+
+import org.example.bookingservice.dto.response.BookingEventResponse;
+import org.example.bookingservice.model.Booking;
+import org.example.bookingservice.model.BookingStatus;
+import org.example.bookingservice.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingEventStreamTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingEventStream stream;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        stream = new BookingEventStream(bookingRepository);
+        booking = Booking.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .tripId(UUID.randomUUID())
+                .seatsCount(2)
+                .status(BookingStatus.CREATED)
+                .build();
+    }
+
+    @Test
+    void subscribe_sendsCurrentStatusRightAway() {
+        RecordingEmitter viewer = new RecordingEmitter();
+
+        stream.subscribe(booking, viewer);
+
+        assertEquals(List.of(BookingStatus.CREATED), viewer.statuses());
+        assertFalse(viewer.completed);
+    }
+
+    @Test
+    void subscribe_toFinishedBooking_sendsItsStatusAndCompletes() {
+        booking.setStatus(BookingStatus.CONFIRMED);
+        RecordingEmitter viewer = new RecordingEmitter();
+
+        stream.subscribe(booking, viewer);
+
+        assertEquals(List.of(BookingStatus.CONFIRMED), viewer.statuses());
+        assertTrue(viewer.completed);
+    }
+
+    @Test
+    void publish_fansOutEachStatusChangeOnceToEveryViewerOfTheBooking() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter otherBooking = new RecordingEmitter();
+        stream.subscribe(booking, first);
+        stream.subscribe(booking, second);
+        stream.subscribe(Booking.builder().id(UUID.randomUUID()).status(BookingStatus.CREATED).build(), otherBooking);
+
+        booking.setStatus(BookingStatus.SEATS_RESERVED);
+        stream.publish(booking);
+        stream.publish(booking);
+        booking.waitForPayment(UUID.randomUUID());
+        booking.attachPaymentUrl("https://pay.example/checkout");
+        stream.publish(booking);
+
+        List<BookingStatus> expected = List.of(
+                BookingStatus.CREATED, BookingStatus.SEATS_RESERVED, BookingStatus.WAITING_PAYMENT);
+        assertEquals(expected, first.statuses());
+        assertEquals(expected, second.statuses());
+        assertEquals("https://pay.example/checkout", first.events.get(2).paymentUrl());
+        assertEquals(List.of(BookingStatus.CREATED), otherBooking.statuses());
+    }
+
+    @Test
+    void publish_terminalStatus_completesEveryViewer() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        stream.subscribe(booking, first);
+        stream.subscribe(booking, second);
+
+        booking.cancel();
+        stream.publish(booking);
+
+        assertEquals(BookingStatus.CANCELLED, first.statuses().get(1));
+        assertTrue(first.completed);
+        assertTrue(second.completed);
+    }
+
+    @Test
+    void refresh_publishesChangesMadeOnOtherInstances() {
+        RecordingEmitter viewer = new RecordingEmitter();
+        stream.subscribe(booking, viewer);
+        Booking stored = Booking.builder().id(booking.getId()).status(BookingStatus.CONFIRMED).build();
+        when(bookingRepository.findAllById(Set.of(booking.getId()))).thenReturn(List.of(stored));
+
+        stream.refresh();
+
+        assertEquals(List.of(BookingStatus.CREATED, BookingStatus.CONFIRMED), viewer.statuses());
+        assertTrue(viewer.completed);
+    }
+
+    @Test
+    void viewersThatLeave_areForgottenAndRefreshStops() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        stream.subscribe(booking, first);
+        stream.subscribe(booking, second);
+
+        first.leave();
+        booking.setStatus(BookingStatus.SEATS_RESERVED);
+        stream.publish(booking);
+        assertEquals(List.of(BookingStatus.CREATED), first.statuses());
+        assertEquals(2, second.statuses().size());
+
+        second.leave();
+        stream.refresh();
+
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void viewerWhoseSendFails_isDroppedWithoutAffectingOthers() {
+        RecordingEmitter broken = new RecordingEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        stream.subscribe(booking, broken);
+        stream.subscribe(booking, healthy);
+        broken.failSends();
+
+        booking.setStatus(BookingStatus.SEATS_RESERVED);
+        stream.publish(booking);
+        booking.setStatus(BookingStatus.WAITING_PAYMENT);
+        stream.publish(booking);
+
+        assertTrue(broken.failed);
+        assertEquals(List.of(BookingStatus.CREATED), broken.statuses());
+        assertEquals(3, healthy.statuses().size());
+
+        healthy.leave();
+        stream.refresh();
+        verifyNoInteractions(bookingRepository);
+    }
+
+    /** Records the events a client would get; {@link #leave()} plays the client disconnecting. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<BookingEventResponse> events = new ArrayList<>();
+        private Runnable completionCallback;
+        private boolean failSends;
+        private boolean completed;
+        private boolean failed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failSends) {
+                throw new IOException("Broken pipe");
+            }
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof BookingEventResponse event) {
+                    events.add(event);
+                }
+            }
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallback = callback;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failed = true;
+        }
+
+        List<BookingStatus> statuses() {
+            return events.stream().map(BookingEventResponse::status).toList();
+        }
+
+        void failSends() {
+            failSends = true;
+        }
+
+        void leave() {
+            completionCallback.run();
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package org.example.bookingservice.service;
+
+import com.booking.inventory.grpc.ReserveSeatsResponse;
+import io.grpc.Status;
+import org.example.bookingservice.admission.BookingAdmission;
+import org.example.bookingservice.client.inventory.InventoryGrpcClient;
+import org.example.bookingservice.client.order.OrderClient;
+import org.example.bookingservice.client.order.OrderResponse;
+import org.example.bookingservice.client.payment.CreatePaymentResponse;
+import org.example.bookingservice.client.payment.PaymentClient;
+import org.example.bookingservice.client.trip.TripClient;
+import org.example.bookingservice.client.trip.TripResponse;
+import org.example.bookingservice.client.trip.TripStatus;
+import org.example.bookingservice.dto.request.BookingRequest;
+import org.example.bookingservice.dto.response.BookingResponse;
+import org.example.bookingservice.dto.response.CreateBookingResponse;
+import org.example.bookingservice.exception.NotEnoughCapacityException;
+import org.example.bookingservice.mapper.BookingMapper;
+import org.example.bookingservice.model.Booking;
+import org.example.bookingservice.model.BookingStatus;
+import org.example.bookingservice.repository.BookingRepository;
+import org.example.kafka.event.BookingFailedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceTest {
+
+    private static final Duration STEP_TIMEOUT = Duration.ofMillis(100);
+    private static final Duration VERIFY_TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private InventoryGrpcClient inventoryClient;
+
+    @Mock
+    private OrderClient orderClient;
+
+    @Mock
+    private PaymentClient paymentClient;
+
+    @Mock
+    private TripClient tripClient;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private BookingEventStream bookingEvents;
+
+    @Mock
+    private ThreadPoolExecutor bookingSagaExecutor;
+
+    @Mock
+    private BookingAdmission bookingAdmission;
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID tripId = UUID.randomUUID();
+    private final UUID bookingId = UUID.randomUUID();
+    private final UUID reservationId = UUID.randomUUID();
+    private final UUID orderId = UUID.randomUUID();
+    private final List<BookingStatus> savedStatuses = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingService, "tripTimeout", STEP_TIMEOUT);
+        ReflectionTestUtils.setField(bookingService, "orderTimeout", STEP_TIMEOUT);
+        ReflectionTestUtils.setField(bookingService, "paymentTimeout", STEP_TIMEOUT);
+        authenticateAs(userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createBooking_whenTripLookupTimesOut_failsBeforeAnythingIsTaken() {
+        when(tripClient.getTrip(tripId)).thenReturn(Mono.never());
+
+        StepVerifier.create(bookingService.createBooking(request(), null))
+                .expectErrorSatisfies(ex -> assertStatus(HttpStatus.INTERNAL_SERVER_ERROR, ex))
+                .verify(VERIFY_TIMEOUT);
+
+        verifyNoInteractions(bookingAdmission, bookingRepository, inventoryClient, kafkaTemplate);
+    }
+
+    @Test
+    void createBooking_whenHoldFails_cancelsBookingAndPublishesFailure() {
+        tripIsBookable();
+        savesBookings();
+        when(inventoryClient.reserveAnySeats(tripId, 2))
+                .thenReturn(Mono.error(Status.DEADLINE_EXCEEDED.asRuntimeException()));
+
+        StepVerifier.create(bookingService.createBooking(request(), null))
+                .expectError(NotEnoughCapacityException.class)
+                .verify(VERIFY_TIMEOUT);
+
+        assertEquals(List.of(BookingStatus.CREATED, BookingStatus.CANCELLED), savedStatuses);
+        BookingFailedEvent event = publishedFailure();
+        assertEquals(bookingId, event.bookingId());
+        assertNull(event.reservationId());
+        assertNull(event.orderId());
+        verifyNoInteractions(orderClient, paymentClient);
+    }
+
+    @Test
+    void createBooking_whenOrderTimesOut_cancelsBookingAndPublishesFailure() {
+        tripIsBookable();
+        savesBookings();
+        seatsAreHeld();
+        when(orderClient.createOrder(any())).thenReturn(Mono.never());
+
+        StepVerifier.create(bookingService.createBooking(request(), null))
+                .expectErrorSatisfies(ex -> assertStatus(HttpStatus.INTERNAL_SERVER_ERROR, ex))
+                .verify(VERIFY_TIMEOUT);
+
+        assertEquals(List.of(BookingStatus.CREATED, BookingStatus.SEATS_RESERVED, BookingStatus.CANCELLED),
+                savedStatuses);
+        BookingFailedEvent event = publishedFailure();
+        assertEquals(reservationId, event.reservationId());
+        assertNull(event.orderId());
+        verifyNoInteractions(paymentClient);
+    }
+
+    @Test
+    void createBooking_whenPaymentTimesOut_cancelsBookingAndPublishesFailure() {
+        tripIsBookable();
+        savesBookings();
+        seatsAreHeld();
+        orderIsCreated();
+        when(paymentClient.createPayment(any())).thenReturn(Mono.never());
+
+        StepVerifier.create(bookingService.createBooking(request(), null))
+                .expectErrorSatisfies(ex -> assertStatus(HttpStatus.INTERNAL_SERVER_ERROR, ex))
+                .verify(VERIFY_TIMEOUT);
+
+        assertEquals(List.of(BookingStatus.CREATED, BookingStatus.SEATS_RESERVED, BookingStatus.CANCELLED),
+                savedStatuses);
+        BookingFailedEvent event = publishedFailure();
+        assertEquals(reservationId, event.reservationId());
+        assertEquals(orderId, event.orderId());
+    }
+
+    @Test
+    void createBooking_whenPaymentFails_cancelsBookingAndPublishesFailure() {
+        tripIsBookable();
+        savesBookings();
+        seatsAreHeld();
+        orderIsCreated();
+        when(paymentClient.createPayment(any())).thenReturn(Mono.error(new IllegalStateException("Stripe is down")));
+
+        StepVerifier.create(bookingService.createBooking(request(), null))
+                .expectErrorSatisfies(ex -> assertStatus(HttpStatus.INTERNAL_SERVER_ERROR, ex))
+                .verify(VERIFY_TIMEOUT);
+
+        assertEquals(BookingStatus.CANCELLED, savedStatuses.get(savedStatuses.size() - 1));
+        BookingFailedEvent event = publishedFailure();
+        assertEquals(orderId, event.orderId());
+        assertTrue(event.reason().contains("Stripe is down"));
+    }
+
+    @Test
+    void createBooking_whenEveryStepSucceeds_waitsForPayment() {
+        tripIsBookable();
+        savesBookings();
+        seatsAreHeld();
+        orderIsCreated();
+        when(paymentClient.createPayment(any()))
+                .thenReturn(Mono.just(new CreatePaymentResponse("https://pay.example/checkout", "pi_1")));
+        when(bookingMapper.toCreateResponse(any(), any(), any(), any())).thenCallRealMethod();
+
+        StepVerifier.create(bookingService.createBooking(request(), null))
+                .assertNext(response -> {
+                    assertEquals(bookingId, response.bookingId());
+                    assertEquals(orderId, response.orderId());
+                    assertEquals(BookingStatus.WAITING_PAYMENT, response.status());
+                    assertEquals("https://pay.example/checkout", response.paymentUrl());
+                })
+                .verifyComplete();
+
+        assertEquals(List.of(BookingStatus.CREATED, BookingStatus.SEATS_RESERVED, BookingStatus.WAITING_PAYMENT),
+                savedStatuses);
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void cancelBooking_releasesSeatsAndCancelsOrder() {
+        Booking booking = existingBooking();
+        savesBookings();
+        when(inventoryClient.releaseReservation(reservationId)).thenReturn(Mono.empty());
+        when(orderClient.cancelOrder(orderId)).thenReturn(Mono.empty());
+        mapsResponses();
+
+        StepVerifier.create(bookingService.cancelBooking(booking.getId()))
+                .assertNext(response -> assertEquals(BookingStatus.CANCELLED, response.status()))
+                .verifyComplete();
+
+        assertEquals(List.of(BookingStatus.CANCELLED), savedStatuses);
+        verify(inventoryClient).releaseReservation(reservationId);
+        verify(orderClient).cancelOrder(orderId);
+    }
+
+    @Test
+    void cancelBooking_whenReleaseFailsAndOrderTimesOut_stillCancels() {
+        Booking booking = existingBooking();
+        savesBookings();
+        when(inventoryClient.releaseReservation(reservationId))
+                .thenReturn(Mono.error(Status.UNAVAILABLE.asRuntimeException()));
+        when(orderClient.cancelOrder(orderId)).thenReturn(Mono.never());
+        mapsResponses();
+
+        StepVerifier.create(bookingService.cancelBooking(booking.getId()))
+                .assertNext(response -> assertEquals(BookingStatus.CANCELLED, response.status()))
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+
+        assertEquals(List.of(BookingStatus.CANCELLED), savedStatuses);
+    }
+
+    @Test
+    void cancelBooking_ofAnotherUser_isForbidden() {
+        Booking booking = existingBooking();
+        authenticateAs(UUID.randomUUID());
+
+        StepVerifier.create(bookingService.cancelBooking(booking.getId()))
+                .expectErrorSatisfies(ex -> assertStatus(HttpStatus.FORBIDDEN, ex))
+                .verify(VERIFY_TIMEOUT);
+
+        verify(bookingRepository, never()).save(any());
+        verifyNoInteractions(inventoryClient, orderClient);
+    }
+
+    @Test
+    void cancelBooking_byAdmin_isAllowed() {
+        Booking booking = existingBooking();
+        booking.setOrderId(null);
+        booking.setReservationId(null);
+        savesBookings();
+        mapsResponses();
+        authenticateAs(UUID.randomUUID(), "ROLE_ADMIN");
+
+        StepVerifier.create(bookingService.cancelBooking(booking.getId()))
+                .assertNext(response -> assertEquals(BookingStatus.CANCELLED, response.status()))
+                .verifyComplete();
+
+        verifyNoInteractions(inventoryClient, orderClient);
+    }
+
+    @Test
+    void submitBooking_acceptsRightAwayAndRunsSagaOnExecutor() {
+        bookingIsAdmitted();
+        savesBookings();
+        when(bookingMapper.toCreateResponse(any(), any(), any(), any())).thenCallRealMethod();
+
+        CreateBookingResponse accepted = bookingService.submitBooking(request(), null).block();
+
+        assertEquals(bookingId, accepted.bookingId());
+        assertEquals(BookingStatus.CREATED, accepted.status());
+        assertNull(accepted.paymentUrl());
+        verifyNoInteractions(tripClient, inventoryClient);
+
+        tripIsFound();
+        seatsAreHeld();
+        orderIsCreated();
+        when(paymentClient.createPayment(any()))
+                .thenReturn(Mono.just(new CreatePaymentResponse("https://pay.example/checkout", "pi_1")));
+        queuedSaga().run();
+
+        assertEquals(List.of(BookingStatus.CREATED, BookingStatus.SEATS_RESERVED, BookingStatus.WAITING_PAYMENT),
+                savedStatuses);
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void submitBooking_whenQueueIsFull_answers503AndCancelsBooking() {
+        bookingIsAdmitted();
+        savesBookings();
+        doThrow(new RejectedExecutionException("Queue full")).when(bookingSagaExecutor).execute(any());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> bookingService.submitBooking(request(), null).block());
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        assertEquals(List.of(BookingStatus.CREATED, BookingStatus.CANCELLED), savedStatuses);
+        verifyNoInteractions(tripClient, inventoryClient, kafkaTemplate);
+    }
+
+    @Test
+    void submitBooking_forHotTrip_looksUpTripSizeOffTheRequestThread() {
+        tripIsFound();
+        savesBookings();
+        AtomicReference<String> lookupThread = new AtomicReference<>();
+        when(bookingAdmission.admit(eq(tripId), any(), eq(userId), isNull())).thenAnswer(invocation -> {
+            lookupThread.set(Thread.currentThread().getName());
+            assertEquals(50, invocation.<IntSupplier>getArgument(1).getAsInt());
+            return BookingAdmission.Admission.NONE;
+        });
+
+        Mono<CreateBookingResponse> submitted = bookingService.submitBooking(request(), null);
+
+        verifyNoInteractions(bookingAdmission, tripClient);
+        submitted.block();
+        assertNotEquals(Thread.currentThread().getName(), lookupThread.get());
+        verify(tripClient).getTrip(tripId);
+    }
+
+    @Test
+    void submitBooking_whenQueuedSagaFails_cancelsBookingOnce() {
+        bookingIsAdmitted();
+        savesBookings();
+        bookingService.submitBooking(request(), null).block();
+        tripIsFound();
+        when(inventoryClient.reserveAnySeats(tripId, 2))
+                .thenReturn(Mono.error(Status.RESOURCE_EXHAUSTED.asRuntimeException()));
+
+        queuedSaga().run();
+
+        assertEquals(List.of(BookingStatus.CREATED, BookingStatus.CANCELLED), savedStatuses);
+        assertEquals(bookingId, publishedFailure().bookingId());
+    }
+
+    private Runnable queuedSaga() {
+        ArgumentCaptor<Runnable> saga = ArgumentCaptor.forClass(Runnable.class);
+        verify(bookingSagaExecutor).execute(saga.capture());
+        return saga.getValue();
+    }
+
+    private BookingRequest request() {
+        return new BookingRequest(tripId, 2, null);
+    }
+
+    private void tripIsBookable() {
+        tripIsFound();
+        bookingIsAdmitted();
+    }
+
+    private void tripIsFound() {
+        when(tripClient.getTrip(tripId))
+                .thenReturn(Mono.just(new TripResponse(tripId, new BigDecimal("25.00"), TripStatus.SCHEDULED, 50)));
+    }
+
+    private void bookingIsAdmitted() {
+        when(bookingAdmission.admit(eq(tripId), any(), eq(userId), isNull()))
+                .thenReturn(BookingAdmission.Admission.NONE);
+    }
+
+    private void seatsAreHeld() {
+        when(inventoryClient.reserveAnySeats(tripId, 2)).thenReturn(Mono.just(ReserveSeatsResponse.newBuilder()
+                .setReservationId(reservationId.toString())
+                .setExpiresAt(Instant.now().plusSeconds(900).toString())
+                .addAllSeatNumbers(List.of(4, 5))
+                .build()));
+    }
+
+    private void orderIsCreated() {
+        when(orderClient.createOrder(any()))
+                .thenReturn(Mono.just(new OrderResponse(orderId, new BigDecimal("50.00"), "PENDING")));
+    }
+
+    private void savesBookings() {
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            if (booking.getId() == null) {
+                booking.setId(bookingId);
+            }
+            savedStatuses.add(booking.getStatus());
+            return booking;
+        });
+    }
+
+    private void mapsResponses() {
+        when(bookingMapper.toResponse(any())).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            return new BookingResponse(booking.getId(), booking.getUserId(), booking.getTripId(),
+                    booking.getSeatsCount(), booking.getStatus(), booking.getCreatedAt());
+        });
+    }
+
+    private Booking existingBooking() {
+        Booking booking = Booking.builder()
+                .id(bookingId)
+                .userId(userId)
+                .tripId(tripId)
+                .seatsCount(2)
+                .reservationId(reservationId)
+                .orderId(orderId)
+                .status(BookingStatus.WAITING_PAYMENT)
+                .build();
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        return booking;
+    }
+
+    private BookingFailedEvent publishedFailure() {
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq("booking.failed"), eq(bookingId.toString()), event.capture());
+        return (BookingFailedEvent) event.getValue();
+    }
+
+    private static void assertStatus(HttpStatus status, Throwable ex) {
+        ResponseStatusException exception = assertInstanceOf(ResponseStatusException.class, ex);
+        assertEquals(status, exception.getStatusCode());
+    }
+
+    private static void authenticateAs(UUID userId, String... authorities) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(userId.toString())
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt,
+                Arrays.stream(authorities).map(SimpleGrantedAuthority::new).toList()));
+    }
+}
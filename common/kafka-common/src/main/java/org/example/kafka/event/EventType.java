@@ -2,6 +2,7 @@ package org.example.kafka.event;
 
 public enum EventType {
     TRIP_CREATED,
+    TRIP_UPDATED,
     TRIP_CANCELLED,
     TRIP_DEPARTED,
     TRIP_ARRIVED,
@@ -1,11 +1,14 @@
 package org.example.kafka.event;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
 public record OrderConfirmedEvent(
     UUID eventId,
     UUID orderId,
+    UUID tripId,
+    Integer seatsCount,
+    BigDecimal totalPrice,
     Instant confirmedAt
 ) {}
-
@@ -1,11 +1,14 @@
 package org.example.kafka.event;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
 public record OrderCreatedEvent(
     UUID eventId,
     UUID orderId,
+    UUID tripId,
+    Integer seatsCount,
+    BigDecimal totalPrice,
     Instant createdAt
 ) {}
-
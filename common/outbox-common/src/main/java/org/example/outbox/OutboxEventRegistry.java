@@ -0,0 +1,78 @@
+package org.example.outbox;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Maps outbox event types to their payload class, Kafka topic and partition key.
+ * Each service declares one registry bean listing the events it writes to the outbox:
+ * <pre>{@code
+ * OutboxEventRegistry.builder()
+ *         .register(EventType.ORDER_CREATED, OrderCreatedEvent.class, "order.created",
+ *                 event -> event.orderId().toString())
+ *         .build();
+ * }</pre>
+ */
+public final class OutboxEventRegistry {
+
+    private final Map<String, Route<?>> routes;
+
+    private OutboxEventRegistry(Map<String, Route<?>> routes) {
+        this.routes = Map.copyOf(routes);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean contains(String eventType) {
+        return routes.containsKey(eventType);
+    }
+
+    public Route<?> route(String eventType) {
+        Route<?> route = routes.get(eventType);
+        if (route == null) {
+            throw new IllegalArgumentException("Unknown outbox event type: " + eventType);
+        }
+        return route;
+    }
+
+    /**
+     * Where and how an event type is published. The key decides the Kafka partition and
+     * therefore the ordering scope: events sharing a key are delivered in outbox order.
+     */
+    public record Route<T>(String eventType, Class<T> payloadType, String topic, Function<T, String> keyExtractor) {
+
+        public String key(Object payload) {
+            return keyExtractor.apply(payloadType.cast(payload));
+        }
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Route<?>> routes = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public <T> Builder register(Enum<?> eventType, Class<T> payloadType, String topic, Function<T, String> keyExtractor) {
+            return register(eventType.name(), payloadType, topic, keyExtractor);
+        }
+
+        public <T> Builder register(String eventType, Class<T> payloadType, String topic, Function<T, String> keyExtractor) {
+            Objects.requireNonNull(payloadType, "payloadType");
+            Objects.requireNonNull(topic, "topic");
+            Objects.requireNonNull(keyExtractor, "keyExtractor");
+            if (routes.putIfAbsent(eventType, new Route<>(eventType, payloadType, topic, keyExtractor)) != null) {
+                throw new IllegalStateException("Outbox event type registered twice: " + eventType);
+            }
+            return this;
+        }
+
+        public OutboxEventRegistry build() {
+            return new OutboxEventRegistry(routes);
+        }
+    }
+}
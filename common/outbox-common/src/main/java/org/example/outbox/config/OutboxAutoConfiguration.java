@@ -0,0 +1,25 @@
+package org.example.outbox.config;
+
+import org.example.outbox.relay.OutboxDispatcher;
+import org.example.outbox.relay.OutboxHousekeeper;
+import org.example.outbox.relay.OutboxRelay;
+import org.example.outbox.service.OutboxService;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Registers the shared outbox: the {@code outbox_events} entity and repository, the
+ * {@link OutboxService} that writes to it and the relay that publishes it. The service
+ * only has to provide an {@code OutboxEventRegistry} bean and the {@code outbox_events}
+ * table; tuning lives under the {@code outbox.*} properties.
+ * <p>
+ * Runs before the JPA auto-configuration so the outbox package is added to the
+ * entity and repository scan alongside the application's own package.
+ */
+@AutoConfiguration(before = HibernateJpaAutoConfiguration.class)
+@AutoConfigurationPackage(basePackages = "org.example.outbox")
+@Import({OutboxService.class, OutboxDispatcher.class, OutboxHousekeeper.class, OutboxRelay.class})
+public class OutboxAutoConfiguration {
+}
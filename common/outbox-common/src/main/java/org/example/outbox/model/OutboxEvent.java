@@ -1,11 +1,10 @@
-package org.example.orderservice.model;
+package org.example.outbox.model;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.example.kafka.event.EventType;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -27,8 +26,7 @@ public class OutboxEvent {
     private UUID aggregateId;
 
     @Column(name = "event_type", nullable = false, length = 100)
-    @Enumerated(EnumType.STRING)
-    private EventType eventType;
+    private String eventType;
 
     @Column(name = "payload_json", nullable = false, columnDefinition = "TEXT")
     private String payloadJson;
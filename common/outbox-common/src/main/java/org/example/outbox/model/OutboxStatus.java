@@ -1,4 +1,4 @@
-package org.example.tripservice.model;
+package org.example.outbox.model;
 
 public enum OutboxStatus {
     NEW,
@@ -0,0 +1,231 @@
+package org.example.outbox.relay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.outbox.OutboxEventRegistry;
+import org.example.outbox.model.OutboxEvent;
+import org.example.outbox.model.OutboxStatus;
+import org.example.outbox.repository.OutboxEventRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes claimed outbox events to Kafka.
+ * <p>
+ * A batch is claimed with {@code FOR UPDATE SKIP LOCKED}, so instances never publish the
+ * same row. Events are grouped by partition key and published in waves: each wave sends
+ * the oldest pending event of every key at once and waits for all acknowledgements, so
+ * different keys are published in parallel while events of one key keep their order.
+ * When an event fails, the rest of its key stays {@code NEW} for the next batch.
+ * Acknowledged events are marked sent with one UPDATE per batch.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventRegistry outboxEventRegistry;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer publishLatency;
+    private final Timer lag;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadLetteredCounter;
+
+    @Value("${outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.max-retries:5}")
+    private int maxRetries;
+
+    @Value("${outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.dlq-topic}")
+    private String dlqTopic;
+
+    public OutboxDispatcher(
+            OutboxEventRepository outboxEventRepository,
+            OutboxEventRegistry outboxEventRegistry,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxEventRegistry = outboxEventRegistry;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("outbox.batch.size")
+                .description("Events claimed per relay batch")
+                .register(meterRegistry);
+        this.publishLatency = Timer.builder("outbox.publish.latency")
+                .description("Time from handing an event to the producer until the broker acknowledged it")
+                .register(meterRegistry);
+        this.lag = Timer.builder("outbox.lag")
+                .description("Time from writing an event to the outbox until the broker acknowledged it")
+                .register(meterRegistry);
+        this.sentCounter = outcomeCounter("sent");
+        this.retriedCounter = outcomeCounter("retried");
+        this.deadLetteredCounter = outcomeCounter("dead-lettered");
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Claims and publishes the next batch, returning how many events were acknowledged.
+     */
+    @Transactional
+    public int dispatchBatch() {
+        List<OutboxEvent> events = outboxEventRepository.claimNew(batchSize);
+
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        batchSizeSummary.record(events.size());
+        log.debug("Processing {} outbox events", events.size());
+
+        Map<String, Deque<Pending>> byKey = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            try {
+                OutboxEventRegistry.Route<?> route = outboxEventRegistry.route(event.getEventType());
+                Object payload = objectMapper.readValue(event.getPayloadJson(), route.payloadType());
+                String key = route.key(payload);
+                byKey.computeIfAbsent(key, k -> new ArrayDeque<>()).add(new Pending(event, route.topic(), key, payload));
+            } catch (Exception ex) {
+                log.error("Failed to process outbox event: id={}, eventType={}", event.getId(), event.getEventType(), ex);
+                handleFailedEvent(event);
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<UUID> sentIds = new ArrayList<>(events.size());
+        while (!byKey.isEmpty() && System.nanoTime() < deadline) {
+            Map<Pending, CompletableFuture<?>> wave = new LinkedHashMap<>();
+            byKey.values().forEach(queue -> {
+                Pending pending = queue.poll();
+                wave.put(pending, send(pending));
+            });
+            byKey.values().removeIf(Deque::isEmpty);
+
+            awaitAll(wave.values(), deadline);
+
+            wave.forEach((pending, future) -> {
+                OutboxEvent event = pending.event();
+                switch (future.state()) {
+                    case SUCCESS -> {
+                        sentIds.add(event.getId());
+                        lag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+                    }
+                    case FAILED -> {
+                        log.warn("Failed to publish event: id={}, eventType={}, retryCount={}",
+                                event.getId(), event.getEventType(), event.getRetryCount(), future.exceptionNow());
+                        handleFailedEvent(event);
+                        byKey.remove(pending.key());
+                    }
+                    default -> {
+                        log.warn("Publishing event timed out: id={}, eventType={}, retryCount={}",
+                                event.getId(), event.getEventType(), event.getRetryCount());
+                        handleFailedEvent(event);
+                        byKey.remove(pending.key());
+                    }
+                }
+            });
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.markSent(sentIds, OutboxStatus.SENT, LocalDateTime.now());
+            sentCounter.increment(sentIds.size());
+        }
+        log.info("Published {} of {} outbox events", sentIds.size(), events.size());
+        return sentIds.size();
+    }
+
+    private CompletableFuture<?> send(Pending pending) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return kafkaTemplate.send(pending.topic(), pending.key(), pending.payload())
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            sample.stop(publishLatency);
+                        }
+                    });
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private void awaitAll(Iterable<CompletableFuture<?>> futures, long deadline) {
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        futures.forEach(pending::add);
+        try {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            // outcomes are inspected per event by the caller
+        }
+    }
+
+    private void handleFailedEvent(OutboxEvent event) {
+        int newRetryCount = event.getRetryCount() + 1;
+        outboxEventRepository.incrementRetry(event.getId());
+        retriedCounter.increment();
+
+        if (newRetryCount >= maxRetries) {
+            log.error("Max retries exceeded for outbox event: id={}, eventType={}, retryCount={}",
+                    event.getId(), event.getEventType(), newRetryCount);
+            outboxEventRepository.markFailed(event.getId(), OutboxStatus.FAILED);
+            sendToDlq(event);
+        }
+    }
+
+    private void sendToDlq(OutboxEvent event) {
+        try {
+            String key = event.getAggregateId().toString();
+            kafkaTemplate.send(dlqTopic, key, event.getPayloadJson());
+            deadLetteredCounter.increment();
+            log.info("Sent failed event to DLQ: id={}, eventType={}, topic={}", event.getId(), event.getEventType(), dlqTopic);
+        } catch (Exception ex) {
+            log.error("Failed to send event to DLQ: id={}, eventType={}", event.getId(), event.getEventType(), ex);
+        }
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("outbox.events")
+                .description("Outbox events by relay outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Pending(OutboxEvent event, String topic, String key, Object payload) {}
+}
@@ -0,0 +1,214 @@
+package org.example.outbox.relay;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@code outbox_events} from growing without bound.
+ * <p>
+ * With {@code outbox.partitioning.enabled} the table is range-partitioned by day
+ * ({@code outbox_events_pYYYYMMDD} plus {@code outbox_events_default}, see the service's
+ * Flyway migration). The housekeeper creates the partitions for the next
+ * {@code outbox.partitioning.premake-days} days and retires every day partition that ended
+ * more than {@code outbox.retention.sent-hours} ago and holds no {@code NEW} rows: it is
+ * dropped, or with {@code outbox.retention.mode=archive} detached and renamed to
+ * {@code outbox_events_archived_YYYYMMDD}. Retiring a partition is a metadata change, so
+ * history never has to be deleted row by row. Sent rows in the default partition, or in
+ * the whole table when it is not partitioned, are deleted in batches.
+ * <p>
+ * Runs on its own thread at startup and then every {@code outbox.retention.interval-ms},
+ * independently of {@link OutboxRelay}: an instance with {@code outbox.relay.enabled=false}
+ * still creates the partitions its writers insert into. Set {@code outbox.retention.enabled}
+ * to false to leave housekeeping to other instances.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxHousekeeper {
+
+    private static final String TABLE = "outbox_events";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final String ARCHIVE_PREFIX = TABLE + "_archived_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private ScheduledExecutorService scheduler;
+
+    @Value("${outbox.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.retention.interval-ms:3600000}")
+    private long intervalMs;
+
+    @Value("${outbox.partitioning.enabled:false}")
+    private boolean partitioningEnabled;
+
+    @Value("${outbox.partitioning.premake-days:3}")
+    private int premakeDays;
+
+    @Value("${outbox.partitioning.lock-timeout-ms:2000}")
+    private long lockTimeoutMs;
+
+    @Value("${outbox.retention.sent-hours:168}")
+    private long retentionHours;
+
+    @Value("${outbox.retention.mode:drop}")
+    private String retentionMode;
+
+    @Value("${outbox.retention.batch-size:5000}")
+    private int retentionBatchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Outbox housekeeping is disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public void run() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        if (partitioningEnabled) {
+            createUpcomingPartitions();
+            retirePartitionsBefore(cutoff);
+            purgeSentRows(DEFAULT_PARTITION, cutoff);
+        } else {
+            purgeSentRows(TABLE, cutoff);
+        }
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (Exception ex) {
+            log.error("Outbox housekeeping failed", ex);
+        }
+    }
+
+    private void createUpcomingPartitions() {
+        LocalDate today = LocalDate.now();
+        for (int offset = 0; offset <= premakeDays; offset++) {
+            LocalDate day = today.plusDays(offset);
+            String partition = PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+            try {
+                ddl("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE
+                        + " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+            } catch (Exception ex) {
+                log.warn("Failed to create outbox partition {}", partition, ex);
+            }
+        }
+    }
+
+    private void retirePartitionsBefore(LocalDateTime cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = ? AND c.relname LIKE ?
+                ORDER BY c.relname
+                """, String.class, TABLE, PARTITION_PREFIX + "%");
+
+        for (String partition : partitions) {
+            LocalDate day;
+            try {
+                day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            } catch (DateTimeParseException ex) {
+                continue;
+            }
+            if (day.plusDays(1).atStartOfDay().isAfter(cutoff)) {
+                continue;
+            }
+
+            Boolean pending = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE status = 'NEW')", Boolean.class);
+            if (Boolean.TRUE.equals(pending)) {
+                log.warn("Outbox partition {} is past retention but still has unsent events, keeping it", partition);
+                continue;
+            }
+
+            try {
+                if ("archive".equalsIgnoreCase(retentionMode)) {
+                    String archive = ARCHIVE_PREFIX + day.format(PARTITION_SUFFIX);
+                    ddl("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition,
+                            "ALTER TABLE " + partition + " RENAME TO " + archive);
+                    log.info("Archived outbox partition {} as {}", partition, archive);
+                } else {
+                    ddl("DROP TABLE " + partition);
+                    log.info("Dropped outbox partition {}", partition);
+                }
+            } catch (Exception ex) {
+                log.warn("Failed to retire outbox partition {}", partition, ex);
+            }
+        }
+    }
+
+    private void purgeSentRows(String table, LocalDateTime cutoff) {
+        try {
+            int purged = 0;
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update("""
+                        DELETE FROM %s
+                        WHERE id IN (
+                            SELECT id
+                            FROM %s
+                            WHERE status = 'SENT' AND sent_at < ?
+                            LIMIT ?
+                        )
+                        """.formatted(table, table), cutoff, retentionBatchSize);
+                purged += deleted;
+            } while (deleted == retentionBatchSize);
+            if (purged > 0) {
+                log.info("Purged {} sent outbox events older than {} from {}", purged, cutoff, table);
+            }
+        } catch (Exception ex) {
+            log.error("Failed to purge sent outbox events from {}", table, ex);
+        }
+    }
+
+    /**
+     * Runs the statements in one transaction with a short lock timeout, so DDL that has to
+     * wait behind a long claim transaction gives up instead of blocking every writer queued behind it.
+     */
+    private void ddl(String... statements) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+            for (String statement : statements) {
+                jdbcTemplate.execute(statement);
+            }
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.outbox.relay;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Drives {@link OutboxDispatcher} from a single background thread.
+ * <p>
+ * With {@code outbox.notify.enabled} (the default) the relay keeps a dedicated connection,
+ * opened outside the pool, in {@code LISTEN} on the channel that {@code OutboxService}
+ * notifies on commit, and drains the outbox as soon as a notification arrives. The
+ * {@code outbox.poll-interval-ms} poll then only covers notifications missed while the
+ * connection was down. With notifications disabled the relay simply polls at that interval.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxDispatcher outboxDispatcher;
+    private final DataSourceProperties dataSourceProperties;
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.notify.enabled:true}")
+    private boolean notifyEnabled;
+
+    @Value("${outbox.notify.channel:outbox_events}")
+    private String channel;
+
+    @Value("${outbox.notify.wait-ms:1000}")
+    private int waitMs;
+
+    @Value("${outbox.notify.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    @Value("${outbox.poll-interval-ms:60000}")
+    private long pollIntervalMs;
+
+    private volatile boolean running;
+    private Thread thread;
+    private long lastDrain;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Outbox relay is disabled");
+            return;
+        }
+        running = true;
+        thread = new Thread(notifyEnabled ? this::listen : this::poll, "outbox-relay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            if (!notifyEnabled) {
+                thread.interrupt();
+            }
+            thread.join(waitMs * 2L);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for outbox notifications on channel {}", channel);
+
+                drain();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(waitMs);
+                    if ((notifications != null && notifications.length > 0) || isDue(lastDrain, pollIntervalMs)) {
+                        drain();
+                    }
+                }
+            } catch (SQLException ex) {
+                log.warn("Outbox notification connection failed, reconnecting in {} ms", reconnectDelayMs, ex);
+                pause(reconnectDelayMs);
+            }
+        }
+    }
+
+    private void poll() {
+        while (running) {
+            drain();
+            pause(pollIntervalMs);
+        }
+    }
+
+    /**
+     * Dispatches until a batch comes back short or with failures; failed events are left
+     * for the next notification or poll so a broker outage does not burn their retries at once.
+     */
+    private void drain() {
+        lastDrain = System.currentTimeMillis();
+        try {
+            int sent;
+            do {
+                sent = outboxDispatcher.dispatchBatch();
+            } while (running && sent == outboxDispatcher.getBatchSize());
+        } catch (Exception ex) {
+            log.error("Failed to dispatch outbox events", ex);
+        }
+    }
+
+    private static boolean isDue(long last, long intervalMs) {
+        return System.currentTimeMillis() - last >= intervalMs;
+    }
+
+    private void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,7 +1,7 @@
-package org.example.paymentservice.repository;
+package org.example.outbox.repository;
 
-import org.example.paymentservice.model.OutboxEvent;
-import org.example.paymentservice.model.OutboxStatus;
+import org.example.outbox.model.OutboxEvent;
+import org.example.outbox.model.OutboxStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,15 +23,15 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID>
             WHERE status = 'NEW'
             ORDER BY created_at
             FOR UPDATE SKIP LOCKED
-            LIMIT 100
+            LIMIT :limit
             """,
         nativeQuery = true
     )
-    List<OutboxEvent> findTop100NewForUpdateSkipLocked();
+    List<OutboxEvent> claimNew(@Param("limit") int limit);
 
     @Modifying
-    @Query("UPDATE OutboxEvent e SET e.status = :status, e.sentAt = :sentAt WHERE e.id = :id")
-    void markSent(@Param("id") UUID id, @Param("status") OutboxStatus status, @Param("sentAt") LocalDateTime sentAt);
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.sentAt = :sentAt WHERE e.id IN :ids")
+    void markSent(@Param("ids") Collection<UUID> ids, @Param("status") OutboxStatus status, @Param("sentAt") LocalDateTime sentAt);
 
     @Modifying
     @Query("UPDATE OutboxEvent e SET e.retryCount = e.retryCount + 1 WHERE e.id = :id")
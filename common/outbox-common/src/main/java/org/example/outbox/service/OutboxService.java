@@ -1,13 +1,14 @@
-package org.example.tripservice.service;
+package org.example.outbox.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-
-import org.example.kafka.event.EventType;
-import org.example.tripservice.model.OutboxEvent;
-import org.example.tripservice.model.OutboxStatus;
-import org.example.tripservice.repository.OutboxEventRepository;
+import org.example.outbox.OutboxEventRegistry;
+import org.example.outbox.model.OutboxEvent;
+import org.example.outbox.model.OutboxStatus;
+import org.example.outbox.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,21 +20,34 @@ import java.util.UUID;
 public class OutboxService {
 
     private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventRegistry outboxEventRegistry;
     private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${outbox.notify.enabled:true}")
+    private boolean notifyEnabled;
+
+    @Value("${outbox.notify.channel:outbox_events}")
+    private String notifyChannel;
 
     @Transactional
-    public void saveEvent(UUID aggregateId, EventType eventType, Object payload) {
+    public void saveEvent(UUID aggregateId, Enum<?> eventType, Object payload) {
         try {
+            outboxEventRegistry.route(eventType.name());
             String payloadJson = objectMapper.writeValueAsString(payload);
 
             OutboxEvent outboxEvent = new OutboxEvent();
             outboxEvent.setAggregateId(aggregateId);
-            outboxEvent.setEventType(eventType);
+            outboxEvent.setEventType(eventType.name());
             outboxEvent.setPayloadJson(payloadJson);
             outboxEvent.setStatus(OutboxStatus.NEW);
             outboxEvent.setRetryCount(0);
 
             outboxEventRepository.save(outboxEvent);
+            if (notifyEnabled) {
+                // Postgres queues the notification and delivers it only when this transaction commits
+                jdbcTemplate.execute("NOTIFY " + notifyChannel);
+            }
             log.info("Saved event to outbox: aggregateId={}, eventType={}", aggregateId, eventType);
         } catch (Exception ex) {
             log.error("Failed to save event to outbox: aggregateId={}, eventType={}", aggregateId, eventType, ex);
@@ -0,0 +1,149 @@
+package org.example.outbox.relay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.outbox.OutboxEventRegistry;
+import org.example.outbox.model.OutboxEvent;
+import org.example.outbox.model.OutboxStatus;
+import org.example.outbox.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    private static final String TRIP_CREATED = "TRIP_CREATED";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private OutboxDispatcher outboxDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        OutboxEventRegistry registry = OutboxEventRegistry.builder()
+                .register(TRIP_CREATED, TripCreated.class, "trip.created", event -> event.tripId().toString())
+                .build();
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+
+        outboxDispatcher = new OutboxDispatcher(outboxEventRepository, registry, kafkaTemplate, objectMapper, meterRegistryProvider);
+        ReflectionTestUtils.setField(outboxDispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(outboxDispatcher, "dlqTopic", "trip.dead-letter");
+        ReflectionTestUtils.setField(outboxDispatcher, "maxRetries", 2);
+        ReflectionTestUtils.setField(outboxDispatcher, "sendTimeoutMs", 1000L);
+    }
+
+    @Test
+    void dispatchBatch_Success() throws Exception {
+        TripCreated payload = new TripCreated(UUID.randomUUID());
+        OutboxEvent outboxEvent = outboxEvent(payload, 0);
+
+        when(outboxEventRepository.claimNew(100)).thenReturn(List.of(outboxEvent));
+        when(kafkaTemplate.send("trip.created", payload.tripId().toString(), payload))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        int sent = outboxDispatcher.dispatchBatch();
+
+        assertEquals(1, sent);
+        verify(outboxEventRepository).markSent(eq(List.of(outboxEvent.getId())), eq(OutboxStatus.SENT), any(LocalDateTime.class));
+        verify(kafkaTemplate, never()).send(eq("trip.dead-letter"), anyString(), any());
+    }
+
+    @Test
+    void dispatchBatch_FailureGoesToDlq() throws Exception {
+        TripCreated payload = new TripCreated(UUID.randomUUID());
+        OutboxEvent outboxEvent = outboxEvent(payload, 1);
+
+        when(outboxEventRepository.claimNew(100)).thenReturn(List.of(outboxEvent));
+        when(kafkaTemplate.send("trip.created", payload.tripId().toString(), payload))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("publish failed")));
+
+        outboxDispatcher.dispatchBatch();
+
+        verify(outboxEventRepository).incrementRetry(outboxEvent.getId());
+        verify(outboxEventRepository).markFailed(outboxEvent.getId(), OutboxStatus.FAILED);
+        verify(kafkaTemplate).send("trip.dead-letter", outboxEvent.getAggregateId().toString(), outboxEvent.getPayloadJson());
+        verify(outboxEventRepository, never()).markSent(any(), any(), any());
+    }
+
+    @Test
+    void dispatchBatch_MarksOnlyAcknowledgedEventsSent() throws Exception {
+        TripCreated okPayload = new TripCreated(UUID.randomUUID());
+        TripCreated rejectedPayload = new TripCreated(UUID.randomUUID());
+        OutboxEvent acknowledged = outboxEvent(okPayload, 0);
+        OutboxEvent rejected = outboxEvent(rejectedPayload, 0);
+
+        when(outboxEventRepository.claimNew(100)).thenReturn(List.of(acknowledged, rejected));
+        when(kafkaTemplate.send("trip.created", okPayload.tripId().toString(), okPayload))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send("trip.created", rejectedPayload.tripId().toString(), rejectedPayload))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("publish failed")));
+
+        int sent = outboxDispatcher.dispatchBatch();
+
+        assertEquals(1, sent);
+        verify(outboxEventRepository).markSent(eq(List.of(acknowledged.getId())), eq(OutboxStatus.SENT), any(LocalDateTime.class));
+        verify(outboxEventRepository).incrementRetry(rejected.getId());
+        verify(outboxEventRepository, never()).markFailed(any(), any());
+    }
+
+    @Test
+    void dispatchBatch_HoldsBackLaterEventsOfFailedKey() throws Exception {
+        UUID tripId = UUID.randomUUID();
+        TripCreated first = new TripCreated(tripId);
+        TripCreated second = new TripCreated(tripId);
+        OutboxEvent firstEvent = outboxEvent(first, 0);
+        OutboxEvent secondEvent = outboxEvent(second, 0);
+
+        when(outboxEventRepository.claimNew(100)).thenReturn(List.of(firstEvent, secondEvent));
+        when(kafkaTemplate.send("trip.created", tripId.toString(), first))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("publish failed")));
+
+        int sent = outboxDispatcher.dispatchBatch();
+
+        assertEquals(0, sent);
+        verify(outboxEventRepository).incrementRetry(firstEvent.getId());
+        verify(outboxEventRepository, never()).incrementRetry(secondEvent.getId());
+        verify(kafkaTemplate, times(1)).send(eq("trip.created"), anyString(), any());
+    }
+
+    private OutboxEvent outboxEvent(TripCreated payload, int retryCount) throws Exception {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setId(UUID.randomUUID());
+        outboxEvent.setAggregateId(payload.tripId());
+        outboxEvent.setEventType(TRIP_CREATED);
+        outboxEvent.setPayloadJson("{\"id\":\"" + outboxEvent.getId() + "\"}");
+        outboxEvent.setRetryCount(retryCount);
+        lenient().when(objectMapper.readValue(outboxEvent.getPayloadJson(), TripCreated.class)).thenReturn(payload);
+        return outboxEvent;
+    }
+
+    private record TripCreated(UUID tripId) {}
+}
@@ -0,0 +1,163 @@
+package org.example.outbox.relay;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxHousekeeperTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxHousekeeper housekeeper;
+
+    @BeforeEach
+    void setUp() {
+        housekeeper = new OutboxHousekeeper(jdbcTemplate, transactionTemplate);
+        ReflectionTestUtils.setField(housekeeper, "enabled", true);
+        ReflectionTestUtils.setField(housekeeper, "intervalMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(housekeeper, "partitioningEnabled", true);
+        ReflectionTestUtils.setField(housekeeper, "premakeDays", 2);
+        ReflectionTestUtils.setField(housekeeper, "lockTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(housekeeper, "retentionHours", 168L);
+        ReflectionTestUtils.setField(housekeeper, "retentionMode", "drop");
+        ReflectionTestUtils.setField(housekeeper, "retentionBatchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        housekeeper.stop();
+    }
+
+    @Test
+    void run_createsPartitionsFromTodayThroughPremakeDays() {
+        ddlRunsInTransaction();
+        LocalDate today = LocalDate.now();
+
+        housekeeper.run();
+
+        for (int offset = 0; offset <= 2; offset++) {
+            LocalDate day = today.plusDays(offset);
+            verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS " + partition(day)
+                    + " PARTITION OF outbox_events FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+        }
+        verify(jdbcTemplate, never()).execute(contains(partition(today.plusDays(3))));
+        verify(jdbcTemplate, times(3)).execute("SET LOCAL lock_timeout = 2000");
+    }
+
+    @Test
+    void run_dropsExpiredPartitionsOnlyWhenTheyHoldNoNewEvents() {
+        ddlRunsInTransaction();
+        LocalDate today = LocalDate.now();
+        String expired = partition(today.minusDays(10));
+        String expiredWithPending = partition(today.minusDays(9));
+        String recent = partition(today.minusDays(1));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any()))
+                .thenReturn(List.of(expired, expiredWithPending, recent, "outbox_events_pold"));
+        when(jdbcTemplate.queryForObject(contains(expired), eq(Boolean.class))).thenReturn(false);
+        when(jdbcTemplate.queryForObject(contains(expiredWithPending), eq(Boolean.class))).thenReturn(true);
+
+        housekeeper.run();
+
+        verify(jdbcTemplate).execute("DROP TABLE " + expired);
+        verify(jdbcTemplate, never()).execute("DROP TABLE " + expiredWithPending);
+        verify(jdbcTemplate, never()).queryForObject(contains(recent), eq(Boolean.class));
+        verify(jdbcTemplate, never()).execute(contains("outbox_events_pold"));
+        verify(jdbcTemplate, times(1)).execute(startsWith("DROP TABLE"));
+    }
+
+    @Test
+    void run_archiveMode_detachesAndRenamesInsteadOfDropping() {
+        ReflectionTestUtils.setField(housekeeper, "retentionMode", "archive");
+        ddlRunsInTransaction();
+        LocalDate day = LocalDate.now().minusDays(10);
+        String expired = partition(day);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any())).thenReturn(List.of(expired));
+        when(jdbcTemplate.queryForObject(contains(expired), eq(Boolean.class))).thenReturn(false);
+
+        housekeeper.run();
+
+        verify(jdbcTemplate).execute("ALTER TABLE outbox_events DETACH PARTITION " + expired);
+        verify(jdbcTemplate).execute("ALTER TABLE " + expired + " RENAME TO outbox_events_archived_"
+                + day.format(DateTimeFormatter.BASIC_ISO_DATE));
+        verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+    }
+
+    @Test
+    void run_purgesSentRowsFromDefaultPartitionInBatches() {
+        ddlRunsInTransaction();
+        when(jdbcTemplate.update(anyString(), any(LocalDateTime.class), eq(2))).thenReturn(2, 2, 1);
+
+        housekeeper.run();
+
+        verify(jdbcTemplate, times(3)).update(contains("DELETE FROM outbox_events_default"), any(LocalDateTime.class), eq(2));
+    }
+
+    @Test
+    void run_notPartitioned_purgesWholeTableWithoutDdl() {
+        ReflectionTestUtils.setField(housekeeper, "partitioningEnabled", false);
+        when(jdbcTemplate.update(anyString(), any(LocalDateTime.class), eq(2))).thenReturn(1);
+
+        housekeeper.run();
+
+        verify(jdbcTemplate).update(contains("DELETE FROM outbox_events\n"), any(LocalDateTime.class), eq(2));
+        verifyNoInteractions(transactionTemplate);
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), any(), any());
+    }
+
+    @Test
+    void start_runsRightAwayOnItsOwnThread() {
+        ddlRunsInTransaction();
+
+        housekeeper.start();
+
+        verify(jdbcTemplate, timeout(2000)).update(contains("DELETE FROM outbox_events_default"), any(LocalDateTime.class), eq(2));
+        verify(jdbcTemplate, atLeastOnce()).execute(startsWith("CREATE TABLE IF NOT EXISTS"));
+    }
+
+    @Test
+    void start_whenDisabled_doesNothing() {
+        ReflectionTestUtils.setField(housekeeper, "enabled", false);
+
+        housekeeper.start();
+
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    private void ddlRunsInTransaction() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static String partition(LocalDate day) {
+        return "outbox_events_p" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
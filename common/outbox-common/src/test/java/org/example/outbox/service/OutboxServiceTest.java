@@ -0,0 +1,104 @@
+package org.example.outbox.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.example.outbox.OutboxEventRegistry;
+import org.example.outbox.model.OutboxEvent;
+import org.example.outbox.model.OutboxStatus;
+import org.example.outbox.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        OutboxEventRegistry registry = OutboxEventRegistry.builder()
+                .register(TestEventType.TRIP_CREATED, Object.class, "trip.created", Object::toString)
+                .build();
+        outboxService = new OutboxService(outboxEventRepository, registry, objectMapper, jdbcTemplate);
+    }
+
+    @Test
+    void saveEvent_Success() throws Exception {
+        UUID aggregateId = UUID.randomUUID();
+        Object payload = new Object();
+        String payloadJson = "{\"payload\":\"ok\"}";
+
+        when(objectMapper.writeValueAsString(payload)).thenReturn(payloadJson);
+
+        outboxService.saveEvent(aggregateId, TestEventType.TRIP_CREATED, payload);
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+
+        OutboxEvent saved = captor.getValue();
+        assertEquals(aggregateId, saved.getAggregateId());
+        assertEquals("TRIP_CREATED", saved.getEventType());
+        assertEquals(payloadJson, saved.getPayloadJson());
+        assertEquals(OutboxStatus.NEW, saved.getStatus());
+        assertEquals(0, saved.getRetryCount());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void saveEvent_NotifiesRelay() throws Exception {
+        ReflectionTestUtils.setField(outboxService, "notifyEnabled", true);
+        ReflectionTestUtils.setField(outboxService, "notifyChannel", "outbox_events");
+        Object payload = new Object();
+
+        when(objectMapper.writeValueAsString(payload)).thenReturn("{}");
+
+        outboxService.saveEvent(UUID.randomUUID(), TestEventType.TRIP_CREATED, payload);
+
+        verify(outboxEventRepository).save(any(OutboxEvent.class));
+        verify(jdbcTemplate).execute("NOTIFY outbox_events");
+    }
+
+    @Test
+    void saveEvent_SerializationFailure() throws Exception {
+        UUID aggregateId = UUID.randomUUID();
+        Object payload = new Object();
+
+        when(objectMapper.writeValueAsString(payload)).thenThrow(new RuntimeException("boom"));
+
+        assertThrows(RuntimeException.class, () -> outboxService.saveEvent(aggregateId, TestEventType.TRIP_CREATED, payload));
+        verify(outboxEventRepository, never()).save(any(OutboxEvent.class));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void saveEvent_UnregisteredEventType() {
+        assertThrows(RuntimeException.class, () -> outboxService.saveEvent(UUID.randomUUID(), TestEventType.TRIP_DELETED, new Object()));
+        verify(outboxEventRepository, never()).save(any(OutboxEvent.class));
+    }
+
+    private enum TestEventType {
+        TRIP_CREATED,
+        TRIP_DELETED
+    }
+}
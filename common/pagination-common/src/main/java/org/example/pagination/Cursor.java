@@ -0,0 +1,58 @@
+package org.example.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a keyset page: its sort key and its id as tie-breaker.
+ * <p>
+ * Clients receive it as an opaque URL-safe token and pass it back unchanged to get the next
+ * page. The token keeps the full nanosecond precision of the sort key, so the seek resumes
+ * exactly after the row it was taken from.
+ */
+public record Cursor(Instant position, UUID id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static Cursor of(LocalDateTime position, UUID id) {
+        return new Cursor(position.toInstant(ZoneOffset.UTC), id);
+    }
+
+    public LocalDateTime localPosition() {
+        return LocalDateTime.ofInstant(position, ZoneOffset.UTC);
+    }
+
+    public String encode() {
+        String raw = position.getEpochSecond() + "." + position.getNano() + ":" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(token);
+        }
+
+        int dot = raw.indexOf('.');
+        int separator = raw.indexOf(':');
+        if (dot < 0 || separator < dot) {
+            throw new InvalidCursorException(token);
+        }
+        try {
+            Instant position = Instant.ofEpochSecond(
+                    Long.parseLong(raw.substring(0, dot)),
+                    Long.parseLong(raw.substring(dot + 1, separator)));
+            return new Cursor(position, UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset scroll. {@code nextCursor} is null on the last page, and
+ * {@code totalElements} is only filled in when the caller asked for a count.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext, Long totalElements) {
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor, hasNext, totalElements);
+    }
+}
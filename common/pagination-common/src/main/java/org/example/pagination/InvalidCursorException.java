@@ -0,0 +1,8 @@
+package org.example.pagination;
+
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String token) {
+        super("Invalid page cursor: " + token);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.pagination;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Helpers for keyset ("seek") pagination ordered by a timestamp and the id as tie-breaker.
+ * <p>
+ * Instead of skipping {@code OFFSET n} rows, every page starts strictly after the last row of
+ * the previous one, i.e. {@code (position, id) < (?, ?)} for descending order. With a composite
+ * index on {@code (position, id)}, optionally prefixed by equality-filtered columns, the database
+ * seeks straight to the cursor and reads one page of index entries, so deep pages cost the same
+ * as the first one.
+ */
+public final class Keyset {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private Keyset() {
+    }
+
+    public static Sort sort(String positionAttribute, Sort.Direction direction) {
+        return Sort.by(direction, positionAttribute).and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Rows strictly after the cursor in the given direction; no restriction when the cursor is null.
+     * The predicate is written as {@code position <= ? AND (position < ? OR id < ?)} (mirrored for
+     * ascending order) so the leading comparison is a plain index range condition.
+     */
+    public static <T, V extends Comparable<? super V>> Specification<T> after(
+            String positionAttribute, V position, UUID id, Sort.Direction direction) {
+        if (position == null || id == null) {
+            return (root, query, cb) -> null;
+        }
+        return (root, query, cb) -> direction.isDescending()
+                ? cb.and(
+                        cb.lessThanOrEqualTo(root.<V>get(positionAttribute), position),
+                        cb.or(
+                                cb.lessThan(root.<V>get(positionAttribute), position),
+                                cb.lessThan(root.<UUID>get("id"), id)))
+                : cb.and(
+                        cb.greaterThanOrEqualTo(root.<V>get(positionAttribute), position),
+                        cb.or(
+                                cb.greaterThan(root.<V>get(positionAttribute), position),
+                                cb.greaterThan(root.<UUID>get("id"), id)));
+    }
+
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.clamp(requested, 1, MAX_SIZE);
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}: the extra row only tells
+     * whether there is a next page and is not returned.
+     */
+    public static <E> CursorPage<E> page(List<E> rows, int size, Function<E, Cursor> cursorOf, Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<E> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(List.copyOf(content), nextCursor, hasNext, totalElements);
+    }
+}
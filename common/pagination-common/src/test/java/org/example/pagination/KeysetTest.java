@@ -0,0 +1,72 @@
+package org.example.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetTest {
+
+    @Test
+    void cursor_RoundTripsWithNanosecondPrecision() {
+        Cursor cursor = new Cursor(Instant.parse("2030-03-01T10:15:30.123456789Z"), UUID.randomUUID());
+
+        assertEquals(cursor, Cursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void cursor_ConvertsLocalDateTimeLosslessly() {
+        LocalDateTime departure = LocalDateTime.of(2030, 3, 1, 10, 15, 30, 500_000);
+
+        Cursor cursor = Cursor.decode(Cursor.of(departure, UUID.randomUUID()).encode());
+
+        assertEquals(departure, cursor.localPosition());
+    }
+
+    @Test
+    void cursor_RejectsTamperedToken() {
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode("not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode("bm90LWEtY3Vyc29y"));
+    }
+
+    @Test
+    void page_UsesExtraRowOnlyToDetectNextPage() {
+        List<Row> rows = List.of(row(3), row(2), row(1));
+
+        CursorPage<Row> page = Keyset.page(rows, 2, Row::cursor, null);
+
+        assertEquals(List.of(rows.get(0), rows.get(1)), page.content());
+        assertTrue(page.hasNext());
+        assertEquals(rows.get(1).cursor(), Cursor.decode(page.nextCursor()));
+        assertNull(page.totalElements());
+    }
+
+    @Test
+    void page_LastPageHasNoCursor() {
+        List<Row> rows = List.of(row(2), row(1));
+
+        CursorPage<Row> page = Keyset.page(rows, 2, Row::cursor, 2L);
+
+        assertEquals(rows, page.content());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+        assertEquals(2L, page.totalElements());
+    }
+
+    @Test
+    void pageSize_IsClampedToAllowedRange() {
+        assertEquals(Keyset.DEFAULT_SIZE, Keyset.pageSize(null));
+        assertEquals(1, Keyset.pageSize(0));
+        assertEquals(Keyset.MAX_SIZE, Keyset.pageSize(10_000));
+    }
+
+    private static Row row(int second) {
+        return new Row(new Cursor(Instant.ofEpochSecond(second), UUID.randomUUID()));
+    }
+
+    private record Row(Cursor cursor) {}
+}
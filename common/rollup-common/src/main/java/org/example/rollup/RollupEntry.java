@@ -0,0 +1,17 @@
+package org.example.rollup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * What one entity currently contributes to a rollup series: one event in {@code bucket} under
+ * {@code dimension}, carrying {@code quantity} (e.g. seats) and {@code amount} (e.g. revenue).
+ */
+public record RollupEntry(String series, LocalDateTime bucket, String dimension, long quantity, BigDecimal amount) {
+
+    public static RollupEntry of(
+            String series, Granularity granularity, LocalDateTime time, String dimension, long quantity, BigDecimal amount) {
+        return new RollupEntry(series, granularity.truncate(time), dimension, quantity,
+                amount != null ? amount : BigDecimal.ZERO);
+    }
+}
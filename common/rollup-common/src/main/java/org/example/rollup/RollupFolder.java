@@ -0,0 +1,51 @@
+package org.example.rollup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically moves pending rollup deltas into the aggregate rows so reads only have to add
+ * up the few deltas written since the last run. Several instances may fold at once: each
+ * batch claims its deltas with {@code SKIP LOCKED}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RollupFolder {
+
+    private final RollupRepository rollupRepository;
+
+    @Value("${rollup.fold.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rollup.fold.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${rollup.fold.max-batches:20}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${rollup.fold.interval-ms:5000}")
+    public void fold() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int written = 0;
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int rows = rollupRepository.fold(batchSize);
+                if (rows == 0) {
+                    break;
+                }
+                written += rows;
+            }
+            if (written > 0) {
+                log.debug("Folded rollup deltas into {} aggregate rows", written);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Rollup fold failed: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.rollup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Incrementally maintained aggregates in {@code stats_rollup}, keyed by series, time bucket
+ * and dimension.
+ * <p>
+ * Writers never touch the aggregate rows: every change appends signed counters to
+ * {@code stats_rollup_delta} in the writer's transaction, so concurrent bookings in the same
+ * hour do not queue up on one hot row. {@link RollupFolder} periodically moves the deltas into
+ * {@code stats_rollup}, and reads add up both tables in one statement, so they are exact at
+ * any time and cost O(buckets in range) rather than O(rows ever written).
+ */
+@Component
+@RequiredArgsConstructor
+public class RollupRepository {
+
+    private static final RowMapper<RollupRow> ROW_MAPPER = (rs, rowNum) -> new RollupRow(
+            rs.getTimestamp("bucket") != null ? rs.getTimestamp("bucket").toLocalDateTime() : null,
+            rs.getString("dimension"),
+            rs.getLong("event_count"),
+            rs.getLong("quantity"),
+            rs.getBigDecimal("amount"));
+
+    private static final String INSERT_DELTA = """
+            INSERT INTO stats_rollup_delta (series, bucket, dimension, event_count, quantity, amount)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String FOLD = """
+            WITH folded AS (
+                DELETE FROM stats_rollup_delta
+                WHERE id IN (
+                    SELECT id FROM stats_rollup_delta
+                    ORDER BY id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING series, bucket, dimension, event_count, quantity, amount
+            )
+            INSERT INTO stats_rollup (series, bucket, dimension, event_count, quantity, amount)
+            SELECT series, bucket, dimension, SUM(event_count), SUM(quantity), SUM(amount)
+            FROM folded
+            GROUP BY series, bucket, dimension
+            ON CONFLICT (series, bucket, dimension) DO UPDATE SET
+                event_count = stats_rollup.event_count + EXCLUDED.event_count,
+                quantity = stats_rollup.quantity + EXCLUDED.quantity,
+                amount = stats_rollup.amount + EXCLUDED.amount
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Moves an entity's contribution from {@code previous} to {@code current}, either of which
+     * may be empty. Entries present in both are left alone.
+     *
+     * @return {@code current}, to be remembered as the entity's recorded contribution
+     */
+    public List<RollupEntry> replace(List<RollupEntry> previous, List<RollupEntry> current) {
+        List<RollupEntry> before = previous != null ? previous : List.of();
+        if (Objects.equals(before, current)) {
+            return current;
+        }
+        List<Object[]> deltas = new ArrayList<>(before.size() + current.size());
+        for (RollupEntry entry : before) {
+            if (!current.contains(entry)) {
+                deltas.add(delta(entry, -1));
+            }
+        }
+        for (RollupEntry entry : current) {
+            if (!before.contains(entry)) {
+                deltas.add(delta(entry, 1));
+            }
+        }
+        if (!deltas.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DELTA, deltas);
+        }
+        return current;
+    }
+
+    /**
+     * Totals per dimension for buckets in {@code [from, to)}; a null bound leaves that side open.
+     */
+    public Map<String, RollupRow> totals(String series, LocalDateTime from, LocalDateTime to) {
+        List<Object> args = new ArrayList<>();
+        String filter = filter(series, from, to, args);
+        List<Object> allArgs = new ArrayList<>(args);
+        allArgs.addAll(args);
+
+        String sql = """
+                SELECT CAST(NULL AS TIMESTAMP) AS bucket, dimension, SUM(event_count) AS event_count,
+                       SUM(quantity) AS quantity, SUM(amount) AS amount
+                FROM (
+                    SELECT dimension, event_count, quantity, amount FROM stats_rollup WHERE %1$s
+                    UNION ALL
+                    SELECT dimension, event_count, quantity, amount FROM stats_rollup_delta WHERE %1$s
+                ) r
+                GROUP BY dimension
+                """.formatted(filter);
+
+        Map<String, RollupRow> totals = new LinkedHashMap<>();
+        for (RollupRow row : jdbcTemplate.query(sql, ROW_MAPPER, allArgs.toArray())) {
+            if (row.count() != 0 || row.quantity() != 0 || row.amount().signum() != 0) {
+                totals.put(row.dimension(), row);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * The {@code limit} dimensions with the highest event count over buckets in {@code [from, to)},
+     * highest first. Ranking and cut-off happen in the database, so only {@code limit} rows come
+     * back however many dimensions the series has.
+     */
+    public List<RollupRow> top(String series, LocalDateTime from, LocalDateTime to, int limit) {
+        List<Object> args = new ArrayList<>();
+        String filter = filter(series, from, to, args);
+        List<Object> allArgs = new ArrayList<>(args);
+        allArgs.addAll(args);
+        allArgs.add(limit);
+
+        String sql = """
+                SELECT CAST(NULL AS TIMESTAMP) AS bucket, dimension, SUM(event_count) AS event_count,
+                       SUM(quantity) AS quantity, SUM(amount) AS amount
+                FROM (
+                    SELECT dimension, event_count, quantity, amount FROM stats_rollup WHERE %1$s
+                    UNION ALL
+                    SELECT dimension, event_count, quantity, amount FROM stats_rollup_delta WHERE %1$s
+                ) r
+                GROUP BY dimension
+                HAVING SUM(event_count) > 0
+                ORDER BY SUM(event_count) DESC, dimension
+                LIMIT ?
+                """.formatted(filter);
+        return jdbcTemplate.query(sql, ROW_MAPPER, allArgs.toArray());
+    }
+
+    /**
+     * Counters per day and dimension for buckets in {@code [from, to)}, newest day first.
+     */
+    public List<RollupRow> daily(String series, LocalDateTime from, LocalDateTime to) {
+        List<Object> args = new ArrayList<>();
+        String filter = filter(series, from, to, args);
+        List<Object> allArgs = new ArrayList<>(args);
+        allArgs.addAll(args);
+
+        String sql = """
+                SELECT date_trunc('day', bucket) AS bucket, dimension, SUM(event_count) AS event_count,
+                       SUM(quantity) AS quantity, SUM(amount) AS amount
+                FROM (
+                    SELECT bucket, dimension, event_count, quantity, amount FROM stats_rollup WHERE %1$s
+                    UNION ALL
+                    SELECT bucket, dimension, event_count, quantity, amount FROM stats_rollup_delta WHERE %1$s
+                ) r
+                GROUP BY date_trunc('day', bucket), dimension
+                HAVING SUM(event_count) <> 0
+                ORDER BY 1 DESC, dimension
+                """.formatted(filter);
+        return jdbcTemplate.query(sql, ROW_MAPPER, allArgs.toArray());
+    }
+
+    /**
+     * Folds up to {@code batchSize} pending deltas into the aggregates.
+     *
+     * @return the number of aggregate rows written
+     */
+    public int fold(int batchSize) {
+        return jdbcTemplate.update(FOLD, batchSize);
+    }
+
+    private static Object[] delta(RollupEntry entry, int sign) {
+        return new Object[]{
+                entry.series(),
+                Timestamp.valueOf(entry.bucket()),
+                entry.dimension(),
+                sign,
+                sign * entry.quantity(),
+                sign > 0 ? entry.amount() : entry.amount().negate()
+        };
+    }
+
+    private static String filter(String series, LocalDateTime from, LocalDateTime to, List<Object> args) {
+        StringBuilder filter = new StringBuilder("series = ?");
+        args.add(series);
+        if (from != null) {
+            filter.append(" AND bucket >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            filter.append(" AND bucket < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        return filter.toString();
+    }
+}
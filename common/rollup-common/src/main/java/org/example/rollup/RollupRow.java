@@ -0,0 +1,11 @@
+package org.example.rollup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated counters for one dimension, either over a whole range ({@code bucket} is null)
+ * or for one day of it.
+ */
+public record RollupRow(LocalDateTime bucket, String dimension, long count, long quantity, BigDecimal amount) {
+}
@@ -0,0 +1,18 @@
+package org.example.rollup.config;
+
+import org.example.rollup.RollupFolder;
+import org.example.rollup.RollupRepository;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Registers the shared analytics rollups: the {@link RollupRepository} that records and reads
+ * them and the {@link RollupFolder} that compacts them. The service only has to provide the
+ * {@code stats_rollup} and {@code stats_rollup_delta} tables; tuning lives under the
+ * {@code rollup.*} properties.
+ */
+@AutoConfiguration(after = JdbcTemplateAutoConfiguration.class)
+@Import({RollupRepository.class, RollupFolder.class})
+public class RollupAutoConfiguration {
+}
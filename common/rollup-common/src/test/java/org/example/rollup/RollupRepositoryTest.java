@@ -0,0 +1,105 @@
+package org.example.rollup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RollupRepositoryTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2030, 3, 1, 10, 42);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private RollupRepository rollupRepository;
+
+    @Test
+    void replace_NewEntityAddsPositiveDelta() {
+        RollupEntry pending = entry("PENDING", 2, "30.00");
+
+        rollupRepository.replace(null, List.of(pending));
+
+        List<Object[]> deltas = captureDeltas();
+        assertEquals(1, deltas.size());
+        assertArrayEquals(new Object[]{
+                "orders", Timestamp.valueOf(TIME.withMinute(0)), "PENDING", 1, 2L, new BigDecimal("30.00")
+        }, deltas.get(0));
+    }
+
+    @Test
+    void replace_StatusChangeMovesContribution() {
+        RollupEntry pending = entry("PENDING", 2, "30.00");
+        RollupEntry confirmed = entry("CONFIRMED", 2, "30.00");
+
+        List<RollupEntry> recorded = rollupRepository.replace(List.of(pending), List.of(confirmed));
+
+        assertEquals(List.of(confirmed), recorded);
+        List<Object[]> deltas = captureDeltas();
+        assertEquals(2, deltas.size());
+        assertArrayEquals(new Object[]{
+                "orders", Timestamp.valueOf(TIME.withMinute(0)), "PENDING", -1, -2L, new BigDecimal("-30.00")
+        }, deltas.get(0));
+        assertEquals("CONFIRMED", deltas.get(1)[2]);
+        assertEquals(1, deltas.get(1)[3]);
+    }
+
+    @Test
+    void replace_UnchangedContributionWritesNothing() {
+        RollupEntry pending = entry("PENDING", 2, "30.00");
+
+        rollupRepository.replace(List.of(pending), List.of(entry("PENDING", 2, "30.00")));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void top_RanksAndLimitsInSql() {
+        LocalDateTime from = TIME.withHour(0).withMinute(0);
+        LocalDateTime to = from.plusDays(7);
+        RollupRow row = new RollupRow(null, "trip-1", 12, 30, BigDecimal.ZERO);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("trips"),
+                eq(Timestamp.valueOf(from)), eq(Timestamp.valueOf(to)),
+                eq("trips"), eq(Timestamp.valueOf(from)), eq(Timestamp.valueOf(to)), eq(5)))
+                .thenReturn(List.of(row));
+
+        List<RollupRow> top = rollupRepository.top("trips", from, to, 5);
+
+        assertEquals(List.of(row), top);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), any(Object[].class));
+        String query = sql.getValue().replaceAll("\\s+", " ");
+        assertTrue(query.contains("GROUP BY dimension"));
+        assertTrue(query.contains("ORDER BY SUM(event_count) DESC, dimension LIMIT ?"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> captureDeltas() {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        return captor.getValue();
+    }
+
+    private static RollupEntry entry(String status, long quantity, String amount) {
+        return RollupEntry.of("orders", Granularity.HOUR, TIME, status, quantity, new BigDecimal(amount));
+    }
+}
@@ -1,32 +1,55 @@
 package org.example.inventoryservice.client;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.UUID;
 
+/**
+ * Trip lookups against trip-service, kept in a local cache. Inventory only reads the bus
+ * layout of a trip, which never changes after creation, so entries just expire with
+ * {@code trip.cache.ttl-minutes} or when the trip is cancelled.
+ */
 @Component
 @Slf4j
 public class TripServiceClient {
     private final RestTemplate restTemplate;
     private final String tripServiceUrl;
+    private final Cache<UUID, TripResponse> trips;
 
     public TripServiceClient(
             RestTemplate restTemplate,
-            @Value("${trip.service.url}") String tripServiceUrl
+            @Value("${trip.service.url}") String tripServiceUrl,
+            @Value("${trip.cache.max-size:10000}") long maxSize,
+            @Value("${trip.cache.ttl-minutes:60}") long ttlMinutes
     ) {
         this.restTemplate = restTemplate;
         this.tripServiceUrl = tripServiceUrl;
+        this.trips = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
     }
 
     public TripResponse getTripById(UUID tripId) {
         try {
-            String url = tripServiceUrl + "/trips/" + tripId;
-            return restTemplate.getForObject(url, TripResponse.class);
+            return trips.get(tripId, this::fetchTrip);
         } catch (Exception e) {
             throw new RuntimeException("Failed to fetch trip info for tripId: " + tripId, e);
         }
     }
+
+    public void evict(UUID tripId) {
+        trips.invalidate(tripId);
+    }
+
+    private TripResponse fetchTrip(UUID tripId) {
+        String url = tripServiceUrl + "/trips/" + tripId;
+        return restTemplate.getForObject(url, TripResponse.class);
+    }
 }
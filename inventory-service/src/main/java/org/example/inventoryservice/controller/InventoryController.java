@@ -6,9 +6,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.example.inventoryservice.dto.response.SeatResponse;
+import org.example.inventoryservice.seatmap.SeatMapStream;
 import org.example.inventoryservice.service.InventoryService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -20,6 +23,7 @@ import java.util.UUID;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final SeatMapStream seatMapStream;
 
     @Operation(summary = "Get seats for a trip", description = "Retrieves a list of seats for a specific trip ID.")
     @ApiResponses(value = {
@@ -30,4 +34,13 @@ public class InventoryController {
     public ResponseEntity<List<SeatResponse>> getTripSeats(@PathVariable UUID tripId) {
         return ResponseEntity.ok(inventoryService.getSeatsByTripId(tripId));
     }
+
+    @Operation(summary = "Stream seat map changes", description = "Server-sent events for a trip's seat map: a `snapshot` event with seat numbers grouped by status, then `seats` events listing the seats whose status changed. Event versions increase by one, so a gap means the client should reconnect.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened")
+    })
+    @GetMapping(path = "/trips/{tripId}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTripSeats(@PathVariable UUID tripId) {
+        return seatMapStream.subscribe(tripId);
+    }
 }
@@ -0,0 +1,8 @@
+package org.example.inventoryservice.dto.response;
+
+import org.example.inventoryservice.model.SeatStatus;
+
+public record SeatChange(
+    int seatNumber,
+    SeatStatus status
+) {}
@@ -0,0 +1,13 @@
+package org.example.inventoryservice.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seats whose status changed since the event with {@code version - 1}.
+ */
+public record SeatMapDelta(
+    UUID tripId,
+    long version,
+    List<SeatChange> changes
+) {}
@@ -0,0 +1,16 @@
+package org.example.inventoryservice.dto.response;
+
+import org.example.inventoryservice.model.SeatStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Whole seat map as seat numbers per status; deltas with a higher {@code version} follow.
+ */
+public record SeatMapSnapshot(
+    UUID tripId,
+    long version,
+    Map<SeatStatus, List<Integer>> seats
+) {}
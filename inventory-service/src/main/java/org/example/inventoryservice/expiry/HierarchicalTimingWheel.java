@@ -0,0 +1,162 @@
+package org.example.inventoryservice.expiry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: level {@code i} has {@code wheelSize} buckets of
+ * {@code tickMs * wheelSize^i} milliseconds each. Entries are placed on the lowest
+ * level whose span covers their deadline and cascade one level down every time the
+ * level below wraps, so scheduling and cancelling are O(1) and a tick only touches
+ * the bucket that is due.
+ * <p>
+ * Entries fire on the first tick at or after their deadline, i.e. at most one tick
+ * late and never early. Cancelled entries are dropped lazily when their bucket is
+ * drained. Not thread-safe; callers are expected to guard it.
+ */
+public final class HierarchicalTimingWheel<K> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    private final Map<K, Long> deadlines = new HashMap<>();
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Invalid wheel: tick " + tickMs + "ms, size " + wheelSize);
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        levels.add(new Level(tickMs, startMs));
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    public boolean contains(K key) {
+        return deadlines.containsKey(key);
+    }
+
+    /**
+     * Schedules {@code key} at {@code deadlineMs}, replacing any earlier deadline for it.
+     * A deadline that is already in the past fires on the next {@link #advance}.
+     */
+    public void schedule(K key, long deadlineMs) {
+        Long previous = deadlines.put(key, deadlineMs);
+        if (previous == null || previous != deadlineMs) {
+            place(new Entry<>(key, deadlineMs), 0);
+        }
+    }
+
+    public boolean cancel(K key) {
+        return deadlines.remove(key) != null;
+    }
+
+    /**
+     * Moves the clock forward to {@code nowMs} and returns every key whose deadline has passed.
+     */
+    public List<K> advance(long nowMs) {
+        List<K> expired = new ArrayList<>();
+        Level first = levels.get(0);
+        if (deadlines.isEmpty()) {
+            realign(nowMs);
+            return expired;
+        }
+
+        while (first.currentTime + tickMs <= nowMs) {
+            drainExpired(first.bucketAt(first.currentTime), expired);
+            first.currentTime += tickMs;
+            cascade(1);
+        }
+        return expired;
+    }
+
+    private void cascade(int index) {
+        if (index >= levels.size()) {
+            return;
+        }
+        Level lower = levels.get(index - 1);
+        Level level = levels.get(index);
+        if (lower.currentTime % level.tickMs != 0) {
+            return;
+        }
+
+        level.currentTime = lower.currentTime;
+        List<Entry<K>> bucket = level.bucketAt(level.currentTime);
+        List<Entry<K>> moved = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Entry<K> entry : moved) {
+            if (isLive(entry)) {
+                place(entry, 0);
+            }
+        }
+        cascade(index + 1);
+    }
+
+    private void place(Entry<K> entry, int index) {
+        Level level = level(index);
+        if (index == 0 && entry.deadline < level.currentTime) {
+            level.bucketAt(level.currentTime).add(entry);
+        } else if (entry.deadline < level.currentTime + level.tickMs * wheelSize) {
+            level.bucketAt(entry.deadline).add(entry);
+        } else {
+            place(entry, index + 1);
+        }
+    }
+
+    private void drainExpired(List<Entry<K>> bucket, List<K> expired) {
+        for (Entry<K> entry : bucket) {
+            if (deadlines.remove(entry.key, entry.deadline)) {
+                expired.add(entry.key);
+            }
+        }
+        bucket.clear();
+    }
+
+    private boolean isLive(Entry<K> entry) {
+        Long deadline = deadlines.get(entry.key);
+        return deadline != null && deadline == entry.deadline;
+    }
+
+    private void realign(long nowMs) {
+        for (Level level : levels) {
+            level.currentTime = nowMs - Math.floorMod(nowMs, level.tickMs);
+            for (List<Entry<K>> bucket : level.buckets) {
+                bucket.clear();
+            }
+        }
+    }
+
+    private Level level(int index) {
+        while (levels.size() <= index) {
+            Level lower = levels.get(levels.size() - 1);
+            levels.add(new Level(lower.tickMs * wheelSize, lower.currentTime));
+        }
+        return levels.get(index);
+    }
+
+    private record Entry<K>(K key, long deadline) {}
+
+    private final class Level {
+
+        private final long tickMs;
+        private final List<List<Entry<K>>> buckets;
+        private long currentTime;
+
+        private Level(long tickMs, long startMs) {
+            this.tickMs = tickMs;
+            this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        private List<Entry<K>> bucketAt(long timeMs) {
+            return buckets.get((int) Math.floorMod(Math.floorDiv(timeMs, tickMs), (long) wheelSize));
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package org.example.inventoryservice.expiry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Pending reservation expiries.
+ * <p>
+ * The durable pending set lives in Redis as one sorted set per shard
+ * ({@code keyPrefix + shard}, member reservation id, score expiry epoch millis); the
+ * shard is derived from the reservation id. Each instance owns the shards where
+ * {@code shard % instanceCount == instanceIndex} and keeps the upcoming part of them
+ * in a local {@link HierarchicalTimingWheel}.
+ * <p>
+ * A due reservation is claimed by moving its score {@code claim-lease-ms} ahead, atomically,
+ * so only one instance hands it out even when shard ownership overlaps during a redeploy. It
+ * leaves the set with {@link #complete} once it has been expired; a failed batch is pushed
+ * back by {@code retry-backoff-ms} with {@link #retry}, and a batch lost with its instance
+ * becomes due again when the lease runs out. Any instance also picks up entries of shards
+ * it does not own once they are {@code takeover-after-ms} overdue, so the shards of an
+ * instance that is gone, or of an {@code instance-index} nobody runs, still get expired.
+ * Expiring a reservation twice is harmless, as the second run no longer finds it.
+ */
+@Slf4j
+@Component
+public class ReservationExpiryQueue {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/claim_expiries.lua"), List.class);
+    private static final int TAKEOVER_BATCH = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final int shardCount;
+    private final List<Integer> ownedShards;
+    private final long lookaheadMs;
+    private final long claimLeaseMs;
+    private final long retryBackoffMs;
+    private final long takeoverAfterMs;
+    private final LongSupplier clock;
+    private final HierarchicalTimingWheel<UUID> wheel;
+
+    @Autowired
+    public ReservationExpiryQueue(
+            StringRedisTemplate redisTemplate,
+            @Value("${reservation.expiry.key-prefix}") String keyPrefix,
+            @Value("${reservation.expiry.shard-count:16}") int shardCount,
+            @Value("${reservation.expiry.instance-index:0}") int instanceIndex,
+            @Value("${reservation.expiry.instance-count:1}") int instanceCount,
+            @Value("${reservation.expiry.tick-ms:100}") long tickMs,
+            @Value("${reservation.expiry.wheel-size:512}") int wheelSize,
+            @Value("${reservation.expiry.sync-interval-ms:5000}") long syncIntervalMs,
+            @Value("${reservation.expiry.claim-lease-ms:30000}") long claimLeaseMs,
+            @Value("${reservation.expiry.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${reservation.expiry.takeover-after-ms:30000}") long takeoverAfterMs) {
+        this(redisTemplate, keyPrefix, shardCount, instanceIndex, instanceCount, tickMs, wheelSize, syncIntervalMs,
+                claimLeaseMs, retryBackoffMs, takeoverAfterMs, System::currentTimeMillis);
+    }
+
+    public ReservationExpiryQueue(
+            StringRedisTemplate redisTemplate,
+            String keyPrefix,
+            int shardCount,
+            int instanceIndex,
+            int instanceCount,
+            long tickMs,
+            int wheelSize,
+            long syncIntervalMs,
+            long claimLeaseMs,
+            long retryBackoffMs,
+            long takeoverAfterMs,
+            LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.shardCount = shardCount;
+        this.ownedShards = IntStream.range(0, shardCount)
+                .filter(shard -> shard % instanceCount == instanceIndex)
+                .boxed()
+                .toList();
+        this.lookaheadMs = syncIntervalMs * 2;
+        this.claimLeaseMs = claimLeaseMs;
+        this.retryBackoffMs = retryBackoffMs;
+        this.takeoverAfterMs = takeoverAfterMs;
+        this.clock = clock;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, clock.getAsLong());
+    }
+
+    public String shardKey(UUID reservationId) {
+        return keyPrefix + shardOf(reservationId);
+    }
+
+    /**
+     * Persists the expiry in the shard set and tracks it locally when this instance owns the shard.
+     */
+    public void schedule(UUID reservationId, Instant expiresAt) {
+        redisTemplate.opsForZSet().add(shardKey(reservationId), reservationId.toString(), expiresAt.toEpochMilli());
+        track(reservationId, expiresAt);
+    }
+
+    /**
+     * Tracks an expiry that has already been written to the shard set, e.g. by a Lua script.
+     */
+    public void track(UUID reservationId, Instant expiresAt) {
+        if (!ownedShards.contains(shardOf(reservationId))) {
+            return;
+        }
+        synchronized (wheel) {
+            wheel.schedule(reservationId, expiresAt.toEpochMilli());
+        }
+    }
+
+    public void cancel(UUID reservationId) {
+        redisTemplate.opsForZSet().remove(shardKey(reservationId), reservationId.toString());
+        untrack(reservationId);
+    }
+
+    public void cancelAll(List<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        removeAll(reservationIds);
+        synchronized (wheel) {
+            reservationIds.forEach(wheel::cancel);
+        }
+    }
+
+    public void untrack(UUID reservationId) {
+        synchronized (wheel) {
+            wheel.cancel(reservationId);
+        }
+    }
+
+    /**
+     * Advances the wheel and claims every reservation that is due. Only reservations whose
+     * claim succeeded are returned; the rest were confirmed, released or claimed elsewhere.
+     * Every returned reservation has to be passed to {@link #complete} or {@link #retry}.
+     */
+    public List<UUID> pollDue() {
+        long now = clock.getAsLong();
+        List<UUID> due;
+        synchronized (wheel) {
+            due = wheel.advance(now);
+        }
+        if (due.isEmpty()) {
+            return due;
+        }
+
+        Map<String, List<String>> dueByShard = new LinkedHashMap<>();
+        for (UUID reservationId : due) {
+            dueByShard.computeIfAbsent(shardKey(reservationId), key -> new ArrayList<>()).add(reservationId.toString());
+        }
+
+        List<UUID> claimed = new ArrayList<>(due.size());
+        String leaseDeadline = String.valueOf(now + claimLeaseMs);
+        dueByShard.forEach((shardKey, reservationIds) -> {
+            List<String> args = new ArrayList<>(reservationIds.size() + 2);
+            args.add(String.valueOf(now));
+            args.add(leaseDeadline);
+            args.addAll(reservationIds);
+            List<?> result = redisTemplate.execute(CLAIM_SCRIPT, List.of(shardKey), args.toArray());
+            if (result != null) {
+                result.forEach(reservationId -> claimed.add(UUID.fromString(reservationId.toString())));
+            }
+        });
+        return claimed;
+    }
+
+    /**
+     * Drops claimed reservations that have been expired from the shard sets.
+     */
+    public void complete(List<UUID> reservationIds) {
+        if (!reservationIds.isEmpty()) {
+            removeAll(reservationIds);
+        }
+    }
+
+    /**
+     * Gives claimed reservations back to be polled again after {@code retry-backoff-ms}.
+     * Reservations finished in the meantime have left their shard set and stay gone.
+     */
+    public void retry(List<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        long retryAt = clock.getAsLong() + retryBackoffMs;
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (UUID reservationId : reservationIds) {
+                connection.zSetCommands().zAdd(
+                        shardKey(reservationId).getBytes(StandardCharsets.UTF_8),
+                        retryAt,
+                        reservationId.toString().getBytes(StandardCharsets.UTF_8),
+                        RedisZSetCommands.ZAddArgs.ifExists());
+            }
+            return null;
+        });
+        synchronized (wheel) {
+            reservationIds.forEach(reservationId -> wheel.schedule(reservationId, retryAt));
+        }
+    }
+
+    /**
+     * Loads everything due before the next sync from the owned shard sets into the wheel,
+     * and everything {@code takeover-after-ms} overdue from the other shard sets.
+     * Run on startup to recover the pending set and periodically to pick up reservations
+     * that other instances created in shards owned by this one.
+     */
+    public int sync() {
+        long now = clock.getAsLong();
+        long horizon = now + lookaheadMs;
+        long overdue = now - takeoverAfterMs;
+        int loaded = 0;
+        int takenOver = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            boolean owned = ownedShards.contains(shard);
+            Set<ZSetOperations.TypedTuple<String>> entries = owned
+                    ? redisTemplate.opsForZSet().rangeByScoreWithScores(keyPrefix + shard, Double.NEGATIVE_INFINITY, horizon)
+                    : redisTemplate.opsForZSet().rangeByScoreWithScores(
+                            keyPrefix + shard, Double.NEGATIVE_INFINITY, overdue, 0, TAKEOVER_BATCH);
+            if (entries == null || entries.isEmpty()) {
+                continue;
+            }
+            synchronized (wheel) {
+                for (ZSetOperations.TypedTuple<String> entry : entries) {
+                    UUID reservationId = UUID.fromString(entry.getValue());
+                    long deadline = entry.getScore().longValue();
+                    if (!wheel.contains(reservationId)) {
+                        if (owned) {
+                            loaded++;
+                        } else {
+                            takenOver++;
+                        }
+                    }
+                    wheel.schedule(reservationId, deadline);
+                }
+            }
+        }
+        if (loaded > 0) {
+            log.info("Loaded {} pending reservation expiries from {} shards", loaded, ownedShards.size());
+        }
+        if (takenOver > 0) {
+            log.warn("Took over {} overdue reservation expiries from shards owned by other instances", takenOver);
+        }
+        return loaded + takenOver;
+    }
+
+    public int pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private List<Object> removeAll(List<UUID> reservationIds) {
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (UUID reservationId : reservationIds) {
+                connection.zSetCommands().zRem(
+                        shardKey(reservationId).getBytes(StandardCharsets.UTF_8),
+                        reservationId.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+    }
+
+    private int shardOf(UUID reservationId) {
+        return Math.floorMod(reservationId.hashCode(), shardCount);
+    }
+}
@@ -2,7 +2,10 @@ package org.example.inventoryservice.grpc;
 
 import org.example.inventoryservice.service.InventoryService;
 import org.example.inventoryservice.model.Reservation;
+import org.example.inventoryservice.model.ReservationFailure;
+import org.example.inventoryservice.model.SeatPreference;
 import org.example.inventoryservice.exception.NotEnoughSeatsException;
+import io.grpc.Context;
 import io.grpc.stub.StreamObserver;
 import io.grpc.Status;
 import net.devh.boot.grpc.server.service.GrpcService;
@@ -10,11 +13,30 @@ import lombok.RequiredArgsConstructor;
 import java.util.UUID;
 
 import com.booking.inventory.grpc.ReserveSeatsRequest;
+import com.booking.inventory.grpc.ReserveAnySeatsRequest;
 import com.booking.inventory.grpc.ReserveSeatsResponse;
 import com.booking.inventory.grpc.ConfirmReservationRequest;
 import com.booking.inventory.grpc.ReleaseReservationRequest;
 import com.booking.inventory.grpc.InventoryServiceGrpc;
+import com.booking.inventory.grpc.BatchReservationRequest;
+import com.booking.inventory.grpc.BatchReservationResponse;
+import com.booking.inventory.grpc.ReservationAction;
+import com.booking.inventory.grpc.ReservationCommand;
+import com.booking.inventory.grpc.ReservationResult;
 import com.google.protobuf.Empty;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 @GrpcService
 @RequiredArgsConstructor
@@ -23,6 +45,23 @@ public class InventoryGrpcService
 
     private final InventoryService inventoryService;
 
+    private final ScheduledExecutorService streamFlusher = Executors.newSingleThreadScheduledExecutor();
+    private ExecutorService streamWorkers;
+
+    @Value("${inventory.grpc.stream.batch-size:200}")
+    private int streamBatchSize;
+
+    @Value("${inventory.grpc.stream.flush-delay-ms:20}")
+    private long streamFlushDelayMs;
+
+    @Value("${inventory.grpc.stream.workers:4}")
+    private int streamWorkerCount;
+
+    @PostConstruct
+    void start() {
+        streamWorkers = Executors.newFixedThreadPool(streamWorkerCount);
+    }
+
     @Override
     public void reserveSeats(
             ReserveSeatsRequest request,
@@ -35,14 +74,41 @@ public class InventoryGrpcService
                     request.getSeatNumbersList()
             );
 
-            ReserveSeatsResponse response =
-                    ReserveSeatsResponse.newBuilder()
-                            .setReservationId(reservation.reservationId().toString())
-                            .setExpiresAt(reservation.expiresAt().toString())
-                            .build();
+            replyWithReservation(reservation, responseObserver);
+
+        } catch (NotEnoughSeatsException e) {
+            responseObserver.onError(
+                Status.FAILED_PRECONDITION
+                    .withDescription("Not enough seats")
+                    .asRuntimeException()
+            );
+        }
+    }
+
+    @Override
+    public void reserveAnySeats(
+            ReserveAnySeatsRequest request,
+            StreamObserver<ReserveSeatsResponse> responseObserver
+    ) {
+        if (request.getCount() <= 0) {
+            responseObserver.onError(
+                Status.INVALID_ARGUMENT
+                    .withDescription("Seat count must be positive")
+                    .asRuntimeException()
+            );
+            return;
+        }
+
+        try {
+            Reservation reservation = inventoryService.reserveAnySeats(
+                    UUID.fromString(request.getTripId()),
+                    request.getCount(),
+                    request.getPreference() == com.booking.inventory.grpc.SeatPreference.ANY
+                            ? SeatPreference.ANY
+                            : SeatPreference.TOGETHER
+            );
 
-            responseObserver.onNext(response);
-            responseObserver.onCompleted();
+            replyWithReservation(reservation, responseObserver);
 
         } catch (NotEnoughSeatsException e) {
             responseObserver.onError(
@@ -53,6 +119,25 @@ public class InventoryGrpcService
         }
     }
 
+    /**
+     * Sends the hold back to the caller, unless the call was cancelled or ran past its deadline
+     * while the seats were being taken: that caller will never learn the reservation id, so the
+     * seats are handed back now instead of staying held until the reservation expires.
+     */
+    private void replyWithReservation(Reservation reservation, StreamObserver<ReserveSeatsResponse> responseObserver) {
+        if (Context.current().isCancelled()) {
+            inventoryService.releaseReservation(reservation.reservationId());
+            responseObserver.onError(
+                Status.CANCELLED
+                    .withDescription("Call cancelled before the reservation was returned")
+                    .asRuntimeException()
+            );
+            return;
+        }
+        responseObserver.onNext(toResponse(reservation));
+        responseObserver.onCompleted();
+    }
+
     @Override
     public void confirmReservation(
         ConfirmReservationRequest request,
@@ -72,6 +157,218 @@ public class InventoryGrpcService
         responseObserver.onNext(Empty.getDefaultInstance());
         responseObserver.onCompleted();
     }
-    
-}
 
+    @Override
+    public void batchConfirmReservations(
+        BatchReservationRequest request,
+        StreamObserver<BatchReservationResponse> responseObserver
+    ) {
+        finishBatch(ReservationAction.CONFIRM, request, inventoryService::confirmReservations, responseObserver);
+    }
+
+    @Override
+    public void batchReleaseReservations(
+        BatchReservationRequest request,
+        StreamObserver<BatchReservationResponse> responseObserver
+    ) {
+        finishBatch(ReservationAction.RELEASE, request, inventoryService::releaseReservations, responseObserver);
+    }
+
+    /**
+     * Buffers incoming commands and applies them in batches of {@code streamBatchSize},
+     * or after {@code streamFlushDelayMs} when the stream goes quiet. Within a batch,
+     * confirmations are applied before releases. Delayed batches are applied on the
+     * {@code streamWorkers} pool, so the shared flush timer never waits on the seat store.
+     */
+    @Override
+    public StreamObserver<ReservationCommand> reservationStream(StreamObserver<ReservationResult> responseObserver) {
+        return new StreamObserver<>() {
+
+            private final List<ReservationCommand> buffer = new ArrayList<>();
+            private ScheduledFuture<?> scheduledFlush;
+            private boolean closed;
+
+            @Override
+            public void onNext(ReservationCommand command) {
+                synchronized (this) {
+                    buffer.add(command);
+                    if (buffer.size() >= streamBatchSize) {
+                        flush();
+                    } else if (scheduledFlush == null) {
+                        scheduledFlush = streamFlusher.schedule(
+                                () -> streamWorkers.execute(this::flushBuffered), streamFlushDelayMs, TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                synchronized (this) {
+                    closed = true;
+                    buffer.clear();
+                    cancelScheduledFlush();
+                }
+            }
+
+            @Override
+            public void onCompleted() {
+                synchronized (this) {
+                    flush();
+                    closed = true;
+                    responseObserver.onCompleted();
+                }
+            }
+
+            private synchronized void flushBuffered() {
+                scheduledFlush = null;
+                if (closed) {
+                    return;
+                }
+                try {
+                    flush();
+                } catch (RuntimeException e) {
+                    closed = true;
+                    responseObserver.onError(Status.INTERNAL.withDescription(e.getMessage()).asRuntimeException());
+                }
+            }
+
+            private void flush() {
+                cancelScheduledFlush();
+                if (buffer.isEmpty()) {
+                    return;
+                }
+                List<ReservationCommand> commands = List.copyOf(buffer);
+                buffer.clear();
+                apply(commands, ReservationAction.CONFIRM, inventoryService::confirmReservations)
+                        .forEach(responseObserver::onNext);
+                apply(commands, ReservationAction.RELEASE, inventoryService::releaseReservations)
+                        .forEach(responseObserver::onNext);
+                commands.stream()
+                        .filter(command -> command.getAction() != ReservationAction.CONFIRM
+                                && command.getAction() != ReservationAction.RELEASE)
+                        .map(command -> invalid(command.getReservationId(), command.getAction(), "Unsupported action"))
+                        .forEach(responseObserver::onNext);
+            }
+
+            private void cancelScheduledFlush() {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamFlusher.shutdown();
+        streamWorkers.shutdown();
+    }
+
+    /**
+     * A batch that fails as a whole, e.g. because Redis is unreachable, is reported as
+     * {@code UNAVAILABLE} so callers retry it; per-reservation failures come back as results.
+     */
+    private void finishBatch(
+        ReservationAction action,
+        BatchReservationRequest request,
+        Function<List<UUID>, Map<UUID, ReservationFailure>> operation,
+        StreamObserver<BatchReservationResponse> responseObserver
+    ) {
+        List<UUID> reservationIds = parseIds(request.getReservationIdsList());
+        Map<UUID, ReservationFailure> failures;
+        try {
+            failures = operation.apply(reservationIds);
+        } catch (RuntimeException e) {
+            responseObserver.onError(
+                Status.UNAVAILABLE
+                    .withDescription("Failed to " + action.name().toLowerCase() + " reservations: " + e.getMessage())
+                    .withCause(e)
+                    .asRuntimeException()
+            );
+            return;
+        }
+        BatchReservationResponse.Builder response = BatchReservationResponse.newBuilder();
+        reservationIds.forEach(id -> response.addResults(result(id.toString(), action, failures.get(id))));
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    private List<ReservationResult> apply(
+        List<ReservationCommand> commands,
+        ReservationAction action,
+        Function<List<UUID>, Map<UUID, ReservationFailure>> operation
+    ) {
+        List<String> ids = commands.stream()
+                .filter(command -> command.getAction() == action)
+                .map(ReservationCommand::getReservationId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> reservationIds = new ArrayList<>(ids.size());
+        List<ReservationResult> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            try {
+                reservationIds.add(UUID.fromString(id));
+            } catch (IllegalArgumentException e) {
+                results.add(invalid(id, action, "Invalid reservation ID"));
+            }
+        }
+        if (reservationIds.isEmpty()) {
+            return results;
+        }
+        Map<UUID, ReservationFailure> failures;
+        try {
+            failures = operation.apply(reservationIds);
+        } catch (RuntimeException e) {
+            ReservationFailure failure = ReservationFailure.of(e);
+            reservationIds.forEach(id -> results.add(result(id.toString(), action, failure)));
+            return results;
+        }
+        reservationIds.forEach(id -> results.add(result(id.toString(), action, failures.get(id))));
+        return results;
+    }
+
+    private static ReserveSeatsResponse toResponse(Reservation reservation) {
+        return ReserveSeatsResponse.newBuilder()
+                .setReservationId(reservation.reservationId().toString())
+                .setExpiresAt(reservation.expiresAt().toString())
+                .addAllSeatNumbers(reservation.seatNumbers())
+                .build();
+    }
+
+    private List<UUID> parseIds(List<String> ids) {
+        try {
+            return ids.stream().map(UUID::fromString).toList();
+        } catch (IllegalArgumentException e) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription("Invalid reservation ID")
+                    .asRuntimeException();
+        }
+    }
+
+    private static ReservationResult result(String reservationId, ReservationAction action, ReservationFailure failure) {
+        ReservationResult.Builder result = ReservationResult.newBuilder()
+                .setReservationId(reservationId)
+                .setAction(action)
+                .setSuccess(failure == null);
+        if (failure != null) {
+            result.setError(failure.message())
+                    .setFailure(failure.retryable()
+                            ? com.booking.inventory.grpc.ReservationFailure.TRANSIENT
+                            : com.booking.inventory.grpc.ReservationFailure.NOT_FOUND);
+        }
+        return result.build();
+    }
+
+    private static ReservationResult invalid(String reservationId, ReservationAction action, String error) {
+        return ReservationResult.newBuilder()
+                .setReservationId(reservationId)
+                .setAction(action)
+                .setSuccess(false)
+                .setError(error)
+                .setFailure(com.booking.inventory.grpc.ReservationFailure.INVALID)
+                .build();
+    }
+}
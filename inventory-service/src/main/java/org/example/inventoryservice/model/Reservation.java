@@ -9,5 +9,10 @@ public record Reservation(
     UUID tripId,
     List<Integer> seatNumbers,
     Instant expiresAt
-) {}
+) {
+
+    public Reservation withSeatNumbers(List<Integer> seatNumbers) {
+        return new Reservation(reservationId, tripId, seatNumbers, expiresAt);
+    }
+}
 
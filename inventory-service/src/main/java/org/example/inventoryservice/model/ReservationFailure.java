@@ -0,0 +1,17 @@
+package org.example.inventoryservice.model;
+
+/**
+ * Why one reservation of a batch could not be confirmed or released.
+ *
+ * @param retryable whether the reservation is still intact, so the same command may succeed later
+ */
+public record ReservationFailure(boolean retryable, String message) {
+
+    public static ReservationFailure notFound() {
+        return new ReservationFailure(false, "Reservation not found or already expired");
+    }
+
+    public static ReservationFailure of(RuntimeException e) {
+        return new ReservationFailure(true, String.valueOf(e.getMessage()));
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.inventoryservice.model;
+
+/**
+ * How seats are picked when the caller asks for a number of seats rather than specific ones.
+ */
+public enum SeatPreference {
+    /** A block of neighbouring seats if one is free, otherwise the closest group available. */
+    TOGETHER,
+    /** The lowest-numbered free seats, wherever they are. */
+    ANY
+}
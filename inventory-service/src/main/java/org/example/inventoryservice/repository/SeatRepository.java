@@ -22,10 +22,21 @@ public interface SeatRepository extends JpaRepository<Seat, UUID> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<Seat> findByTripIdAndSeatNumberIn(UUID tripId, List<Integer> seatNumbers);
 
+    /**
+     * Locks the seats of a trip in {@code status}, in seat order so concurrent callers queue up
+     * behind each other instead of deadlocking.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Seat> findByTripIdAndStatusOrderBySeatNumber(UUID tripId, SeatStatus status);
+
     @Modifying
     @Query("UPDATE Seat s SET s.status = :status, s.lastStatusUpdate = CURRENT_TIMESTAMP WHERE s.tripId = :tripId")
     void updateStatusByTripId(@Param("tripId") UUID tripId, @Param("status") SeatStatus status);
 
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = :status, s.lastStatusUpdate = CURRENT_TIMESTAMP WHERE s.tripId = :tripId AND s.seatNumber IN :seatNumbers")
+    int updateStatusByTripIdAndSeatNumberIn(@Param("tripId") UUID tripId, @Param("seatNumbers") List<Integer> seatNumbers, @Param("status") SeatStatus status);
+
     @Query("SELECT s FROM Seat s WHERE s.lastStatusUpdate < :threshold AND s.status = 'RESERVED'")
     List<Seat> findExpiredReservations(@Param("threshold") LocalDateTime threshold);
 }
@@ -0,0 +1,65 @@
+package org.example.inventoryservice.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.inventoryservice.expiry.ReservationExpiryQueue;
+import org.example.inventoryservice.service.InventoryService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationExpiryScheduler {
+
+    private final ReservationExpiryQueue expiryQueue;
+    private final InventoryService inventoryService;
+
+    @Value("${reservation.expiry.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        int loaded = expiryQueue.sync();
+        log.info("Recovered {} pending reservation expiries on startup", loaded);
+        inventoryService.cleanupExpiredReservations();
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.expiry.tick-ms:100}")
+    public void expireDueReservations() {
+        List<UUID> due = expiryQueue.pollDue();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<UUID> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                inventoryService.expireReservations(batch);
+                expiryQueue.complete(batch);
+            } catch (Exception e) {
+                log.error("Failed to expire {} reservations, retrying them later", batch.size(), e);
+                retry(batch);
+            }
+        }
+    }
+
+    /**
+     * A batch that cannot be given back stays claimed and becomes due again once its lease runs out.
+     */
+    private void retry(List<UUID> batch) {
+        try {
+            expiryQueue.retry(batch);
+        } catch (Exception e) {
+            log.error("Failed to reschedule {} reservation expiries, they return when their claim lapses", batch.size(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.expiry.sync-interval-ms:5000}")
+    public void syncPendingExpiries() {
+        expiryQueue.sync();
+        log.debug("{} reservation expiries pending on this instance", expiryQueue.pending());
+    }
+}
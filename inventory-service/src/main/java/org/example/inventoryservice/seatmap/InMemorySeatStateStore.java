@@ -0,0 +1,144 @@
+package org.example.inventoryservice.seatmap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.inventoryservice.exception.NotEnoughSeatsException;
+import org.example.inventoryservice.model.SeatPreference;
+import org.example.inventoryservice.model.SeatStatus;
+import org.example.inventoryservice.service.SeatStateStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@link SeatStateStore} backed by {@link SeatStateEngine}: holds, confirmations and
+ * releases are CAS operations on the trip bitmap, and the {@code seats} table is
+ * updated afterwards by {@link SeatWriteBehindJournal}.
+ * <p>
+ * Runs on a single inventory instance only, guarded by {@link SeatStateLease}; holds not yet
+ * flushed to the {@code seats} table are lost if that instance crashes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.mode", havingValue = "memory")
+public class InMemorySeatStateStore implements SeatStateStore {
+
+    private final SeatStateEngine engine;
+    private final SeatWriteBehindJournal journal;
+    private final ApplicationEventPublisher events;
+
+    @Override
+    public void reserve(UUID tripId, List<Integer> seatNumbers) {
+        SeatBitmap bitmap = engine.bitmap(tripId)
+                .orElseThrow(() -> new NotEnoughSeatsException("Some seats not found"));
+
+        if (!seatNumbers.stream().allMatch(bitmap::contains)) {
+            throw new NotEnoughSeatsException("Some seats not found");
+        }
+
+        int[] seats = seatNumbers.stream().mapToInt(Integer::intValue).toArray();
+        if (!bitmap.compareAndSetAll(seats, SeatStatus.AVAILABLE, SeatStatus.RESERVED)) {
+            throw new NotEnoughSeatsException("Seats " + seatNumbers + " are not available");
+        }
+
+        changed(tripId, seatNumbers, SeatStatus.RESERVED);
+    }
+
+    /**
+     * Picks from the bitmap's free seats and holds them with one {@link SeatBitmap#compareAndSetAll};
+     * losing the CAS means another hold took one of the seats, so it picks again from what is left.
+     */
+    @Override
+    public List<Integer> reserveAny(UUID tripId, int count, SeatPreference preference) {
+        SeatBitmap bitmap = engine.bitmap(tripId)
+                .orElseThrow(() -> new NotEnoughSeatsException("Some seats not found"));
+
+        while (true) {
+            int[] free = bitmap.seatsIn(SeatStatus.AVAILABLE);
+            int[] picked = SeatPicker.pick(free, count, preference);
+            if (picked.length == 0) {
+                throw new NotEnoughSeatsException("Only " + free.length + " seats are available");
+            }
+            if (bitmap.compareAndSetAll(picked, SeatStatus.AVAILABLE, SeatStatus.RESERVED)) {
+                List<Integer> seatNumbers = Arrays.stream(picked).boxed().toList();
+                changed(tripId, seatNumbers, SeatStatus.RESERVED);
+                return seatNumbers;
+            }
+        }
+    }
+
+    @Override
+    public void confirm(UUID tripId, List<Integer> seatNumbers) {
+        engine.bitmap(tripId).ifPresent(bitmap -> {
+            List<Integer> sold = new ArrayList<>(seatNumbers.size());
+            for (Integer seatNumber : seatNumbers) {
+                if (bitmap.contains(seatNumber)) {
+                    bitmap.set(seatNumber, SeatStatus.SOLD);
+                    sold.add(seatNumber);
+                }
+            }
+            changed(tripId, sold, SeatStatus.SOLD);
+        });
+    }
+
+    @Override
+    public void release(UUID tripId, List<Integer> seatNumbers) {
+        releaseReserved(tripId, seatNumbers);
+    }
+
+    @Override
+    public void expire(UUID tripId, List<Integer> seatNumbers) {
+        releaseReserved(tripId, seatNumbers);
+    }
+
+    @Override
+    public void onTripStatusChanged(UUID tripId, SeatStatus status) {
+        journal.discard(tripId);
+        engine.loadedBitmap(tripId).ifPresent(bitmap -> bitmap.fill(status));
+    }
+
+    @Override
+    public Map<Integer, SeatStatus> snapshot(UUID tripId) {
+        return engine.loadedBitmap(tripId)
+                .map(bitmap -> {
+                    Map<Integer, SeatStatus> statuses = new HashMap<>(bitmap.capacity());
+                    for (int seatNumber = 1; seatNumber <= bitmap.capacity(); seatNumber++) {
+                        statuses.put(seatNumber, bitmap.get(seatNumber));
+                    }
+                    return statuses;
+                })
+                .orElse(Map.of());
+    }
+
+    private void changed(UUID tripId, List<Integer> seatNumbers, SeatStatus status) {
+        if (seatNumbers.isEmpty()) {
+            return;
+        }
+        journal.record(tripId, seatNumbers, status);
+        events.publishEvent(new SeatsChangedEvent(tripId, seatNumbers, status));
+    }
+
+    private void releaseReserved(UUID tripId, List<Integer> seatNumbers) {
+        engine.bitmap(tripId).ifPresent(bitmap -> {
+            List<Integer> released = new ArrayList<>(seatNumbers.size());
+            for (Integer seatNumber : seatNumbers) {
+                if (bitmap.contains(seatNumber)
+                        && bitmap.compareAndSet(seatNumber, SeatStatus.RESERVED, SeatStatus.AVAILABLE)) {
+                    released.add(seatNumber);
+                }
+            }
+            if (!released.isEmpty()) {
+                changed(tripId, released, SeatStatus.AVAILABLE);
+            }
+            log.debug("Released {} of {} seats in memory for tripId: {}", released.size(), seatNumbers.size(), tripId);
+        });
+    }
+}
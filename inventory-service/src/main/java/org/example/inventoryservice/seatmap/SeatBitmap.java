@@ -0,0 +1,179 @@
+package org.example.inventoryservice.seatmap;
+
+import org.example.inventoryservice.model.SeatStatus;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compact seat-state map for a single trip: every seat takes two bits
+ * (the {@link SeatStatus} ordinal), so one {@code long} word holds 32 seats.
+ * All mutations are lock-free CAS loops on the containing word.
+ */
+public final class SeatBitmap {
+
+    private static final int BITS_PER_SEAT = 2;
+    private static final int SEATS_PER_WORD = Long.SIZE / BITS_PER_SEAT;
+    private static final long SEAT_MASK = (1L << BITS_PER_SEAT) - 1;
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+
+    private final int capacity;
+    private final AtomicLongArray words;
+
+    public SeatBitmap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.words = new AtomicLongArray((capacity + SEATS_PER_WORD - 1) / SEATS_PER_WORD);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean contains(int seatNumber) {
+        return seatNumber >= 1 && seatNumber <= capacity;
+    }
+
+    public SeatStatus get(int seatNumber) {
+        checkSeat(seatNumber);
+        int index = seatNumber - 1;
+        return decode(words.get(wordOf(index)), index);
+    }
+
+    public void set(int seatNumber, SeatStatus status) {
+        checkSeat(seatNumber);
+        int index = seatNumber - 1;
+        int word = wordOf(index);
+        long current;
+        do {
+            current = words.get(word);
+        } while (!words.compareAndSet(word, current, encode(current, index, status)));
+    }
+
+    public boolean compareAndSet(int seatNumber, SeatStatus expected, SeatStatus target) {
+        checkSeat(seatNumber);
+        int index = seatNumber - 1;
+        int word = wordOf(index);
+        while (true) {
+            long current = words.get(word);
+            if (decode(current, index) != expected) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, encode(current, index, target))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves every given seat from {@code expected} to {@code target}, or none of them.
+     * Seats sharing a word are flipped with a single CAS; when a later word fails the
+     * check, words already flipped are rolled back, so a concurrent reader may briefly
+     * observe a partial hold but never a lost or double-booked seat.
+     */
+    public boolean compareAndSetAll(int[] seatNumbers, SeatStatus expected, SeatStatus target) {
+        int[] indexes = Arrays.stream(seatNumbers).distinct().sorted().map(seat -> {
+            checkSeat(seat);
+            return seat - 1;
+        }).toArray();
+
+        int from = 0;
+        while (from < indexes.length) {
+            int word = wordOf(indexes[from]);
+            int to = from;
+            while (to < indexes.length && wordOf(indexes[to]) == word) {
+                to++;
+            }
+            if (!casWord(word, indexes, from, to, expected, target)) {
+                rollback(indexes, from, expected, target);
+                return false;
+            }
+            from = to;
+        }
+        return true;
+    }
+
+    public void fill(SeatStatus status) {
+        for (int seat = 1; seat <= capacity; seat++) {
+            set(seat, status);
+        }
+    }
+
+    public int count(SeatStatus status) {
+        int count = 0;
+        for (int index = 0; index < capacity; index++) {
+            if (decode(words.get(wordOf(index)), index) == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Seat numbers currently in {@code status}, ascending.
+     */
+    public int[] seatsIn(SeatStatus status) {
+        int[] seats = new int[capacity];
+        int found = 0;
+        for (int index = 0; index < capacity; index++) {
+            if (decode(words.get(wordOf(index)), index) == status) {
+                seats[found++] = index + 1;
+            }
+        }
+        return Arrays.copyOf(seats, found);
+    }
+
+    private boolean casWord(int word, int[] indexes, int from, int to, SeatStatus expected, SeatStatus target) {
+        while (true) {
+            long current = words.get(word);
+            long next = current;
+            for (int i = from; i < to; i++) {
+                if (decode(current, indexes[i]) != expected) {
+                    return false;
+                }
+                next = encode(next, indexes[i], target);
+            }
+            if (words.compareAndSet(word, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    private void rollback(int[] indexes, int end, SeatStatus expected, SeatStatus target) {
+        int from = 0;
+        while (from < end) {
+            int word = wordOf(indexes[from]);
+            int to = from;
+            while (to < end && wordOf(indexes[to]) == word) {
+                to++;
+            }
+            casWord(word, indexes, from, to, target, expected);
+            from = to;
+        }
+    }
+
+    private void checkSeat(int seatNumber) {
+        if (!contains(seatNumber)) {
+            throw new IndexOutOfBoundsException("Seat " + seatNumber + " is outside 1.." + capacity);
+        }
+    }
+
+    private static int wordOf(int index) {
+        return index / SEATS_PER_WORD;
+    }
+
+    private static int shiftOf(int index) {
+        return (index % SEATS_PER_WORD) * BITS_PER_SEAT;
+    }
+
+    private static SeatStatus decode(long word, int index) {
+        return STATUSES[(int) ((word >>> shiftOf(index)) & SEAT_MASK)];
+    }
+
+    private static long encode(long word, int index, SeatStatus status) {
+        int shift = shiftOf(index);
+        return (word & ~(SEAT_MASK << shift)) | ((long) status.ordinal() << shift);
+    }
+}
@@ -0,0 +1,320 @@
+package org.example.inventoryservice.seatmap;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.inventoryservice.dto.response.SeatChange;
+import org.example.inventoryservice.dto.response.SeatMapDelta;
+import org.example.inventoryservice.dto.response.SeatMapSnapshot;
+import org.example.inventoryservice.model.SeatStatus;
+import org.example.inventoryservice.service.InventoryService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Live seat maps over server-sent events. Each watched trip has one in-process broadcaster that
+ * keeps the current seat statuses: a new viewer gets a {@code snapshot} event from it, and seat
+ * changes made on this instance are coalesced and pushed to every viewer as one {@code seats}
+ * delta every {@code flush-interval-ms}. Changes made by other instances are picked up by
+ * re-reading each watched trip every {@code refresh-interval-ms}, so the cost per trip does not
+ * grow with the number of viewers.
+ * <p>
+ * The timer thread only diffs and queues events. Store reads run on the {@code refresh-threads}
+ * pool, one at a time per trip, and events are written to viewers on the {@code send-threads}
+ * pool. A viewer that falls more than {@code max-queued-events} behind is disconnected; its
+ * client reconnects and starts over from a fresh snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatMapStream {
+
+    private final InventoryService inventoryService;
+
+    private final ConcurrentMap<UUID, TripSeatMap> trips = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService broadcaster = Executors.newSingleThreadScheduledExecutor();
+    private ExecutorService refreshers;
+    private ExecutorService senders;
+
+    @Value("${inventory.seat-stream.timeout-ms:600000}")
+    private long timeoutMs;
+
+    @Value("${inventory.seat-stream.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${inventory.seat-stream.refresh-interval-ms:2000}")
+    private long refreshIntervalMs;
+
+    @Value("${inventory.seat-stream.refresh-threads:2}")
+    private int refreshThreads;
+
+    @Value("${inventory.seat-stream.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${inventory.seat-stream.max-queued-events:32}")
+    private int maxQueuedEvents;
+
+    @PostConstruct
+    void start() {
+        refreshers = Executors.newFixedThreadPool(refreshThreads);
+        senders = Executors.newFixedThreadPool(sendThreads);
+        broadcaster.scheduleWithFixedDelay(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        broadcaster.scheduleWithFixedDelay(this::refreshAll, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+        refreshers.shutdown();
+        senders.shutdown();
+    }
+
+    public SseEmitter subscribe(UUID tripId) {
+        return subscribe(tripId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(UUID tripId, SseEmitter emitter) {
+        Viewer viewer = new Viewer(emitter);
+        emitter.onCompletion(() -> unsubscribe(tripId, viewer));
+        emitter.onTimeout(() -> unsubscribe(tripId, viewer));
+        emitter.onError(ex -> unsubscribe(tripId, viewer));
+
+        while (true) {
+            TripSeatMap seatMap = trips.computeIfAbsent(tripId, id -> new TripSeatMap());
+            synchronized (seatMap) {
+                if (seatMap.closed) {
+                    continue;
+                }
+                seatMap.viewers.add(viewer);
+                if (seatMap.statuses == null) {
+                    try {
+                        seatMap.statuses = new HashMap<>(inventoryService.seatStatuses(tripId));
+                    } catch (RuntimeException e) {
+                        unsubscribe(tripId, viewer);
+                        throw e;
+                    }
+                }
+                enqueue(tripId, viewer, "snapshot", snapshot(tripId, seatMap));
+            }
+            return emitter;
+        }
+    }
+
+    /**
+     * Runs after the change is committed, or right away for stores that do not write in a
+     * transaction. Only stages the change; viewers get it with the next flush.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent event) {
+        TripSeatMap seatMap = trips.get(event.tripId());
+        if (seatMap == null) {
+            return;
+        }
+        synchronized (seatMap.pending) {
+            event.seatNumbers().forEach(seatNumber -> seatMap.pending.put(seatNumber, event.status()));
+        }
+    }
+
+    void flushAll() {
+        trips.forEach((tripId, seatMap) -> {
+            try {
+                synchronized (seatMap) {
+                    Map<Integer, SeatStatus> pending;
+                    synchronized (seatMap.pending) {
+                        pending = new TreeMap<>(seatMap.pending);
+                        seatMap.pending.clear();
+                    }
+                    broadcast(tripId, seatMap, pending);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush seat map changes for tripId: {}", tripId, e);
+            }
+        });
+    }
+
+    /**
+     * Diffs every watched trip against the seat state store, catching changes made by other
+     * instances. A trip whose previous read is still running is skipped, so a slow read never
+     * piles up work. A read that races a local change can briefly undo it; the next refresh or
+     * flush puts it back.
+     */
+    void refreshAll() {
+        trips.forEach((tripId, seatMap) -> {
+            if (!seatMap.refreshing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                refreshers.execute(() -> refresh(tripId, seatMap));
+            } catch (RejectedExecutionException e) {
+                seatMap.refreshing.set(false);
+            }
+        });
+    }
+
+    private void refresh(UUID tripId, TripSeatMap seatMap) {
+        try {
+            Map<Integer, SeatStatus> current = new TreeMap<>(inventoryService.seatStatuses(tripId));
+            synchronized (seatMap) {
+                if (!seatMap.closed) {
+                    broadcast(tripId, seatMap, current);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh seat map for tripId: {}", tripId, e);
+        } finally {
+            seatMap.refreshing.set(false);
+        }
+    }
+
+    private void broadcast(UUID tripId, TripSeatMap seatMap, Map<Integer, SeatStatus> statuses) {
+        if (seatMap.statuses == null || statuses.isEmpty()) {
+            return;
+        }
+        List<SeatChange> changes = new ArrayList<>();
+        statuses.forEach((seatNumber, status) -> {
+            if (seatMap.statuses.put(seatNumber, status) != status) {
+                changes.add(new SeatChange(seatNumber, status));
+            }
+        });
+        if (changes.isEmpty()) {
+            return;
+        }
+        SeatMapDelta delta = new SeatMapDelta(tripId, ++seatMap.version, changes);
+        for (Viewer viewer : seatMap.viewers) {
+            enqueue(tripId, viewer, "seats", delta);
+        }
+    }
+
+    private static SeatMapSnapshot snapshot(UUID tripId, TripSeatMap seatMap) {
+        Map<SeatStatus, List<Integer>> seats = new EnumMap<>(SeatStatus.class);
+        new TreeMap<>(seatMap.statuses).forEach((seatNumber, status) ->
+                seats.computeIfAbsent(status, s -> new ArrayList<>()).add(seatNumber));
+        return new SeatMapSnapshot(tripId, seatMap.version, seats);
+    }
+
+    /**
+     * Queues an event for one viewer and makes sure a sender drains it. A viewer whose queue is
+     * full is dropped instead of being allowed to hold up the broadcast.
+     */
+    private void enqueue(UUID tripId, Viewer viewer, String name, Object data) {
+        boolean overflowed;
+        boolean startDrain;
+        synchronized (viewer) {
+            if (viewer.dropped) {
+                return;
+            }
+            overflowed = viewer.events.size() >= maxQueuedEvents;
+            if (overflowed) {
+                viewer.dropped = true;
+                viewer.events.clear();
+            } else {
+                viewer.events.add(SseEmitter.event().name(name).data(data));
+            }
+            startDrain = !viewer.sending;
+            viewer.sending = true;
+        }
+        if (overflowed) {
+            log.debug("Dropping slow seat map viewer: tripId={}", tripId);
+            unsubscribe(tripId, viewer);
+        }
+        if (startDrain) {
+            senders.execute(() -> drain(tripId, viewer));
+        }
+    }
+
+    private void drain(UUID tripId, Viewer viewer) {
+        boolean dropped;
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            synchronized (viewer) {
+                dropped = viewer.dropped;
+                event = dropped ? null : viewer.events.poll();
+                if (event == null) {
+                    viewer.sending = false;
+                    break;
+                }
+            }
+            try {
+                viewer.emitter.send(event);
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Dropping seat map stream: tripId={}", tripId, ex);
+                synchronized (viewer) {
+                    viewer.dropped = true;
+                    viewer.events.clear();
+                    viewer.sending = false;
+                }
+                unsubscribe(tripId, viewer);
+                viewer.emitter.completeWithError(ex);
+                return;
+            }
+        }
+        if (dropped) {
+            viewer.emitter.complete();
+        }
+    }
+
+    private void unsubscribe(UUID tripId, Viewer viewer) {
+        TripSeatMap seatMap = trips.get(tripId);
+        if (seatMap == null) {
+            return;
+        }
+        synchronized (seatMap) {
+            seatMap.viewers.remove(viewer);
+            if (seatMap.viewers.isEmpty() && !seatMap.closed) {
+                seatMap.closed = true;
+                trips.remove(tripId, seatMap);
+            }
+        }
+    }
+
+    /**
+     * Broadcaster of one trip. Guarded by its own monitor, except {@code pending}, which has a
+     * lock of its own so staging a change never waits for a broadcast.
+     */
+    private static final class TripSeatMap {
+        private final List<Viewer> viewers = new CopyOnWriteArrayList<>();
+        private final Map<Integer, SeatStatus> pending = new HashMap<>();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private Map<Integer, SeatStatus> statuses;
+        private long version;
+        private boolean closed;
+    }
+
+    /**
+     * One connected emitter with the events not yet written to it. Guarded by its own monitor;
+     * at most one sender drains it at a time.
+     */
+    private static final class Viewer {
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> events = new ArrayDeque<>();
+        private boolean sending;
+        private boolean dropped;
+
+        private Viewer(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.inventoryservice.seatmap;
+
+import org.example.inventoryservice.model.SeatPreference;
+
+import java.util.Arrays;
+
+/**
+ * Chooses which free seats to hold for a request by count. Used by every
+ * {@link org.example.inventoryservice.service.SeatStateStore}, each applying the choice atomically
+ * in its own way.
+ */
+public final class SeatPicker {
+
+    private SeatPicker() {
+    }
+
+    /**
+     * @param freeSeats seat numbers that are AVAILABLE, ascending
+     * @return {@code count} of them, ascending, or an empty array if there are fewer than that
+     */
+    public static int[] pick(int[] freeSeats, int count, SeatPreference preference) {
+        if (count <= 0 || freeSeats.length < count) {
+            return new int[0];
+        }
+        if (preference == SeatPreference.ANY) {
+            return Arrays.copyOf(freeSeats, count);
+        }
+
+        int block = smallestBlockThatFits(freeSeats, count);
+        if (block >= 0) {
+            return Arrays.copyOfRange(freeSeats, block, block + count);
+        }
+        int closest = narrowestWindow(freeSeats, count);
+        return Arrays.copyOfRange(freeSeats, closest, closest + count);
+    }
+
+    /**
+     * Start of the shortest run of consecutive free seats that still holds {@code count}, so
+     * larger blocks are kept for larger groups; -1 if no run is long enough.
+     */
+    private static int smallestBlockThatFits(int[] freeSeats, int count) {
+        int best = -1;
+        int bestLength = Integer.MAX_VALUE;
+        int runStart = 0;
+        for (int i = 1; i <= freeSeats.length; i++) {
+            if (i < freeSeats.length && freeSeats[i] == freeSeats[i - 1] + 1) {
+                continue;
+            }
+            int length = i - runStart;
+            if (length >= count && length < bestLength) {
+                best = runStart;
+                bestLength = length;
+            }
+            runStart = i;
+        }
+        return best;
+    }
+
+    /**
+     * Start of the {@code count} free seats spanning the fewest seat numbers.
+     */
+    private static int narrowestWindow(int[] freeSeats, int count) {
+        int best = 0;
+        int bestSpan = Integer.MAX_VALUE;
+        for (int i = 0; i + count <= freeSeats.length; i++) {
+            int span = freeSeats[i + count - 1] - freeSeats[i];
+            if (span < bestSpan) {
+                best = i;
+                bestSpan = span;
+            }
+        }
+        return best;
+    }
+}
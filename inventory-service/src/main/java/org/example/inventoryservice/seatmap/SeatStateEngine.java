@@ -0,0 +1,77 @@
+package org.example.inventoryservice.seatmap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.inventoryservice.model.Seat;
+import org.example.inventoryservice.repository.SeatRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of per-trip {@link SeatBitmap}s. A trip is loaded from the {@code seats}
+ * table on first access, which is also how state is rebuilt after a restart.
+ * <p>
+ * The bitmaps are the authority for seat state, so only one instance may run this engine;
+ * {@link SeatStateLease} enforces that, and bitmaps loaded under a lapsed lease are dropped.
+ * Changes not yet flushed by {@link SeatWriteBehindJournal} are lost if the process dies:
+ * those holds disappear and their seats read as available again after the restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.mode", havingValue = "memory")
+public class SeatStateEngine {
+
+    private final SeatRepository seatRepository;
+    private final SeatStateLease lease;
+
+    private final ConcurrentMap<UUID, SeatBitmap> bitmaps = new ConcurrentHashMap<>();
+    private volatile long loadedEpoch;
+
+    public Optional<SeatBitmap> bitmap(UUID tripId) {
+        return Optional.ofNullable(bitmaps().computeIfAbsent(tripId, this::load));
+    }
+
+    public Optional<SeatBitmap> loadedBitmap(UUID tripId) {
+        return Optional.ofNullable(bitmaps().get(tripId));
+    }
+
+    public void evict(UUID tripId) {
+        bitmaps.remove(tripId);
+    }
+
+    private ConcurrentMap<UUID, SeatBitmap> bitmaps() {
+        long epoch = lease.heldEpoch();
+        if (epoch != loadedEpoch) {
+            synchronized (this) {
+                if (epoch != loadedEpoch) {
+                    bitmaps.clear();
+                    loadedEpoch = epoch;
+                }
+            }
+        }
+        return bitmaps;
+    }
+
+    private SeatBitmap load(UUID tripId) {
+        List<Seat> seats = seatRepository.findByTripId(tripId);
+        if (seats.isEmpty()) {
+            return null;
+        }
+
+        int capacity = seats.stream().mapToInt(Seat::getSeatNumber).max().orElse(0);
+        SeatBitmap bitmap = new SeatBitmap(capacity);
+        for (Seat seat : seats) {
+            bitmap.set(seat.getSeatNumber(), seat.getStatus());
+        }
+
+        log.info("Loaded seat bitmap for tripId: {}, capacity: {}", tripId, capacity);
+        return bitmap;
+    }
+}
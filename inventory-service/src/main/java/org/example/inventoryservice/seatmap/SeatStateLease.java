@@ -0,0 +1,123 @@
+package org.example.inventoryservice.seatmap;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the in-memory engine to a single instance. {@link SeatStateEngine} is the authority
+ * for seat state, so two instances would each grant the same seat and their write-behind
+ * journals would overwrite each other in the {@code seats} table.
+ * <p>
+ * The lease is a Redis key ({@code reservation.memory.lease-key}) holding this instance's
+ * token for {@code lease-ms}. It is taken at startup, waiting up to one lease period for a
+ * previous owner that did not shut down cleanly, renewed every {@code renew-interval-ms} and
+ * released on shutdown. Startup fails when the lease stays taken or when
+ * {@code reservation.expiry.instance-count} says more than one instance runs. An instance
+ * that cannot renew in time stops serving seats until it gets the lease back, and then
+ * reloads every trip from the {@code seats} table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.mode", havingValue = "memory")
+public class SeatStateLease {
+
+    private static final RedisScript<Long> ACQUIRE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/acquire_lease.lua"), Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/release_lease.lua"), Long.class);
+    private static final long ACQUIRE_RETRY_MS = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final String token = UUID.randomUUID().toString();
+
+    @Value("${reservation.memory.lease-key:inventory:seat-engine:lease}")
+    private String leaseKey;
+
+    @Value("${reservation.memory.lease-ms:15000}")
+    private long leaseMs;
+
+    @Value("${reservation.expiry.instance-count:1}")
+    private int instanceCount;
+
+    private volatile long heldUntil;
+    private volatile long epoch;
+
+    @PostConstruct
+    void acquire() throws InterruptedException {
+        if (instanceCount > 1) {
+            throw new IllegalStateException("reservation.mode=memory supports a single instance, but "
+                    + "reservation.expiry.instance-count is " + instanceCount);
+        }
+        long deadline = System.currentTimeMillis() + leaseMs;
+        while (!tryAcquire()) {
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("Another instance holds the in-memory seat engine lease "
+                        + leaseKey + "; reservation.mode=memory supports a single instance");
+            }
+            Thread.sleep(ACQUIRE_RETRY_MS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.memory.renew-interval-ms:5000}")
+    public void renew() {
+        try {
+            tryAcquire();
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew in-memory seat engine lease {}", leaseKey, e);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        heldUntil = 0;
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release in-memory seat engine lease {}", leaseKey, e);
+        }
+    }
+
+    /**
+     * Returns the number of the current holding period, which changes every time the lease is
+     * taken again after it lapsed, so callers know to drop state loaded under an earlier one.
+     *
+     * @throws IllegalStateException when this instance does not hold the lease
+     */
+    public long heldEpoch() {
+        if (System.currentTimeMillis() >= heldUntil) {
+            throw new IllegalStateException("This instance does not hold the in-memory seat engine lease");
+        }
+        return epoch;
+    }
+
+    private synchronized boolean tryAcquire() {
+        long now = System.currentTimeMillis();
+        Long held = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(leaseKey), token, String.valueOf(leaseMs));
+        if (held != null && held == 1) {
+            if (now >= heldUntil) {
+                epoch++;
+                log.info("Acquired in-memory seat engine lease {}", leaseKey);
+            }
+            heldUntil = now + leaseMs;
+            return true;
+        }
+        if (heldUntil > 0) {
+            heldUntil = 0;
+            log.error("In-memory seat engine lease {} was taken by another instance, no longer serving seats", leaseKey);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.inventoryservice.seatmap;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.inventoryservice.model.SeatStatus;
+import org.example.inventoryservice.repository.SeatRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Asynchronous journal of seat status changes made by the in-memory and Redis engines.
+ * Changes are coalesced per seat (last write wins) and flushed to the
+ * {@code seats} table as one bulk UPDATE per trip and status.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${reservation.mode:database}' != 'database'")
+public class SeatWriteBehindJournal {
+
+    private final SeatRepository seatRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<UUID, Map<Integer, SeatStatus>> pending = new ConcurrentHashMap<>();
+
+    public void record(UUID tripId, List<Integer> seatNumbers, SeatStatus status) {
+        pending.compute(tripId, (id, seats) -> {
+            Map<Integer, SeatStatus> target = seats != null ? seats : new HashMap<>();
+            for (Integer seatNumber : seatNumbers) {
+                target.put(seatNumber, status);
+            }
+            return target;
+        });
+    }
+
+    public void discard(UUID tripId) {
+        pending.remove(tripId);
+    }
+
+    public int pendingTrips() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        for (UUID tripId : new ArrayList<>(pending.keySet())) {
+            Map<Integer, SeatStatus> seats = pending.remove(tripId);
+            if (seats == null || seats.isEmpty()) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(tripId, seats));
+            } catch (Exception e) {
+                log.error("Failed to flush {} seat changes for tripId: {}, will retry", seats.size(), tripId, e);
+                requeue(tripId, seats);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing seat write-behind journal before shutdown, pending trips: {}", pending.size());
+        flush();
+    }
+
+    private void write(UUID tripId, Map<Integer, SeatStatus> seats) {
+        Map<SeatStatus, List<Integer>> byStatus = new EnumMap<>(SeatStatus.class);
+        seats.forEach((seatNumber, status) ->
+                byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(seatNumber));
+
+        byStatus.forEach((status, seatNumbers) ->
+                seatRepository.updateStatusByTripIdAndSeatNumberIn(tripId, seatNumbers, status));
+    }
+
+    private void requeue(UUID tripId, Map<Integer, SeatStatus> failed) {
+        pending.compute(tripId, (id, newer) -> {
+            Map<Integer, SeatStatus> merged = new HashMap<>(failed);
+            if (newer != null) {
+                merged.putAll(newer);
+            }
+            return merged;
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.inventoryservice.seatmap;
+
+import org.example.inventoryservice.model.SeatStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published by the {@link org.example.inventoryservice.service.SeatStateStore}s for every seat
+ * status change they make; {@link SeatMapStream} turns it into seat-map deltas.
+ */
+public record SeatsChangedEvent(
+    UUID tripId,
+    List<Integer> seatNumbers,
+    SeatStatus status
+) {}
@@ -0,0 +1,39 @@
+package org.example.inventoryservice.service;
+
+import org.example.inventoryservice.model.Reservation;
+import org.example.inventoryservice.model.SeatPreference;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@link SeatStateStore} that keeps the reservation record next to the seat state,
+ * so a hold, confirmation or release is a single atomic round trip instead of a
+ * seat update followed by separate reservation key writes.
+ */
+public interface AtomicReservationStore extends SeatStateStore {
+
+    /**
+     * Holds the seats, stores the reservation for {@code dataTtl} and records its expiry
+     * in the expiry shard set.
+     */
+    void reserve(Reservation reservation, Duration dataTtl);
+
+    /**
+     * Picks and holds seats as {@link #reserveAny(UUID, int, SeatPreference)} does and records
+     * the reservation in the same round trip. The seat numbers of {@code reservation} are ignored.
+     *
+     * @return the reservation with the held seats
+     */
+    Reservation reserveAny(Reservation reservation, int count, SeatPreference preference, Duration dataTtl);
+
+    /**
+     * @return trip of the confirmed reservation, empty if it is unknown or already expired
+     */
+    Optional<UUID> confirmReservation(UUID reservationId);
+
+    Optional<UUID> releaseReservation(UUID reservationId);
+
+    Optional<UUID> expireReservation(UUID reservationId);
+}
@@ -8,14 +8,25 @@ import org.example.kafka.event.TripCreatedEvent;
 import org.example.kafka.event.TripDepartedEvent;
 import org.example.kafka.event.TripCancelledEvent;
 import org.example.inventoryservice.repository.SeatRepository;
+import org.example.inventoryservice.expiry.ReservationExpiryQueue;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import java.util.UUID;
 import org.example.inventoryservice.model.Reservation;
+import org.example.inventoryservice.model.ReservationFailure;
 import org.example.inventoryservice.model.Seat;
+import org.example.inventoryservice.model.SeatPreference;
 import org.example.inventoryservice.model.SeatStatus;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 import java.util.concurrent.TimeUnit;
 import org.example.kafka.event.ReservationExpiredEvent;
@@ -23,15 +34,18 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 
-import org.example.inventoryservice.exception.NotEnoughSeatsException;
-
 import org.example.inventoryservice.dto.response.SeatResponse;
 import org.example.inventoryservice.client.TripServiceClient;
 import org.example.inventoryservice.client.TripResponse;
 import org.example.kafka.event.BusType;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -42,16 +56,24 @@ public class InventoryService {
     private final RedisTemplate<String, Object> redisTemplate;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final TripServiceClient tripServiceClient;
+    private final SeatStateStore seatStateStore;
+    private final ReservationExpiryQueue expiryQueue;
+
+    private static final String RESERVATION_NOT_FOUND = "Reservation not found or already expired";
+    private static final byte[] CONFIRMED_MARKER = "true".getBytes(StandardCharsets.UTF_8);
 
     @Value("${reservation.data-prefix}")
     private String dataPrefix;
 
-    @Value("${reservation.trigger-prefix}")
-    private String triggerPrefix;
-
     @Value("${reservation.ttl-minutes}")
     private long reservationTtlMinutes;
 
+    @Value("${reservation.confirmed-prefix:reservation:confirmed:}")
+    private String confirmedPrefix;
+
+    @Value("${reservation.confirmed-ttl-hours:24}")
+    private long confirmedTtlHours;
+
     public List<SeatResponse> getSeatsByTripId(UUID tripId) {
         log.info("Fetching all seats for tripId: {}", tripId);
         
@@ -60,11 +82,29 @@ public class InventoryService {
             createSeatsForTrip(tripId);
         }
         
+        Map<Integer, SeatStatus> currentStatuses = seatStateStore.snapshot(tripId);
         return seatRepository.findByTripId(tripId).stream()
-                .map(seat -> new SeatResponse(seat.getId(), seat.getSeatNumber(), seat.getStatus()))
+                .map(seat -> new SeatResponse(
+                        seat.getId(),
+                        seat.getSeatNumber(),
+                        currentStatuses.getOrDefault(seat.getSeatNumber(), seat.getStatus())
+                ))
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Current status of every seat of the trip: from the seat state store when it holds the whole
+     * trip, otherwise from the {@code seats} table. Does not create missing seats.
+     */
+    public Map<Integer, SeatStatus> seatStatuses(UUID tripId) {
+        Map<Integer, SeatStatus> statuses = seatStateStore.snapshot(tripId);
+        if (!statuses.isEmpty()) {
+            return statuses;
+        }
+        return seatRepository.findByTripId(tripId).stream()
+                .collect(Collectors.toMap(Seat::getSeatNumber, Seat::getStatus));
+    }
+
     @Transactional
     private void createSeatsForTrip(UUID tripId) {
         try {
@@ -91,25 +131,9 @@ public class InventoryService {
         }
     }
 
-    @Transactional
     public Reservation reserveSeats(UUID tripId, List<Integer> seatNumbers) {
         log.info("Attempting to reserve seats {} for trip {}", seatNumbers, tripId);
         
-        List<Seat> seats = seatRepository.findByTripIdAndSeatNumberIn(tripId, seatNumbers);
-        
-        if (seats.size() != seatNumbers.size()) {
-            throw new NotEnoughSeatsException("Some seats not found");
-        }
-        
-        for (Seat seat : seats) {
-            if (seat.getStatus() != SeatStatus.AVAILABLE) {
-                throw new NotEnoughSeatsException("Seat " + seat.getSeatNumber() + " is not available");
-            }
-            seat.setStatus(SeatStatus.RESERVED);
-        }
-        
-        seatRepository.saveAll(seats);
-        
         UUID reservationId = UUID.randomUUID();
         Reservation reservation = new Reservation(
             reservationId,
@@ -118,87 +142,325 @@ public class InventoryService {
             Instant.now().plusSeconds(reservationTtlMinutes * 60)
         );
         
-        redisTemplate.opsForValue().set(dataPrefix + reservationId, reservation, reservationTtlMinutes * 2, TimeUnit.MINUTES);
-        redisTemplate.opsForValue().set(triggerPrefix + reservationId, "", reservationTtlMinutes, TimeUnit.MINUTES);
+        if (seatStateStore instanceof AtomicReservationStore atomicStore) {
+            atomicStore.reserve(reservation, Duration.ofMinutes(reservationTtlMinutes * 2));
+            expiryQueue.track(reservationId, reservation.expiresAt());
+        } else {
+            seatStateStore.reserve(tripId, seatNumbers);
+            recordReservation(reservation);
+        }
         
         log.info("Seats reserved successfully. Reservation ID: {}", reservationId);
         return reservation;
     }
 
-    @Transactional
+    /**
+     * Holds {@code count} seats chosen by the store instead of by the caller, so a request only
+     * fails when the trip really has fewer free seats.
+     */
+    public Reservation reserveAnySeats(UUID tripId, int count, SeatPreference preference) {
+        log.info("Attempting to reserve {} seats ({}) for trip {}", count, preference, tripId);
+
+        UUID reservationId = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusSeconds(reservationTtlMinutes * 60);
+
+        Reservation reservation;
+        if (seatStateStore instanceof AtomicReservationStore atomicStore) {
+            reservation = atomicStore.reserveAny(
+                    new Reservation(reservationId, tripId, List.of(), expiresAt),
+                    count,
+                    preference,
+                    Duration.ofMinutes(reservationTtlMinutes * 2));
+            expiryQueue.track(reservationId, expiresAt);
+        } else {
+            List<Integer> seatNumbers = seatStateStore.reserveAny(tripId, count, preference);
+            reservation = new Reservation(reservationId, tripId, seatNumbers, expiresAt);
+            recordReservation(reservation);
+        }
+
+        log.info("Seats {} reserved successfully. Reservation ID: {}", reservation.seatNumbers(), reservationId);
+        return reservation;
+    }
+
+    /**
+     * Stores the reservation and schedules its expiry once the store holds its seats. The hold is
+     * already committed at this point, so when either write fails the seats are handed back
+     * instead of staying RESERVED with nothing left to confirm or expire them.
+     */
+    private void recordReservation(Reservation reservation) {
+        String key = dataPrefix + reservation.reservationId();
+        try {
+            redisTemplate.opsForValue().set(key, reservation, reservationTtlMinutes * 2, TimeUnit.MINUTES);
+            expiryQueue.schedule(reservation.reservationId(), reservation.expiresAt());
+        } catch (RuntimeException e) {
+            log.error("Failed to record reservation {}, releasing seats {} for trip {}",
+                    reservation.reservationId(), reservation.seatNumbers(), reservation.tripId(), e);
+            try {
+                redisTemplate.delete(key);
+            } catch (RuntimeException deleteFailure) {
+                e.addSuppressed(deleteFailure);
+            }
+            try {
+                seatStateStore.expire(reservation.tripId(), reservation.seatNumbers());
+            } catch (RuntimeException releaseFailure) {
+                e.addSuppressed(releaseFailure);
+            }
+            throw e;
+        }
+    }
+
     public void confirmReservation(UUID reservationId) {
         log.info("Confirming reservation {}", reservationId);
+        if (seatStateStore instanceof AtomicReservationStore atomicStore) {
+            if (atomicStore.confirmReservation(reservationId).isEmpty()) {
+                requireConfirmed(reservationId);
+                return;
+            }
+            expiryQueue.untrack(reservationId);
+            markConfirmed(List.of(reservationId));
+            log.info("Reservation {} confirmed and seats marked as SOLD", reservationId);
+            return;
+        }
+
         Reservation reservation = (Reservation) redisTemplate.opsForValue().get(dataPrefix + reservationId);
         
         if (reservation == null) {
-            throw new RuntimeException("Reservation not found or already expired");
+            requireConfirmed(reservationId);
+            return;
         }
         
-        List<Seat> seats = seatRepository.findByTripIdAndSeatNumberIn(reservation.tripId(), reservation.seatNumbers());
-        for (Seat seat : seats) {
-            seat.setStatus(SeatStatus.SOLD);
-        }
-        seatRepository.saveAll(seats);
+        seatStateStore.confirm(reservation.tripId(), reservation.seatNumbers());
+        markConfirmed(List.of(reservationId));
         
-        redisTemplate.delete(List.of(dataPrefix + reservationId, triggerPrefix + reservationId));
+        redisTemplate.delete(dataPrefix + reservationId);
+        expiryQueue.cancel(reservationId);
         log.info("Reservation {} confirmed and seats marked as SOLD", reservationId);
     }
 
-    @Transactional
     public void releaseReservation(UUID reservationId) {
         log.info("Releasing reservation {}", reservationId);
+        if (seatStateStore instanceof AtomicReservationStore atomicStore) {
+            atomicStore.releaseReservation(reservationId)
+                    .ifPresent(tripId -> log.info("Reservation {} released and seats marked as AVAILABLE", reservationId));
+            expiryQueue.untrack(reservationId);
+            return;
+        }
+
         Reservation reservation = (Reservation) redisTemplate.opsForValue().get(dataPrefix + reservationId);
         
         if (reservation != null) {
-            List<Seat> seats = seatRepository.findByTripIdAndSeatNumberIn(reservation.tripId(), reservation.seatNumbers());
-            for (Seat seat : seats) {
-                seat.setStatus(SeatStatus.AVAILABLE);
-            }
-            seatRepository.saveAll(seats);
-            redisTemplate.delete(List.of(dataPrefix + reservationId, triggerPrefix + reservationId));
+            seatStateStore.release(reservation.tripId(), reservation.seatNumbers());
+            redisTemplate.delete(dataPrefix + reservationId);
+            expiryQueue.cancel(reservationId);
             log.info("Reservation {} released and seats marked as AVAILABLE", reservationId);
         }
     }
 
-    @Transactional
+    /**
+     * Confirms a batch of reservations with one seat update per trip. A reservation that was
+     * already confirmed counts as confirmed again, so a batch delivered a second time after an
+     * ambiguous failure, such as a deadline that ran out after the seats were sold, succeeds.
+     *
+     * @return reservations that could not be confirmed, with the reason
+     */
+    public Map<UUID, ReservationFailure> confirmReservations(List<UUID> reservationIds) {
+        log.info("Confirming {} reservations", reservationIds.size());
+        Map<UUID, ReservationFailure> failures;
+        if (seatStateStore instanceof AtomicReservationStore atomicStore) {
+            failures = finishAtomically(reservationIds, atomicStore::confirmReservation);
+        } else {
+            failures = finishReservations(reservationIds, seatStateStore::confirm);
+        }
+        markConfirmed(reservationIds.stream().filter(id -> !failures.containsKey(id)).toList());
+
+        List<UUID> notFound = failures.entrySet().stream()
+                .filter(failure -> !failure.getValue().retryable())
+                .map(Map.Entry::getKey)
+                .toList();
+        try {
+            failures.keySet().removeAll(alreadyConfirmed(notFound));
+        } catch (RuntimeException e) {
+            log.error("Failed to look up {} possibly confirmed reservations", notFound.size(), e);
+            notFound.forEach(reservationId -> failures.put(reservationId, ReservationFailure.of(e)));
+        }
+        return failures;
+    }
+
+    /**
+     * Remembers confirmed reservations for {@code confirmed-ttl-hours}, after their data is gone,
+     * so confirming them again succeeds instead of reporting them as not found.
+     */
+    private void markConfirmed(List<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        Expiration ttl = Expiration.from(confirmedTtlHours, TimeUnit.HOURS);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (UUID reservationId : reservationIds) {
+                    connection.stringCommands().set((confirmedPrefix + reservationId).getBytes(StandardCharsets.UTF_8),
+                            CONFIRMED_MARKER, ttl, RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to remember {} confirmed reservations", reservationIds.size(), e);
+        }
+    }
+
+    private Set<UUID> alreadyConfirmed(List<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return Set.of();
+        }
+        List<Object> markers = redisTemplate.opsForValue().multiGet(
+                reservationIds.stream().map(id -> confirmedPrefix + id).toList());
+        Set<UUID> confirmed = new HashSet<>();
+        for (int i = 0; markers != null && i < reservationIds.size(); i++) {
+            if (markers.get(i) != null) {
+                confirmed.add(reservationIds.get(i));
+            }
+        }
+        return confirmed;
+    }
+
+    private void requireConfirmed(UUID reservationId) {
+        if (!alreadyConfirmed(List.of(reservationId)).contains(reservationId)) {
+            throw new RuntimeException(RESERVATION_NOT_FOUND);
+        }
+        log.info("Reservation {} was already confirmed", reservationId);
+    }
+
+    /**
+     * Releases a batch of reservations with one seat update per trip. Unknown or
+     * already expired reservations are ignored, as in {@link #releaseReservation}.
+     *
+     * @return reservations whose seats could not be released, with the reason
+     */
+    public Map<UUID, ReservationFailure> releaseReservations(List<UUID> reservationIds) {
+        log.info("Releasing {} reservations", reservationIds.size());
+        Map<UUID, ReservationFailure> failures;
+        if (seatStateStore instanceof AtomicReservationStore atomicStore) {
+            failures = finishAtomically(reservationIds, atomicStore::releaseReservation);
+        } else {
+            failures = finishReservations(reservationIds, seatStateStore::release);
+        }
+        failures.values().removeIf(failure -> !failure.retryable());
+        return failures;
+    }
+
+    private Map<UUID, ReservationFailure> finishAtomically(List<UUID> reservationIds, Function<UUID, Optional<UUID>> finisher) {
+        Map<UUID, ReservationFailure> failures = new LinkedHashMap<>();
+        for (UUID reservationId : reservationIds) {
+            try {
+                if (finisher.apply(reservationId).isPresent()) {
+                    expiryQueue.untrack(reservationId);
+                } else {
+                    failures.put(reservationId, ReservationFailure.notFound());
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to finish reservation {}", reservationId, e);
+                failures.put(reservationId, ReservationFailure.of(e));
+            }
+        }
+        return failures;
+    }
+
+    private Map<UUID, ReservationFailure> finishReservations(List<UUID> reservationIds, BiConsumer<UUID, List<Integer>> seatUpdate) {
+        Map<UUID, ReservationFailure> failures = new LinkedHashMap<>();
+        List<String> keys = reservationIds.stream().map(id -> dataPrefix + id).toList();
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+
+        Map<UUID, List<Reservation>> reservationsByTrip = new HashMap<>();
+        for (int i = 0; i < reservationIds.size(); i++) {
+            if (values != null && values.get(i) instanceof Reservation reservation) {
+                reservationsByTrip.computeIfAbsent(reservation.tripId(), id -> new ArrayList<>()).add(reservation);
+            } else {
+                failures.put(reservationIds.get(i), ReservationFailure.notFound());
+            }
+        }
+
+        List<UUID> finished = new ArrayList<>(reservationIds.size());
+        reservationsByTrip.forEach((tripId, reservations) -> {
+            List<Integer> seats = reservations.stream()
+                    .flatMap(reservation -> reservation.seatNumbers().stream())
+                    .toList();
+            try {
+                seatUpdate.accept(tripId, seats);
+                reservations.forEach(reservation -> finished.add(reservation.reservationId()));
+            } catch (RuntimeException e) {
+                log.error("Failed to update seats of {} reservations for trip {}", reservations.size(), tripId, e);
+                reservations.forEach(reservation -> failures.put(reservation.reservationId(), ReservationFailure.of(e)));
+            }
+        });
+
+        if (!finished.isEmpty()) {
+            redisTemplate.delete(finished.stream().map(id -> dataPrefix + id).toList());
+            expiryQueue.cancelAll(finished);
+        }
+        return failures;
+    }
+
     public void handleReservationExpiration(UUID reservationId) {
-        log.info("Handling expiration for reservation {}", reservationId);
-        Reservation reservation = (Reservation) redisTemplate.opsForValue().get(dataPrefix + reservationId);
-        
-        if (reservation != null) {
-            List<Seat> seats = seatRepository.findByTripIdAndSeatNumberIn(reservation.tripId(), reservation.seatNumbers());
-            for (Seat seat : seats) {
-                if (seat.getStatus() == SeatStatus.RESERVED) {
-                    seat.setStatus(SeatStatus.AVAILABLE);
+        expireReservations(List.of(reservationId));
+    }
+
+    /**
+     * Expires a batch of claimed reservations: one seat update per trip, one key delete,
+     * and the {@code reservation.expired} events sent back to back.
+     */
+    public void expireReservations(List<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        log.info("Handling expiration for {} reservations", reservationIds.size());
+
+        Map<UUID, UUID> expiredTrips = new LinkedHashMap<>();
+        if (seatStateStore instanceof AtomicReservationStore atomicStore) {
+            for (UUID reservationId : reservationIds) {
+                atomicStore.expireReservation(reservationId)
+                        .ifPresent(tripId -> expiredTrips.put(reservationId, tripId));
+            }
+        } else {
+            List<String> keys = reservationIds.stream().map(id -> dataPrefix + id).toList();
+            List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+            Map<UUID, List<Integer>> seatsByTrip = new HashMap<>();
+            for (int i = 0; values != null && i < values.size(); i++) {
+                if (values.get(i) instanceof Reservation reservation) {
+                    seatsByTrip.computeIfAbsent(reservation.tripId(), id -> new ArrayList<>())
+                            .addAll(reservation.seatNumbers());
+                    expiredTrips.put(reservation.reservationId(), reservation.tripId());
                 }
             }
-            seatRepository.saveAll(seats);
-            
-            ReservationExpiredEvent event = new ReservationExpiredEvent(
-                UUID.randomUUID(),
-                reservationId,
-                reservation.tripId(),
-                Instant.now()
-            );
-            kafkaTemplate.send("reservation.expired", reservationId.toString(), event);
-            
-            redisTemplate.delete(dataPrefix + reservationId);
-            log.info("Reservation {} expired, seats released and event sent", reservationId);
+            seatsByTrip.forEach(seatStateStore::expire);
+            redisTemplate.delete(keys);
         }
+
+        expiredTrips.forEach(this::publishReservationExpired);
+    }
+
+    private void publishReservationExpired(UUID reservationId, UUID tripId) {
+        ReservationExpiredEvent event = new ReservationExpiredEvent(
+            UUID.randomUUID(),
+            reservationId,
+            tripId,
+            Instant.now()
+        );
+        kafkaTemplate.send("reservation.expired", reservationId.toString(), event);
+        log.info("Reservation {} expired, seats released and event sent", reservationId);
     }
 
-    @Transactional
     public void cleanupExpiredReservations() {
         LocalDateTime threshold = LocalDateTime.now().minusMinutes(reservationTtlMinutes * 2);
         List<Seat> expiredSeats = seatRepository.findExpiredReservations(threshold);
         
         if (!expiredSeats.isEmpty()) {
             log.info("Found {} expired reservations in safety net. Releasing...", expiredSeats.size());
-            for (Seat seat : expiredSeats) {
-                seat.setStatus(SeatStatus.AVAILABLE);
-                seat.setLastStatusUpdate(LocalDateTime.now());
-            }
-            seatRepository.saveAll(expiredSeats);
+            expiredSeats.stream()
+                    .collect(Collectors.groupingBy(
+                            Seat::getTripId,
+                            Collectors.mapping(Seat::getSeatNumber, Collectors.toList())
+                    ))
+                    .forEach(seatStateStore::expire);
         }
     }
 
@@ -234,11 +496,14 @@ public class InventoryService {
     public void handleTripCancelled(TripCancelledEvent event) {
         log.info("Updating seats status to CANCELLED for tripId: {}", event.tripId());
         seatRepository.updateStatusByTripId(event.tripId(), SeatStatus.CANCELLED);
+        seatStateStore.onTripStatusChanged(event.tripId(), SeatStatus.CANCELLED);
+        tripServiceClient.evict(event.tripId());
     }
 
     @Transactional
     public void handleTripDeparted(TripDepartedEvent event) {
         log.info("Updating seats status to SOLD for tripId: {}", event.tripId());
         seatRepository.updateStatusByTripId(event.tripId(), SeatStatus.SOLD);
+        seatStateStore.onTripStatusChanged(event.tripId(), SeatStatus.SOLD);
     }
 }
@@ -0,0 +1,115 @@
+package org.example.inventoryservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.inventoryservice.exception.NotEnoughSeatsException;
+import org.example.inventoryservice.model.Seat;
+import org.example.inventoryservice.model.SeatPreference;
+import org.example.inventoryservice.model.SeatStatus;
+import org.example.inventoryservice.repository.SeatRepository;
+import org.example.inventoryservice.seatmap.SeatPicker;
+import org.example.inventoryservice.seatmap.SeatsChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.mode", havingValue = "database", matchIfMissing = true)
+public class JpaSeatStateStore implements SeatStateStore {
+
+    private final SeatRepository seatRepository;
+    private final ApplicationEventPublisher events;
+
+    @Override
+    @Transactional
+    public void reserve(UUID tripId, List<Integer> seatNumbers) {
+        List<Seat> seats = seatRepository.findByTripIdAndSeatNumberIn(tripId, seatNumbers);
+
+        if (seats.size() != seatNumbers.size()) {
+            throw new NotEnoughSeatsException("Some seats not found");
+        }
+
+        for (Seat seat : seats) {
+            if (seat.getStatus() != SeatStatus.AVAILABLE) {
+                throw new NotEnoughSeatsException("Seat " + seat.getSeatNumber() + " is not available");
+            }
+            seat.setStatus(SeatStatus.RESERVED);
+        }
+
+        seatRepository.saveAll(seats);
+        publish(tripId, seats, SeatStatus.RESERVED);
+    }
+
+    /**
+     * Locks every free seat of the trip before picking, so picks for one trip run one after
+     * another and each sees the seats the previous one took. The seats that were not picked
+     * are unlocked on commit.
+     */
+    @Override
+    @Transactional
+    public List<Integer> reserveAny(UUID tripId, int count, SeatPreference preference) {
+        List<Seat> free = seatRepository.findByTripIdAndStatusOrderBySeatNumber(tripId, SeatStatus.AVAILABLE);
+        int[] picked = SeatPicker.pick(free.stream().mapToInt(Seat::getSeatNumber).toArray(), count, preference);
+        if (picked.length == 0) {
+            throw new NotEnoughSeatsException("Only " + free.size() + " seats are available");
+        }
+
+        Set<Integer> pickedSeats = Arrays.stream(picked).boxed().collect(Collectors.toSet());
+        List<Seat> held = free.stream()
+                .filter(seat -> pickedSeats.contains(seat.getSeatNumber()))
+                .toList();
+        held.forEach(seat -> seat.setStatus(SeatStatus.RESERVED));
+        seatRepository.saveAll(held);
+        publish(tripId, held, SeatStatus.RESERVED);
+        return Arrays.stream(picked).boxed().toList();
+    }
+
+    @Override
+    @Transactional
+    public void confirm(UUID tripId, List<Integer> seatNumbers) {
+        List<Seat> seats = seatRepository.findByTripIdAndSeatNumberIn(tripId, seatNumbers);
+        for (Seat seat : seats) {
+            seat.setStatus(SeatStatus.SOLD);
+        }
+        seatRepository.saveAll(seats);
+        publish(tripId, seats, SeatStatus.SOLD);
+    }
+
+    @Override
+    @Transactional
+    public void release(UUID tripId, List<Integer> seatNumbers) {
+        List<Seat> seats = seatRepository.findByTripIdAndSeatNumberIn(tripId, seatNumbers);
+        for (Seat seat : seats) {
+            seat.setStatus(SeatStatus.AVAILABLE);
+        }
+        seatRepository.saveAll(seats);
+        publish(tripId, seats, SeatStatus.AVAILABLE);
+    }
+
+    @Override
+    @Transactional
+    public void expire(UUID tripId, List<Integer> seatNumbers) {
+        List<Seat> seats = seatRepository.findByTripIdAndSeatNumberIn(tripId, seatNumbers);
+        List<Seat> expired = seats.stream()
+                .filter(seat -> seat.getStatus() == SeatStatus.RESERVED)
+                .toList();
+        for (Seat seat : expired) {
+            seat.setStatus(SeatStatus.AVAILABLE);
+        }
+        seatRepository.saveAll(seats);
+        publish(tripId, expired, SeatStatus.AVAILABLE);
+    }
+
+    private void publish(UUID tripId, List<Seat> seats, SeatStatus status) {
+        if (!seats.isEmpty()) {
+            events.publishEvent(new SeatsChangedEvent(tripId, seats.stream().map(Seat::getSeatNumber).toList(), status));
+        }
+    }
+}
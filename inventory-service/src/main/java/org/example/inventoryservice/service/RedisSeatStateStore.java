@@ -0,0 +1,301 @@
+package org.example.inventoryservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.inventoryservice.exception.NotEnoughSeatsException;
+import org.example.inventoryservice.expiry.ReservationExpiryQueue;
+import org.example.inventoryservice.model.Reservation;
+import org.example.inventoryservice.model.Seat;
+import org.example.inventoryservice.model.SeatPreference;
+import org.example.inventoryservice.model.SeatStatus;
+import org.example.inventoryservice.repository.SeatRepository;
+import org.example.inventoryservice.seatmap.SeatWriteBehindJournal;
+import org.example.inventoryservice.seatmap.SeatsChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps seat state in one Redis hash per trip ({@code seatHashPrefix + tripId}, seat number to status)
+ * and changes it with Lua scripts, so a hold checks the seats, flips them, stores the reservation
+ * and records the pending expiry in a single round trip. The {@code seats} table is updated
+ * asynchronously through {@link SeatWriteBehindJournal}.
+ * <p>
+ * Scripts derive the trip hash key from the reservation, so this mode targets a standalone Redis.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.mode", havingValue = "redis")
+public class RedisSeatStateStore implements AtomicReservationStore {
+
+    private static final RedisScript<Long> RESERVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/reserve_seats.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> FINISH_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/finish_reservation.lua"), List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TRANSITION_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/transition_seats.lua"), List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RESERVE_ANY_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/reserve_any_seats.lua"), List.class);
+    private static final RedisScript<Long> LOAD_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/load_seats.lua"), Long.class);
+
+    private static final long TRIP_NOT_LOADED = -1;
+    private static final long SEAT_NOT_FOUND = -2;
+    private static final long NOT_ENOUGH_SEATS = -3;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SeatRepository seatRepository;
+    private final SeatWriteBehindJournal journal;
+    private final ReservationExpiryQueue expiryQueue;
+    private final ApplicationEventPublisher events;
+
+    @Value("${reservation.data-prefix}")
+    private String dataPrefix;
+
+    @Value("${reservation.seats-prefix}")
+    private String seatsPrefix;
+
+    @Value("${reservation.seat-hash-prefix}")
+    private String seatHashPrefix;
+
+    @Value("${reservation.write-behind.enabled:true}")
+    private boolean writeBehindEnabled;
+
+    @Override
+    public void reserve(UUID tripId, List<Integer> seatNumbers) {
+        List<Integer> changed = transition(tripId, seatNumbers, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        if (changed.size() != seatNumbers.size()) {
+            transition(tripId, changed, SeatStatus.RESERVED, SeatStatus.AVAILABLE);
+            throw new NotEnoughSeatsException("Seats " + seatNumbers + " are not available");
+        }
+        record(tripId, changed, SeatStatus.RESERVED);
+    }
+
+    @Override
+    public void reserve(Reservation reservation, Duration dataTtl) {
+        long result = runReserveScript(reservation, dataTtl);
+        if (result == TRIP_NOT_LOADED) {
+            loadTrip(reservation.tripId());
+            result = runReserveScript(reservation, dataTtl);
+        }
+
+        if (result == TRIP_NOT_LOADED || result == SEAT_NOT_FOUND) {
+            throw new NotEnoughSeatsException("Some seats not found");
+        }
+        if (result > 0) {
+            throw new NotEnoughSeatsException("Seat " + result + " is not available");
+        }
+
+        record(reservation.tripId(), reservation.seatNumbers(), SeatStatus.RESERVED);
+    }
+
+    @Override
+    public List<Integer> reserveAny(UUID tripId, int count, SeatPreference preference) {
+        List<Integer> seatNumbers = runReserveAnyScript(tripId, List.of(seatHashPrefix + tripId), count, preference);
+        record(tripId, seatNumbers, SeatStatus.RESERVED);
+        return seatNumbers;
+    }
+
+    /**
+     * The script picks and holds the seats and stores the reservation seats and expiry. It does not
+     * write the reservation data key: nothing reads it in this mode, and its payload would have to
+     * carry seat numbers that are only known inside the script.
+     */
+    @Override
+    public Reservation reserveAny(Reservation reservation, int count, SeatPreference preference, Duration dataTtl) {
+        UUID reservationId = reservation.reservationId();
+        List<Integer> seatNumbers = runReserveAnyScript(
+                reservation.tripId(),
+                List.of(
+                        seatHashPrefix + reservation.tripId(),
+                        expiryQueue.shardKey(reservationId),
+                        seatsPrefix + reservationId
+                ),
+                count,
+                preference,
+                String.valueOf(reservation.expiresAt().toEpochMilli()),
+                String.valueOf(dataTtl.toMillis()),
+                reservation.tripId().toString(),
+                reservationId.toString()
+        );
+        record(reservation.tripId(), seatNumbers, SeatStatus.RESERVED);
+        return reservation.withSeatNumbers(seatNumbers);
+    }
+
+    @Override
+    public Optional<UUID> confirmReservation(UUID reservationId) {
+        return finish(reservationId, SeatStatus.SOLD, null);
+    }
+
+    @Override
+    public Optional<UUID> releaseReservation(UUID reservationId) {
+        return finish(reservationId, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+    }
+
+    @Override
+    public Optional<UUID> expireReservation(UUID reservationId) {
+        return finish(reservationId, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+    }
+
+    @Override
+    public void confirm(UUID tripId, List<Integer> seatNumbers) {
+        record(tripId, transition(tripId, seatNumbers, null, SeatStatus.SOLD), SeatStatus.SOLD);
+    }
+
+    @Override
+    public void release(UUID tripId, List<Integer> seatNumbers) {
+        expire(tripId, seatNumbers);
+    }
+
+    @Override
+    public void expire(UUID tripId, List<Integer> seatNumbers) {
+        record(tripId, transition(tripId, seatNumbers, SeatStatus.RESERVED, SeatStatus.AVAILABLE), SeatStatus.AVAILABLE);
+    }
+
+    @Override
+    public void onTripStatusChanged(UUID tripId, SeatStatus status) {
+        journal.discard(tripId);
+        transition(tripId, List.of(), null, status);
+    }
+
+    @Override
+    public Map<Integer, SeatStatus> snapshot(UUID tripId) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(seatHashPrefix + tripId);
+        Map<Integer, SeatStatus> statuses = new HashMap<>(entries.size());
+        entries.forEach((seat, status) ->
+                statuses.put(Integer.valueOf(seat.toString()), SeatStatus.valueOf(status.toString())));
+        return statuses;
+    }
+
+    private long runReserveScript(Reservation reservation, Duration dataTtl) {
+        UUID reservationId = reservation.reservationId();
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        byte[] payload = serializer.serialize(reservation);
+
+        List<String> args = new ArrayList<>(reservation.seatNumbers().size() + 5);
+        args.add(new String(payload, StandardCharsets.UTF_8));
+        args.add(String.valueOf(reservation.expiresAt().toEpochMilli()));
+        args.add(String.valueOf(dataTtl.toMillis()));
+        args.add(reservation.tripId().toString());
+        args.add(reservationId.toString());
+        reservation.seatNumbers().forEach(seat -> args.add(seat.toString()));
+
+        Long result = stringRedisTemplate.execute(
+                RESERVE_SCRIPT,
+                List.of(
+                        seatHashPrefix + reservation.tripId(),
+                        dataPrefix + reservationId,
+                        expiryQueue.shardKey(reservationId),
+                        seatsPrefix + reservationId
+                ),
+                args.toArray()
+        );
+        return result != null ? result : TRIP_NOT_LOADED;
+    }
+
+    private List<Integer> runReserveAnyScript(
+            UUID tripId, List<String> keys, int count, SeatPreference preference, String... reservationArgs) {
+        List<String> args = new ArrayList<>(reservationArgs.length + 2);
+        args.add(String.valueOf(count));
+        args.add(preference.name());
+        args.addAll(List.of(reservationArgs));
+
+        List<?> result = stringRedisTemplate.execute(RESERVE_ANY_SCRIPT, keys, args.toArray());
+        if (result != null && !result.isEmpty() && ((Number) result.get(0)).longValue() == TRIP_NOT_LOADED) {
+            loadTrip(tripId);
+            result = stringRedisTemplate.execute(RESERVE_ANY_SCRIPT, keys, args.toArray());
+        }
+
+        long status = result == null || result.isEmpty() ? TRIP_NOT_LOADED : ((Number) result.get(0)).longValue();
+        if (status == TRIP_NOT_LOADED) {
+            throw new NotEnoughSeatsException("Some seats not found");
+        }
+        if (status == NOT_ENOUGH_SEATS) {
+            throw new NotEnoughSeatsException("Only " + result.get(1) + " seats are available");
+        }
+        return toSeatNumbers(result.subList(1, result.size()));
+    }
+
+    private Optional<UUID> finish(UUID reservationId, SeatStatus target, SeatStatus required) {
+        List<?> result = stringRedisTemplate.execute(
+                FINISH_SCRIPT,
+                List.of(dataPrefix + reservationId, expiryQueue.shardKey(reservationId), seatsPrefix + reservationId),
+                seatHashPrefix,
+                target.name(),
+                required != null ? required.name() : "",
+                reservationId.toString()
+        );
+        if (result == null || result.isEmpty()) {
+            return Optional.empty();
+        }
+
+        UUID tripId = UUID.fromString(result.get(0).toString());
+        record(tripId, toSeatNumbers(result.subList(1, result.size())), target);
+        return Optional.of(tripId);
+    }
+
+    private List<Integer> transition(UUID tripId, List<Integer> seatNumbers, SeatStatus required, SeatStatus target) {
+        List<String> args = new ArrayList<>(seatNumbers.size() + 2);
+        args.add(required != null ? required.name() : "");
+        args.add(target.name());
+        seatNumbers.forEach(seat -> args.add(seat.toString()));
+
+        List<?> changed = stringRedisTemplate.execute(
+                TRANSITION_SCRIPT, List.of(seatHashPrefix + tripId), args.toArray());
+        return changed != null ? toSeatNumbers(changed) : List.of();
+    }
+
+    private void loadTrip(UUID tripId) {
+        List<Seat> seats = seatRepository.findByTripId(tripId);
+        if (seats.isEmpty()) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>(seats.size() * 2);
+        for (Seat seat : seats) {
+            args.add(String.valueOf(seat.getSeatNumber()));
+            args.add(seat.getStatus().name());
+        }
+        Long loaded = stringRedisTemplate.execute(LOAD_SCRIPT, List.of(seatHashPrefix + tripId), args.toArray());
+        if (loaded != null && loaded == 1) {
+            log.info("Loaded {} seats into Redis for tripId: {}", seats.size(), tripId);
+        }
+    }
+
+    private void record(UUID tripId, List<Integer> seatNumbers, SeatStatus status) {
+        if (seatNumbers.isEmpty()) {
+            return;
+        }
+        if (writeBehindEnabled) {
+            journal.record(tripId, seatNumbers, status);
+        }
+        events.publishEvent(new SeatsChangedEvent(tripId, seatNumbers, status));
+    }
+
+    private static List<Integer> toSeatNumbers(List<?> values) {
+        return values.stream()
+                .map(value -> ((Number) value).intValue())
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.inventoryservice.service;
+
+import org.example.inventoryservice.model.SeatPreference;
+import org.example.inventoryservice.model.SeatStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Source of truth for seat statuses used by {@link InventoryService}.
+ * The implementation is selected with {@code reservation.mode}.
+ */
+public interface SeatStateStore {
+
+    /**
+     * Moves all seats from AVAILABLE to RESERVED or throws
+     * {@link org.example.inventoryservice.exception.NotEnoughSeatsException}.
+     */
+    void reserve(UUID tripId, List<Integer> seatNumbers);
+
+    /**
+     * Picks {@code count} AVAILABLE seats as {@link org.example.inventoryservice.seatmap.SeatPicker}
+     * does and moves them to RESERVED in the same step, so the hold cannot lose a race for seats
+     * while enough are free. Throws {@link org.example.inventoryservice.exception.NotEnoughSeatsException}
+     * when fewer are.
+     *
+     * @return the held seat numbers, ascending
+     */
+    List<Integer> reserveAny(UUID tripId, int count, SeatPreference preference);
+
+    void confirm(UUID tripId, List<Integer> seatNumbers);
+
+    void release(UUID tripId, List<Integer> seatNumbers);
+
+    /**
+     * Returns only the seats that are still RESERVED back to AVAILABLE.
+     */
+    void expire(UUID tripId, List<Integer> seatNumbers);
+
+    default void onTripStatusChanged(UUID tripId, SeatStatus status) {
+    }
+
+    /**
+     * Seat statuses that are newer than the {@code seats} table, keyed by seat number.
+     * Empty when the table itself is the source of truth.
+     */
+    default Map<Integer, SeatStatus> snapshot(UUID tripId) {
+        return Map.of();
+    }
+}
@@ -0,0 +1,10 @@
+-- KEYS[1] lease key
+-- ARGV[1] owner token, ARGV[2] lease duration in ms
+-- Takes the lease when it is free, or extends it when this owner already holds it.
+-- Returns 1 when the caller holds the lease, 0 when another owner does.
+local owner = redis.call('GET', KEYS[1])
+if owner and owner ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+return 1
@@ -0,0 +1,13 @@
+-- KEYS[1] expiry shard set
+-- ARGV[1] now epoch ms, ARGV[2] lease deadline epoch ms, ARGV[3..] reservation ids
+-- Moves every reservation that is due to the lease deadline and returns the ones it moved.
+-- Reservations that are gone or not due (finished, or claimed by another instance) are skipped.
+local claimed = {}
+for i = 3, #ARGV do
+    local deadline = redis.call('ZSCORE', KEYS[1], ARGV[i])
+    if deadline and tonumber(deadline) <= tonumber(ARGV[1]) then
+        redis.call('ZADD', KEYS[1], ARGV[2], ARGV[i])
+        table.insert(claimed, ARGV[i])
+    end
+end
+return claimed
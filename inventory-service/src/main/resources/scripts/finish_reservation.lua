@@ -0,0 +1,25 @@
+-- KEYS[1] reservation data, KEYS[2] expiry shard set, KEYS[3] reservation seats
+-- ARGV[1] seat hash prefix, ARGV[2] target status, ARGV[3] required current status ('' for any),
+-- ARGV[4] reservation id
+-- Returns {tripId, changed seat numbers...} or nil when the reservation is gone.
+local seats = redis.call('GET', KEYS[3])
+if not seats then
+    return nil
+end
+
+local separator = string.find(seats, '|', 1, true)
+local tripId = string.sub(seats, 1, separator - 1)
+local hash = ARGV[1] .. tripId
+local result = { tripId }
+
+for seat in string.gmatch(string.sub(seats, separator + 1), '%d+') do
+    local status = redis.call('HGET', hash, seat)
+    if status and (ARGV[3] == '' or status == ARGV[3]) then
+        redis.call('HSET', hash, seat, ARGV[2])
+        table.insert(result, tonumber(seat))
+    end
+end
+
+redis.call('ZREM', KEYS[2], ARGV[4])
+redis.call('DEL', KEYS[1], KEYS[3])
+return result
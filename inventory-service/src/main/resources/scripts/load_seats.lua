@@ -0,0 +1,8 @@
+-- KEYS[1] seat hash of the trip
+-- ARGV seat number / status pairs
+-- Fills the hash only when no other instance has loaded it yet.
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return 0
+end
+redis.call('HSET', KEYS[1], unpack(ARGV))
+return 1
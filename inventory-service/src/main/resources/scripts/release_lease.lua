@@ -0,0 +1,7 @@
+-- KEYS[1] lease key
+-- ARGV[1] owner token
+-- Deletes the lease only when this owner still holds it.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
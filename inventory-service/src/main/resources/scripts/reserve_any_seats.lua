@@ -0,0 +1,65 @@
+-- KEYS[1] seat hash of the trip; when holding for a reservation also KEYS[2] expiry shard set,
+-- KEYS[3] reservation seats
+-- ARGV[1] seat count, ARGV[2] preference (TOGETHER or ANY); for a reservation also
+-- ARGV[3] expiry epoch ms, ARGV[4] data ttl ms, ARGV[5] trip id, ARGV[6] reservation id
+-- Picks the seats the way SeatPicker does and holds them.
+-- Returns {0, seat numbers...} on success, {-1} if the trip is not loaded,
+-- {-3, free seat count} if fewer seats are free than asked for, or no seats are asked for.
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return { -1 }
+end
+
+local count = tonumber(ARGV[1])
+local free = {}
+local entries = redis.call('HGETALL', KEYS[1])
+for i = 1, #entries, 2 do
+    if entries[i + 1] == 'AVAILABLE' then
+        table.insert(free, tonumber(entries[i]))
+    end
+end
+if count <= 0 or #free < count then
+    return { -3, #free }
+end
+table.sort(free)
+
+local first = 1
+if ARGV[2] == 'TOGETHER' then
+    -- shortest run of consecutive free seats that fits
+    local bestLength = nil
+    local runStart = 1
+    for i = 2, #free + 1 do
+        if i > #free or free[i] ~= free[i - 1] + 1 then
+            local length = i - runStart
+            if length >= count and (bestLength == nil or length < bestLength) then
+                first = runStart
+                bestLength = length
+            end
+            runStart = i
+        end
+    end
+    -- otherwise the free seats spanning the fewest seat numbers
+    if bestLength == nil then
+        local bestSpan = nil
+        for i = 1, #free - count + 1 do
+            local span = free[i + count - 1] - free[i]
+            if bestSpan == nil or span < bestSpan then
+                first = i
+                bestSpan = span
+            end
+        end
+    end
+end
+
+local seats = {}
+for i = first, first + count - 1 do
+    redis.call('HSET', KEYS[1], tostring(free[i]), 'RESERVED')
+    table.insert(seats, free[i])
+end
+
+if #KEYS == 3 then
+    redis.call('ZADD', KEYS[2], ARGV[3], ARGV[6])
+    redis.call('SET', KEYS[3], ARGV[5] .. '|' .. table.concat(seats, ','), 'PX', ARGV[4])
+end
+
+table.insert(seats, 1, 0)
+return seats
@@ -0,0 +1,27 @@
+-- KEYS[1] seat hash of the trip, KEYS[2] reservation data, KEYS[3] expiry shard set, KEYS[4] reservation seats
+-- ARGV[1] reservation payload, ARGV[2] expiry epoch ms, ARGV[3] data ttl ms, ARGV[4] trip id,
+-- ARGV[5] reservation id, ARGV[6..] seat numbers
+-- Returns 0 on success, -1 if the trip is not loaded, -2 if a seat does not exist,
+-- otherwise the number of the first seat that is not AVAILABLE.
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return -1
+end
+
+for i = 6, #ARGV do
+    local status = redis.call('HGET', KEYS[1], ARGV[i])
+    if not status then
+        return -2
+    end
+    if status ~= 'AVAILABLE' then
+        return tonumber(ARGV[i])
+    end
+end
+
+for i = 6, #ARGV do
+    redis.call('HSET', KEYS[1], ARGV[i], 'RESERVED')
+end
+
+redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[3])
+redis.call('ZADD', KEYS[3], ARGV[2], ARGV[5])
+redis.call('SET', KEYS[4], ARGV[4] .. '|' .. table.concat(ARGV, ',', 6), 'PX', ARGV[3])
+return 0
@@ -0,0 +1,21 @@
+-- KEYS[1] seat hash of the trip
+-- ARGV[1] required current status ('' for any), ARGV[2] target status, ARGV[3..] seat numbers (all seats if none)
+-- Returns the changed seat numbers.
+local seats = {}
+if #ARGV > 2 then
+    for i = 3, #ARGV do
+        table.insert(seats, ARGV[i])
+    end
+else
+    seats = redis.call('HKEYS', KEYS[1])
+end
+
+local changed = {}
+for _, seat in ipairs(seats) do
+    local status = redis.call('HGET', KEYS[1], seat)
+    if status and (ARGV[1] == '' or status == ARGV[1]) then
+        redis.call('HSET', KEYS[1], seat, ARGV[2])
+        table.insert(changed, tonumber(seat))
+    end
+end
+return changed
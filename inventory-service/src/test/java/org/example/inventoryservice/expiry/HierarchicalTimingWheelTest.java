@@ -0,0 +1,53 @@
+package org.example.inventoryservice.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void advance_firesEntriesOnlyAfterTheirDeadline() {
+        var wheel = new HierarchicalTimingWheel<String>(10, 8, 0);
+        wheel.schedule("a", 25);
+        wheel.schedule("b", 40);
+
+        assertEquals(List.of(), wheel.advance(20));
+        assertEquals(List.of("a"), wheel.advance(30));
+        assertEquals(List.of("b"), wheel.advance(50));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_cascadesEntriesFromHigherLevels() {
+        var wheel = new HierarchicalTimingWheel<String>(10, 4, 0);
+        wheel.schedule("near", 35);
+        wheel.schedule("far", 1_234);
+
+        assertEquals(List.of("near"), wheel.advance(1_000));
+        assertEquals(List.of(), wheel.advance(1_230));
+        assertEquals(List.of("far"), wheel.advance(1_240));
+    }
+
+    @Test
+    void cancelAndReschedule_dropStaleEntries() {
+        var wheel = new HierarchicalTimingWheel<String>(10, 8, 0);
+        wheel.schedule("cancelled", 15);
+        wheel.schedule("moved", 15);
+        wheel.cancel("cancelled");
+        wheel.schedule("moved", 65);
+
+        assertEquals(List.of(), wheel.advance(30));
+        assertEquals(List.of("moved"), wheel.advance(70));
+    }
+
+    @Test
+    void schedule_pastDeadlineFiresOnNextTick() {
+        var wheel = new HierarchicalTimingWheel<String>(10, 8, 100);
+        wheel.schedule("late", 50);
+
+        assertEquals(List.of("late"), wheel.advance(110));
+    }
+}
@@ -0,0 +1,266 @@
+package org.example.inventoryservice.grpc;
+
+import com.booking.inventory.grpc.BatchReservationRequest;
+import com.booking.inventory.grpc.BatchReservationResponse;
+import com.booking.inventory.grpc.ReservationAction;
+import com.booking.inventory.grpc.ReservationCommand;
+import com.booking.inventory.grpc.ReservationResult;
+import com.booking.inventory.grpc.ReserveSeatsRequest;
+import com.booking.inventory.grpc.ReserveSeatsResponse;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.example.inventoryservice.model.Reservation;
+import org.example.inventoryservice.model.ReservationFailure;
+import org.example.inventoryservice.service.InventoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryGrpcServiceTest {
+
+    @Mock
+    private InventoryService inventoryService;
+
+    private InventoryGrpcService grpcService;
+
+    @BeforeEach
+    void setUp() {
+        grpcService = new InventoryGrpcService(inventoryService);
+        ReflectionTestUtils.setField(grpcService, "streamBatchSize", 3);
+        ReflectionTestUtils.setField(grpcService, "streamFlushDelayMs", 20L);
+        ReflectionTestUtils.setField(grpcService, "streamWorkerCount", 2);
+        grpcService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        grpcService.shutdown();
+    }
+
+    @Test
+    void reserveSeats_whenCallIsCancelledDuringTheHold_releasesIt() {
+        UUID tripId = UUID.randomUUID();
+        Reservation reservation = new Reservation(UUID.randomUUID(), tripId, List.of(1, 2), Instant.now());
+        when(inventoryService.reserveSeats(tripId, List.of(1, 2))).thenReturn(reservation);
+        RecordingObserver<ReserveSeatsResponse> observer = new RecordingObserver<>();
+        Context.CancellableContext call = Context.current().withCancellation();
+        call.cancel(null);
+
+        call.run(() -> grpcService.reserveSeats(ReserveSeatsRequest.newBuilder()
+                .setTripId(tripId.toString())
+                .addAllSeatNumbers(List.of(1, 2))
+                .build(), observer));
+
+        verify(inventoryService).releaseReservation(reservation.reservationId());
+        assertEquals(Status.Code.CANCELLED, Status.fromThrowable(observer.error).getCode());
+        assertTrue(observer.values.isEmpty());
+    }
+
+    @Test
+    void batchConfirm_reportsEachReservationWithFailureType() {
+        UUID confirmed = UUID.randomUUID();
+        UUID expired = UUID.randomUUID();
+        UUID failed = UUID.randomUUID();
+        when(inventoryService.confirmReservations(List.of(confirmed, expired, failed))).thenReturn(Map.of(
+                expired, ReservationFailure.notFound(),
+                failed, new ReservationFailure(true, "Redis connection refused")));
+        RecordingObserver<BatchReservationResponse> observer = new RecordingObserver<>();
+
+        grpcService.batchConfirmReservations(batch(confirmed, expired, failed), observer);
+
+        assertTrue(observer.completed());
+        List<ReservationResult> results = observer.values.get(0).getResultsList();
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).getSuccess());
+        assertEquals(ReservationAction.CONFIRM, results.get(0).getAction());
+        assertFalse(results.get(1).getSuccess());
+        assertEquals(com.booking.inventory.grpc.ReservationFailure.NOT_FOUND, results.get(1).getFailure());
+        assertFalse(results.get(2).getSuccess());
+        assertEquals(com.booking.inventory.grpc.ReservationFailure.TRANSIENT, results.get(2).getFailure());
+        assertEquals("Redis connection refused", results.get(2).getError());
+    }
+
+    @Test
+    void batchConfirm_whenWholeBatchFails_isUnavailable() {
+        UUID reservationId = UUID.randomUUID();
+        when(inventoryService.confirmReservations(List.of(reservationId)))
+                .thenThrow(new IllegalStateException("Redis connection refused"));
+        RecordingObserver<BatchReservationResponse> observer = new RecordingObserver<>();
+
+        grpcService.batchConfirmReservations(batch(reservationId), observer);
+
+        assertEquals(Status.Code.UNAVAILABLE, Status.fromThrowable(observer.error).getCode());
+        assertTrue(observer.values.isEmpty());
+    }
+
+    @Test
+    void batchConfirm_withMalformedId_isInvalidArgument() {
+        RecordingObserver<BatchReservationResponse> observer = new RecordingObserver<>();
+        BatchReservationRequest request = BatchReservationRequest.newBuilder().addReservationIds("not-a-uuid").build();
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> grpcService.batchConfirmReservations(request, observer));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void reservationStream_fullBatch_appliesConfirmsBeforeReleases() {
+        UUID release = UUID.randomUUID();
+        UUID confirm = UUID.randomUUID();
+        when(inventoryService.confirmReservations(List.of(confirm))).thenReturn(Map.of());
+        when(inventoryService.releaseReservations(List.of(release))).thenReturn(Map.of());
+        RecordingObserver<ReservationResult> observer = new RecordingObserver<>();
+        StreamObserver<ReservationCommand> requests = grpcService.reservationStream(observer);
+
+        requests.onNext(command(release.toString(), ReservationAction.RELEASE));
+        requests.onNext(command(confirm.toString(), ReservationAction.CONFIRM));
+        requests.onNext(command(UUID.randomUUID().toString(), ReservationAction.RESERVATION_ACTION_UNSPECIFIED));
+
+        assertEquals(3, observer.values.size());
+        assertEquals(confirm.toString(), observer.values.get(0).getReservationId());
+        assertTrue(observer.values.get(0).getSuccess());
+        assertEquals(release.toString(), observer.values.get(1).getReservationId());
+        assertTrue(observer.values.get(1).getSuccess());
+        assertEquals(com.booking.inventory.grpc.ReservationFailure.INVALID, observer.values.get(2).getFailure());
+
+        requests.onCompleted();
+        assertTrue(observer.completed());
+    }
+
+    @Test
+    void reservationStream_quietStream_isFlushedAfterDelay() throws InterruptedException {
+        UUID reservationId = UUID.randomUUID();
+        when(inventoryService.confirmReservations(List.of(reservationId)))
+                .thenReturn(Map.of(reservationId, ReservationFailure.notFound()));
+        RecordingObserver<ReservationResult> observer = new RecordingObserver<>();
+        StreamObserver<ReservationCommand> requests = grpcService.reservationStream(observer);
+
+        requests.onNext(command(reservationId.toString(), ReservationAction.CONFIRM));
+
+        assertTrue(observer.awaitValues(1));
+        ReservationResult result = observer.values.get(0);
+        assertFalse(result.getSuccess());
+        assertEquals(com.booking.inventory.grpc.ReservationFailure.NOT_FOUND, result.getFailure());
+        assertFalse(observer.completed());
+    }
+
+    @Test
+    void reservationStream_storeFailure_isReportedPerReservationAndKeepsStreamOpen() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(inventoryService.confirmReservations(anyList())).thenThrow(new IllegalStateException("Redis timeout"));
+        RecordingObserver<ReservationResult> observer = new RecordingObserver<>();
+        StreamObserver<ReservationCommand> requests = grpcService.reservationStream(observer);
+
+        requests.onNext(command(first.toString(), ReservationAction.CONFIRM));
+        requests.onNext(command(second.toString(), ReservationAction.CONFIRM));
+        requests.onNext(command("not-a-uuid", ReservationAction.CONFIRM));
+
+        Map<String, ReservationResult> results = observer.values.stream()
+                .collect(Collectors.toMap(ReservationResult::getReservationId, result -> result));
+        assertEquals(com.booking.inventory.grpc.ReservationFailure.TRANSIENT, results.get(first.toString()).getFailure());
+        assertEquals(com.booking.inventory.grpc.ReservationFailure.TRANSIENT, results.get(second.toString()).getFailure());
+        assertEquals(com.booking.inventory.grpc.ReservationFailure.INVALID, results.get("not-a-uuid").getFailure());
+        assertNull(observer.error);
+    }
+
+    @Test
+    void reservationStream_slowStoreCall_doesNotHoldUpOtherStreams() throws InterruptedException {
+        UUID slow = UUID.randomUUID();
+        UUID fast = UUID.randomUUID();
+        CountDownLatch storeBlocked = new CountDownLatch(1);
+        CountDownLatch unblockStore = new CountDownLatch(1);
+        when(inventoryService.confirmReservations(List.of(slow))).thenAnswer(invocation -> {
+            storeBlocked.countDown();
+            unblockStore.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        });
+        when(inventoryService.confirmReservations(List.of(fast))).thenReturn(Map.of());
+        RecordingObserver<ReservationResult> slowObserver = new RecordingObserver<>();
+        RecordingObserver<ReservationResult> fastObserver = new RecordingObserver<>();
+
+        grpcService.reservationStream(slowObserver).onNext(command(slow.toString(), ReservationAction.CONFIRM));
+        assertTrue(storeBlocked.await(1, TimeUnit.SECONDS));
+        grpcService.reservationStream(fastObserver).onNext(command(fast.toString(), ReservationAction.CONFIRM));
+
+        try {
+            assertTrue(fastObserver.awaitValues(1));
+            assertTrue(slowObserver.values.isEmpty());
+        } finally {
+            unblockStore.countDown();
+        }
+        assertTrue(slowObserver.awaitValues(1));
+    }
+
+    private static BatchReservationRequest batch(UUID... reservationIds) {
+        BatchReservationRequest.Builder request = BatchReservationRequest.newBuilder();
+        for (UUID reservationId : reservationIds) {
+            request.addReservationIds(reservationId.toString());
+        }
+        return request.build();
+    }
+
+    private static ReservationCommand command(String reservationId, ReservationAction action) {
+        return ReservationCommand.newBuilder().setReservationId(reservationId).setAction(action).build();
+    }
+
+    private static final class RecordingObserver<T> implements StreamObserver<T> {
+
+        private final List<T> values = new CopyOnWriteArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Throwable error;
+
+        @Override
+        public void onNext(T value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            done.countDown();
+        }
+
+        @Override
+        public void onCompleted() {
+            done.countDown();
+        }
+
+        boolean completed() {
+            return done.getCount() == 0 && error == null;
+        }
+
+        boolean awaitValues(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (values.size() < count) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                Thread.sleep(5);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.example.inventoryservice.scheduler;
+
+import com.redis.testcontainers.RedisContainer;
+import org.example.inventoryservice.expiry.ReservationExpiryQueue;
+import org.example.inventoryservice.service.InventoryService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class ReservationExpirySchedulerTest {
+
+    private static final String KEY_PREFIX = "reservation:expiry:";
+    private static final long CLAIM_LEASE_MS = 30_000;
+    private static final long RETRY_BACKOFF_MS = 1_000;
+    private static final long TAKEOVER_AFTER_MS = 30_000;
+
+    @Container
+    private static final RedisContainer redis = new RedisContainer(
+            DockerImageName.parse("redis:7.2.5-alpine")
+    );
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final InventoryService inventoryService = mock(InventoryService.class);
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @Test
+    void failedBatch_isExpiredOnLaterTick() {
+        ReservationExpiryQueue queue = queue(0, 1);
+        ReservationExpiryScheduler scheduler = scheduler(queue);
+        UUID reservationId = UUID.randomUUID();
+        queue.schedule(reservationId, Instant.ofEpochMilli(clock.get() + 500));
+        doThrow(new IllegalStateException("Redis is down"))
+                .doNothing()
+                .when(inventoryService).expireReservations(List.of(reservationId));
+
+        clock.addAndGet(600);
+        scheduler.expireDueReservations();
+
+        verify(inventoryService, times(1)).expireReservations(List.of(reservationId));
+        assertEquals((double) clock.get() + RETRY_BACKOFF_MS, score(queue, reservationId));
+
+        clock.addAndGet(RETRY_BACKOFF_MS / 2);
+        scheduler.expireDueReservations();
+        verify(inventoryService, times(1)).expireReservations(List.of(reservationId));
+
+        clock.addAndGet(RETRY_BACKOFF_MS);
+        scheduler.expireDueReservations();
+        verify(inventoryService, times(2)).expireReservations(List.of(reservationId));
+        assertNull(score(queue, reservationId));
+
+        clock.addAndGet(CLAIM_LEASE_MS * 2);
+        scheduler.syncPendingExpiries();
+        scheduler.expireDueReservations();
+        verify(inventoryService, times(2)).expireReservations(anyList());
+    }
+
+    @Test
+    void claimLostWithItsInstance_isExpiredAfterLease() {
+        ReservationExpiryQueue crashed = queue(0, 1);
+        UUID reservationId = UUID.randomUUID();
+        crashed.schedule(reservationId, Instant.ofEpochMilli(clock.get() + 500));
+        clock.addAndGet(600);
+        assertEquals(List.of(reservationId), crashed.pollDue());
+
+        ReservationExpiryQueue restarted = queue(0, 1);
+        ReservationExpiryScheduler scheduler = scheduler(restarted);
+        scheduler.syncPendingExpiries();
+        scheduler.expireDueReservations();
+        verifyNoInteractions(inventoryService);
+
+        clock.addAndGet(CLAIM_LEASE_MS + 100);
+        scheduler.syncPendingExpiries();
+        scheduler.expireDueReservations();
+
+        verify(inventoryService).expireReservations(List.of(reservationId));
+        assertNull(score(restarted, reservationId));
+    }
+
+    @Test
+    void shardsOfMissingInstance_areTakenOverOnceOverdue() {
+        ReservationExpiryQueue owner = queue(0, 2);
+        ReservationExpiryQueue survivor = queue(1, 2);
+        ReservationExpiryScheduler scheduler = scheduler(survivor);
+        UUID reservationId = reservationInShard(owner, 0);
+        owner.schedule(reservationId, Instant.ofEpochMilli(clock.get() + 500));
+
+        clock.addAndGet(TAKEOVER_AFTER_MS);
+        scheduler.syncPendingExpiries();
+        scheduler.expireDueReservations();
+        verifyNoInteractions(inventoryService);
+
+        clock.addAndGet(1_000);
+        scheduler.syncPendingExpiries();
+        scheduler.expireDueReservations();
+
+        verify(inventoryService).expireReservations(List.of(reservationId));
+        assertNull(score(owner, reservationId));
+    }
+
+    @Test
+    void reservationDueOnTwoInstances_isExpiredOnce() {
+        ReservationExpiryQueue first = queue(0, 1);
+        ReservationExpiryQueue second = queue(0, 1);
+        UUID reservationId = UUID.randomUUID();
+        first.schedule(reservationId, Instant.ofEpochMilli(clock.get() + 500));
+        second.sync();
+
+        clock.addAndGet(600);
+
+        assertEquals(List.of(reservationId), first.pollDue());
+        assertEquals(List.of(), second.pollDue());
+    }
+
+    private ReservationExpiryQueue queue(int instanceIndex, int instanceCount) {
+        return new ReservationExpiryQueue(redisTemplate, KEY_PREFIX, 4, instanceIndex, instanceCount, 100, 512, 5000,
+                CLAIM_LEASE_MS, RETRY_BACKOFF_MS, TAKEOVER_AFTER_MS, clock::get);
+    }
+
+    private ReservationExpiryScheduler scheduler(ReservationExpiryQueue queue) {
+        ReservationExpiryScheduler scheduler = new ReservationExpiryScheduler(queue, inventoryService);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 500);
+        return scheduler;
+    }
+
+    private static Double score(ReservationExpiryQueue queue, UUID reservationId) {
+        return redisTemplate.opsForZSet().score(queue.shardKey(reservationId), reservationId.toString());
+    }
+
+    private static UUID reservationInShard(ReservationExpiryQueue queue, int shard) {
+        while (true) {
+            UUID reservationId = UUID.randomUUID();
+            if (queue.shardKey(reservationId).equals(KEY_PREFIX + shard)) {
+                return reservationId;
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.inventoryservice.seatmap;
+
+import org.example.inventoryservice.model.SeatStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatBitmapTest {
+
+    @Test
+    void newBitmap_allSeatsAvailable() {
+        SeatBitmap bitmap = new SeatBitmap(50);
+
+        assertEquals(50, bitmap.count(SeatStatus.AVAILABLE));
+        assertEquals(SeatStatus.AVAILABLE, bitmap.get(1));
+        assertEquals(SeatStatus.AVAILABLE, bitmap.get(50));
+        assertFalse(bitmap.contains(0));
+        assertFalse(bitmap.contains(51));
+    }
+
+    @Test
+    void set_storesEveryStatusWithoutTouchingNeighbours() {
+        SeatBitmap bitmap = new SeatBitmap(40);
+
+        bitmap.set(32, SeatStatus.CANCELLED);
+        bitmap.set(33, SeatStatus.SOLD);
+
+        assertEquals(SeatStatus.AVAILABLE, bitmap.get(31));
+        assertEquals(SeatStatus.CANCELLED, bitmap.get(32));
+        assertEquals(SeatStatus.SOLD, bitmap.get(33));
+        assertEquals(SeatStatus.AVAILABLE, bitmap.get(34));
+    }
+
+    @Test
+    void compareAndSetAll_whenOneSeatTaken_changesNothing() {
+        SeatBitmap bitmap = new SeatBitmap(50);
+        bitmap.set(40, SeatStatus.RESERVED);
+
+        boolean reserved = bitmap.compareAndSetAll(new int[]{1, 2, 40}, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+
+        assertFalse(reserved);
+        assertEquals(SeatStatus.AVAILABLE, bitmap.get(1));
+        assertEquals(SeatStatus.AVAILABLE, bitmap.get(2));
+        assertEquals(1, bitmap.count(SeatStatus.RESERVED));
+    }
+
+    @Test
+    void seatsIn_listsSeatsInStatusAcrossWords() {
+        SeatBitmap bitmap = new SeatBitmap(40);
+        bitmap.set(2, SeatStatus.SOLD);
+        bitmap.set(33, SeatStatus.SOLD);
+
+        assertArrayEquals(new int[]{2, 33}, bitmap.seatsIn(SeatStatus.SOLD));
+        assertEquals(38, bitmap.seatsIn(SeatStatus.AVAILABLE).length);
+    }
+
+    @Test
+    void compareAndSetAll_concurrentHoldsOnSameSeat_onlyOneWins() throws InterruptedException {
+        SeatBitmap bitmap = new SeatBitmap(16);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (bitmap.compareAndSetAll(new int[]{3, 4}, SeatStatus.AVAILABLE, SeatStatus.RESERVED)) {
+                    winners.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, winners.get());
+        assertEquals(2, bitmap.count(SeatStatus.RESERVED));
+    }
+}
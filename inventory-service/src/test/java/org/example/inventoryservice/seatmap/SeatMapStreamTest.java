@@ -0,0 +1,262 @@
+package org.example.inventoryservice.seatmap;
+
+import org.example.inventoryservice.dto.response.SeatChange;
+import org.example.inventoryservice.dto.response.SeatMapDelta;
+import org.example.inventoryservice.dto.response.SeatMapSnapshot;
+import org.example.inventoryservice.model.SeatStatus;
+import org.example.inventoryservice.service.InventoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapStreamTest {
+
+    @Mock
+    private InventoryService inventoryService;
+
+    private SeatMapStream stream;
+    private final UUID tripId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        stream = new SeatMapStream(inventoryService);
+        ReflectionTestUtils.setField(stream, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(stream, "flushIntervalMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(stream, "refreshIntervalMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(stream, "refreshThreads", 2);
+        ReflectionTestUtils.setField(stream, "sendThreads", 2);
+        ReflectionTestUtils.setField(stream, "maxQueuedEvents", 16);
+        stream.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void newViewer_getsSnapshotThenCoalescedDeltasWithConsecutiveVersions() {
+        when(inventoryService.seatStatuses(tripId)).thenReturn(Map.of(
+                1, SeatStatus.AVAILABLE, 2, SeatStatus.AVAILABLE, 3, SeatStatus.SOLD));
+        RecordingEmitter viewer = new RecordingEmitter();
+
+        stream.subscribe(tripId, viewer);
+
+        await(() -> viewer.events.size() == 1);
+        SeatMapSnapshot snapshot = (SeatMapSnapshot) viewer.events.get(0).data();
+        assertEquals("snapshot", viewer.events.get(0).name());
+        assertEquals(0, snapshot.version());
+        assertEquals(Map.of(SeatStatus.AVAILABLE, List.of(1, 2), SeatStatus.SOLD, List.of(3)), snapshot.seats());
+
+        stream.onSeatsChanged(new SeatsChangedEvent(tripId, List.of(1, 2), SeatStatus.RESERVED));
+        stream.onSeatsChanged(new SeatsChangedEvent(tripId, List.of(1), SeatStatus.SOLD));
+        stream.flushAll();
+        stream.onSeatsChanged(new SeatsChangedEvent(tripId, List.of(2), SeatStatus.AVAILABLE));
+        stream.flushAll();
+        stream.flushAll();
+
+        await(() -> viewer.events.size() == 3);
+        SeatMapDelta first = (SeatMapDelta) viewer.events.get(1).data();
+        assertEquals("seats", viewer.events.get(1).name());
+        assertEquals(1, first.version());
+        assertEquals(List.of(new SeatChange(1, SeatStatus.SOLD), new SeatChange(2, SeatStatus.RESERVED)),
+                first.changes());
+        SeatMapDelta second = (SeatMapDelta) viewer.events.get(2).data();
+        assertEquals(2, second.version());
+        assertEquals(List.of(new SeatChange(2, SeatStatus.AVAILABLE)), second.changes());
+    }
+
+    @Test
+    void refresh_publishesChangesMadeElsewhereAndContinuesVersions() {
+        when(inventoryService.seatStatuses(tripId))
+                .thenReturn(Map.of(1, SeatStatus.AVAILABLE, 2, SeatStatus.AVAILABLE))
+                .thenReturn(Map.of(1, SeatStatus.AVAILABLE, 2, SeatStatus.RESERVED));
+        RecordingEmitter viewer = new RecordingEmitter();
+        stream.subscribe(tripId, viewer);
+        stream.onSeatsChanged(new SeatsChangedEvent(tripId, List.of(1), SeatStatus.RESERVED));
+        stream.flushAll();
+
+        stream.refreshAll();
+
+        await(() -> viewer.events.size() == 3);
+        SeatMapDelta refreshed = (SeatMapDelta) viewer.events.get(2).data();
+        assertEquals(2, refreshed.version());
+        assertEquals(List.of(new SeatChange(1, SeatStatus.AVAILABLE), new SeatChange(2, SeatStatus.RESERVED)),
+                refreshed.changes());
+    }
+
+    @Test
+    void slowStoreRead_doesNotHoldUpFlushesOrQueueAnotherRead() throws InterruptedException {
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch finishRead = new CountDownLatch(1);
+        when(inventoryService.seatStatuses(tripId))
+                .thenReturn(Map.of(1, SeatStatus.AVAILABLE))
+                .thenAnswer(invocation -> {
+                    readStarted.countDown();
+                    finishRead.await(5, TimeUnit.SECONDS);
+                    return Map.of(1, SeatStatus.AVAILABLE);
+                });
+        RecordingEmitter viewer = new RecordingEmitter();
+        stream.subscribe(tripId, viewer);
+
+        stream.refreshAll();
+        assertTrue(readStarted.await(1, TimeUnit.SECONDS));
+        stream.refreshAll();
+        stream.onSeatsChanged(new SeatsChangedEvent(tripId, List.of(1), SeatStatus.RESERVED));
+        stream.flushAll();
+
+        try {
+            await(() -> viewer.events.size() == 2);
+            assertEquals(List.of(new SeatChange(1, SeatStatus.RESERVED)),
+                    ((SeatMapDelta) viewer.events.get(1).data()).changes());
+        } finally {
+            finishRead.countDown();
+        }
+        verify(inventoryService, times(2)).seatStatuses(tripId);
+    }
+
+    @Test
+    void slowViewer_isDroppedWithoutHoldingUpOthers() {
+        ReflectionTestUtils.setField(stream, "maxQueuedEvents", 2);
+        when(inventoryService.seatStatuses(tripId)).thenReturn(Map.of(1, SeatStatus.AVAILABLE));
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blockSends();
+        RecordingEmitter fast = new RecordingEmitter();
+        stream.subscribe(tripId, slow);
+        stream.subscribe(tripId, fast);
+        await(() -> fast.events.size() == 1);
+
+        List<SeatStatus> changes = List.of(SeatStatus.RESERVED, SeatStatus.AVAILABLE, SeatStatus.SOLD);
+        for (int i = 0; i < changes.size(); i++) {
+            int received = i + 2;
+            stream.onSeatsChanged(new SeatsChangedEvent(tripId, List.of(1), changes.get(i)));
+            stream.flushAll();
+            await(() -> fast.events.size() == received);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L), fast.events.subList(1, 4).stream()
+                .map(event -> ((SeatMapDelta) event.data()).version())
+                .toList());
+        slow.unblockSends();
+        await(() -> slow.completed);
+        assertEquals(1, slow.events.size());
+        assertFalse(fast.completed);
+    }
+
+    @Test
+    void lastViewerLeaving_stopsWatchingTheTrip() {
+        when(inventoryService.seatStatuses(tripId)).thenReturn(Map.of(1, SeatStatus.AVAILABLE));
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        stream.subscribe(tripId, first);
+        stream.subscribe(tripId, second);
+        await(() -> first.events.size() == 1 && second.events.size() == 1);
+
+        first.leave();
+        stream.onSeatsChanged(new SeatsChangedEvent(tripId, List.of(1), SeatStatus.RESERVED));
+        stream.flushAll();
+        await(() -> second.events.size() == 2);
+        assertEquals(1, first.events.size());
+
+        second.leave();
+        stream.onSeatsChanged(new SeatsChangedEvent(tripId, List.of(1), SeatStatus.SOLD));
+        stream.flushAll();
+        stream.refreshAll();
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(stream, "trips")).isEmpty());
+
+        RecordingEmitter returning = new RecordingEmitter();
+        stream.subscribe(tripId, returning);
+        await(() -> returning.events.size() == 1);
+        assertEquals(0, ((SeatMapSnapshot) returning.events.get(0).data()).version());
+        assertEquals(2, second.events.size());
+        verify(inventoryService, times(2)).seatStatuses(tripId);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+
+    private record Event(String name, Object data) {}
+
+    /** Records what would be written to the client; {@link #leave()} plays the client disconnecting. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Event> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sendsUnblocked = new CountDownLatch(1);
+        private volatile boolean blocked;
+        private volatile boolean completed;
+        private volatile Runnable completionCallback;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (blocked) {
+                try {
+                    sendsUnblocked.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String name = null;
+            Object data = null;
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text && text.startsWith("event:")) {
+                    name = text.substring("event:".length(), text.indexOf('\n'));
+                } else if (!(part.getData() instanceof String)) {
+                    data = part.getData();
+                }
+            }
+            events.add(new Event(name, data));
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallback = callback;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        void blockSends() {
+            blocked = true;
+        }
+
+        void unblockSends() {
+            sendsUnblocked.countDown();
+        }
+
+        void leave() {
+            completionCallback.run();
+        }
+    }
+}
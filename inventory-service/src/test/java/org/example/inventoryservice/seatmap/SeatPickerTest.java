@@ -0,0 +1,68 @@
+package org.example.inventoryservice.seatmap;
+
+import org.example.inventoryservice.model.SeatPreference;
+import org.example.inventoryservice.model.SeatStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatPickerTest {
+
+    @Test
+    void together_takesSmallestFreeBlockThatFits() {
+        int[] free = {1, 2, 3, 4, 5, 8, 9, 12};
+
+        assertArrayEquals(new int[]{8, 9}, SeatPicker.pick(free, 2, SeatPreference.TOGETHER));
+        assertArrayEquals(new int[]{1, 2, 3}, SeatPicker.pick(free, 3, SeatPreference.TOGETHER));
+    }
+
+    @Test
+    void together_withoutBlock_takesNarrowestGroup() {
+        int[] free = {1, 5, 9, 10, 12, 20};
+
+        assertArrayEquals(new int[]{9, 10, 12}, SeatPicker.pick(free, 3, SeatPreference.TOGETHER));
+    }
+
+    @Test
+    void any_takesLowestNumberedSeats() {
+        int[] free = {3, 7, 8, 9};
+
+        assertArrayEquals(new int[]{3, 7}, SeatPicker.pick(free, 2, SeatPreference.ANY));
+    }
+
+    @Test
+    void notEnoughFreeSeats_returnsEmpty() {
+        assertEquals(0, SeatPicker.pick(new int[]{1, 2}, 3, SeatPreference.TOGETHER).length);
+        assertEquals(0, SeatPicker.pick(new int[]{1, 2}, 0, SeatPreference.ANY).length);
+    }
+
+    @Test
+    void concurrentPicksOnBitmap_holdEverySeatExactlyOnce() throws InterruptedException {
+        SeatBitmap bitmap = new SeatBitmap(50);
+        int threads = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                while (true) {
+                    int[] picked = SeatPicker.pick(bitmap.seatsIn(SeatStatus.AVAILABLE), 2, SeatPreference.TOGETHER);
+                    if (bitmap.compareAndSetAll(picked, SeatStatus.AVAILABLE, SeatStatus.RESERVED)) {
+                        return null;
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(50, bitmap.count(SeatStatus.RESERVED));
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.inventoryservice.seatmap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatStateLeaseTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private SeatStateLease lease;
+
+    @BeforeEach
+    void setUp() {
+        lease = new SeatStateLease(redisTemplate);
+        ReflectionTestUtils.setField(lease, "leaseKey", "inventory:seat-engine:lease");
+        ReflectionTestUtils.setField(lease, "leaseMs", 15_000L);
+        ReflectionTestUtils.setField(lease, "instanceCount", 1);
+    }
+
+    @Test
+    void acquire_holdsTheLeaseUntilItIsTakenElsewhere() throws InterruptedException {
+        leaseScriptReturns(1L, 1L, 0L, 1L);
+
+        lease.acquire();
+        long first = lease.heldEpoch();
+        lease.renew();
+        assertEquals(first, lease.heldEpoch());
+
+        lease.renew();
+        assertThrows(IllegalStateException.class, lease::heldEpoch);
+
+        lease.renew();
+        assertNotEquals(first, lease.heldEpoch());
+    }
+
+    @Test
+    void acquire_whenAnotherInstanceKeepsTheLease_failsStartup() {
+        ReflectionTestUtils.setField(lease, "leaseMs", 1L);
+        leaseScriptReturns(0L);
+
+        assertThrows(IllegalStateException.class, lease::acquire);
+        assertThrows(IllegalStateException.class, lease::heldEpoch);
+    }
+
+    @Test
+    void acquire_withSeveralInstancesConfigured_failsWithoutTouchingRedis() {
+        ReflectionTestUtils.setField(lease, "instanceCount", 2);
+
+        assertThrows(IllegalStateException.class, lease::acquire);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void release_stopsServingAndDeletesTheLease() throws InterruptedException {
+        leaseScriptReturns(1L);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(1L);
+        lease.acquire();
+
+        lease.release();
+
+        assertThrows(IllegalStateException.class, lease::heldEpoch);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("inventory:seat-engine:lease")), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void leaseScriptReturns(Long first, Long... next) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(first, next);
+    }
+}
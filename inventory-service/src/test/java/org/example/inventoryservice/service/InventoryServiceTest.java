@@ -1,20 +1,32 @@
 package org.example.inventoryservice.service;
 
 import org.example.inventoryservice.dto.response.SeatResponse;
+import org.example.inventoryservice.model.Reservation;
 import org.example.inventoryservice.model.Seat;
+import org.example.inventoryservice.model.SeatPreference;
 import org.example.inventoryservice.model.SeatStatus;
 import org.example.inventoryservice.repository.SeatRepository;
+import org.example.inventoryservice.seatmap.InMemorySeatStateStore;
+import org.example.inventoryservice.seatmap.SeatStateEngine;
+import org.example.inventoryservice.seatmap.SeatStateLease;
+import org.example.inventoryservice.seatmap.SeatWriteBehindJournal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +43,10 @@ class InventoryServiceTest {
     private KafkaTemplate<String, Object> kafkaTemplate;
     @Mock
     private org.example.inventoryservice.client.TripServiceClient tripServiceClient;
+    @Mock
+    private SeatStateStore seatStateStore;
+    @Mock
+    private org.example.inventoryservice.expiry.ReservationExpiryQueue expiryQueue;
 
     @InjectMocks
     private InventoryService inventoryService;
@@ -41,8 +57,8 @@ class InventoryServiceTest {
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(inventoryService, "dataPrefix", "reservation:");
-        ReflectionTestUtils.setField(inventoryService, "triggerPrefix", "trigger:");
         ReflectionTestUtils.setField(inventoryService, "reservationTtlMinutes", 15L);
+        ReflectionTestUtils.setField(inventoryService, "confirmedPrefix", "confirmed:");
         tripId = UUID.randomUUID();
         seat = new Seat();
         seat.setId(UUID.randomUUID());
@@ -82,4 +98,176 @@ class InventoryServiceTest {
         verify(tripServiceClient).getTripById(tripId);
         verify(seatRepository).saveAll(anyList());
     }
+
+    @Test
+    void reserveSeats_delegatesToStoreAndStoresReservation() {
+        @SuppressWarnings("unchecked")
+        var valueOperations = (org.springframework.data.redis.core.ValueOperations<String, Object>)
+                mock(org.springframework.data.redis.core.ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        var reservation = inventoryService.reserveSeats(tripId, List.of(1, 2));
+
+        assertEquals(tripId, reservation.tripId());
+        verify(seatStateStore).reserve(tripId, List.of(1, 2));
+        verify(valueOperations).set(eq("reservation:" + reservation.reservationId()), eq(reservation), eq(30L), any());
+        verify(expiryQueue).schedule(reservation.reservationId(), reservation.expiresAt());
+    }
+
+    @Test
+    void confirmReservations_deliveredAgain_treatsAlreadyConfirmedAsConfirmed() {
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        UUID confirmedId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        when(valueOperations.multiGet(List.of("reservation:" + confirmedId)))
+                .thenReturn(List.of(new Reservation(confirmedId, tripId, List.of(1, 2), java.time.Instant.now())));
+        when(valueOperations.multiGet(List.of("reservation:" + confirmedId, "reservation:" + unknownId)))
+                .thenReturn(java.util.Arrays.asList(null, null));
+        when(valueOperations.multiGet(List.of("confirmed:" + confirmedId, "confirmed:" + unknownId)))
+                .thenReturn(java.util.Arrays.asList(true, null));
+
+        assertTrue(inventoryService.confirmReservations(List.of(confirmedId)).isEmpty());
+        var failures = inventoryService.confirmReservations(List.of(confirmedId, unknownId));
+
+        assertEquals(Set.of(unknownId), failures.keySet());
+        assertFalse(failures.get(unknownId).retryable());
+        verify(seatStateStore).confirm(tripId, List.of(1, 2));
+        verify(redisTemplate).executePipelined(any(org.springframework.data.redis.core.RedisCallback.class));
+    }
+
+    @Test
+    void confirmReservations_whenConfirmedLookupFails_reportsNotFoundAsRetryable() {
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        UUID reservationId = UUID.randomUUID();
+        when(valueOperations.multiGet(List.of("reservation:" + reservationId)))
+                .thenReturn(java.util.Arrays.asList((Object) null));
+        when(valueOperations.multiGet(List.of("confirmed:" + reservationId)))
+                .thenThrow(new RedisConnectionFailureException("Redis is down"));
+
+        var failures = inventoryService.confirmReservations(List.of(reservationId));
+
+        assertTrue(failures.get(reservationId).retryable());
+    }
+
+    @Test
+    void reserveSeats_whenStoreRejects_doesNotWriteReservation() {
+        doThrow(new org.example.inventoryservice.exception.NotEnoughSeatsException("Seat 1 is not available"))
+                .when(seatStateStore).reserve(tripId, List.of(1));
+
+        assertThrows(org.example.inventoryservice.exception.NotEnoughSeatsException.class,
+                () -> inventoryService.reserveSeats(tripId, List.of(1)));
+        verifyNoInteractions(redisTemplate, expiryQueue);
+    }
+
+    @Test
+    void reserveSeats_whenReservationWriteFails_releasesHeldSeats() {
+        InMemorySeatStateStore store = inMemoryStore(2);
+        InventoryService service = inventoryServiceWith(store);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doThrow(new RedisConnectionFailureException("Redis is down"))
+                .when(valueOperations).set(anyString(), any(), anyLong(), any());
+
+        assertThrows(RedisConnectionFailureException.class, () -> service.reserveSeats(tripId, List.of(1, 2)));
+
+        assertEquals(Map.of(1, SeatStatus.AVAILABLE, 2, SeatStatus.AVAILABLE), store.snapshot(tripId));
+        verifyNoInteractions(expiryQueue);
+    }
+
+    @Test
+    void reserveAnySeats_whenExpiryScheduleFails_releasesHeldSeatsAndDropsReservation() {
+        InMemorySeatStateStore store = inMemoryStore(3);
+        InventoryService service = inventoryServiceWith(store);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doThrow(new RedisConnectionFailureException("Redis is down"))
+                .when(expiryQueue).schedule(any(), any());
+
+        assertThrows(RedisConnectionFailureException.class,
+                () -> service.reserveAnySeats(tripId, 2, SeatPreference.TOGETHER));
+
+        assertEquals(Map.of(1, SeatStatus.AVAILABLE, 2, SeatStatus.AVAILABLE, 3, SeatStatus.AVAILABLE),
+                store.snapshot(tripId));
+        verify(redisTemplate).delete(startsWith("reservation:"));
+    }
+
+    @Test
+    void seatStatuses_prefersStoreSnapshotOverTable() {
+        when(seatStateStore.snapshot(tripId)).thenReturn(Map.of(1, SeatStatus.RESERVED));
+
+        assertEquals(Map.of(1, SeatStatus.RESERVED), inventoryService.seatStatuses(tripId));
+        verifyNoInteractions(seatRepository);
+    }
+
+    @Test
+    void seatStatuses_withoutStoreSnapshot_readsTable() {
+        when(seatStateStore.snapshot(tripId)).thenReturn(Map.of());
+        when(seatRepository.findByTripId(tripId)).thenReturn(List.of(seat));
+
+        assertEquals(Map.of(1, SeatStatus.AVAILABLE), inventoryService.seatStatuses(tripId));
+    }
+
+    @Test
+    void reserveAnySeats_storesReservationWithSeatsPickedByStore() {
+        @SuppressWarnings("unchecked")
+        var valueOperations = (org.springframework.data.redis.core.ValueOperations<String, Object>)
+                mock(org.springframework.data.redis.core.ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(seatStateStore.reserveAny(tripId, 2, org.example.inventoryservice.model.SeatPreference.TOGETHER))
+                .thenReturn(List.of(7, 8));
+
+        var reservation = inventoryService.reserveAnySeats(
+                tripId, 2, org.example.inventoryservice.model.SeatPreference.TOGETHER);
+
+        assertEquals(List.of(7, 8), reservation.seatNumbers());
+        verify(valueOperations).set(eq("reservation:" + reservation.reservationId()), eq(reservation), eq(30L), any());
+        verify(expiryQueue).schedule(reservation.reservationId(), reservation.expiresAt());
+    }
+
+    @Test
+    void expireReservations_releasesSeatsPerTripAndPublishesEvents() {
+        @SuppressWarnings("unchecked")
+        var valueOperations = (org.springframework.data.redis.core.ValueOperations<String, Object>)
+                mock(org.springframework.data.redis.core.ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        var first = new org.example.inventoryservice.model.Reservation(UUID.randomUUID(), tripId, List.of(1), java.time.Instant.now());
+        var second = new org.example.inventoryservice.model.Reservation(UUID.randomUUID(), tripId, List.of(2, 3), java.time.Instant.now());
+        UUID unknown = UUID.randomUUID();
+        when(valueOperations.multiGet(anyList())).thenReturn(java.util.Arrays.asList(first, null, second));
+
+        inventoryService.expireReservations(List.of(first.reservationId(), unknown, second.reservationId()));
+
+        verify(seatStateStore).expire(tripId, List.of(1, 2, 3));
+        verify(kafkaTemplate).send(eq("reservation.expired"), eq(first.reservationId().toString()), any());
+        verify(kafkaTemplate).send(eq("reservation.expired"), eq(second.reservationId().toString()), any());
+        verifyNoMoreInteractions(kafkaTemplate);
+    }
+
+    private InMemorySeatStateStore inMemoryStore(int capacity) {
+        List<Seat> seats = new ArrayList<>();
+        for (int seatNumber = 1; seatNumber <= capacity; seatNumber++) {
+            Seat available = new Seat();
+            available.setTripId(tripId);
+            available.setSeatNumber(seatNumber);
+            available.setStatus(SeatStatus.AVAILABLE);
+            seats.add(available);
+        }
+        when(seatRepository.findByTripId(tripId)).thenReturn(seats);
+        return new InMemorySeatStateStore(new SeatStateEngine(seatRepository, mock(SeatStateLease.class)),
+                mock(SeatWriteBehindJournal.class), mock(ApplicationEventPublisher.class));
+    }
+
+    private InventoryService inventoryServiceWith(SeatStateStore store) {
+        InventoryService service = new InventoryService(
+                seatRepository, redisTemplate, kafkaTemplate, tripServiceClient, store, expiryQueue);
+        ReflectionTestUtils.setField(service, "dataPrefix", "reservation:");
+        ReflectionTestUtils.setField(service, "reservationTtlMinutes", 15L);
+        return service;
+    }
 }
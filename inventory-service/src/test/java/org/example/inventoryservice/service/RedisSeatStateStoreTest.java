@@ -0,0 +1,388 @@
+package org.example.inventoryservice.service;
+
+import com.redis.testcontainers.RedisContainer;
+import org.example.inventoryservice.exception.NotEnoughSeatsException;
+import org.example.inventoryservice.expiry.ReservationExpiryQueue;
+import org.example.inventoryservice.model.Reservation;
+import org.example.inventoryservice.model.Seat;
+import org.example.inventoryservice.model.SeatPreference;
+import org.example.inventoryservice.model.SeatStatus;
+import org.example.inventoryservice.repository.SeatRepository;
+import org.example.inventoryservice.seatmap.SeatPicker;
+import org.example.inventoryservice.seatmap.SeatWriteBehindJournal;
+import org.example.inventoryservice.seatmap.SeatsChangedEvent;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RedisSeatStateStoreTest {
+
+    private static final int CAPACITY = 10;
+    private static final Duration DATA_TTL = Duration.ofMinutes(30);
+
+    @Container
+    private static final RedisContainer redis = new RedisContainer(
+            DockerImageName.parse("redis:7.2.5-alpine")
+    );
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate stringRedisTemplate;
+    private static RedisTemplate<String, Object> redisTemplate;
+
+    private final SeatRepository seatRepository = mock(SeatRepository.class);
+    private final SeatWriteBehindJournal journal = mock(SeatWriteBehindJournal.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+
+    private ReservationExpiryQueue expiryQueue;
+    private RedisSeatStateStore store;
+    private UUID tripId;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+
+        expiryQueue = new ReservationExpiryQueue(stringRedisTemplate, "reservation:expiry:", 4, 0, 1, 100, 512, 5000,
+                30000, 1000, 30000);
+        store = new RedisSeatStateStore(stringRedisTemplate, redisTemplate, seatRepository, journal, expiryQueue, events);
+        ReflectionTestUtils.setField(store, "dataPrefix", "reservation:data:");
+        ReflectionTestUtils.setField(store, "seatsPrefix", "reservation:seats:");
+        ReflectionTestUtils.setField(store, "seatHashPrefix", "inventory:seats:");
+        ReflectionTestUtils.setField(store, "writeBehindEnabled", true);
+
+        tripId = UUID.randomUUID();
+        when(seatRepository.findByTripId(tripId)).thenReturn(seats(tripId, CAPACITY));
+    }
+
+    @Test
+    void reserve_unloadedTrip_loadsSeatsFromTableAndRetries() {
+        assertFalse(stringRedisTemplate.hasKey("inventory:seats:" + tripId));
+
+        Reservation reservation = reservation(List.of(1, 2));
+        store.reserve(reservation, DATA_TTL);
+
+        verify(seatRepository).findByTripId(tripId);
+        Map<Integer, SeatStatus> statuses = store.snapshot(tripId);
+        assertEquals(CAPACITY, statuses.size());
+        assertEquals(SeatStatus.RESERVED, statuses.get(1));
+        assertEquals(SeatStatus.RESERVED, statuses.get(2));
+        assertEquals(SeatStatus.AVAILABLE, statuses.get(3));
+        verify(journal).record(tripId, List.of(1, 2), SeatStatus.RESERVED);
+        verify(events).publishEvent(new SeatsChangedEvent(tripId, List.of(1, 2), SeatStatus.RESERVED));
+
+        store.reserve(reservation(List.of(3)), DATA_TTL);
+        verify(seatRepository, times(1)).findByTripId(tripId);
+    }
+
+    @Test
+    void reserve_tripWithoutSeats_isRejected() {
+        UUID unknownTrip = UUID.randomUUID();
+        when(seatRepository.findByTripId(unknownTrip)).thenReturn(List.of());
+
+        NotEnoughSeatsException exception = assertThrows(NotEnoughSeatsException.class,
+                () -> store.reserve(new Reservation(UUID.randomUUID(), unknownTrip, List.of(1), Instant.now()), DATA_TTL));
+
+        assertEquals("Some seats not found", exception.getMessage());
+        assertFalse(stringRedisTemplate.hasKey("inventory:seats:" + unknownTrip));
+    }
+
+    @Test
+    void reserve_unknownSeat_isRejected() {
+        NotEnoughSeatsException exception = assertThrows(NotEnoughSeatsException.class,
+                () -> store.reserve(reservation(List.of(1, CAPACITY + 1)), DATA_TTL));
+
+        assertEquals("Some seats not found", exception.getMessage());
+        assertEquals(SeatStatus.AVAILABLE, store.snapshot(tripId).get(1));
+    }
+
+    @Test
+    void reserve_conflict_reportsTakenSeatAndHoldsNothing() {
+        store.reserve(reservation(List.of(4, 5)), DATA_TTL);
+        Reservation conflicting = reservation(List.of(3, 5, 6));
+
+        NotEnoughSeatsException exception = assertThrows(NotEnoughSeatsException.class,
+                () -> store.reserve(conflicting, DATA_TTL));
+
+        assertEquals("Seat 5 is not available", exception.getMessage());
+        Map<Integer, SeatStatus> statuses = store.snapshot(tripId);
+        assertEquals(SeatStatus.AVAILABLE, statuses.get(3));
+        assertEquals(SeatStatus.AVAILABLE, statuses.get(6));
+        assertFalse(stringRedisTemplate.hasKey("reservation:data:" + conflicting.reservationId()));
+        assertFalse(stringRedisTemplate.hasKey("reservation:seats:" + conflicting.reservationId()));
+        assertNull(stringRedisTemplate.opsForZSet()
+                .score(expiryQueue.shardKey(conflicting.reservationId()), conflicting.reservationId().toString()));
+    }
+
+    @Test
+    void reserve_storesReservationAndPendingExpiry() {
+        Reservation reservation = reservation(List.of(7, 8));
+
+        store.reserve(reservation, DATA_TTL);
+
+        String id = reservation.reservationId().toString();
+        assertTrue(stringRedisTemplate.hasKey("reservation:data:" + id));
+        assertEquals(tripId + "|7,8", stringRedisTemplate.opsForValue().get("reservation:seats:" + id));
+        assertEquals((double) reservation.expiresAt().toEpochMilli(),
+                stringRedisTemplate.opsForZSet().score(expiryQueue.shardKey(reservation.reservationId()), id));
+        Long ttl = stringRedisTemplate.getExpire("reservation:seats:" + id);
+        assertTrue(ttl != null && ttl > 0 && ttl <= DATA_TTL.toSeconds());
+    }
+
+    @Test
+    void confirmReservation_sellsSeatsAndDropsReservation() {
+        Reservation reservation = reservation(List.of(1, 2));
+        store.reserve(reservation, DATA_TTL);
+
+        Optional<UUID> confirmed = store.confirmReservation(reservation.reservationId());
+
+        assertEquals(Optional.of(tripId), confirmed);
+        Map<Integer, SeatStatus> statuses = store.snapshot(tripId);
+        assertEquals(SeatStatus.SOLD, statuses.get(1));
+        assertEquals(SeatStatus.SOLD, statuses.get(2));
+        assertReservationGone(reservation);
+        verify(journal).record(tripId, List.of(1, 2), SeatStatus.SOLD);
+
+        assertEquals(Optional.empty(), store.confirmReservation(reservation.reservationId()));
+        assertEquals(Optional.empty(), store.releaseReservation(reservation.reservationId()));
+        assertEquals(SeatStatus.SOLD, store.snapshot(tripId).get(1));
+    }
+
+    @Test
+    void releaseReservation_freesReservedSeats() {
+        Reservation reservation = reservation(List.of(3, 4));
+        store.reserve(reservation, DATA_TTL);
+
+        assertEquals(Optional.of(tripId), store.releaseReservation(reservation.reservationId()));
+
+        Map<Integer, SeatStatus> statuses = store.snapshot(tripId);
+        assertEquals(SeatStatus.AVAILABLE, statuses.get(3));
+        assertEquals(SeatStatus.AVAILABLE, statuses.get(4));
+        assertReservationGone(reservation);
+        verify(journal).record(tripId, List.of(3, 4), SeatStatus.AVAILABLE);
+    }
+
+    @Test
+    void releaseReservation_leavesSeatsThatAreNoLongerReserved() {
+        Reservation reservation = reservation(List.of(3, 4));
+        store.reserve(reservation, DATA_TTL);
+        store.onTripStatusChanged(tripId, SeatStatus.CANCELLED);
+        clearInvocations(journal);
+
+        assertEquals(Optional.of(tripId), store.releaseReservation(reservation.reservationId()));
+
+        Map<Integer, SeatStatus> statuses = store.snapshot(tripId);
+        assertEquals(SeatStatus.CANCELLED, statuses.get(3));
+        assertEquals(SeatStatus.CANCELLED, statuses.get(4));
+        assertReservationGone(reservation);
+        verifyNoInteractions(journal);
+    }
+
+    @Test
+    void confirmReservation_hasNoStatusGuard() {
+        Reservation reservation = reservation(List.of(5));
+        store.reserve(reservation, DATA_TTL);
+        stringRedisTemplate.opsForHash().put("inventory:seats:" + tripId, "5", SeatStatus.AVAILABLE.name());
+
+        assertEquals(Optional.of(tripId), store.confirmReservation(reservation.reservationId()));
+
+        assertEquals(SeatStatus.SOLD, store.snapshot(tripId).get(5));
+    }
+
+    @Test
+    void expireReservation_returnsReservedSeatsOnce() {
+        Reservation reservation = reservation(List.of(9, 10));
+        store.reserve(reservation, DATA_TTL);
+
+        assertEquals(Optional.of(tripId), store.expireReservation(reservation.reservationId()));
+
+        Map<Integer, SeatStatus> statuses = store.snapshot(tripId);
+        assertEquals(SeatStatus.AVAILABLE, statuses.get(9));
+        assertEquals(SeatStatus.AVAILABLE, statuses.get(10));
+        assertReservationGone(reservation);
+        assertEquals(Optional.empty(), store.expireReservation(reservation.reservationId()));
+    }
+
+    @Test
+    void expireReservation_afterConfirm_isNoOp() {
+        Reservation reservation = reservation(List.of(9));
+        store.reserve(reservation, DATA_TTL);
+        store.confirmReservation(reservation.reservationId());
+
+        assertEquals(Optional.empty(), store.expireReservation(reservation.reservationId()));
+        assertEquals(SeatStatus.SOLD, store.snapshot(tripId).get(9));
+    }
+
+    @Test
+    void expire_returnsOnlyReservedSeats() {
+        store.reserve(reservation(List.of(1)), DATA_TTL);
+        Reservation sold = reservation(List.of(2));
+        store.reserve(sold, DATA_TTL);
+        store.confirmReservation(sold.reservationId());
+        clearInvocations(journal);
+
+        store.expire(tripId, List.of(1, 2, 3));
+
+        Map<Integer, SeatStatus> statuses = store.snapshot(tripId);
+        assertEquals(SeatStatus.AVAILABLE, statuses.get(1));
+        assertEquals(SeatStatus.SOLD, statuses.get(2));
+        assertEquals(SeatStatus.AVAILABLE, statuses.get(3));
+        verify(journal).record(tripId, List.of(1), SeatStatus.AVAILABLE);
+    }
+
+    @Test
+    void loadTrip_doesNotOverwriteTripLoadedElsewhere() {
+        store.reserve(reservation(List.of(1)), DATA_TTL);
+        List<Seat> stale = seats(tripId, CAPACITY);
+        stale.forEach(seat -> seat.setStatus(SeatStatus.SOLD));
+        when(seatRepository.findByTripId(tripId)).thenReturn(stale);
+
+        ReflectionTestUtils.invokeMethod(store, "loadTrip", tripId);
+
+        Map<Integer, SeatStatus> statuses = store.snapshot(tripId);
+        assertEquals(SeatStatus.RESERVED, statuses.get(1));
+        assertEquals(SeatStatus.AVAILABLE, statuses.get(2));
+    }
+
+    @Test
+    void reserveAny_together_picksSameSeatsAsSeatPicker() {
+        int[] free = {1, 2, 3, 4, 5, 8, 9, 12};
+
+        assertPicksLikeSeatPicker(free, 2, SeatPreference.TOGETHER, List.of(8, 9));
+        assertPicksLikeSeatPicker(free, 3, SeatPreference.TOGETHER, List.of(1, 2, 3));
+    }
+
+    @Test
+    void reserveAny_togetherWithoutBlock_picksSameSeatsAsSeatPicker() {
+        assertPicksLikeSeatPicker(new int[]{1, 5, 9, 10, 12, 20}, 3, SeatPreference.TOGETHER, List.of(9, 10, 12));
+    }
+
+    @Test
+    void reserveAny_any_picksSameSeatsAsSeatPicker() {
+        assertPicksLikeSeatPicker(new int[]{3, 7, 8, 9}, 2, SeatPreference.ANY, List.of(3, 7));
+    }
+
+    @Test
+    void reserveAny_notEnoughFreeSeats_isRejectedLikeSeatPicker() {
+        assertEquals(0, SeatPicker.pick(new int[]{1, 2}, 3, SeatPreference.TOGETHER).length);
+        assertEquals(0, SeatPicker.pick(new int[]{1, 2}, 0, SeatPreference.ANY).length);
+
+        UUID tooFew = tripWithFreeSeats(new int[]{1, 2});
+        NotEnoughSeatsException exception = assertThrows(NotEnoughSeatsException.class,
+                () -> store.reserveAny(tooFew, 3, SeatPreference.TOGETHER));
+        assertEquals("Only 2 seats are available", exception.getMessage());
+
+        UUID none = tripWithFreeSeats(new int[]{1, 2});
+        assertThrows(NotEnoughSeatsException.class, () -> store.reserveAny(none, 0, SeatPreference.ANY));
+        assertEquals(SeatStatus.AVAILABLE, store.snapshot(none).get(1));
+        assertEquals(SeatStatus.AVAILABLE, store.snapshot(none).get(2));
+    }
+
+    @Test
+    void reserveAnyForReservation_storesPickedSeatsAndPendingExpiry() {
+        Reservation reservation = new Reservation(
+                UUID.randomUUID(), tripWithFreeSeats(new int[]{1, 2, 3, 4, 5, 8, 9, 12}), List.of(),
+                Instant.now().plusSeconds(900));
+
+        Reservation held = store.reserveAny(reservation, 2, SeatPreference.TOGETHER, DATA_TTL);
+
+        assertEquals(List.of(8, 9), held.seatNumbers());
+        String id = reservation.reservationId().toString();
+        assertEquals(reservation.tripId() + "|8,9", stringRedisTemplate.opsForValue().get("reservation:seats:" + id));
+        assertEquals((double) reservation.expiresAt().toEpochMilli(),
+                stringRedisTemplate.opsForZSet().score(expiryQueue.shardKey(reservation.reservationId()), id));
+    }
+
+    private void assertPicksLikeSeatPicker(int[] free, int count, SeatPreference preference, List<Integer> expected) {
+        List<Integer> picked = store.reserveAny(tripWithFreeSeats(free), count, preference);
+
+        assertEquals(Arrays.stream(SeatPicker.pick(free, count, preference)).boxed().toList(), picked);
+        assertEquals(expected, picked);
+    }
+
+    /** A loaded trip of 20 seats where only {@code free} are AVAILABLE and the rest are SOLD. */
+    private static UUID tripWithFreeSeats(int[] free) {
+        UUID trip = UUID.randomUUID();
+        Set<Integer> available = Arrays.stream(free).boxed().collect(Collectors.toSet());
+        Map<String, String> statuses = new HashMap<>();
+        for (int seatNumber = 1; seatNumber <= 20; seatNumber++) {
+            SeatStatus status = available.contains(seatNumber) ? SeatStatus.AVAILABLE : SeatStatus.SOLD;
+            statuses.put(String.valueOf(seatNumber), status.name());
+        }
+        stringRedisTemplate.opsForHash().putAll("inventory:seats:" + trip, statuses);
+        return trip;
+    }
+
+    private void assertReservationGone(Reservation reservation) {
+        String id = reservation.reservationId().toString();
+        assertFalse(stringRedisTemplate.hasKey("reservation:data:" + id));
+        assertFalse(stringRedisTemplate.hasKey("reservation:seats:" + id));
+        assertNull(stringRedisTemplate.opsForZSet().score(expiryQueue.shardKey(reservation.reservationId()), id));
+    }
+
+    private Reservation reservation(List<Integer> seatNumbers) {
+        return new Reservation(UUID.randomUUID(), tripId, seatNumbers, Instant.now().plusSeconds(900));
+    }
+
+    static List<Seat> seats(UUID tripId, int capacity) {
+        List<Seat> seats = new ArrayList<>(capacity);
+        for (int seatNumber = 1; seatNumber <= capacity; seatNumber++) {
+            Seat seat = new Seat();
+            seat.setTripId(tripId);
+            seat.setSeatNumber(seatNumber);
+            seat.setStatus(SeatStatus.AVAILABLE);
+            seats.add(seat);
+        }
+        return seats;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.loadtest.infra.Infrastructure;
+import org.example.loadtest.infra.ServiceProcesses;
+import org.example.loadtest.report.LoadReport;
+import org.example.loadtest.scenario.BookingFlow;
+import org.example.loadtest.scenario.LoadGenerator;
+import org.example.loadtest.scenario.ServiceApi;
+import org.example.loadtest.scenario.TripCatalog;
+import org.example.loadtest.stub.FakeStripe;
+import org.example.loadtest.stub.TokenIssuer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * End-to-end load test of the booking saga: starts Postgres, Redis and Kafka in containers, a
+ * token issuer and a fake Stripe in-process, the services from their jars, seeds trips and then
+ * drives booking attempts at a fixed arrival rate. Prints per-step latency percentiles and
+ * outcome counts and writes them to the output directory.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(5);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (Infrastructure infrastructure = new Infrastructure();
+             TokenIssuer tokenIssuer = new TokenIssuer();
+             FakeStripe fakeStripe = new FakeStripe(URI.create(ServiceProcesses.PAYMENT_URL + "/payments/stripe"));
+             ServiceProcesses services = new ServiceProcesses();
+             ServiceApi api = new ServiceApi()) {
+            infrastructure.start();
+            services.start(options, infrastructure, tokenIssuer, fakeStripe);
+            services.awaitReady(STARTUP_TIMEOUT);
+
+            TripCatalog catalog = TripCatalog.seed(api, tokenIssuer.mint(UUID.randomUUID(), "ADMIN"), options.coldTrips());
+            List<String> userTokens = new ArrayList<>(options.users());
+            for (int i = 0; i < options.users(); i++) {
+                userTokens.add(tokenIssuer.mint(UUID.randomUUID(), "USER"));
+            }
+
+            LoadReport report = new LoadReport();
+            BookingFlow flow = new BookingFlow(options, api, fakeStripe, catalog, userTokens, report);
+            log.info("Running {}/s for {} after {} warm-up", options.rate(), options.duration(), options.warmup());
+            new LoadGenerator(options.rate(), options.warmup(), options.duration()).run(flow);
+
+            report.print(System.out, options.duration());
+            report.write(options.outputDir(), options.duration());
+            log.info("Histograms and summary written to {}", options.outputDir());
+        }
+    }
+}
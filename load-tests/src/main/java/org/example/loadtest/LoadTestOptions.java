@@ -0,0 +1,89 @@
+package org.example.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line of the load test, given as {@code --name=value}; every option has a default.
+ *
+ * @param rate                 booking attempts started per second (open model: independent of response times)
+ * @param duration             how long arrivals are generated after the warm-up
+ * @param warmup               arrivals before this are executed but not recorded
+ * @param hotShare             fraction of attempts that go to the single hot trip
+ * @param coldTrips            number of trips sharing the rest of the traffic
+ * @param seatsPerBooking      seats picked per attempt
+ * @param paymentFailureShare  fraction of checkouts that end with a failed payment instead of a successful one
+ * @param users                number of distinct users, each with its own token
+ * @param confirmationTimeout  how long to wait for the booking to reach its final status after the webhook
+ * @param projectDir           repository root, where the service jars are looked up under {@code <service>/target}
+ * @param outputDir            where histograms and the summary are written
+ * @param reservationMode      {@code reservation.mode} for inventory-service, or null for its default
+ * @param asyncBooking         run booking-service with {@code booking.async.enabled}, so the payment URL arrives on the event stream
+ */
+public record LoadTestOptions(
+        double rate,
+        Duration duration,
+        Duration warmup,
+        double hotShare,
+        int coldTrips,
+        int seatsPerBooking,
+        double paymentFailureShare,
+        int users,
+        Duration confirmationTimeout,
+        Path projectDir,
+        Path outputDir,
+        String reservationMode,
+        boolean asyncBooking
+) {
+
+    private static final Set<String> NAMES = Set.of(
+            "rate", "duration", "warmup", "hot-share", "cold-trips", "seats-per-booking",
+            "payment-failure-share", "users", "confirmation-timeout", "project-dir", "output-dir",
+            "reservation-mode", "async-booking");
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + NAMES);
+            }
+            values.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Double.parseDouble(values.getOrDefault("rate", "20")),
+                Duration.parse(values.getOrDefault("duration", "PT2M")),
+                Duration.parse(values.getOrDefault("warmup", "PT20S")),
+                Double.parseDouble(values.getOrDefault("hot-share", "0.3")),
+                Integer.parseInt(values.getOrDefault("cold-trips", "200")),
+                Integer.parseInt(values.getOrDefault("seats-per-booking", "1")),
+                Double.parseDouble(values.getOrDefault("payment-failure-share", "0.1")),
+                Integer.parseInt(values.getOrDefault("users", "500")),
+                Duration.parse(values.getOrDefault("confirmation-timeout", "PT30S")),
+                Path.of(values.getOrDefault("project-dir", "..")).toAbsolutePath().normalize(),
+                Path.of(values.getOrDefault("output-dir", "target/load-test")).toAbsolutePath().normalize(),
+                values.get("reservation-mode"),
+                Boolean.parseBoolean(values.getOrDefault("async-booking", "false")));
+        options.validate();
+        return options;
+    }
+
+    private void validate() {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (hotShare < 0 || hotShare > 1 || paymentFailureShare < 0 || paymentFailureShare > 1) {
+            throw new IllegalArgumentException("hot-share and payment-failure-share must be between 0 and 1");
+        }
+        if (coldTrips < 1 || users < 1 || seatsPerBooking < 1) {
+            throw new IllegalArgumentException("cold-trips, users and seats-per-booking must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.loadtest.infra;
+
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.kafka.ConfluentKafkaContainer;
+import org.testcontainers.lifecycle.Startables;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Postgres, Redis and Kafka for the services under test, started with Testcontainers.
+ * Each service gets its own database, as in {@code init.sql}.
+ */
+@Slf4j
+public class Infrastructure implements AutoCloseable {
+
+    public static final List<String> DATABASES =
+            List.of("trip_db", "inventory_db", "booking_db", "order_db", "payment_db");
+
+    private final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+    private final GenericContainer<?> redis = new GenericContainer<>("redis:7.2-alpine").withExposedPorts(6379);
+    private final ConfluentKafkaContainer kafka = new ConfluentKafkaContainer("confluentinc/cp-kafka:7.5.0");
+
+    public void start() {
+        log.info("Starting Postgres, Redis and Kafka containers");
+        Startables.deepStart(postgres, redis, kafka).join();
+        createDatabases();
+    }
+
+    public String jdbcUrl(String database) {
+        return "jdbc:postgresql://%s:%d/%s".formatted(
+                postgres.getHost(), postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), database);
+    }
+
+    public String databaseUser() {
+        return postgres.getUsername();
+    }
+
+    public String databasePassword() {
+        return postgres.getPassword();
+    }
+
+    public String redisHost() {
+        return redis.getHost();
+    }
+
+    public int redisPort() {
+        return redis.getMappedPort(6379);
+    }
+
+    public String kafkaBootstrapServers() {
+        return kafka.getBootstrapServers();
+    }
+
+    private void createDatabases() {
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            for (String database : DATABASES) {
+                statement.execute("CREATE DATABASE " + database);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to create service databases", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        kafka.stop();
+        redis.stop();
+        postgres.stop();
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.loadtest.infra;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.loadtest.LoadTestOptions;
+import org.example.loadtest.stub.FakeStripe;
+import org.example.loadtest.stub.TokenIssuer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs the services taking part in the booking saga as separate JVMs from their built jars,
+ * on their usual ports, wired to the containers and stand-ins. Output goes to one log file
+ * per service in the output directory.
+ */
+@Slf4j
+public class ServiceProcesses implements AutoCloseable {
+
+    public static final String TRIP_URL = "http://localhost:8085";
+    public static final String INVENTORY_URL = "http://localhost:8082";
+    public static final String ORDER_URL = "http://localhost:8083";
+    public static final String PAYMENT_URL = "http://localhost:8084";
+    public static final String BOOKING_URL = "http://localhost:8081";
+
+    private static final int INVENTORY_GRPC_PORT = 9090;
+    private static final int UNLIMITED_PER_MINUTE = 1_000_000;
+
+    private final List<Process> processes = new ArrayList<>();
+
+    public void start(LoadTestOptions options, Infrastructure infrastructure, TokenIssuer tokenIssuer,
+                      FakeStripe fakeStripe) throws IOException {
+        Path logDir = Files.createDirectories(options.outputDir().resolve("logs"));
+
+        List<String> common = List.of(
+                "--spring.datasource.username=" + infrastructure.databaseUser(),
+                "--spring.datasource.password=" + infrastructure.databasePassword(),
+                "--spring.kafka.bootstrap-servers=" + infrastructure.kafkaBootstrapServers(),
+                "--spring.data.redis.host=" + infrastructure.redisHost(),
+                "--spring.data.redis.port=" + infrastructure.redisPort(),
+                "--spring.jpa.show-sql=false",
+                "--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=" + tokenIssuer.jwkSetUri(),
+                "--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + tokenIssuer.issuer(),
+                "--trip.service.url=" + TRIP_URL,
+                "--order.service.url=" + ORDER_URL,
+                "--payment.service.url=" + PAYMENT_URL,
+                "--inventory.service.url=" + INVENTORY_URL,
+                "--inventory.grpc.host=localhost",
+                "--inventory.grpc.port=" + INVENTORY_GRPC_PORT);
+
+        List<String> inventory = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + infrastructure.jdbcUrl("inventory_db"),
+                "--grpc.server.port=" + INVENTORY_GRPC_PORT));
+        if (options.reservationMode() != null) {
+            inventory.add("--reservation.mode=" + options.reservationMode());
+        }
+
+        launch(options, logDir, "trip-service", common,
+                List.of("--spring.datasource.url=" + infrastructure.jdbcUrl("trip_db")));
+        launch(options, logDir, "inventory-service", common, inventory);
+        launch(options, logDir, "order-service", common,
+                List.of("--spring.datasource.url=" + infrastructure.jdbcUrl("order_db")));
+        launch(options, logDir, "payment-service", common, List.of(
+                "--spring.datasource.url=" + infrastructure.jdbcUrl("payment_db"),
+                "--stripe.secret-key=" + FakeStripe.SECRET_KEY,
+                "--stripe.webhook-secret=" + FakeStripe.WEBHOOK_SECRET,
+                "--stripe.api-base=" + fakeStripe.apiBase(),
+                "--payment.rate-limit.policies.payments-per-client.requests-per-minute=" + UNLIMITED_PER_MINUTE,
+                "--payment.rate-limit.policies.payments-per-user.requests-per-minute=" + UNLIMITED_PER_MINUTE,
+                "--payment.rate-limit.policies.stripe-webhook.requests-per-minute=" + UNLIMITED_PER_MINUTE));
+        launch(options, logDir, "booking-service", common, List.of(
+                "--spring.datasource.url=" + infrastructure.jdbcUrl("booking_db"),
+                "--booking.async.enabled=" + options.asyncBooking()));
+    }
+
+    /**
+     * Waits until every service answers HTTP; the web server only starts accepting once the
+     * application context is up.
+     */
+    public void awaitReady(Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (String url : List.of(TRIP_URL, INVENTORY_URL, ORDER_URL, PAYMENT_URL, BOOKING_URL)) {
+            while (!answers(client, url)) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Service at " + url + " did not start within " + timeout);
+                }
+                if (processes.stream().anyMatch(process -> !process.isAlive())) {
+                    throw new IllegalStateException("A service exited during startup, see the logs");
+                }
+                Thread.sleep(500);
+            }
+            log.info("{} is up", url);
+        }
+    }
+
+    private void launch(LoadTestOptions options, Path logDir, String service, List<String> common,
+                        List<String> specific) throws IOException {
+        Path jar = findJar(options.projectDir(), service);
+        List<String> command = new ArrayList<>(List.of("java", "-jar", jar.toString()));
+        command.addAll(common);
+        command.addAll(specific);
+
+        Path logFile = logDir.resolve(service + ".log");
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start());
+        log.info("Started {} from {}, log: {}", service, jar, logFile);
+    }
+
+    private static Path findJar(Path projectDir, String service) throws IOException {
+        Path target = projectDir.resolve(service).resolve("target");
+        if (!Files.isDirectory(target)) {
+            throw new IllegalStateException("No build output for " + service + " in " + target
+                    + "; build the services first");
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            return files
+                    .filter(path -> path.getFileName().toString().matches(service + "-.*(?<!-plain|-sources)\\.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar for " + service + " in " + target));
+        }
+    }
+
+    private static boolean answers(HttpClient client, String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+        try {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+            return true;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        processes.forEach(Process::destroy);
+        for (Process process : processes) {
+            try {
+                process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+}
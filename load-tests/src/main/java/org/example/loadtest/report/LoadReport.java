@@ -0,0 +1,103 @@
+package org.example.loadtest.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per {@link Step} (microseconds, 3 significant digits, up to 10 minutes)
+ * and counters of how attempts ended.
+ */
+public class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Step, Histogram> histograms = new EnumMap<>(Step.class);
+    private final ConcurrentMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    public LoadReport() {
+        for (Step step : Step.values()) {
+            histograms.put(step, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+        }
+    }
+
+    public void record(Step step, long startNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        histograms.get(step).recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    public void outcome(String outcome) {
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    public void print(PrintStream out, Duration measured) {
+        out.printf("%n%-16s %9s %10s %10s %10s %10s %10s%n", "step (ms)", "count", "p50", "p90", "p99", "p99.9", "max");
+        histograms.forEach((step, histogram) -> out.printf("%-16s %9d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                step.label(),
+                histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+
+        out.printf("%nOutcomes over %ds:%n", measured.toSeconds());
+        new TreeMap<>(outcomes).forEach((outcome, count) -> out.printf("  %-36s %9d  (%.1f/s)%n",
+                outcome, count.sum(), count.sum() / (double) Math.max(1, measured.toSeconds())));
+    }
+
+    /**
+     * Writes one {@code .hgrm} percentile distribution per step (values in milliseconds) and a
+     * {@code summary.json} with percentiles and outcomes, for comparing runs.
+     */
+    public void write(Path outputDir, Duration measured) throws IOException {
+        Files.createDirectories(outputDir);
+        Map<String, Object> steps = new LinkedHashMap<>();
+        for (Map.Entry<Step, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(outputDir.resolve(entry.getKey().label() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", histogram.getTotalCount());
+            summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            summary.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+            summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            summary.put("maxMs", millis(histogram.getMaxValue()));
+            steps.put(entry.getKey().label(), summary);
+        }
+
+        Map<String, Long> outcomeCounts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> outcomeCounts.put(outcome, count.sum()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("measuredSeconds", measured.toSeconds());
+        report.put("steps", steps);
+        report.put("outcomes", outcomeCounts);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(outputDir.resolve("summary.json").toFile(), report);
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
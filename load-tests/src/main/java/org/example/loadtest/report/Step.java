@@ -0,0 +1,32 @@
+package org.example.loadtest.report;
+
+/**
+ * Timed parts of one booking attempt.
+ */
+public enum Step {
+
+    /** {@code GET /inventory/trips/{id}/seats} to pick free seats. */
+    SEAT_SELECTION("seat-selection"),
+
+    /** {@code POST /booking}: trip lookup, seat hold, order and checkout session. */
+    BOOKING("booking"),
+
+    /** Delivery of the Stripe webhook to payment-service until it answered. */
+    PAYMENT_WEBHOOK("payment-webhook"),
+
+    /** Saga completion lag: webhook acknowledged until the booking stream reports the final status. */
+    CONFIRMATION("confirmation"),
+
+    /** Scheduled arrival until the booking was confirmed, including any client-side queueing. */
+    END_TO_END("end-to-end");
+
+    private final String label;
+
+    Step(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
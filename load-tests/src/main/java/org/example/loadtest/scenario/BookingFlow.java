@@ -0,0 +1,166 @@
+package org.example.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.loadtest.LoadTestOptions;
+import org.example.loadtest.infra.ServiceProcesses;
+import org.example.loadtest.report.LoadReport;
+import org.example.loadtest.report.Step;
+import org.example.loadtest.stub.FakeStripe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One user's booking attempt, the way the frontend drives the saga: look at the seat map, book
+ * free seats, follow the booking's event stream, pay at the checkout page and wait for the
+ * booking to be confirmed or cancelled.
+ */
+public class BookingFlow {
+
+    private static final String BOOKING_URL = ServiceProcesses.BOOKING_URL + "/booking";
+    private static final Set<String> PAYABLE = Set.of("WAITING_PAYMENT", "CANCELLED");
+    private static final Set<String> FINAL = Set.of("CONFIRMED", "CANCELLED");
+
+    private final LoadTestOptions options;
+    private final ServiceApi api;
+    private final FakeStripe fakeStripe;
+    private final TripCatalog catalog;
+    private final List<String> userTokens;
+    private final LoadReport report;
+
+    public BookingFlow(LoadTestOptions options, ServiceApi api, FakeStripe fakeStripe, TripCatalog catalog,
+                       List<String> userTokens, LoadReport report) {
+        this.options = options;
+        this.api = api;
+        this.fakeStripe = fakeStripe;
+        this.catalog = catalog;
+        this.userTokens = userTokens;
+        this.report = report;
+    }
+
+    /**
+     * @param intendedStartNanos when the arrival was scheduled, so end-to-end latency includes
+     *                           any delay in starting it
+     * @param record             whether timings and outcomes count, false during the warm-up
+     */
+    public void run(long intendedStartNanos, boolean record) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean hot = random.nextDouble() < options.hotShare();
+        String trip = hot ? "hot" : "cold";
+        UUID tripId = hot ? catalog.hotTrip() : catalog.randomColdTrip();
+        String token = userTokens.get(random.nextInt(userTokens.size()));
+        Attempt attempt = new Attempt(record);
+
+        try {
+            long start = System.nanoTime();
+            ServiceApi.Response seats = api.get(TripCatalog.seatsUrl(tripId), token);
+            if (!seats.ok()) {
+                attempt.outcome(trip + ".seat-selection-failed-" + seats.status());
+                return;
+            }
+            attempt.record(Step.SEAT_SELECTION, start);
+            List<Integer> seatNumbers = pickAvailable(seats.body(), options.seatsPerBooking());
+            if (seatNumbers.isEmpty()) {
+                attempt.outcome(trip + ".sold-out");
+                return;
+            }
+
+            start = System.nanoTime();
+            ServiceApi.Response booking = api.post(BOOKING_URL, token, Map.of(
+                    "tripId", tripId,
+                    "seatsCount", seatNumbers.size(),
+                    "seatNumbers", seatNumbers));
+            if (!booking.ok()) {
+                attempt.outcome(trip + ".booking-rejected-" + booking.status());
+                return;
+            }
+
+            String paymentUrl = booking.body().path("paymentUrl").asText(null);
+            if (paymentUrl != null) {
+                attempt.record(Step.BOOKING, start);
+            }
+
+            String bookingId = booking.body().path("bookingId").asText();
+            try (ServiceApi.EventStream events = api.follow(BOOKING_URL + "/" + bookingId + "/events", token)) {
+                if (paymentUrl == null) {
+                    // Async booking: the saga runs after the 202, the checkout link comes with the event.
+                    Optional<ServiceApi.Event> payable = events.await(PAYABLE, options.confirmationTimeout());
+                    if (payable.isEmpty() || payable.get().name().equals("CANCELLED")) {
+                        attempt.outcome(trip + (payable.isEmpty() ? ".booking-timeout" : ".booking-cancelled"));
+                        return;
+                    }
+                    paymentUrl = payable.get().data().path("paymentUrl").asText();
+                    attempt.record(Step.BOOKING, start);
+                }
+
+                boolean pays = random.nextDouble() >= options.paymentFailureShare();
+                start = System.nanoTime();
+                int webhookStatus = fakeStripe.completeCheckout(paymentUrl, pays);
+                if (webhookStatus < 200 || webhookStatus >= 300) {
+                    attempt.outcome(trip + ".webhook-rejected-" + webhookStatus);
+                    return;
+                }
+                attempt.record(Step.PAYMENT_WEBHOOK, start);
+
+                start = System.nanoTime();
+                Optional<ServiceApi.Event> result = events.await(FINAL, options.confirmationTimeout());
+                if (result.isEmpty()) {
+                    attempt.outcome(trip + ".confirmation-timeout");
+                    return;
+                }
+                attempt.record(Step.CONFIRMATION, start);
+                if (result.get().name().equals("CONFIRMED")) {
+                    attempt.record(Step.END_TO_END, intendedStartNanos);
+                    attempt.outcome(trip + (pays ? ".confirmed" : ".confirmed-unpaid"));
+                } else {
+                    attempt.outcome(trip + (pays ? ".cancelled-paid" : ".payment-failed"));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            attempt.outcome("error:" + e.getClass().getSimpleName());
+        }
+    }
+
+    private static List<Integer> pickAvailable(JsonNode seats, int count) {
+        List<Integer> available = new ArrayList<>();
+        for (JsonNode seat : seats) {
+            if ("AVAILABLE".equals(seat.path("status").asText())) {
+                available.add(seat.path("seatNumber").asInt());
+            }
+        }
+        if (available.size() < count) {
+            return List.of();
+        }
+        Collections.shuffle(available, ThreadLocalRandom.current());
+        return List.copyOf(available.subList(0, count));
+    }
+
+    private final class Attempt {
+
+        private final boolean record;
+
+        private Attempt(boolean record) {
+            this.record = record;
+        }
+
+        void record(Step step, long startNanos) {
+            if (record) {
+                report.record(step, startNanos);
+            }
+        }
+
+        void outcome(String outcome) {
+            if (record) {
+                report.outcome(outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.loadtest.scenario;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: attempts arrive as a Poisson process at a fixed rate whether or not earlier
+ * ones have finished, each on its own virtual thread. A slow system therefore builds up
+ * in-flight attempts instead of quietly lowering the offered load, and latency is measured from
+ * the scheduled arrival rather than from when a thread got around to it.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private final double ratePerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+
+    public LoadGenerator(double ratePerSecond, Duration warmup, Duration duration) {
+        this.ratePerSecond = ratePerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    /**
+     * Generates arrivals for the warm-up and the measured duration, then waits for the attempts
+     * still in flight.
+     */
+    public void run(BookingFlow flow) {
+        AtomicInteger inFlight = new AtomicInteger();
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + warmup.toNanos();
+        long endNanos = measureFromNanos + duration.toNanos();
+        long nextArrival = startNanos;
+        long arrivals = 0;
+        long lastProgress = startNanos;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (nextArrival < endNanos) {
+                long wait = nextArrival - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    continue;
+                }
+                long intendedStart = nextArrival;
+                boolean record = intendedStart >= measureFromNanos;
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        flow.run(intendedStart, record);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+                arrivals++;
+                nextArrival += interArrivalNanos();
+
+                if (intendedStart - lastProgress >= Duration.ofSeconds(10).toNanos()) {
+                    lastProgress = intendedStart;
+                    log.info("{}s: {} arrivals, {} in flight{}",
+                            Duration.ofNanos(intendedStart - startNanos).toSeconds(), arrivals, inFlight.get(),
+                            record ? "" : " (warm-up)");
+                }
+            }
+            log.info("Arrivals done ({}), waiting for {} attempts in flight", arrivals, inFlight.get());
+        }
+    }
+
+    private long interArrivalNanos() {
+        double uniform = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return (long) (-Math.log(uniform) / ratePerSecond * 1_000_000_000L);
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * JSON over HTTP against the services, authenticated with a bearer token. Requests block the
+ * calling thread, which is meant to be virtual.
+ */
+public class ServiceApi implements AutoCloseable {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor();
+
+    public Response get(String url, String token) throws IOException, InterruptedException {
+        return send(request(url, token).GET().build());
+    }
+
+    public Response post(String url, String token, Object body) throws IOException, InterruptedException {
+        return send(request(url, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build());
+    }
+
+    /**
+     * Opens a server-sent event stream; the subscription is in place once this returns.
+     */
+    public EventStream follow(String url, String token) throws IOException, InterruptedException {
+        HttpResponse<Stream<String>> response = httpClient.send(
+                request(url, token).header("Accept", "text/event-stream").GET().build(),
+                HttpResponse.BodyHandlers.ofLines());
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("Event stream " + url + " answered " + response.statusCode());
+        }
+        return new EventStream(response.body());
+    }
+
+    private HttpRequest.Builder request(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private Response send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        JsonNode body = null;
+        if (response.body().length > 0 && response.headers().firstValue("Content-Type")
+                .filter(type -> type.contains("json")).isPresent()) {
+            body = objectMapper.readTree(response.body());
+        }
+        return new Response(response.statusCode(), body);
+    }
+
+    @Override
+    public void close() {
+        watchdog.shutdownNow();
+        httpClient.close();
+    }
+
+    public record Response(int status, JsonNode body) {
+
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    public record Event(String name, JsonNode data) {
+    }
+
+    public final class EventStream implements AutoCloseable {
+
+        private final Stream<String> lines;
+
+        private EventStream(Stream<String> lines) {
+            this.lines = lines;
+        }
+
+        /**
+         * Waits for an event named like one of {@code names}.
+         *
+         * @return the event, or empty if the stream ended or {@code timeout} passed first
+         */
+        public Optional<Event> await(Set<String> names, Duration timeout) {
+            ScheduledFuture<?> deadline = watchdog.schedule(lines::close, timeout.toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                Iterator<String> iterator = lines.iterator();
+                String name = null;
+                StringBuilder data = new StringBuilder();
+                while (iterator.hasNext()) {
+                    String line = iterator.next();
+                    if (line.startsWith("event:")) {
+                        name = line.substring("event:".length()).trim();
+                    } else if (line.startsWith("data:")) {
+                        data.append(line.substring("data:".length()));
+                    } else if (line.isEmpty()) {
+                        if (name != null && names.contains(name)) {
+                            return Optional.of(new Event(name, data.isEmpty() ? null : objectMapper.readTree(data.toString())));
+                        }
+                        name = null;
+                        data.setLength(0);
+                    }
+                }
+                return Optional.empty();
+            } catch (IOException | UncheckedIOException | IllegalStateException e) {
+                return Optional.empty();
+            } finally {
+                deadline.cancel(false);
+            }
+        }
+
+        @Override
+        public void close() {
+            lines.close();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.loadtest.scenario;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.loadtest.infra.ServiceProcesses;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Trips the load runs against: one hot trip that a large share of users compete for, and many
+ * cold trips spread over a handful of routes and the coming days. Seats of every trip are
+ * created up front, so the first booking of a trip does not pay for it.
+ */
+@Slf4j
+public class TripCatalog {
+
+    private static final int ROUTES = 20;
+    private static final String BUS_TYPE = "BUS_50";
+
+    private final UUID hotTrip;
+    private final List<UUID> coldTrips;
+
+    private TripCatalog(UUID hotTrip, List<UUID> coldTrips) {
+        this.hotTrip = hotTrip;
+        this.coldTrips = coldTrips;
+    }
+
+    public static TripCatalog seed(ServiceApi api, String adminToken, int coldTripCount)
+            throws IOException, InterruptedException {
+        List<UUID> routes = new ArrayList<>(ROUTES);
+        for (int i = 0; i < ROUTES; i++) {
+            routes.add(id(api.post(ServiceProcesses.TRIP_URL + "/routes", adminToken,
+                    Map.of("fromCity", "Load City " + i, "toCity", "Load City " + (i + 1)))));
+        }
+
+        LocalDateTime firstDeparture = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.HOURS);
+        UUID hotTrip = createTrip(api, adminToken, routes.get(0), firstDeparture);
+        List<UUID> coldTrips = new ArrayList<>(coldTripCount);
+        for (int i = 0; i < coldTripCount; i++) {
+            coldTrips.add(createTrip(api, adminToken, routes.get(i % ROUTES), firstDeparture.plusHours(1 + i / ROUTES)));
+        }
+
+        for (UUID trip : coldTrips) {
+            api.get(seatsUrl(trip), adminToken);
+        }
+        api.get(seatsUrl(hotTrip), adminToken);
+        log.info("Seeded {} routes, 1 hot and {} cold trips", ROUTES, coldTripCount);
+        return new TripCatalog(hotTrip, List.copyOf(coldTrips));
+    }
+
+    public UUID hotTrip() {
+        return hotTrip;
+    }
+
+    public UUID randomColdTrip() {
+        return coldTrips.get(ThreadLocalRandom.current().nextInt(coldTrips.size()));
+    }
+
+    static String seatsUrl(UUID tripId) {
+        return ServiceProcesses.INVENTORY_URL + "/inventory/trips/" + tripId + "/seats";
+    }
+
+    private static UUID createTrip(ServiceApi api, String adminToken, UUID routeId, LocalDateTime departure)
+            throws IOException, InterruptedException {
+        return id(api.post(ServiceProcesses.TRIP_URL + "/trips", adminToken, Map.of(
+                "routeId", routeId,
+                "departureTime", departure,
+                "arrivalTime", departure.plusHours(5),
+                "price", new BigDecimal("25.00"),
+                "busType", BUS_TYPE)));
+    }
+
+    private static UUID id(ServiceApi.Response response) {
+        if (!response.ok() || response.body() == null) {
+            throw new IllegalStateException("Seeding failed with status " + response.status());
+        }
+        return UUID.fromString(response.body().path("id").asText());
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.loadtest.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.Stripe;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded stand-in for the part of the Stripe API payment-service uses.
+ * <p>
+ * {@code POST /v1/checkout/sessions} answers like Stripe's {@code Session.create}, with a
+ * checkout URL and payment intent per session. Completing a checkout plays the customer and
+ * Stripe together: {@link #completeCheckout} posts a {@code payment_intent.succeeded} or
+ * {@code payment_intent.payment_failed} event to the payment webhook, signed with the
+ * webhook secret the way {@code Webhook.constructEvent} verifies it. Events carry the API
+ * version of the bundled stripe-java, so payment-service can deserialize the intent.
+ */
+@Slf4j
+public class FakeStripe implements AutoCloseable {
+
+    public static final String SECRET_KEY = "sk_test_load_test";
+    public static final String WEBHOOK_SECRET = "whsec_load_test";
+
+    private static final String SESSIONS_PATH = "/v1/checkout/sessions";
+    private static final String CHECKOUT_PATH = "/c/pay/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ConcurrentMap<String, CheckoutSession> sessionsByUrl = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final URI webhookUri;
+
+    public FakeStripe(URI webhookUri) throws IOException {
+        this.webhookUri = webhookUri;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(SESSIONS_PATH, this::createSession);
+        server.start();
+    }
+
+    /**
+     * Value for {@code stripe.api-base} in payment-service.
+     */
+    public String apiBase() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Finishes the checkout behind {@code paymentUrl} and delivers the resulting webhook.
+     *
+     * @return HTTP status payment-service answered the webhook with
+     */
+    public int completeCheckout(String paymentUrl, boolean succeeded) throws IOException, InterruptedException {
+        CheckoutSession session = sessionsByUrl.remove(paymentUrl);
+        if (session == null) {
+            throw new IllegalArgumentException("Unknown checkout URL: " + paymentUrl);
+        }
+        String type = succeeded ? "payment_intent.succeeded" : "payment_intent.payment_failed";
+        String payload = objectMapper.writeValueAsString(event(type, session, succeeded));
+
+        HttpRequest request = HttpRequest.newBuilder(webhookUri)
+                .header("Content-Type", "application/json")
+                .header("Stripe-Signature", sign(payload))
+                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void createSession(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            String sessionId = "cs_test_" + compactId();
+            CheckoutSession session = new CheckoutSession(
+                    sessionId,
+                    "pi_" + compactId(),
+                    apiBase() + CHECKOUT_PATH + sessionId,
+                    Long.parseLong(form.getOrDefault("line_items[0][price_data][unit_amount]", "0")),
+                    form.getOrDefault("line_items[0][price_data][currency]", "usd"),
+                    form.get("metadata[orderId]"));
+            sessionsByUrl.put(session.url(), session);
+
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("id", session.id());
+            body.put("object", "checkout.session");
+            body.put("mode", "payment");
+            body.put("status", "open");
+            body.put("payment_status", "unpaid");
+            body.put("url", session.url());
+            body.put("payment_intent", session.paymentIntentId());
+            body.put("amount_total", session.amount());
+            body.put("currency", session.currency());
+            body.put("metadata", Map.of("orderId", String.valueOf(session.orderId())));
+            body.put("livemode", false);
+            byte[] json = objectMapper.writeValueAsBytes(body);
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Request-Id", "req_" + compactId());
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Fake Stripe failed to create a session", e);
+        }
+    }
+
+    private static Map<String, Object> event(String type, CheckoutSession session, boolean succeeded) {
+        Map<String, Object> intent = new LinkedHashMap<>();
+        intent.put("id", session.paymentIntentId());
+        intent.put("object", "payment_intent");
+        intent.put("amount", session.amount());
+        intent.put("currency", session.currency());
+        intent.put("status", succeeded ? "succeeded" : "requires_payment_method");
+        intent.put("metadata", Map.of("orderId", String.valueOf(session.orderId())));
+        intent.put("livemode", false);
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("id", "evt_" + compactId());
+        event.put("object", "event");
+        event.put("api_version", Stripe.API_VERSION);
+        event.put("created", Instant.now().getEpochSecond());
+        event.put("type", type);
+        event.put("livemode", false);
+        event.put("pending_webhooks", 1);
+        event.put("data", Map.of("object", intent));
+        return event;
+    }
+
+    private static String sign(String payload) {
+        long timestamp = Instant.now().getEpochSecond();
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(WEBHOOK_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] signature = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+            return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign webhook", e);
+        }
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static String compactId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        httpClient.close();
+    }
+
+    private record CheckoutSession(String id, String paymentIntentId, String url, long amount, String currency,
+                                   String orderId) {}
+}
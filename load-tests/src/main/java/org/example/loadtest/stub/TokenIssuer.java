@@ -0,0 +1,94 @@
+package org.example.loadtest.stub;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Stand-in for Keycloak: mints RS256 access tokens and serves the matching JWK set, so the
+ * services validate tokens exactly as they do in production, only against a local issuer.
+ * Roles are put both in Keycloak's nested {@code realm_access.roles} and under the flat
+ * claim name the services' authorities converter reads.
+ */
+public class TokenIssuer implements AutoCloseable {
+
+    private static final String REALM_PATH = "/realms/load-test";
+    private static final String JWKS_PATH = REALM_PATH + "/protocol/openid-connect/certs";
+    private static final Duration TOKEN_TTL = Duration.ofHours(12);
+
+    private final RSAKey signingKey;
+    private final HttpServer server;
+
+    public TokenIssuer() throws IOException {
+        try {
+            signingKey = new RSAKeyGenerator(2048).keyID("load-test").generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to generate signing key", e);
+        }
+        byte[] jwks = new JWKSet(signingKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(JWKS_PATH, exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(jwks);
+            }
+        });
+        server.start();
+    }
+
+    public String issuer() {
+        return "http://localhost:" + server.getAddress().getPort() + REALM_PATH;
+    }
+
+    public String jwkSetUri() {
+        return "http://localhost:" + server.getAddress().getPort() + JWKS_PATH;
+    }
+
+    public String mint(UUID userId, String... roles) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer())
+                .subject(userId.toString())
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(TOKEN_TTL)))
+                .claim("preferred_username", "load-" + userId)
+                .claim("realm_access", Map.of("roles", List.of(roles)))
+                .claim("realm_access.roles", List.of(roles))
+                .build();
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        try {
+            jwt.sign(new RSASSASigner(signingKey));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to sign token", e);
+        }
+        return jwt.serialize();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.orderservice.config;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+@Configuration
+public class KafkaConfig {
+
+    public static final String PAYMENT_LISTENER_FACTORY = "paymentListenerContainerFactory";
+
+    /**
+     * Container factory of the {@code payment.succeeded} listener. A failed batch is redelivered
+     * with a growing pause instead of ten immediate attempts, so a batch that hit a short
+     * inventory outage still gets its orders confirmed before the reservations expire. Once
+     * {@code max-elapsed-ms} has passed, the batch goes to {@code payment-dlt-topic} rather than
+     * being skipped, so a paid order is never dropped silently; replaying it is safe because
+     * orders that are no longer PENDING are skipped. Other listeners keep the default handling.
+     */
+    @Bean(PAYMENT_LISTENER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> paymentListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            KafkaTemplate<?, ?> kafkaTemplate,
+            @Value("${order.kafka.payment-dlt-topic:payment.succeeded.DLT}") String dltTopic,
+            @Value("${order.kafka.redelivery.initial-interval-ms:500}") long initialIntervalMs,
+            @Value("${order.kafka.redelivery.max-interval-ms:10000}") long maxIntervalMs,
+            @Value("${order.kafka.redelivery.max-elapsed-ms:120000}") long maxElapsedMs) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+
+        ExponentialBackOff backOff = new ExponentialBackOff(initialIntervalMs, 2.0);
+        backOff.setMaxInterval(maxIntervalMs);
+        backOff.setMaxElapsedTime(maxElapsedMs);
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, ex) -> new TopicPartition(dltTopic, -1));
+        factory.setCommonErrorHandler(new DefaultErrorHandler(recoverer, backOff));
+        return factory;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.orderservice.config;
+
+import org.example.kafka.event.EventType;
+import org.example.kafka.event.OrderCancelledEvent;
+import org.example.kafka.event.OrderConfirmedEvent;
+import org.example.kafka.event.OrderCreatedEvent;
+import org.example.outbox.OutboxEventRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public OutboxEventRegistry outboxEventRegistry() {
+        return OutboxEventRegistry.builder()
+                .register(EventType.ORDER_CREATED, OrderCreatedEvent.class, "order.created",
+                        event -> event.orderId().toString())
+                .register(EventType.ORDER_CONFIRMED, OrderConfirmedEvent.class, "order.confirmed",
+                        event -> event.orderId().toString())
+                .register(EventType.ORDER_CANCELLED, OrderCancelledEvent.class, "order.cancelled",
+                        event -> event.orderId().toString())
+                .build();
+    }
+}
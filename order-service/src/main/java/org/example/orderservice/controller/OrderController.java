@@ -8,6 +8,7 @@ import org.example.orderservice.dto.OrderResponse;
 import org.example.orderservice.model.OrderStatus;
 import org.example.orderservice.service.OrderService;
 import org.example.orderservice.util.SecurityUtils;
+import org.example.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -46,6 +47,17 @@ public class OrderController implements OrderControllerDocs {
         return ResponseEntity.ok(orderService.getAllOrders(currentUserId, null, null, pageable));
     }
 
+    @Override
+    @GetMapping("/me/scroll")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<OrderResponse>> scrollMyOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        UUID currentUserId = SecurityUtils.currentUserId();
+        return ResponseEntity.ok(orderService.scrollOrders(currentUserId, null, null, cursor, size, false));
+    }
+
     @Override
     @GetMapping
     public ResponseEntity<Page<OrderResponse>> getAllOrders(
@@ -61,6 +73,23 @@ public class OrderController implements OrderControllerDocs {
         return ResponseEntity.ok(orderService.getAllOrders(effectiveUserId, tripId, status, pageable));
     }
 
+    @Override
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<OrderResponse>> scrollOrders(
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) UUID tripId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        UUID effectiveUserId = userId;
+        if (!SecurityUtils.hasRole("ADMIN")) {
+            effectiveUserId = SecurityUtils.currentUserId();
+        }
+        return ResponseEntity.ok(orderService.scrollOrders(effectiveUserId, tripId, status, cursor, size, includeTotal));
+    }
+
     @Override
     @PutMapping("/{orderId}/confirm")
     public ResponseEntity<Void> confirmOrder(@PathVariable UUID orderId) {
@@ -10,6 +10,7 @@ import jakarta.validation.Valid;
 import org.example.orderservice.dto.CreateOrderRequest;
 import org.example.orderservice.dto.OrderResponse;
 import org.example.orderservice.model.OrderStatus;
+import org.example.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -52,6 +53,30 @@ public interface OrderControllerDocs {
             Pageable pageable
     );
 
+    @Operation(summary = "Scroll my orders", description = "Retrieves the current user's orders newest first using keyset pagination. Pass nextCursor from the previous response to get the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of current user's orders"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    ResponseEntity<CursorPage<OrderResponse>> scrollMyOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    );
+
+    @Operation(summary = "Scroll orders", description = "Retrieves orders newest first using keyset pagination, so deep pages cost the same as the first one. The total count is only computed when includeTotal is set. Non-admin users only see their own orders.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    ResponseEntity<CursorPage<OrderResponse>> scrollOrders(
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) UUID tripId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    );
+
     @Operation(summary = "Confirm order", description = "Marks an order as confirmed (PAID).")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Order confirmed successfully"),
@@ -1,6 +1,7 @@
 package org.example.orderservice.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.pagination.InvalidCursorException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -14,4 +15,10 @@ public class GlobalExceptionHandler {
         log.warn("Order not found: {}", ex.getMessage());
         return ResponseEntity.notFound().build();
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Void> handleInvalidCursor(InvalidCursorException ex) {
+        log.warn("Invalid cursor: {}", ex.getMessage());
+        return ResponseEntity.badRequest().build();
+    }
 }
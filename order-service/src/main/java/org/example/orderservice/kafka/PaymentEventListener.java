@@ -4,10 +4,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.kafka.event.PaymentFailedEvent;
 import org.example.kafka.event.PaymentSucceededEvent;
+import org.example.orderservice.config.KafkaConfig;
+import org.example.orderservice.exception.RetryableInventoryException;
 import org.example.orderservice.service.OrderService;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.UUID;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -15,10 +20,23 @@ public class PaymentEventListener {
 
     private final OrderService orderService;
 
-    @KafkaListener(topics = "payment.succeeded")
-    public void onPaymentSucceeded(PaymentSucceededEvent event) {
-        log.info("Received payment succeeded event: orderId={}", event.orderId());
-        orderService.handlePaymentSucceeded(event);
+    @KafkaListener(
+            topics = "payment.succeeded",
+            containerFactory = KafkaConfig.PAYMENT_LISTENER_FACTORY,
+            batch = "true",
+            properties = "max.poll.records=${order.payment.confirm-batch-size:500}"
+    )
+    public void onPaymentSucceeded(List<PaymentSucceededEvent> events) {
+        log.info("Received {} payment succeeded events", events.size());
+        List<UUID> retry = orderService.applyPaymentsSucceeded(events.stream()
+                .map(PaymentSucceededEvent::orderId)
+                .distinct()
+                .toList());
+        if (!retry.isEmpty()) {
+            // the confirmed orders are committed and skipped on redelivery
+            throw new RetryableInventoryException(
+                    "Reservations of " + retry.size() + " orders could not be confirmed: " + retry);
+        }
     }
 
     @KafkaListener(topics = "payment.failed")
@@ -17,5 +17,6 @@ public interface OrderMapper {
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "rollupSnapshot", ignore = true)
     Order toEntity(CreateOrderRequest request);
 }
@@ -6,22 +6,26 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.example.rollup.RollupEntry;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(OrderRollupListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Table(name = "orders", indexes = {
-    @Index(name = "idx_order_user", columnList = "user_id"),
-    @Index(name = "idx_order_trip", columnList = "trip_id"),
+    @Index(name = "idx_order_created_id", columnList = "created_at DESC, id DESC"),
+    @Index(name = "idx_order_user_created_id", columnList = "user_id, created_at DESC, id DESC"),
+    @Index(name = "idx_order_trip_created_id", columnList = "trip_id, created_at DESC, id DESC"),
     @Index(name = "idx_order_status", columnList = "status"),
     @Index(name = "idx_order_reservation", columnList = "reservation_id")
 })
@@ -58,6 +62,9 @@ public class Order {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    @Transient
+    private List<RollupEntry> rollupSnapshot;
+
     public void confirm() {
         this.status = OrderStatus.CONFIRMED;
     }
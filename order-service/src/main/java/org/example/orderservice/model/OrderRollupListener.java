@@ -0,0 +1,54 @@
+package org.example.orderservice.model;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.example.rollup.Granularity;
+import org.example.rollup.RollupEntry;
+import org.example.rollup.RollupRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Keeps the order analytics rollup in step with the orders table: every order counts towards
+ * {@link #STATUS_SERIES} in the hour it was created under its current status, with its seats
+ * and total price. A status change moves the order between buckets in the same transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderRollupListener {
+
+    public static final String STATUS_SERIES = "order.status";
+
+    private final RollupRepository rollupRepository;
+
+    @PostLoad
+    public void loaded(Order order) {
+        order.setRollupSnapshot(entries(order));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Order order) {
+        order.setRollupSnapshot(rollupRepository.replace(order.getRollupSnapshot(), entries(order)));
+    }
+
+    @PostRemove
+    public void removed(Order order) {
+        rollupRepository.replace(order.getRollupSnapshot(), List.of());
+    }
+
+    static List<RollupEntry> entries(Order order) {
+        if (order.getCreatedAt() == null || order.getStatus() == null) {
+            return List.of();
+        }
+        LocalDateTime createdAt = LocalDateTime.ofInstant(order.getCreatedAt(), ZoneOffset.UTC);
+        return List.of(RollupEntry.of(STATUS_SERIES, Granularity.HOUR, createdAt,
+                order.getStatus().name(), order.getSeatsCount(), order.getTotalPrice()));
+    }
+}
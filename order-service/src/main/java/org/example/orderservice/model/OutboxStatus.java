@@ -1,7 +0,0 @@
-package org.example.orderservice.model;
-
-public enum OutboxStatus {
-    NEW,
-    SENT,
-    FAILED
-}
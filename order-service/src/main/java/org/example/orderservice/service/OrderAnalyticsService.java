@@ -3,49 +3,49 @@ package org.example.orderservice.service;
 import lombok.RequiredArgsConstructor;
 import org.example.orderservice.dto.analytics.OrderStatsResponse;
 import org.example.orderservice.dto.analytics.RevenueStatsResponse;
+import org.example.orderservice.model.OrderRollupListener;
 import org.example.orderservice.model.OrderStatus;
-import org.example.orderservice.repository.OrderRepository;
+import org.example.rollup.RollupRepository;
+import org.example.rollup.RollupRow;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.Instant;
+import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
-import java.util.HashMap;
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Order dashboards, read from the rollup maintained by {@link OrderRollupListener} rather than
+ * from the orders table, so a request costs O(days in range).
+ */
 @Service
 @RequiredArgsConstructor
 public class OrderAnalyticsService {
     
-    private final OrderRepository orderRepository;
+    private final RollupRepository rollupRepository;
     
-    @Transactional(readOnly = true)
     public RevenueStatsResponse getRevenueStats(LocalDate startDate, LocalDate endDate) {
-        Instant startInstant = startDate != null ? startDate.atStartOfDay().toInstant(ZoneOffset.UTC) : null;
-        Instant endInstant = endDate != null ? endDate.atTime(23, 59, 59).toInstant(ZoneOffset.UTC) : null;
-        
-        BigDecimal totalRevenue = orderRepository.calculateTotalRevenue(startInstant, endInstant);
-        BigDecimal averageOrderValue = orderRepository.calculateAverageOrderValue(startInstant, endInstant);
-        
-        List<Object[]> dailyStats = orderRepository.getDailyRevenueStats(startDate, endDate);
+        LocalDateTime from = startOf(startDate);
+        LocalDateTime to = endOf(endDate);
+        String confirmed = OrderStatus.CONFIRMED.name();
+
+        RollupRow total = rollupRepository.totals(OrderRollupListener.STATUS_SERIES, from, to).get(confirmed);
+        BigDecimal totalRevenue = total != null ? total.amount() : BigDecimal.ZERO;
+        long orderCount = total != null ? total.count() : 0;
+        BigDecimal averageOrderValue = orderCount > 0
+            ? totalRevenue.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO;
         
-        Map<LocalDate, RevenueStatsResponse.DailyRevenue> dailyRevenue = dailyStats.stream()
+        Map<LocalDate, RevenueStatsResponse.DailyRevenue> dailyRevenue = rollupRepository
+            .daily(OrderRollupListener.STATUS_SERIES, from, to).stream()
+            .filter(row -> confirmed.equals(row.dimension()))
             .collect(Collectors.toMap(
-                row -> (LocalDate) row[0],
-                row -> new RevenueStatsResponse.DailyRevenue(
-                    (BigDecimal) row[1],
-                    ((Number) row[2]).longValue()
-                )
+                row -> row.bucket().toLocalDate(),
+                row -> new RevenueStatsResponse.DailyRevenue(row.amount(), row.count())
             ));
         
-        long orderCount = dailyRevenue.values().stream()
-            .mapToLong(RevenueStatsResponse.DailyRevenue::orderCount)
-            .sum();
-        
         return new RevenueStatsResponse(
             totalRevenue,
             averageOrderValue,
@@ -54,18 +54,11 @@ public class OrderAnalyticsService {
         );
     }
     
-    @Transactional(readOnly = true)
     public OrderStatsResponse getOrderStats(LocalDate startDate, LocalDate endDate) {
-        Instant startInstant = startDate != null ? startDate.atStartOfDay().toInstant(ZoneOffset.UTC) : null;
-        Instant endInstant = endDate != null ? endDate.atTime(23, 59, 59).toInstant(ZoneOffset.UTC) : null;
-        
-        List<Object[]> statusCounts = orderRepository.countOrdersByStatus(startInstant, endInstant);
-        
-        Map<String, Long> ordersByStatus = statusCounts.stream()
-            .collect(Collectors.toMap(
-                row -> ((OrderStatus) row[0]).name(),
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> ordersByStatus = rollupRepository
+            .totals(OrderRollupListener.STATUS_SERIES, startOf(startDate), endOf(endDate))
+            .values().stream()
+            .collect(Collectors.toMap(RollupRow::dimension, RollupRow::count));
         
         long totalOrders = ordersByStatus.values().stream()
             .mapToLong(Long::longValue)
@@ -73,4 +66,12 @@ public class OrderAnalyticsService {
         
         return new OrderStatsResponse(totalOrders, ordersByStatus);
     }
+
+    private static LocalDateTime startOf(LocalDate date) {
+        return date != null ? date.atStartOfDay() : null;
+    }
+
+    private static LocalDateTime endOf(LocalDate date) {
+        return date != null ? date.plusDays(1).atStartOfDay() : null;
+    }
 }
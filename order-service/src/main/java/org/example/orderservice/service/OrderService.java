@@ -1,5 +1,7 @@
 package org.example.orderservice.service;
 
+import com.booking.inventory.grpc.ReservationFailure;
+import com.booking.inventory.grpc.ReservationResult;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,7 +10,6 @@ import org.example.kafka.event.OrderCancelledEvent;
 import org.example.kafka.event.OrderConfirmedEvent;
 import org.example.kafka.event.OrderCreatedEvent;
 import org.example.kafka.event.PaymentFailedEvent;
-import org.example.kafka.event.PaymentSucceededEvent;
 import org.example.orderservice.dto.CreateOrderRequest;
 import org.example.orderservice.dto.OrderResponse;
 import org.example.orderservice.exception.OrderNotFoundException;
@@ -16,9 +17,15 @@ import org.example.kafka.event.ReservationExpiredEvent;
 import org.example.orderservice.model.Order;
 import org.example.orderservice.model.OrderStatus;
 import org.example.orderservice.repository.OrderRepository;
+import org.example.outbox.service.OutboxService;
+import org.example.pagination.Cursor;
+import org.example.pagination.CursorPage;
+import org.example.pagination.Keyset;
 import org.example.orderservice.service.client.InventoryServiceClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -27,17 +34,29 @@ import org.example.orderservice.mapper.OrderMapper;
 import org.example.orderservice.util.SecurityUtils;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
+    private static final String CREATED_AT = "createdAt";
+
     private final OrderRepository orderRepository;
     private final InventoryServiceClient inventoryServiceClient;
     private final OutboxService outboxService;
     private final OrderMapper orderMapper;
 
+    @Value("${inventory.grpc.batch-size:200}")
+    private int inventoryBatchSize;
+
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request, UUID userId) {
         log.info("Creating order: userId={}, tripId={}, seatsCount={}, reservationId={}, price={}",
@@ -60,7 +79,8 @@ public class OrderService {
         outboxService.saveEvent(
                 savedOrder.getId(),
                 EventType.ORDER_CREATED,
-                new OrderCreatedEvent(UUID.randomUUID(), savedOrder.getId(), Instant.now())
+                new OrderCreatedEvent(UUID.randomUUID(), savedOrder.getId(), savedOrder.getTripId(),
+                        savedOrder.getSeatsCount(), savedOrder.getTotalPrice(), Instant.now())
         );
 
         return orderMapper.toResponse(savedOrder);
@@ -80,6 +100,34 @@ public class OrderService {
     }
 
     public Page<OrderResponse> getAllOrders(UUID userId, UUID tripId, OrderStatus status, Pageable pageable) {
+        Page<Order> orders = orderRepository.findAll(filter(userId, tripId, status), pageable);
+        return orders.map(orderMapper::toResponse);
+    }
+
+    /**
+     * Newest orders first, continuing after {@code cursor}. The seek on {@code (created_at, id)}
+     * is served by the composite indexes from V4, and the count only runs when asked for.
+     */
+    public CursorPage<OrderResponse> scrollOrders(
+            UUID userId, UUID tripId, OrderStatus status, String cursor, Integer size, boolean includeTotal) {
+        int pageSize = Keyset.pageSize(size);
+        Specification<Order> filter = filter(userId, tripId, status);
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+
+        Specification<Order> seek = after != null
+                ? filter.and(Keyset.after(CREATED_AT, after.position(), after.id(), Sort.Direction.DESC))
+                : filter;
+        List<Order> rows = orderRepository.findBy(seek, query -> query
+                .sortBy(Keyset.sort(CREATED_AT, Sort.Direction.DESC))
+                .limit(pageSize + 1)
+                .all());
+        Long total = includeTotal ? orderRepository.count(filter) : null;
+
+        return Keyset.page(rows, pageSize, order -> new Cursor(order.getCreatedAt(), order.getId()), total)
+                .map(orderMapper::toResponse);
+    }
+
+    private Specification<Order> filter(UUID userId, UUID tripId, OrderStatus status) {
         Specification<Order> spec = (root, query, cb) -> cb.conjunction();
 
         if (userId != null) {
@@ -91,9 +139,7 @@ public class OrderService {
         if (status != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
         }
-
-        Page<Order> orders = orderRepository.findAll(spec, pageable);
-        return orders.map(orderMapper::toResponse);
+        return spec;
     }
 
     @Transactional
@@ -107,12 +153,90 @@ public class OrderService {
         doConfirmOrder(order);
     }
 
+    /**
+     * Confirms the orders of a batch of successful payments with a single batched
+     * reservation confirmation. Orders whose reservation is gone stay PENDING and are
+     * cancelled by the reservation expiry flow. Orders whose confirmation failed for a
+     * reason that may pass, such as a seat store or Redis error, also stay PENDING and
+     * are returned, so the caller can have the payments delivered again. Inventory reports a
+     * reservation it already confirmed as confirmed, so a batch delivered again after an
+     * ambiguous failure, such as a deadline that ran out after the seats were sold, confirms
+     * its orders instead of leaving them PENDING.
+     *
+     * @return orders to retry
+     */
     @Transactional
-    public void applyPaymentSucceeded(UUID orderId) {
-        log.info("Applying payment succeeded: orderId={}", orderId);
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found: " + orderId));
-        doConfirmOrder(order);
+    public List<UUID> applyPaymentsSucceeded(List<UUID> orderIds) {
+        log.info("Applying payment succeeded for {} orders", orderIds.size());
+        List<Order> pending = orderRepository.findAllById(orderIds).stream()
+                .filter(order -> {
+                    if (order.getStatus() != OrderStatus.PENDING) {
+                        log.warn("Order is not in PENDING status: orderId={}, status={}", order.getId(), order.getStatus());
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+
+        List<UUID> reservationIds = pending.stream()
+                .map(Order::getReservationId)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<UUID, ReservationResult> failures = new HashMap<>();
+        Set<UUID> unconfirmed = new HashSet<>();
+        for (int from = 0; from < reservationIds.size(); from += inventoryBatchSize) {
+            List<UUID> batch = reservationIds.subList(from, Math.min(from + inventoryBatchSize, reservationIds.size()));
+            try {
+                failures.putAll(inventoryServiceClient.confirmReservations(batch));
+            } catch (RuntimeException e) {
+                log.error("Failed to confirm {} reservations", batch.size(), e);
+                unconfirmed.addAll(batch);
+            }
+        }
+
+        List<Order> confirmed = new ArrayList<>(pending.size());
+        List<UUID> retry = new ArrayList<>();
+        for (Order order : pending) {
+            UUID reservationId = order.getReservationId();
+            if (reservationId != null && unconfirmed.contains(reservationId)) {
+                retry.add(order.getId());
+                continue;
+            }
+            ReservationResult failure = reservationId != null ? failures.get(reservationId) : null;
+            if (failure != null) {
+                if (isDefinitive(failure.getFailure())) {
+                    log.warn("Reservation not confirmed: orderId={}, reservationId={}, reason={}",
+                            order.getId(), reservationId, failure.getError());
+                } else {
+                    log.warn("Reservation confirmation failed, will retry: orderId={}, reservationId={}, reason={}",
+                            order.getId(), reservationId, failure.getError());
+                    retry.add(order.getId());
+                }
+                continue;
+            }
+            order.confirm();
+            confirmed.add(order);
+        }
+        orderRepository.saveAll(confirmed);
+
+        for (Order order : confirmed) {
+            outboxService.saveEvent(
+                    order.getId(),
+                    EventType.ORDER_CONFIRMED,
+                    new OrderConfirmedEvent(UUID.randomUUID(), order.getId(), order.getTripId(),
+                            order.getSeatsCount(), order.getTotalPrice(), Instant.now())
+            );
+        }
+        log.info("Orders confirmed: {} of {}, {} to retry", confirmed.size(), orderIds.size(), retry.size());
+        return retry;
+    }
+
+    /**
+     * Failures other than these, including ones from inventory versions that do not report a
+     * failure type, are retried so a paid order is never left to expire over a passing error.
+     */
+    private static boolean isDefinitive(ReservationFailure failure) {
+        return failure == ReservationFailure.NOT_FOUND || failure == ReservationFailure.INVALID;
     }
 
     private void doConfirmOrder(Order order) {
@@ -129,7 +253,8 @@ public class OrderService {
         outboxService.saveEvent(
                 order.getId(),
                 EventType.ORDER_CONFIRMED,
-                new OrderConfirmedEvent(UUID.randomUUID(), order.getId(), Instant.now())
+                new OrderConfirmedEvent(UUID.randomUUID(), order.getId(), order.getTripId(),
+                        order.getSeatsCount(), order.getTotalPrice(), Instant.now())
         );
         log.info("Order confirmed: orderId={}", order.getId());
     }
@@ -190,12 +315,6 @@ public class OrderService {
                 );
     }
 
-    @Transactional
-    public void handlePaymentSucceeded(PaymentSucceededEvent event) {
-        log.info("Handling payment succeeded event: orderId={}", event.orderId());
-        applyPaymentSucceeded(event.orderId());
-    }
-
     @Transactional
     public void handlePaymentFailed(PaymentFailedEvent event) {
         log.info("Handling payment failed event: orderId={}, reason={}", event.orderId(), event.reason());
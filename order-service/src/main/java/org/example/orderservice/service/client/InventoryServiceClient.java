@@ -5,6 +5,9 @@ import com.booking.inventory.grpc.ReserveSeatsRequest;
 import com.booking.inventory.grpc.ReserveSeatsResponse;
 import com.booking.inventory.grpc.ConfirmReservationRequest;
 import com.booking.inventory.grpc.ReleaseReservationRequest;
+import com.booking.inventory.grpc.BatchReservationRequest;
+import com.booking.inventory.grpc.BatchReservationResponse;
+import com.booking.inventory.grpc.ReservationResult;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import org.example.orderservice.exception.RetryableInventoryException;
@@ -14,6 +17,8 @@ import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import java.util.UUID;
 import java.util.List;
+import java.util.Map;
+import java.util.LinkedHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -25,6 +30,7 @@ public class InventoryServiceClient {
     @Value("${inventory.grpc.timeout-seconds:3}")
     private int timeoutSeconds;
 
+
     public InventoryServiceClient(InventoryServiceGrpc.InventoryServiceBlockingStub inventoryServiceBlockingStub) {
         this.stub = inventoryServiceBlockingStub;
     }
@@ -87,6 +93,40 @@ public class InventoryServiceClient {
         );
     }
 
+    /**
+     * Confirms a batch of reservations in one RPC. A retry resends the whole batch.
+     *
+     * @return results of the reservations inventory did not confirm; {@code failure} tells a
+     * reservation that is gone from one that may still be confirmed later
+     */
+    @Retryable(
+            retryFor = RetryableInventoryException.class,
+            maxAttemptsExpression = "${inventory.grpc.retry.max-attempts:3}",
+            backoff = @Backoff(
+                    delayExpression = "${inventory.grpc.retry.delay-ms:200}",
+                    multiplierExpression = "${inventory.grpc.retry.multiplier:2.0}"
+            )
+    )
+    public Map<UUID, ReservationResult> confirmReservations(List<UUID> reservationIds) {
+        BatchReservationResponse response = executeWithRetry(() ->
+                stub.withDeadlineAfter(timeoutSeconds, TimeUnit.SECONDS)
+                        .batchConfirmReservations(toBatchRequest(reservationIds))
+        );
+        Map<UUID, ReservationResult> failures = new LinkedHashMap<>();
+        for (ReservationResult result : response.getResultsList()) {
+            if (!result.getSuccess()) {
+                failures.put(UUID.fromString(result.getReservationId()), result);
+            }
+        }
+        return failures;
+    }
+
+    private BatchReservationRequest toBatchRequest(List<UUID> reservationIds) {
+        BatchReservationRequest.Builder request = BatchReservationRequest.newBuilder();
+        reservationIds.forEach(id -> request.addReservationIds(id.toString()));
+        return request.build();
+    }
+
     private <T> T executeWithRetry(Supplier<T> action) {
         try {
             return action.get();
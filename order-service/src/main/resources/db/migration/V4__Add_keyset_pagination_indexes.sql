@@ -0,0 +1,8 @@
+-- Keyset pagination seeks on (created_at, id) newest first, optionally narrowed by user or trip.
+-- The composite user and trip indexes also serve the plain lookups, so the single-column ones go.
+CREATE INDEX idx_order_created_id ON orders (created_at DESC, id DESC);
+CREATE INDEX idx_order_user_created_id ON orders (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_order_trip_created_id ON orders (trip_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_order_user;
+DROP INDEX IF EXISTS idx_order_trip;
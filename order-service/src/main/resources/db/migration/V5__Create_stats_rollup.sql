@@ -0,0 +1,29 @@
+-- Hourly/daily analytics aggregates, maintained incrementally as orders change status
+CREATE TABLE stats_rollup (
+    series VARCHAR(64) NOT NULL,
+    bucket TIMESTAMP NOT NULL,
+    dimension VARCHAR(64) NOT NULL,
+    event_count BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (series, bucket, dimension)
+);
+
+-- Signed changes appended by writers, folded into stats_rollup by the rollup folder
+CREATE TABLE stats_rollup_delta (
+    id BIGSERIAL PRIMARY KEY,
+    series VARCHAR(64) NOT NULL,
+    bucket TIMESTAMP NOT NULL,
+    dimension VARCHAR(64) NOT NULL,
+    event_count BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL
+);
+
+CREATE INDEX idx_stats_rollup_delta_series_bucket ON stats_rollup_delta (series, bucket);
+
+-- Backfill from existing orders, bucketed in UTC
+INSERT INTO stats_rollup (series, bucket, dimension, event_count, quantity, amount)
+SELECT 'order.status', date_trunc('hour', created_at AT TIME ZONE 'UTC'), status, COUNT(*), SUM(seats_count), SUM(total_price)
+FROM orders
+GROUP BY date_trunc('hour', created_at AT TIME ZONE 'UTC'), status;
@@ -1,12 +1,20 @@
 package org.example.orderservice.service;
 
+import com.booking.inventory.grpc.ReservationAction;
+import com.booking.inventory.grpc.ReservationFailure;
+import com.booking.inventory.grpc.ReservationResult;
 import org.example.orderservice.dto.CreateOrderRequest;
 import org.example.orderservice.dto.OrderResponse;
+import org.example.orderservice.exception.RetryableInventoryException;
 import org.example.orderservice.model.Order;
 import org.example.orderservice.model.OrderStatus;
 import org.example.orderservice.repository.OrderRepository;
+import org.example.outbox.service.OutboxService;
 import org.example.orderservice.service.client.InventoryServiceClient;
 import org.example.orderservice.mapper.OrderMapper;
+import org.example.pagination.Cursor;
+import org.example.pagination.CursorPage;
+import org.example.pagination.InvalidCursorException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,14 +22,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -129,4 +141,143 @@ class OrderServiceTest {
 
         assertThrows(RuntimeException.class, () -> orderService.getOrderById(orderId));
     }
+
+    @Test
+    void applyPaymentsSucceeded_confirmsOnlyOrdersWhoseReservationWasConfirmed() {
+        ReflectionTestUtils.setField(orderService, "inventoryBatchSize", 200);
+        UUID expiredReservationId = UUID.randomUUID();
+        Order expired = Order.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .tripId(tripId)
+                .reservationId(expiredReservationId)
+                .seatsCount(1)
+                .totalPrice(BigDecimal.valueOf(50))
+                .status(OrderStatus.PENDING)
+                .build();
+        when(orderRepository.findAllById(List.of(orderId, expired.getId()))).thenReturn(List.of(order, expired));
+        when(inventoryServiceClient.confirmReservations(List.of(reservationId, expiredReservationId)))
+                .thenReturn(Map.of(expiredReservationId,
+                        failure(expiredReservationId, ReservationFailure.NOT_FOUND, "Reservation not found or already expired")));
+
+        List<UUID> retry = orderService.applyPaymentsSucceeded(List.of(orderId, expired.getId()));
+
+        assertEquals(List.of(), retry);
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+        assertEquals(OrderStatus.PENDING, expired.getStatus());
+        verify(orderRepository).saveAll(List.of(order));
+        verify(outboxService).saveEvent(eq(orderId), any(), any());
+        verifyNoMoreInteractions(outboxService);
+    }
+
+    @Test
+    void applyPaymentsSucceeded_returnsOrdersWhoseConfirmationFailedTransiently() {
+        ReflectionTestUtils.setField(orderService, "inventoryBatchSize", 200);
+        Order retried = pendingOrder(UUID.randomUUID());
+        when(orderRepository.findAllById(List.of(orderId, retried.getId()))).thenReturn(List.of(order, retried));
+        when(inventoryServiceClient.confirmReservations(List.of(reservationId, retried.getReservationId())))
+                .thenReturn(Map.of(retried.getReservationId(),
+                        failure(retried.getReservationId(), ReservationFailure.TRANSIENT, "Redis connection refused")));
+
+        List<UUID> retry = orderService.applyPaymentsSucceeded(List.of(orderId, retried.getId()));
+
+        assertEquals(List.of(retried.getId()), retry);
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+        assertEquals(OrderStatus.PENDING, retried.getStatus());
+        verify(orderRepository).saveAll(List.of(order));
+    }
+
+    @Test
+    void applyPaymentsSucceeded_retriesOrdersOfFailedBatchAndConfirmsTheRest() {
+        ReflectionTestUtils.setField(orderService, "inventoryBatchSize", 1);
+        Order retried = pendingOrder(UUID.randomUUID());
+        when(orderRepository.findAllById(List.of(orderId, retried.getId()))).thenReturn(List.of(order, retried));
+        when(inventoryServiceClient.confirmReservations(List.of(reservationId))).thenReturn(Map.of());
+        when(inventoryServiceClient.confirmReservations(List.of(retried.getReservationId())))
+                .thenThrow(new RetryableInventoryException("UNAVAILABLE"));
+
+        List<UUID> retry = orderService.applyPaymentsSucceeded(List.of(orderId, retried.getId()));
+
+        assertEquals(List.of(retried.getId()), retry);
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+        assertEquals(OrderStatus.PENDING, retried.getStatus());
+        verify(orderRepository).saveAll(List.of(order));
+    }
+
+    @Test
+    void applyPaymentsSucceeded_skipsOrdersConfirmedByEarlierDelivery() {
+        ReflectionTestUtils.setField(orderService, "inventoryBatchSize", 200);
+        order.confirm();
+        when(orderRepository.findAllById(List.of(orderId))).thenReturn(List.of(order));
+
+        List<UUID> retry = orderService.applyPaymentsSucceeded(List.of(orderId));
+
+        assertEquals(List.of(), retry);
+        verifyNoInteractions(inventoryServiceClient, outboxService);
+    }
+
+    private Order pendingOrder(UUID reservationId) {
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .tripId(tripId)
+                .reservationId(reservationId)
+                .seatsCount(1)
+                .totalPrice(BigDecimal.valueOf(50))
+                .status(OrderStatus.PENDING)
+                .build();
+    }
+
+    private static ReservationResult failure(UUID reservationId, ReservationFailure failure, String error) {
+        return ReservationResult.newBuilder()
+                .setReservationId(reservationId.toString())
+                .setAction(ReservationAction.CONFIRM)
+                .setSuccess(false)
+                .setError(error)
+                .setFailure(failure)
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scrollOrders_ReturnsCursorOfLastRowWhenMoreRowsExist() {
+        Order older = Order.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .status(OrderStatus.PENDING)
+                .createdAt(order.getCreatedAt().minusSeconds(60))
+                .build();
+        doReturn(List.of(order, older)).when(orderRepository).findBy(any(Specification.class), any());
+        when(orderMapper.toResponse(order)).thenReturn(orderResponse);
+
+        CursorPage<OrderResponse> page = orderService.scrollOrders(userId, null, null, null, 1, false);
+
+        assertEquals(List.of(orderResponse), page.content());
+        assertTrue(page.hasNext());
+        assertEquals(new Cursor(order.getCreatedAt(), orderId), Cursor.decode(page.nextCursor()));
+        assertNull(page.totalElements());
+        verify(orderRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scrollOrders_CountsOnlyWhenTotalRequested() {
+        doReturn(List.of(order)).when(orderRepository).findBy(any(Specification.class), any());
+        when(orderRepository.count(any(Specification.class))).thenReturn(41L);
+        when(orderMapper.toResponse(order)).thenReturn(orderResponse);
+
+        CursorPage<OrderResponse> page = orderService.scrollOrders(
+                null, null, null, new Cursor(Instant.now(), UUID.randomUUID()).encode(), 20, true);
+
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+        assertEquals(41L, page.totalElements());
+    }
+
+    @Test
+    void scrollOrders_RejectsMalformedCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> orderService.scrollOrders(null, null, null, "not a cursor", 20, false));
+        verifyNoInteractions(orderRepository);
+    }
 }
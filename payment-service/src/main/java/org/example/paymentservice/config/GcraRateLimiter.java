@@ -0,0 +1,65 @@
+package org.example.paymentservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generic cell rate algorithm: per client a single "theoretical arrival time", advanced by one
+ * emission interval for every admitted request with a compare-and-set. This behaves like a token
+ * bucket refilled continuously at {@code requestsPerMinute} holding {@code burst} tokens, without
+ * a lock or a refill task, and without the double burst a fixed window allows at its edges.
+ *
+ * <p>Clients live in a bounded Caffeine cache. An entry idle for longer than it takes to refill
+ * the whole burst is indistinguishable from a new client, so it expires after that time; under
+ * scanning traffic the size bound evicts the least recently seen first.
+ */
+class GcraRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> arrivals;
+
+    GcraRateLimiter(int requestsPerMinute, int burst, long maxKeys, LongSupplier nanoClock) {
+        if (requestsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("requestsPerMinute and burst must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, TimeUnit.MINUTES.toNanos(1) / requestsPerMinute);
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(emissionIntervalNanos + toleranceNanos))
+                .build();
+    }
+
+    /**
+     * Admits the request of {@code key} or returns how long it has to wait.
+     *
+     * @return 0 if admitted, else the nanoseconds until the next request of this client would be
+     */
+    long tryAcquire(String key) {
+        AtomicLong arrival = arrivals.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long current = arrival.get();
+            long earliest = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long wait = earliest - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, earliest + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    long trackedKeys() {
+        return arrivals.estimatedSize();
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.paymentservice.config;
+
+import org.example.kafka.event.EventType;
+import org.example.kafka.event.PaymentFailedEvent;
+import org.example.kafka.event.PaymentSucceededEvent;
+import org.example.outbox.OutboxEventRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public OutboxEventRegistry outboxEventRegistry() {
+        return OutboxEventRegistry.builder()
+                .register(EventType.PAYMENT_SUCCEEDED, PaymentSucceededEvent.class, "payment.succeeded",
+                        event -> event.paymentId().toString())
+                .register(EventType.PAYMENT_FAILED, PaymentFailedEvent.class, "payment.failed",
+                        event -> event.paymentId().toString())
+                .build();
+    }
+}
@@ -1,34 +1,68 @@
 package org.example.paymentservice.config;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Applies the {@link RateLimitProperties} policies before anything else runs, so a flood of
+ * webhook calls or payment requests is turned away before signature checks, token validation
+ * or the database. Each request costs one map lookup by path plus, per matching policy, one
+ * cache lookup and a compare-and-set; rejections are counted per policy.
+ *
+ * <p>User-keyed policies read the subject of the bearer token without verifying it, since the
+ * token is only validated later in the chain. A forged subject gains a request that is then
+ * rejected as unauthenticated; pair such a policy with an address-keyed one for the same route.
+ */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class RateLimitFilter extends OncePerRequestFilter {
-    private static final String PAYMENTS_PATH = "/payments";
-    private static final String STRIPE_WEBHOOK_PATH = "/payments/stripe";
 
-    private final FixedWindowRateLimiter paymentsLimiter;
-    private final FixedWindowRateLimiter webhookLimiter;
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final ObjectMapper TOKEN_READER = new ObjectMapper();
 
-    public RateLimitFilter(
-            @Value("${payment.rate-limit.payments-per-minute:60}") int paymentsPerMinute,
-            @Value("${payment.rate-limit.webhook-per-minute:120}") int webhookPerMinute
-    ) {
-        this.paymentsLimiter = new FixedWindowRateLimiter(60_000, paymentsPerMinute);
-        this.webhookLimiter = new FixedWindowRateLimiter(60_000, webhookPerMinute);
+    private final Map<String, List<Limit>> limitsByPath = new HashMap<>();
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        properties.policies().forEach((name, policy) -> {
+            GcraRateLimiter limiter = new GcraRateLimiter(
+                    policy.requestsPerMinute(), policy.burst(), properties.maxKeysPerPolicy(), System::nanoTime);
+            Counter rejected = Counter.builder("payment.rate-limit.rejected")
+                    .description("Requests answered with 429 by a rate limit policy")
+                    .tag("policy", name)
+                    .register(meterRegistry);
+            Gauge.builder("payment.rate-limit.clients", limiter, GcraRateLimiter::trackedKeys)
+                    .description("Clients currently tracked by a rate limit policy")
+                    .tag("policy", name)
+                    .register(meterRegistry);
+            limitsByPath.computeIfAbsent(policy.path(), path -> new ArrayList<>())
+                    .add(new Limit(policy, limiter, rejected));
+        });
     }
 
     @Override
@@ -37,76 +71,65 @@ public class RateLimitFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        String path = request.getRequestURI();
-        if (PAYMENTS_PATH.equals(path) || STRIPE_WEBHOOK_PATH.equals(path)) {
-            String clientKey = resolveClientKey(request);
-            FixedWindowRateLimiter limiter = STRIPE_WEBHOOK_PATH.equals(path) ? webhookLimiter : paymentsLimiter;
-            if (!limiter.tryConsume(clientKey)) {
-                long retryAfter = limiter.retryAfterSeconds(clientKey);
-                response.setStatus(429);
-                response.setHeader("Retry-After", String.valueOf(retryAfter));
-                response.getWriter().write("Too Many Requests");
-                return;
+        List<Limit> limits = limitsByPath.get(request.getRequestURI());
+        if (limits != null) {
+            for (Limit limit : limits) {
+                if (!limit.appliesTo(request.getMethod())) {
+                    continue;
+                }
+                long waitNanos = limit.limiter().tryAcquire(clientKey(limit.policy().key(), request));
+                if (waitNanos > 0) {
+                    limit.rejected().increment();
+                    response.setStatus(429);
+                    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+                    response.getWriter().write("Too Many Requests");
+                    return;
+                }
             }
         }
         filterChain.doFilter(request, response);
     }
 
-    private String resolveClientKey(HttpServletRequest request) {
+    private static String clientKey(RateLimitProperties.KeyType keyType, HttpServletRequest request) {
+        if (keyType == RateLimitProperties.KeyType.USER) {
+            String subject = bearerSubject(request.getHeader(HttpHeaders.AUTHORIZATION));
+            if (subject != null) {
+                return subject;
+            }
+        }
         String forwardedFor = request.getHeader("X-Forwarded-For");
         if (forwardedFor != null && !forwardedFor.isBlank()) {
-            return forwardedFor.split(",")[0].trim();
+            int comma = forwardedFor.indexOf(',');
+            return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
         }
         return request.getRemoteAddr();
     }
 
-    private static class FixedWindowRateLimiter {
-        private final long windowMillis;
-        private final int limit;
-        private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
-
-        private FixedWindowRateLimiter(long windowMillis, int limit) {
-            this.windowMillis = windowMillis;
-            this.limit = limit;
+    private static String bearerSubject(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
         }
-
-        private boolean tryConsume(String key) {
-            long now = System.currentTimeMillis();
-            Window window = windows.computeIfAbsent(key, k -> new Window(now));
-            synchronized (window) {
-                if (now - window.startMillis >= windowMillis) {
-                    window.startMillis = now;
-                    window.count = 0;
-                }
-                if (window.count >= limit) {
-                    return false;
-                }
-                window.count++;
-                return true;
-            }
+        String[] parts = authorization.substring(BEARER_PREFIX.length()).split("\\.");
+        if (parts.length != 3) {
+            return null;
         }
-
-        private long retryAfterSeconds(String key) {
-            Window window = windows.get(key);
-            if (window == null) {
-                return 1;
-            }
-            long now = System.currentTimeMillis();
-            long remaining = windowMillis - (now - window.startMillis);
-            if (remaining <= 0) {
-                return 1;
-            }
-            return Math.max(1, remaining / 1000);
+        try {
+            JsonNode claims = TOKEN_READER.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            JsonNode subject = claims.get("sub");
+            return subject != null && subject.isTextual() ? subject.asText() : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
         }
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
 
-        private static class Window {
-            private long startMillis;
-            private int count;
+    private record Limit(RateLimitProperties.Policy policy, GcraRateLimiter limiter, Counter rejected) {
 
-            private Window(long startMillis) {
-                this.startMillis = startMillis;
-                this.count = 0;
-            }
+        boolean appliesTo(String method) {
+            return policy.method() == null || policy.method().isBlank() || policy.method().equalsIgnoreCase(method);
         }
     }
 }
@@ -0,0 +1,47 @@
+package org.example.paymentservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Rate limit policies of payment-service, bound from {@code payment.rate-limit}.
+ *
+ * @param maxKeysPerPolicy upper bound on the clients tracked by one policy; the least recently
+ *                         seen are dropped first and simply start again with a full burst
+ * @param policies         policies by name; every policy whose route matches a request applies
+ */
+@ConfigurationProperties("payment.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("100000") int maxKeysPerPolicy,
+        Map<String, Policy> policies
+) {
+
+    public RateLimitProperties {
+        policies = policies == null ? Map.of() : Map.copyOf(policies);
+    }
+
+    /**
+     * @param path              exact request path the policy applies to
+     * @param method            HTTP method it applies to, or empty for any
+     * @param key               what a client is: its address, or the user of the bearer token
+     * @param requestsPerMinute sustained rate per client
+     * @param burst             requests a client may send back to back after being idle
+     */
+    public record Policy(
+            String path,
+            String method,
+            @DefaultValue("ip") KeyType key,
+            int requestsPerMinute,
+            @DefaultValue("1") int burst
+    ) {
+    }
+
+    public enum KeyType {
+        /** First {@code X-Forwarded-For} address, else the remote address. */
+        IP,
+        /** Subject of the bearer token, else the address as for {@link #IP}. */
+        USER
+    }
+}
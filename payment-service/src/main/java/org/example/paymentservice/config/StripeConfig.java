@@ -14,9 +14,18 @@ public class StripeConfig {
     @Value("${stripe.secret-key}")
     private String secretKey;
 
+    /**
+     * Alternative Stripe API endpoint, e.g. a local stand-in during load tests; empty means Stripe itself.
+     */
+    @Value("${stripe.api-base:}")
+    private String apiBase;
+
     @PostConstruct
     public void init() {
         Stripe.apiKey = secretKey;
+        if (!apiBase.isBlank()) {
+            Stripe.overrideApiBase(apiBase);
+        }
     }
 
     @Bean
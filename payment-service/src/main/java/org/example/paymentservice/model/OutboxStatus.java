@@ -1,7 +0,0 @@
-package org.example.paymentservice.model;
-
-public enum OutboxStatus {
-    NEW,
-    SENT,
-    FAILED
-}
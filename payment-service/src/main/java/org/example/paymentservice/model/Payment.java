@@ -6,9 +6,11 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.example.rollup.RollupEntry;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -19,6 +21,7 @@ import java.util.UUID;
         @UniqueConstraint(name = "uk_payments_payment_intent_id", columnNames = "payment_intent_id")
     }
 )
+@EntityListeners(PaymentRollupListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -49,4 +52,7 @@ public class Payment {
     private LocalDateTime paidAt;
     private LocalDateTime cancelledAt;
 
+    @Transient
+    private List<RollupEntry> rollupSnapshot;
+
 }
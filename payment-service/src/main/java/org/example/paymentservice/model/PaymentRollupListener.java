@@ -0,0 +1,51 @@
+package org.example.paymentservice.model;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.example.rollup.Granularity;
+import org.example.rollup.RollupEntry;
+import org.example.rollup.RollupRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the payment analytics rollup in step with the payments table: every payment counts
+ * towards {@link #STATUS_SERIES} in the hour it was created under its current status, with its
+ * amount. Retries that change the status, amount or creation time move it between buckets.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentRollupListener {
+
+    public static final String STATUS_SERIES = "payment.status";
+
+    private final RollupRepository rollupRepository;
+
+    @PostLoad
+    public void loaded(Payment payment) {
+        payment.setRollupSnapshot(entries(payment));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Payment payment) {
+        payment.setRollupSnapshot(rollupRepository.replace(payment.getRollupSnapshot(), entries(payment)));
+    }
+
+    @PostRemove
+    public void removed(Payment payment) {
+        rollupRepository.replace(payment.getRollupSnapshot(), List.of());
+    }
+
+    static List<RollupEntry> entries(Payment payment) {
+        if (payment.getCreatedAt() == null || payment.getStatus() == null) {
+            return List.of();
+        }
+        return List.of(RollupEntry.of(STATUS_SERIES, Granularity.HOUR, payment.getCreatedAt(),
+                payment.getStatus().name(), 0, payment.getAmount()));
+    }
+}
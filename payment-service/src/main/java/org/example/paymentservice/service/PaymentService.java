@@ -9,7 +9,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.paymentservice.exception.InvalidStripeSignatureException;
-import org.example.paymentservice.model.OutboxEvent;
+import org.example.outbox.service.OutboxService;
 import org.example.paymentservice.model.Payment;
 import org.example.paymentservice.model.PaymentStatus;
 import org.example.paymentservice.repository.PaymentRepository;
@@ -19,7 +19,6 @@ import org.springframework.stereotype.Service;
 import org.example.paymentservice.dto.CreatePaymentRequest;
 import org.example.paymentservice.dto.PaymentListItemResponse;
 import org.example.paymentservice.dto.PaymentStatusResponse;
-import org.example.paymentservice.repository.OutboxEventRepository;
 
 import com.stripe.param.checkout.SessionCreateParams;
 import org.example.kafka.event.PaymentSucceededEvent;
@@ -0,0 +1,64 @@
+package org.example.paymentservice.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GcraRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void tryAcquire_allowsBurstThenRejects() {
+        GcraRateLimiter limiter = new GcraRateLimiter(60, 3, 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+
+        long wait = limiter.tryAcquire("client");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+    }
+
+    @Test
+    void tryAcquire_refillsAtConfiguredRate() {
+        GcraRateLimiter limiter = new GcraRateLimiter(60, 1, 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertTrue(limiter.tryAcquire("client") > 0);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.tryAcquire("client"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, limiter.tryAcquire("client"));
+    }
+
+    @Test
+    void tryAcquire_doesNotSaveUpMoreThanBurstWhileIdle() {
+        GcraRateLimiter limiter = new GcraRateLimiter(60, 2, 100, clock::get);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(10));
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertTrue(limiter.tryAcquire("client") > 0);
+    }
+
+    @Test
+    void tryAcquire_keepsClientsApart() {
+        GcraRateLimiter limiter = new GcraRateLimiter(60, 1, 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("first"));
+        assertTrue(limiter.tryAcquire("first") > 0);
+        assertEquals(0, limiter.tryAcquire("second"));
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new GcraRateLimiter(0, 1, 100, clock::get));
+    }
+}
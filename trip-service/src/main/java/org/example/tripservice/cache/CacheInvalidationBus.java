@@ -0,0 +1,84 @@
+package org.example.tripservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Broadcasts near-cache invalidations over Redis pub/sub.
+ * <p>
+ * Every write to a {@link TwoLevelCache} is published on {@code trip.cache.invalidation-channel};
+ * the other instances drop the affected entries from their local tier. Messages carry the id of
+ * the publishing instance so it ignores its own. Pub/sub is fire-and-forget, so a message lost
+ * during a reconnect is bounded by the local tier TTL.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${trip.cache.invalidation-channel:trip-cache-invalidation}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    void register(TwoLevelCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    void publish(String cacheName, Operation operation, String key) {
+        try {
+            String message = objectMapper.writeValueAsString(new Invalidation(instanceId, cacheName, operation, key));
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception ex) {
+            log.warn("Failed to publish cache invalidation: cache={}, operation={}, key={}", cacheName, operation, key, ex);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Invalidation invalidation = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), Invalidation.class);
+            if (instanceId.equals(invalidation.origin())) {
+                return;
+            }
+            TwoLevelCache cache = caches.get(invalidation.cacheName());
+            if (cache != null) {
+                cache.invalidateLocal(invalidation.operation(), invalidation.key());
+            }
+        } catch (Exception ex) {
+            log.warn("Ignoring malformed cache invalidation on channel {}", channel, ex);
+        }
+    }
+
+    enum Operation {
+        EVICT,
+        EVICT_PREFIX,
+        CLEAR
+    }
+
+    record Invalidation(String origin, String cacheName, Operation operation, String key) {}
+}
@@ -0,0 +1,23 @@
+package org.example.tripservice.cache;
+
+import org.example.tripservice.dto.response.TripResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Serializable form of a search result page; {@link PageImpl} itself cannot be read back from JSON.
+ * Also records how long the page took to load and when it expires, which drives early refresh.
+ */
+public record CachedTripPage(List<TripResponse> content, long totalElements, long loadMillis, long expiresAtMillis) {
+
+    public static CachedTripPage of(Page<TripResponse> page, long loadMillis, long expiresAtMillis) {
+        return new CachedTripPage(page.getContent(), page.getTotalElements(), loadMillis, expiresAtMillis);
+    }
+
+    public Page<TripResponse> toPage(Pageable pageable) {
+        return new PageImpl<>(content, pageable, totalElements);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.tripservice.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key within this instance: the first caller runs the
+ * loader, everyone arriving while it runs waits for and shares its result or failure.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = calls.putIfAbsent(key, call);
+        if (existing != null) {
+            return await(existing);
+        }
+        return run(key, call, loader);
+    }
+
+    /**
+     * Runs the loader only when no load of {@code key} is in flight; returns whether it ran.
+     */
+    public boolean executeIfIdle(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        if (calls.putIfAbsent(key, call) != null) {
+            return false;
+        }
+        run(key, call, loader);
+        return true;
+    }
+
+    public boolean isInFlight(K key) {
+        return calls.containsKey(key);
+    }
+
+    private V run(K key, CompletableFuture<V> call, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package org.example.tripservice.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tripservice.dto.response.TripResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Search page caching and targeted invalidation for trips.
+ * <p>
+ * A page that is missing everywhere is loaded once: concurrent requests on this instance
+ * share one load through {@link SingleFlight}, and across instances the loader holds a short
+ * Redis lock while the others poll Redis for its result. Pages are refreshed ahead of their
+ * TTL with probabilistic early expiration (XFetch): each read refreshes in the background with
+ * a probability that grows as expiry approaches, scaled by how long the page took to load,
+ * so entries written together do not expire together.
+ * <p>
+ * Evictions run after the surrounding transaction commits, so a concurrent reader cannot
+ * repopulate an entry from the old row between the eviction and the commit.
+ */
+@Slf4j
+@Component
+public class TripCache {
+
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/release_lock.lua"), Long.class);
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final SingleFlight<String, CachedTripPage> pageLoads = new SingleFlight<>();
+    private final ThreadPoolExecutor refreshExecutor;
+    private final Duration ttl;
+    private final double earlyRefreshBeta;
+    private final String lockPrefix;
+    private final Duration lockTtl;
+    private final long lockWaitMs;
+    private final long lockPollMs;
+
+    public TripCache(
+            CacheManager cacheManager,
+            StringRedisTemplate redisTemplate,
+            @Value("${trip.cache.ttl-minutes:10}") long ttlMinutes,
+            @Value("${trip.cache.early-refresh.beta:1.0}") double earlyRefreshBeta,
+            @Value("${trip.cache.early-refresh.workers:2}") int refreshWorkers,
+            @Value("${trip.cache.load-lock.prefix:trip-pages-lock::}") String lockPrefix,
+            @Value("${trip.cache.load-lock.ttl-ms:5000}") long lockTtlMs,
+            @Value("${trip.cache.load-lock.wait-ms:2000}") long lockWaitMs,
+            @Value("${trip.cache.load-lock.poll-ms:25}") long lockPollMs) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.lockPrefix = lockPrefix;
+        this.lockTtl = Duration.ofMillis(lockTtlMs);
+        this.lockWaitMs = lockWaitMs;
+        this.lockPollMs = lockPollMs;
+        // refreshes are best effort: when every worker is busy the page is served as is
+        this.refreshExecutor = new ThreadPoolExecutor(
+                refreshWorkers, refreshWorkers, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(100), new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public Page<TripResponse> getPage(
+            String fromCity,
+            String toCity,
+            LocalDate date,
+            Pageable pageable,
+            Supplier<Page<TripResponse>> loader) {
+        String key = TripCacheKeys.page(fromCity, toCity, date, pageable);
+        Cache cache = cache(TripCacheKeys.TRIP_PAGES);
+
+        CachedTripPage page = cache.get(key, CachedTripPage.class);
+        if (page == null) {
+            page = pageLoads.execute(key, () -> loadOnce(cache, key, loader));
+        } else if (shouldRefreshEarly(page) && !pageLoads.isInFlight(key)) {
+            refreshExecutor.execute(() -> refresh(cache, key, loader));
+        }
+        return page.toPage(pageable);
+    }
+
+    /**
+     * Evicts the search pages that may list a trip on the given route and departure date.
+     */
+    public void evictSearches(String fromCity, String toCity, LocalDate date) {
+        afterCommit(() -> {
+            Cache cache = cache(TripCacheKeys.TRIP_PAGES);
+            if (cache instanceof TwoLevelCache twoLevelCache) {
+                TripCacheKeys.affectedSearchPrefixes(fromCity, toCity, date).forEach(twoLevelCache::evictByPrefix);
+            } else {
+                cache.clear();
+            }
+        });
+    }
+
+    public void evictTrips(Collection<UUID> tripIds) {
+        if (tripIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            Cache cache = cache(TripCacheKeys.TRIPS);
+            tripIds.forEach(cache::evict);
+        });
+    }
+
+    boolean shouldRefreshEarly(CachedTripPage page) {
+        double gap = page.loadMillis() * earlyRefreshBeta * -Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= page.expiresAtMillis();
+    }
+
+    private CachedTripPage loadOnce(Cache cache, String key, Supplier<Page<TripResponse>> loader) {
+        // another request may have stored the page while this one waited to become the loader
+        CachedTripPage cached = cache.get(key, CachedTripPage.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        String token = UUID.randomUUID().toString();
+        if (tryLock(key, token)) {
+            try {
+                return loadAndStore(cache, key, loader);
+            } finally {
+                unlock(key, token);
+            }
+        }
+
+        long deadline = System.currentTimeMillis() + lockWaitMs;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(lockPollMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            cached = cache.get(key, CachedTripPage.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        log.debug("Gave up waiting for another instance to load trip page {}", key);
+        return loadAndStore(cache, key, loader);
+    }
+
+    private void refresh(Cache cache, String key, Supplier<Page<TripResponse>> loader) {
+        String token = UUID.randomUUID().toString();
+        if (!tryLock(key, token)) {
+            return;
+        }
+        try {
+            pageLoads.executeIfIdle(key, () -> loadAndStore(cache, key, loader));
+        } catch (Exception ex) {
+            log.warn("Early refresh of trip page {} failed, serving the cached page until it expires", key, ex);
+        } finally {
+            unlock(key, token);
+        }
+    }
+
+    private CachedTripPage loadAndStore(Cache cache, String key, Supplier<Page<TripResponse>> loader) {
+        long start = System.currentTimeMillis();
+        Page<TripResponse> result = loader.get();
+        long now = System.currentTimeMillis();
+        CachedTripPage page = CachedTripPage.of(result, now - start, now + ttl.toMillis());
+        cache.put(key, page);
+        return page;
+    }
+
+    private boolean tryLock(String key, String token) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockPrefix + key, token, lockTtl));
+        } catch (Exception ex) {
+            log.warn("Failed to take load lock for trip page {}, loading without it", key, ex);
+            return true;
+        }
+    }
+
+    private void unlock(String key, String token) {
+        try {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockPrefix + key), token);
+        } catch (Exception ex) {
+            log.warn("Failed to release load lock for trip page {}, it expires in {}", key, lockTtl, ex);
+        }
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + name);
+        }
+        return cache;
+    }
+
+    private void afterCommit(Runnable eviction) {
+        Runnable guarded = () -> {
+            try {
+                eviction.run();
+            } catch (Exception ex) {
+                log.warn("Failed to evict trip cache entries, they expire with the cache TTL", ex);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+}
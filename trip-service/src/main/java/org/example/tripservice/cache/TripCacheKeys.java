@@ -0,0 +1,58 @@
+package org.example.tripservice.cache;
+
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache names and key layout for trip caches.
+ * <p>
+ * Search pages are keyed {@code fromCity|toCity|date|page|size|sort}, with {@link #ANY} standing
+ * for an omitted filter, so every page of one search shares the prefix returned by
+ * {@link #searchPrefix}. A trip change only has to evict the prefixes of the searches that
+ * can contain it: its own route and date combined with the wildcard for each filter.
+ */
+public final class TripCacheKeys {
+
+    public static final String TRIPS = "trips";
+    public static final String TRIP_PAGES = "trip-pages";
+
+    static final String ANY = "~";
+    private static final char SEPARATOR = '|';
+
+    private TripCacheKeys() {}
+
+    public static String page(String fromCity, String toCity, LocalDate date, Pageable pageable) {
+        return searchPrefix(fromCity, toCity, date)
+                + pageable.getPageNumber() + SEPARATOR
+                + pageable.getPageSize() + SEPARATOR
+                + pageable.getSort();
+    }
+
+    public static String searchPrefix(String fromCity, String toCity, LocalDate date) {
+        return normalize(fromCity) + SEPARATOR
+                + normalize(toCity) + SEPARATOR
+                + (date != null ? date.toString() : ANY) + SEPARATOR;
+    }
+
+    /**
+     * Prefixes of every search whose results may include a trip on the given route and date.
+     */
+    public static List<String> affectedSearchPrefixes(String fromCity, String toCity, LocalDate date) {
+        List<String> prefixes = new ArrayList<>(8);
+        for (String from : new String[] {fromCity, null}) {
+            for (String to : new String[] {toCity, null}) {
+                for (LocalDate day : new LocalDate[] {date, null}) {
+                    prefixes.add(searchPrefix(from, to, day));
+                }
+            }
+        }
+        return prefixes;
+    }
+
+    private static String normalize(String city) {
+        return city == null || city.isBlank() ? ANY : city;
+    }
+}
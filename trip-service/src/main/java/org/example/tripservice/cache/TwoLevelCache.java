@@ -0,0 +1,174 @@
+package org.example.tripservice.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache with a bounded in-process Caffeine tier in front of a {@link RedisCache}.
+ * <p>
+ * Reads are served from the local tier and fall back to Redis, promoting what they find.
+ * Writes go to Redis first, then to the local tier, and are broadcast through
+ * {@link CacheInvalidationBus} so other instances drop their local copies. Local keys are the
+ * string form of the cache key, which is also what {@link RedisCache} stores.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final RedisCache remote;
+    private final CacheInvalidationBus invalidationBus;
+
+    public TwoLevelCache(
+            String name,
+            com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+            RedisCache remote,
+            CacheInvalidationBus invalidationBus) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(localKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Loads a missing value at most once per instance: concurrent callers for the same key wait
+     * on the local tier while one of them checks Redis and, on a miss there, runs the loader.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) local.get(localKey(key), k -> {
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                return wrapper.get();
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            }
+            if (value != null) {
+                remote.put(key, value);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        remote.put(key, value);
+        local.put(localKey(key), value);
+        invalidationBus.publish(name, CacheInvalidationBus.Operation.EVICT, localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            local.put(localKey(key), current);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        invalidationBus.publish(name, CacheInvalidationBus.Operation.EVICT, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        local.invalidate(localKey(key));
+        invalidationBus.publish(name, CacheInvalidationBus.Operation.EVICT, localKey(key));
+        return evicted;
+    }
+
+    /**
+     * Evicts every entry whose key starts with {@code prefix}. Redis keys are matched with a
+     * {@code SCAN} pattern, so this touches only the matching entries instead of the whole cache.
+     */
+    public void evictByPrefix(String prefix) {
+        String pattern = remote.getCacheConfiguration().getKeyPrefixFor(name) + escapeGlob(prefix) + "*";
+        remote.getNativeCache().clean(name, pattern.getBytes(StandardCharsets.UTF_8));
+        local.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        invalidationBus.publish(name, CacheInvalidationBus.Operation.EVICT_PREFIX, prefix);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationBus.publish(name, CacheInvalidationBus.Operation.CLEAR, null);
+    }
+
+    void invalidateLocal(CacheInvalidationBus.Operation operation, String key) {
+        switch (operation) {
+            case EVICT -> local.invalidate(key);
+            case EVICT_PREFIX -> local.asMap().keySet().removeIf(localKey -> localKey.startsWith(key));
+            case CLEAR -> local.invalidateAll();
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static String escapeGlob(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
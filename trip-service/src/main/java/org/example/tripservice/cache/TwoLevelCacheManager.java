@@ -0,0 +1,61 @@
+package org.example.tripservice.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps every cache of a {@link RedisCacheManager} in a {@link TwoLevelCache}. Each cache gets
+ * its own local tier bounded by {@code localMaxSize} entries and {@code localTtl}.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(
+            RedisCacheManager redisCacheManager,
+            CacheInvalidationBus invalidationBus,
+            long localMaxSize,
+            Duration localTtl) {
+        this.redisCacheManager = redisCacheManager;
+        this.invalidationBus = invalidationBus;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    private TwoLevelCache createCache(String name) {
+        RedisCache remote = (RedisCache) redisCacheManager.getCache(name);
+        TwoLevelCache cache = new TwoLevelCache(
+                name,
+                Caffeine.newBuilder()
+                        .maximumSize(localMaxSize)
+                        .expireAfterWrite(localTtl)
+                        .recordStats()
+                        .build(),
+                remote,
+                invalidationBus);
+        invalidationBus.register(cache);
+        return cache;
+    }
+}
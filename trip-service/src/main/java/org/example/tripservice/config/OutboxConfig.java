@@ -0,0 +1,31 @@
+package org.example.tripservice.config;
+
+import org.example.kafka.event.EventType;
+import org.example.kafka.event.TripArrivedEvent;
+import org.example.kafka.event.TripCancelledEvent;
+import org.example.kafka.event.TripCreatedEvent;
+import org.example.kafka.event.TripDepartedEvent;
+import org.example.kafka.event.TripUpdatedEvent;
+import org.example.outbox.OutboxEventRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public OutboxEventRegistry outboxEventRegistry() {
+        return OutboxEventRegistry.builder()
+                .register(EventType.TRIP_CREATED, TripCreatedEvent.class, "trip.created",
+                        event -> event.tripId().toString())
+                .register(EventType.TRIP_UPDATED, TripUpdatedEvent.class, "trip.updated",
+                        event -> event.tripId().toString())
+                .register(EventType.TRIP_CANCELLED, TripCancelledEvent.class, "trip.cancelled",
+                        event -> event.tripId().toString())
+                .register(EventType.TRIP_DEPARTED, TripDepartedEvent.class, "trip.departed",
+                        event -> event.tripId().toString())
+                .register(EventType.TRIP_ARRIVED, TripArrivedEvent.class, "trip.arrived",
+                        event -> event.tripId().toString())
+                .build();
+    }
+}
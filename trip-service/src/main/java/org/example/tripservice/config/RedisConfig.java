@@ -1,10 +1,22 @@
 package org.example.tripservice.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.tripservice.cache.CacheInvalidationBus;
+import org.example.tripservice.cache.CachedTripPage;
+import org.example.tripservice.cache.TripCacheKeys;
+import org.example.tripservice.cache.TwoLevelCacheManager;
+import org.example.tripservice.dto.response.TripResponse;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
@@ -26,4 +38,49 @@ public class RedisConfig {
                 .disableCachingNullValues()
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
     }
+
+    /**
+     * Caffeine near cache in front of Redis. Trip and search page caches get typed serializers
+     * so values read back from Redis are the cached types rather than maps.
+     */
+    @Bean
+    public CacheManager cacheManager(
+        RedisConnectionFactory connectionFactory,
+        RedisCacheConfiguration cacheConfiguration,
+        ObjectMapper objectMapper,
+        CacheInvalidationBus invalidationBus,
+        @Value("${trip.cache.local.max-size:10000}") long localMaxSize,
+        @Value("${trip.cache.local.ttl-seconds:60}") long localTtlSeconds
+    ) {
+        RedisCacheManager redisCacheManager = RedisCacheManager
+                .builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000)))
+                .cacheDefaults(cacheConfiguration)
+                .withCacheConfiguration(TripCacheKeys.TRIPS,
+                        typed(cacheConfiguration, objectMapper, TripResponse.class))
+                .withCacheConfiguration(TripCacheKeys.TRIP_PAGES,
+                        typed(cacheConfiguration, objectMapper, CachedTripPage.class))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(
+                redisCacheManager, invalidationBus, localMaxSize, Duration.ofSeconds(localTtlSeconds));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+        RedisConnectionFactory connectionFactory,
+        CacheInvalidationBus invalidationBus
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidationBus, new ChannelTopic(invalidationBus.getChannel()));
+        return container;
+    }
+
+    private static <T> RedisCacheConfiguration typed(
+        RedisCacheConfiguration defaults, ObjectMapper objectMapper, Class<T> type
+    ) {
+        return defaults.serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                new Jackson2JsonRedisSerializer<>(objectMapper, type)));
+    }
 }
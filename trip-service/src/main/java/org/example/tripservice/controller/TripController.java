@@ -18,6 +18,12 @@ import org.springframework.data.web.PageableDefault;
 import org.example.tripservice.dto.request.TripCreateRequest;
 import org.example.tripservice.dto.request.TripUpdateRequest;
 import org.example.tripservice.dto.response.TripResponse;
+import org.example.tripservice.dto.response.ConnectionResponse;
+import org.example.tripservice.search.ConnectionCriterion;
+import org.example.tripservice.service.ConnectionService;
+import org.example.pagination.CursorPage;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import org.example.tripservice.controller.docs.TripControllerDocs;
@@ -30,6 +36,7 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class TripController implements TripControllerDocs {
     private final TripService tripService;
+    private final ConnectionService connectionService;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
@@ -55,6 +62,33 @@ public class TripController implements TripControllerDocs {
         return ResponseEntity.ok(tripService.getTrips(fromCity, toCity, date, pageable));
     }
 
+    @Override
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<TripResponse>> scrollTrips(
+            @RequestParam(required = false) String fromCity,
+            @RequestParam(required = false) String toCity,
+            @RequestParam(required = false) LocalDate date,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(tripService.scrollTrips(fromCity, toCity, date, cursor, size, includeTotal));
+    }
+
+    @Override
+    @GetMapping("/connections")
+    public ResponseEntity<ConnectionResponse> getConnection(
+            @RequestParam String fromCity,
+            @RequestParam String toCity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departureAfter,
+            @RequestParam(defaultValue = "EARLIEST_ARRIVAL") ConnectionCriterion optimize,
+            @RequestParam(required = false) Integer minTransferMinutes,
+            @RequestParam(required = false) Integer maxTransfers
+    ) {
+        return ResponseEntity.ok(connectionService.findConnection(
+                fromCity, toCity, departureAfter, optimize, minTransferMinutes, maxTransfers));
+    }
+
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
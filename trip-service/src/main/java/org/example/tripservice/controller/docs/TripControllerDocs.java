@@ -7,11 +7,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.example.tripservice.dto.request.TripCreateRequest;
 import org.example.tripservice.dto.request.TripUpdateRequest;
 import org.example.tripservice.dto.response.TripResponse;
+import org.example.tripservice.dto.response.ConnectionResponse;
+import org.example.tripservice.search.ConnectionCriterion;
+import org.example.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Tag(name = "Рейсы", description = "API для управления рейсами (расписание, цены, места)")
@@ -37,6 +41,31 @@ public interface TripControllerDocs {
             Pageable pageable
     );
 
+    @Operation(summary = "Получить список рейсов (курсорная пагинация)", description = "Возвращает ближайшие рейсы в порядке отправления без OFFSET: стоимость любой страницы одинакова. Для следующей страницы передайте nextCursor из предыдущего ответа")
+    @ApiResponse(responseCode = "200", description = "Страница успешно получена")
+    @ApiResponse(responseCode = "400", description = "Некорректный курсор")
+    ResponseEntity<CursorPage<TripResponse>> scrollTrips(
+            @Parameter(description = "Город отправления") String fromCity,
+            @Parameter(description = "Город прибытия") String toCity,
+            @Parameter(description = "Дата отправления (YYYY-MM-DD)") LocalDate date,
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы") String cursor,
+            @Parameter(description = "Размер страницы (1-100, по умолчанию 20)") Integer size,
+            @Parameter(description = "Посчитать общее количество рейсов") boolean includeTotal
+    );
+
+    @Operation(summary = "Найти маршрут с пересадками", description = "Подбирает цепочку рейсов между городами: с самым ранним прибытием или самую дешевую")
+    @ApiResponse(responseCode = "200", description = "Маршрут найден")
+    @ApiResponse(responseCode = "400", description = "Некорректные параметры поиска")
+    @ApiResponse(responseCode = "404", description = "Подходящий маршрут не найден")
+    ResponseEntity<ConnectionResponse> getConnection(
+            @Parameter(description = "Город отправления") String fromCity,
+            @Parameter(description = "Город прибытия") String toCity,
+            @Parameter(description = "Отправление не раньше (YYYY-MM-DDTHH:MM:SS), по умолчанию сейчас") LocalDateTime departureAfter,
+            @Parameter(description = "Критерий: EARLIEST_ARRIVAL или CHEAPEST") ConnectionCriterion optimize,
+            @Parameter(description = "Минимальное время пересадки в минутах") Integer minTransferMinutes,
+            @Parameter(description = "Максимальное число пересадок") Integer maxTransfers
+    );
+
     @Operation(summary = "Обновить данные рейса")
     @ApiResponse(responseCode = "200", description = "Рейс успешно обновлен")
     @ApiResponse(responseCode = "404", description = "Рейс не найден")
@@ -0,0 +1,13 @@
+package org.example.tripservice.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ConnectionResponse(
+    List<TripResponse> legs,
+    LocalDateTime departureTime,
+    LocalDateTime arrivalTime,
+    BigDecimal totalPrice,
+    int transfers
+) {}
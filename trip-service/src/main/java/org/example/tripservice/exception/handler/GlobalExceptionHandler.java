@@ -2,6 +2,7 @@ package org.example.tripservice.exception.handler;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.example.tripservice.exception.ConnectionNotFoundException;
 import org.example.tripservice.exception.RouteNotFoundException;
 import org.example.tripservice.exception.TripNotFoundException;
 import org.springframework.http.HttpStatus;
@@ -19,7 +20,7 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler({RouteNotFoundException.class, TripNotFoundException.class})
+    @ExceptionHandler({RouteNotFoundException.class, TripNotFoundException.class, ConnectionNotFoundException.class})
     public ResponseEntity<ErrorResponse> handleNotFoundException(RuntimeException ex) {
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.NOT_FOUND.value(),
@@ -0,0 +1,44 @@
+package org.example.tripservice.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Lists the partitions of a topic for {@link TripEventsListener}, which assigns itself all of
+ * them instead of joining a consumer group. A topic that does not exist yet, or a broker that
+ * cannot be reached in time, yields partition 0 alone, which is what the broker auto-creates.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripEventPartitions {
+
+    private final ConsumerFactory<?, ?> consumerFactory;
+
+    @Value("${trip.search-index.partition-lookup-timeout-ms:10000}")
+    private long lookupTimeoutMs;
+
+    public String[] of(String topic) {
+        try (Consumer<?, ?> consumer = consumerFactory.createConsumer()) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(topic, Duration.ofMillis(lookupTimeoutMs));
+            if (partitions == null || partitions.isEmpty()) {
+                return new String[] {"0"};
+            }
+            return partitions.stream()
+                    .map(partition -> String.valueOf(partition.partition()))
+                    .toArray(String[]::new);
+        } catch (KafkaException e) {
+            log.warn("Could not list partitions of {}, listening on partition 0 only: {}", topic, e.getMessage());
+            return new String[] {"0"};
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.tripservice.kafka;
+
+import lombok.RequiredArgsConstructor;
+import org.example.kafka.event.TripCancelledEvent;
+import org.example.kafka.event.TripCreatedEvent;
+import org.example.kafka.event.TripDepartedEvent;
+import org.example.kafka.event.TripUpdatedEvent;
+import org.example.tripservice.search.TripSearchIndex;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the local {@link TripSearchIndex} current from this service's own outbox events.
+ * Every instance holds its own index and needs every event, so each one assigns itself all
+ * partitions of the trip topics without a consumer group. Nothing is committed and nothing is
+ * left behind in the broker across restarts; the listener starts at the end of each partition,
+ * and {@link org.example.tripservice.scheduler.TripSearchIndexScheduler} rebuilds the index
+ * once the application is ready.
+ */
+@Component
+@RequiredArgsConstructor
+public class TripEventsListener {
+
+    private final TripSearchIndex tripSearchIndex;
+
+    @KafkaListener(topicPartitions = @TopicPartition(topic = "trip.created",
+            partitions = "#{@tripEventPartitions.of('trip.created')}"))
+    public void onTripCreated(TripCreatedEvent event) {
+        tripSearchIndex.reload(event.tripId());
+    }
+
+    @KafkaListener(topicPartitions = @TopicPartition(topic = "trip.updated",
+            partitions = "#{@tripEventPartitions.of('trip.updated')}"))
+    public void onTripUpdated(TripUpdatedEvent event) {
+        tripSearchIndex.reload(event.tripId());
+    }
+
+    @KafkaListener(topicPartitions = @TopicPartition(topic = "trip.cancelled",
+            partitions = "#{@tripEventPartitions.of('trip.cancelled')}"))
+    public void onTripCancelled(TripCancelledEvent event) {
+        tripSearchIndex.remove(event.tripId());
+    }
+
+    @KafkaListener(topicPartitions = @TopicPartition(topic = "trip.departed",
+            partitions = "#{@tripEventPartitions.of('trip.departed')}"))
+    public void onTripDeparted(TripDepartedEvent event) {
+        tripSearchIndex.remove(event.tripId());
+    }
+}
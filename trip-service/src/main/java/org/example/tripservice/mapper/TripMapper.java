@@ -12,6 +12,7 @@ import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.example.kafka.event.TripCreatedEvent;
 import org.example.kafka.event.TripCancelledEvent;
+import org.example.kafka.event.TripUpdatedEvent;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -39,6 +40,11 @@ public interface TripMapper {
     @Mapping(target = "tripId", source = "trip.id")
     TripCreatedEvent toCreatedEvent(Trip trip);
 
+    @Mapping(target = "eventId", expression = "java(UUID.randomUUID())")
+    @Mapping(target = "updatedAt", expression = "java(Instant.now())")
+    @Mapping(target = "tripId", source = "trip.id")
+    TripUpdatedEvent toUpdatedEvent(Trip trip);
+
     @Mapping(target = "eventId", expression = "java(UUID.randomUUID())")
     @Mapping(target = "cancelledAt", expression = "java(Instant.now())")
     @Mapping(target = "tripId", source = "trip.id")
@@ -1,50 +0,0 @@
-package org.example.tripservice.model;
-
-import jakarta.persistence.*;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-import lombok.AllArgsConstructor;
-
-import java.time.LocalDateTime;
-import java.util.UUID;
-
-import org.example.kafka.event.EventType;
-
-
-@Entity
-@Table(name = "outbox_events")
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-public class OutboxEvent {
-
-    @Id
-    @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private UUID id;
-
-    @Column(name = "aggregate_id", nullable = false)
-    private UUID aggregateId;
-
-    @Column(name = "event_type", nullable = false, length = 100)
-    @Enumerated(EnumType.STRING)
-    private EventType eventType;
-
-    @Column(name = "payload_json", nullable = false, columnDefinition = "TEXT")
-    private String payloadJson;
-
-    @Column(nullable = false, length = 50)
-    @Enumerated(EnumType.STRING)
-    private OutboxStatus status = OutboxStatus.NEW;
-
-    @Column(name = "retry_count", nullable = false)
-    private Integer retryCount = 0;
-
-    @Column(name = "created_at", nullable = false, updatable = false)
-    private LocalDateTime createdAt = LocalDateTime.now();
-
-    @Column(name = "sent_at")
-    private LocalDateTime sentAt;
-}
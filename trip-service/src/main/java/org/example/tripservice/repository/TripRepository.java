@@ -26,6 +26,9 @@ public interface TripRepository extends JpaRepository<Trip, UUID>, JpaSpecificat
     @EntityGraph(attributePaths = {"route"})
     Optional<Trip> findById(UUID id);
 
+    @EntityGraph(attributePaths = {"route"})
+    List<Trip> findByDepartureTimeGreaterThanEqual(LocalDateTime departureTime);
+
     @Query(
         value = """
             UPDATE trips
@@ -0,0 +1,38 @@
+package org.example.tripservice.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tripservice.search.TripSearchIndex;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripSearchIndexScheduler {
+
+    private final TripSearchIndex tripSearchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Periodic full rebuild; catches changes made without an event, such as route renames,
+     * and events missed while the listener was not yet assigned its partitions.
+     */
+    @Scheduled(
+        initialDelayString = "${trip.search-index.rebuild-interval-ms:300000}",
+        fixedDelayString = "${trip.search-index.rebuild-interval-ms:300000}"
+    )
+    public void rebuild() {
+        try {
+            tripSearchIndex.rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild trip search index, searches fall back to the database until the next attempt", e);
+        }
+    }
+}
@@ -14,7 +14,8 @@ import java.time.Instant;
 import java.util.List;
 import java.nio.charset.StandardCharsets;
 import lombok.extern.slf4j.Slf4j;
-import org.example.tripservice.service.OutboxService;
+import org.example.outbox.service.OutboxService;
+import org.example.tripservice.cache.TripCache;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +24,7 @@ public class TripStatusScheduler {
 
     private final TripRepository tripRepository;
     private final OutboxService outboxService;
+    private final TripCache tripCache;
 
     @Scheduled(fixedRate = 60000) 
     @Transactional
@@ -39,6 +41,7 @@ public class TripStatusScheduler {
         if (ids.isEmpty()) {
             return;
         }
+        tripCache.evictTrips(ids);
     
         for (UUID id : ids) {
             UUID eventId = generateEventId(id, EventType.TRIP_DEPARTED);
@@ -53,6 +56,7 @@ public class TripStatusScheduler {
         if (ids.isEmpty()) {
             return;
         }
+        tripCache.evictTrips(ids);
     
         for (UUID id : ids) {
             UUID eventId = generateEventId(id, EventType.TRIP_ARRIVED);
@@ -0,0 +1,6 @@
+package org.example.tripservice.search;
+
+public enum ConnectionCriterion {
+    EARLIEST_ARRIVAL,
+    CHEAPEST
+}
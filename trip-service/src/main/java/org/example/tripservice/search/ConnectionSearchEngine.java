@@ -0,0 +1,79 @@
+package org.example.tripservice.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tripservice.dto.response.TripResponse;
+import org.example.tripservice.mapper.TripMapper;
+import org.example.tripservice.repository.TripRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-leg connection search over upcoming trips.
+ * <p>
+ * The timetable is derived from {@link TripSearchIndex} and rebuilt on the first query after
+ * the index changed, so it costs nothing while the schedule is stable. Until the index is
+ * loaded the timetable is read from the database on every query.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConnectionSearchEngine {
+
+    private final TripSearchIndex tripSearchIndex;
+    private final TripRepository tripRepository;
+    private final TripMapper tripMapper;
+
+    private volatile ConnectionTimetable timetable;
+
+    public List<TripResponse> search(
+            String fromCity,
+            String toCity,
+            LocalDateTime departAfter,
+            Duration searchWindow,
+            Duration minTransfer,
+            int maxLegs,
+            ConnectionCriterion criterion) {
+        ConnectionTimetable current = timetable();
+        LocalDateTime departBefore = departAfter.plus(searchWindow);
+        long transferSeconds = minTransfer.toSeconds();
+        return switch (criterion) {
+            case EARLIEST_ARRIVAL -> current.earliestArrival(
+                    fromCity, toCity, departAfter, departBefore, transferSeconds, maxLegs);
+            case CHEAPEST -> current.cheapest(
+                    fromCity, toCity, departAfter, departBefore, transferSeconds, maxLegs);
+        };
+    }
+
+    private ConnectionTimetable timetable() {
+        if (!tripSearchIndex.isReady()) {
+            return ConnectionTimetable.of(-1, tripRepository.findByDepartureTimeGreaterThanEqual(LocalDateTime.now())
+                    .stream()
+                    .map(tripMapper::toResponse)
+                    .toList());
+        }
+
+        ConnectionTimetable current = timetable;
+        long version = tripSearchIndex.version();
+        if (current != null && current.version() == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = timetable;
+            if (current == null || current.version() != version) {
+                long start = System.nanoTime();
+                List<TripResponse> trips = new ArrayList<>(tripSearchIndex.size());
+                tripSearchIndex.forEachTrip(trips::add);
+                current = ConnectionTimetable.of(version, trips);
+                timetable = current;
+                log.debug("Connection timetable rebuilt: {} connections in {} us",
+                        current.size(), (System.nanoTime() - start) / 1000);
+            }
+            return current;
+        }
+    }
+}
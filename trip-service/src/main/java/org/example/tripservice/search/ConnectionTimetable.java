@@ -0,0 +1,257 @@
+package org.example.tripservice.search;
+
+import org.example.tripservice.dto.response.TripResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable timetable for the Connection Scan Algorithm: every upcoming trip is one elementary
+ * connection between two cities, stored in parallel primitive arrays ordered by departure.
+ * <p>
+ * Queries scan connections forward from the requested departure time once, tracking the best
+ * state per city and number of legs. Because connections are scanned by departure and every
+ * arrival follows its departure, a state that could feed a connection is final by the time
+ * that connection is scanned, so each query is a single linear pass.
+ */
+final class ConnectionTimetable {
+
+    private static final long UNREACHED = Long.MAX_VALUE;
+    private static final int NONE = -1;
+
+    private final long version;
+    private final Map<String, Integer> cityIds;
+    private final int[] fromCity;
+    private final int[] toCity;
+    private final long[] departures;
+    private final long[] arrivals;
+    private final long[] prices;
+    private final TripResponse[] trips;
+
+    private ConnectionTimetable(long version, Map<String, Integer> cityIds, TripResponse[] trips) {
+        this.version = version;
+        this.cityIds = cityIds;
+        this.trips = trips;
+        this.fromCity = new int[trips.length];
+        this.toCity = new int[trips.length];
+        this.departures = new long[trips.length];
+        this.arrivals = new long[trips.length];
+        this.prices = new long[trips.length];
+        for (int i = 0; i < trips.length; i++) {
+            TripResponse trip = trips[i];
+            fromCity[i] = cityIds.get(trip.route().fromCity());
+            toCity[i] = cityIds.get(trip.route().toCity());
+            departures[i] = epochSecond(trip.departureTime());
+            arrivals[i] = epochSecond(trip.arrivalTime());
+            prices[i] = trip.price().movePointRight(2).longValue();
+        }
+    }
+
+    static ConnectionTimetable of(long version, Collection<TripResponse> trips) {
+        TripResponse[] sorted = trips.toArray(TripResponse[]::new);
+        Arrays.sort(sorted, Comparator.comparing(TripResponse::departureTime).thenComparing(TripResponse::id));
+        Map<String, Integer> cityIds = new HashMap<>();
+        for (TripResponse trip : sorted) {
+            cityIds.putIfAbsent(trip.route().fromCity(), cityIds.size());
+            cityIds.putIfAbsent(trip.route().toCity(), cityIds.size());
+        }
+        return new ConnectionTimetable(version, cityIds, sorted);
+    }
+
+    long version() {
+        return version;
+    }
+
+    int size() {
+        return trips.length;
+    }
+
+    /**
+     * Itinerary arriving first, preferring fewer legs among equally early ones.
+     */
+    List<TripResponse> earliestArrival(
+            String origin, String destination, LocalDateTime departAfter, LocalDateTime departBefore,
+            long minTransferSeconds, int maxLegs) {
+        Integer source = cityIds.get(origin);
+        Integer target = cityIds.get(destination);
+        if (source == null || target == null || source.equals(target)) {
+            return List.of();
+        }
+
+        int cities = cityIds.size();
+        long[][] arrivalAt = new long[maxLegs + 1][cities];
+        int[][] arrivedBy = new int[maxLegs + 1][cities];
+        for (int legs = 0; legs <= maxLegs; legs++) {
+            Arrays.fill(arrivalAt[legs], UNREACHED);
+            Arrays.fill(arrivedBy[legs], NONE);
+        }
+        arrivalAt[0][source] = epochSecond(departAfter);
+
+        long latestDeparture = epochSecond(departBefore);
+        long bestArrival = UNREACHED;
+        for (int c = firstDepartingFrom(arrivalAt[0][source]); c < trips.length; c++) {
+            long departure = departures[c];
+            if (departure > latestDeparture || departure >= bestArrival) {
+                break;
+            }
+            int from = fromCity[c];
+            int to = toCity[c];
+            for (int legs = 0; legs < maxLegs; legs++) {
+                long reached = arrivalAt[legs][from];
+                if (reached == UNREACHED || reached + (legs > 0 ? minTransferSeconds : 0) > departure) {
+                    continue;
+                }
+                if (arrivals[c] < arrivalAt[legs + 1][to]) {
+                    arrivalAt[legs + 1][to] = arrivals[c];
+                    arrivedBy[legs + 1][to] = c;
+                    if (to == target) {
+                        bestArrival = Math.min(bestArrival, arrivals[c]);
+                    }
+                }
+            }
+        }
+
+        int bestLegs = NONE;
+        for (int legs = 1; legs <= maxLegs; legs++) {
+            if (arrivalAt[legs][target] != UNREACHED
+                    && (bestLegs == NONE || arrivalAt[legs][target] < arrivalAt[bestLegs][target])) {
+                bestLegs = legs;
+            }
+        }
+        if (bestLegs == NONE) {
+            return List.of();
+        }
+
+        TripResponse[] itinerary = new TripResponse[bestLegs];
+        int city = target;
+        for (int legs = bestLegs; legs > 0; legs--) {
+            int c = arrivedBy[legs][city];
+            itinerary[legs - 1] = trips[c];
+            city = fromCity[c];
+        }
+        return List.of(itinerary);
+    }
+
+    /**
+     * Itinerary with the lowest total price, preferring the earlier arrival among equally cheap ones.
+     * Connections reaching a city are released for onward travel once the transfer time has passed
+     * by the departure being scanned, so the cheapest usable arrival per city and leg count only
+     * ever decreases during the scan.
+     */
+    List<TripResponse> cheapest(
+            String origin, String destination, LocalDateTime departAfter, LocalDateTime departBefore,
+            long minTransferSeconds, int maxLegs) {
+        Integer source = cityIds.get(origin);
+        Integer target = cityIds.get(destination);
+        if (source == null || target == null || source.equals(target)) {
+            return List.of();
+        }
+
+        int cities = cityIds.size();
+        int first = firstDepartingFrom(epochSecond(departAfter));
+        long latestDeparture = epochSecond(departBefore);
+
+        long[][] costTo = new long[maxLegs + 1][trips.length];
+        int[][] previous = new int[maxLegs + 1][trips.length];
+        long[][] cheapestAt = new long[maxLegs][cities];
+        int[][] cheapestVia = new int[maxLegs][cities];
+        List<List<PriorityQueue<Integer>>> waiting = new ArrayList<>(maxLegs);
+        for (int legs = 0; legs < maxLegs; legs++) {
+            Arrays.fill(cheapestAt[legs], UNREACHED);
+            Arrays.fill(cheapestVia[legs], NONE);
+            List<PriorityQueue<Integer>> perCity = new ArrayList<>(cities);
+            for (int city = 0; city < cities; city++) {
+                perCity.add(null);
+            }
+            waiting.add(perCity);
+        }
+        cheapestAt[0][source] = 0;
+
+        long bestCost = UNREACHED;
+        int bestConnection = NONE;
+        int bestLegs = NONE;
+        for (int c = first; c < trips.length && departures[c] <= latestDeparture; c++) {
+            int from = fromCity[c];
+            int to = toCity[c];
+            for (int legs = 0; legs < maxLegs; legs++) {
+                if (legs > 0) {
+                    release(legs, from, departures[c] - minTransferSeconds, waiting, costTo, cheapestAt, cheapestVia);
+                }
+                long reached = cheapestAt[legs][from];
+                if (reached == UNREACHED) {
+                    continue;
+                }
+
+                long cost = reached + prices[c];
+                costTo[legs + 1][c] = cost;
+                previous[legs + 1][c] = cheapestVia[legs][from];
+
+                if (to == target) {
+                    if (cost < bestCost || (cost == bestCost && arrivals[c] < arrivals[bestConnection])) {
+                        bestCost = cost;
+                        bestConnection = c;
+                        bestLegs = legs + 1;
+                    }
+                } else if (legs + 1 < maxLegs && cost < bestCost) {
+                    PriorityQueue<Integer> queue = waiting.get(legs + 1).get(to);
+                    if (queue == null) {
+                        queue = new PriorityQueue<>(Comparator.comparingLong(index -> arrivals[index]));
+                        waiting.get(legs + 1).set(to, queue);
+                    }
+                    queue.add(c);
+                }
+            }
+        }
+        if (bestConnection == NONE) {
+            return List.of();
+        }
+
+        TripResponse[] itinerary = new TripResponse[bestLegs];
+        int c = bestConnection;
+        for (int legs = bestLegs; legs > 0; legs--) {
+            itinerary[legs - 1] = trips[c];
+            c = previous[legs][c];
+        }
+        return List.of(itinerary);
+    }
+
+    private void release(
+            int legs, int city, long arrivedBy,
+            List<List<PriorityQueue<Integer>>> waiting,
+            long[][] costTo, long[][] cheapestAt, int[][] cheapestVia) {
+        PriorityQueue<Integer> queue = waiting.get(legs).get(city);
+        while (queue != null && !queue.isEmpty() && arrivals[queue.peek()] <= arrivedBy) {
+            int c = queue.poll();
+            if (costTo[legs][c] < cheapestAt[legs][city]) {
+                cheapestAt[legs][city] = costTo[legs][c];
+                cheapestVia[legs][city] = c;
+            }
+        }
+    }
+
+    private int firstDepartingFrom(long time) {
+        int low = 0;
+        int high = departures.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departures[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
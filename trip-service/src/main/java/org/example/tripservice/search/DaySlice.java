@@ -0,0 +1,105 @@
+package org.example.tripservice.search;
+
+import org.example.tripservice.dto.response.TripResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable trips of one route on one day, ordered by departure time (then id) in parallel
+ * arrays. Lookups binary-search the primitive departure array; changes build a new slice.
+ */
+final class DaySlice {
+
+    static final DaySlice EMPTY = new DaySlice(new long[0], new TripResponse[0]);
+
+    private final long[] departures;
+    private final TripResponse[] trips;
+
+    private DaySlice(long[] departures, TripResponse[] trips) {
+        this.departures = departures;
+        this.trips = trips;
+    }
+
+    static DaySlice of(List<TripResponse> trips) {
+        TripResponse[] sorted = trips.toArray(TripResponse[]::new);
+        Arrays.sort(sorted, DaySlice::compare);
+        long[] departures = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            departures[i] = epochSecond(sorted[i].departureTime());
+        }
+        return new DaySlice(departures, sorted);
+    }
+
+    int size() {
+        return trips.length;
+    }
+
+    TripResponse get(int index) {
+        return trips[index];
+    }
+
+    /**
+     * Index of the first trip departing at or after {@code time}, or {@link #size()} if none does.
+     */
+    int firstDepartingFrom(LocalDateTime time) {
+        // departures are whole seconds, so a fractional bound rounds up
+        long target = epochSecond(time) + (time.getNano() > 0 ? 1 : 0);
+        int low = 0;
+        int high = departures.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departures[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    DaySlice with(TripResponse trip) {
+        DaySlice without = without(trip.id());
+        int position = 0;
+        while (position < without.trips.length && compare(without.trips[position], trip) < 0) {
+            position++;
+        }
+
+        long[] departures = new long[without.departures.length + 1];
+        TripResponse[] trips = new TripResponse[without.trips.length + 1];
+        System.arraycopy(without.departures, 0, departures, 0, position);
+        System.arraycopy(without.trips, 0, trips, 0, position);
+        departures[position] = epochSecond(trip.departureTime());
+        trips[position] = trip;
+        System.arraycopy(without.departures, position, departures, position + 1, without.departures.length - position);
+        System.arraycopy(without.trips, position, trips, position + 1, without.trips.length - position);
+        return new DaySlice(departures, trips);
+    }
+
+    DaySlice without(UUID tripId) {
+        for (int i = 0; i < trips.length; i++) {
+            if (trips[i].id().equals(tripId)) {
+                long[] departures = new long[this.departures.length - 1];
+                TripResponse[] trips = new TripResponse[this.trips.length - 1];
+                System.arraycopy(this.departures, 0, departures, 0, i);
+                System.arraycopy(this.trips, 0, trips, 0, i);
+                System.arraycopy(this.departures, i + 1, departures, i, departures.length - i);
+                System.arraycopy(this.trips, i + 1, trips, i, trips.length - i);
+                return new DaySlice(departures, trips);
+            }
+        }
+        return this;
+    }
+
+    private static int compare(TripResponse left, TripResponse right) {
+        int byDeparture = left.departureTime().compareTo(right.departureTime());
+        return byDeparture != 0 ? byDeparture : left.id().compareTo(right.id());
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,261 @@
+package org.example.tripservice.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tripservice.dto.response.TripResponse;
+import org.example.tripservice.mapper.TripMapper;
+import org.example.tripservice.model.Trip;
+import org.example.tripservice.repository.TripRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of upcoming trips for route searches.
+ * <p>
+ * Trips are grouped by route and departure day into immutable {@link DaySlice}s, so a search
+ * for a route and date is a map lookup plus a binary search for the first trip that has not
+ * departed yet, and paging walks the slice arrays by index. Readers never lock; writers are
+ * serialized and replace whole slices.
+ * <p>
+ * The index is loaded from the database on startup and rebuilt periodically, and single trips
+ * are reloaded when their outbox events come back from Kafka. Searches the index cannot answer
+ * (a city left open, another sort order, or the index not loaded yet) return empty and are
+ * served from the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripSearchIndex {
+
+    private static final String DEPARTURE_TIME = "departureTime";
+
+    private final TripRepository tripRepository;
+    private final TripMapper tripMapper;
+    private final Object writeLock = new Object();
+    private final AtomicLong version = new AtomicLong();
+
+    @Value("${trip.search-index.enabled:true}")
+    private boolean enabled;
+
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    private volatile boolean ready;
+    private Set<UUID> changedDuringRebuild;
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Incremented on every change, so derived structures can tell when they are stale.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    public void forEachTrip(Consumer<TripResponse> action) {
+        snapshot.routes().values().forEach(days -> days.values().forEach(slice -> {
+            for (int i = 0; i < slice.size(); i++) {
+                action.accept(slice.get(i));
+            }
+        }));
+    }
+
+    public Optional<Page<TripResponse>> search(String fromCity, String toCity, LocalDate date, Pageable pageable) {
+        if (!isReady() || isBlank(fromCity) || isBlank(toCity) || pageable.isUnpaged() || !isSupported(pageable.getSort())) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        NavigableMap<LocalDate, DaySlice> days = snapshot.routes().get(new RouteKey(fromCity, toCity));
+        if (days == null || (date != null && date.isBefore(today))) {
+            return Optional.of(new PageImpl<>(List.of(), pageable, 0));
+        }
+
+        NavigableMap<LocalDate, DaySlice> range = date != null
+                ? days.subMap(date, true, date, true)
+                : days.tailMap(today, true);
+
+        long offset = pageable.getOffset();
+        int pageSize = pageable.getPageSize();
+        List<TripResponse> content = new ArrayList<>(pageSize);
+        long total = 0;
+        for (Map.Entry<LocalDate, DaySlice> day : range.entrySet()) {
+            DaySlice slice = day.getValue();
+            int first = day.getKey().equals(today) ? slice.firstDepartingFrom(now) : 0;
+            long sliceStart = total;
+            total += slice.size() - first;
+
+            if (content.size() < pageSize && offset < total) {
+                int index = first + (int) Math.max(0, offset - sliceStart);
+                while (index < slice.size() && content.size() < pageSize) {
+                    content.add(slice.get(index++));
+                }
+            }
+        }
+        return Optional.of(new PageImpl<>(content, pageable, total));
+    }
+
+    /**
+     * Replaces the index with the upcoming trips currently in the database. Trips changed
+     * while the rebuild was loading are reloaded afterwards so their updates are not lost.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            changedDuringRebuild = new HashSet<>();
+        }
+
+        Set<UUID> changed;
+        try {
+            long start = System.currentTimeMillis();
+            List<Trip> trips = tripRepository.findByDepartureTimeGreaterThanEqual(LocalDateTime.now());
+
+            Map<RouteKey, Map<LocalDate, List<TripResponse>>> grouped = new HashMap<>();
+            Map<UUID, Location> locations = new ConcurrentHashMap<>(trips.size());
+            for (Trip trip : trips) {
+                TripResponse response = tripMapper.toResponse(trip);
+                Location location = Location.of(response);
+                grouped.computeIfAbsent(location.route(), key -> new HashMap<>())
+                        .computeIfAbsent(location.day(), key -> new ArrayList<>())
+                        .add(response);
+                locations.put(response.id(), location);
+            }
+
+            Map<RouteKey, ConcurrentSkipListMap<LocalDate, DaySlice>> routes = new ConcurrentHashMap<>(grouped.size());
+            grouped.forEach((route, days) -> {
+                ConcurrentSkipListMap<LocalDate, DaySlice> slices = new ConcurrentSkipListMap<>();
+                days.forEach((day, dayTrips) -> slices.put(day, DaySlice.of(dayTrips)));
+                routes.put(route, slices);
+            });
+
+            synchronized (writeLock) {
+                snapshot = new Snapshot(routes, locations);
+                ready = true;
+                version.incrementAndGet();
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+            }
+            log.info("Trip search index rebuilt: {} trips on {} routes in {} ms",
+                    trips.size(), routes.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException ex) {
+            synchronized (writeLock) {
+                changedDuringRebuild = null;
+            }
+            throw ex;
+        }
+        changed.forEach(this::reload);
+    }
+
+    /**
+     * Reloads one trip from the database, indexing it if it has not departed and dropping it otherwise.
+     */
+    public void reload(UUID tripId) {
+        if (!enabled) {
+            return;
+        }
+        Optional<TripResponse> trip = tripRepository.findById(tripId)
+                .filter(found -> !found.getDepartureTime().isBefore(LocalDateTime.now()))
+                .map(tripMapper::toResponse);
+        synchronized (writeLock) {
+            markChanged(tripId);
+            removeLocked(tripId);
+            trip.ifPresent(this::addLocked);
+            version.incrementAndGet();
+        }
+    }
+
+    public void remove(UUID tripId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            markChanged(tripId);
+            removeLocked(tripId);
+            version.incrementAndGet();
+        }
+    }
+
+    public int size() {
+        return snapshot.locations().size();
+    }
+
+    private void addLocked(TripResponse trip) {
+        Location location = Location.of(trip);
+        snapshot.routes()
+                .computeIfAbsent(location.route(), key -> new ConcurrentSkipListMap<>())
+                .compute(location.day(), (day, slice) -> (slice != null ? slice : DaySlice.EMPTY).with(trip));
+        snapshot.locations().put(trip.id(), location);
+    }
+
+    private void removeLocked(UUID tripId) {
+        Location location = snapshot.locations().remove(tripId);
+        if (location == null) {
+            return;
+        }
+        ConcurrentSkipListMap<LocalDate, DaySlice> days = snapshot.routes().get(location.route());
+        if (days != null) {
+            days.computeIfPresent(location.day(), (day, slice) -> {
+                DaySlice remaining = slice.without(tripId);
+                return remaining.size() > 0 ? remaining : null;
+            });
+        }
+    }
+
+    private void markChanged(UUID tripId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(tripId);
+        }
+    }
+
+    private static boolean isSupported(Sort sort) {
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1
+                && orders.get(0).getProperty().equals(DEPARTURE_TIME)
+                && orders.get(0).isAscending();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record RouteKey(String fromCity, String toCity) {}
+
+    private record Location(RouteKey route, LocalDate day) {
+
+        static Location of(TripResponse trip) {
+            return new Location(
+                    new RouteKey(trip.route().fromCity(), trip.route().toCity()),
+                    trip.departureTime().toLocalDate());
+        }
+    }
+
+    private record Snapshot(
+            Map<RouteKey, ConcurrentSkipListMap<LocalDate, DaySlice>> routes,
+            Map<UUID, Location> locations) {}
+}
@@ -0,0 +1,79 @@
+package org.example.tripservice.service;
+
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tripservice.dto.response.ConnectionResponse;
+import org.example.tripservice.dto.response.TripResponse;
+import org.example.tripservice.exception.ConnectionNotFoundException;
+import org.example.tripservice.search.ConnectionCriterion;
+import org.example.tripservice.search.ConnectionSearchEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Observed(name = "connection.service")
+public class ConnectionService {
+
+    private final ConnectionSearchEngine connectionSearchEngine;
+
+    @Value("${trip.connections.min-transfer-minutes:30}")
+    private int defaultMinTransferMinutes;
+
+    @Value("${trip.connections.max-transfers:2}")
+    private int maxTransfers;
+
+    @Value("${trip.connections.search-window-hours:48}")
+    private int searchWindowHours;
+
+    public ConnectionResponse findConnection(
+            String fromCity,
+            String toCity,
+            LocalDateTime departureAfter,
+            ConnectionCriterion criterion,
+            Integer minTransferMinutes,
+            Integer transfers) {
+        if (fromCity.equals(toCity)) {
+            throw new IllegalArgumentException("Departure and arrival cities must differ");
+        }
+        int transferMinutes = minTransferMinutes != null ? minTransferMinutes : defaultMinTransferMinutes;
+        int allowedTransfers = transfers != null ? transfers : maxTransfers;
+        if (transferMinutes < 0 || allowedTransfers < 0 || allowedTransfers > maxTransfers) {
+            throw new IllegalArgumentException(
+                    "Transfer time must be non-negative and transfers between 0 and " + maxTransfers);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = departureAfter != null && departureAfter.isAfter(now) ? departureAfter : now;
+        log.info("Searching connections: from={}, to={}, after={}, criterion={}", fromCity, toCity, from, criterion);
+
+        List<TripResponse> legs = connectionSearchEngine.search(
+                fromCity,
+                toCity,
+                from,
+                Duration.ofHours(searchWindowHours),
+                Duration.ofMinutes(transferMinutes),
+                allowedTransfers + 1,
+                criterion);
+        if (legs.isEmpty()) {
+            throw new ConnectionNotFoundException("No connection found from " + fromCity + " to " + toCity);
+        }
+
+        BigDecimal totalPrice = legs.stream()
+                .map(TripResponse::price)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new ConnectionResponse(
+                legs,
+                legs.get(0).departureTime(),
+                legs.get(legs.size() - 1).arrivalTime(),
+                totalPrice,
+                legs.size() - 1);
+    }
+}
@@ -6,6 +6,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.kafka.event.TripCreatedEvent;
 import org.example.kafka.event.EventType;
 import org.example.kafka.event.TripCancelledEvent;
+import org.example.kafka.event.TripUpdatedEvent;
+import org.example.tripservice.cache.TripCache;
 import org.example.tripservice.dto.request.TripCreateRequest;
 import org.example.tripservice.dto.request.TripUpdateRequest;
 import org.example.tripservice.dto.response.TripResponse;
@@ -17,8 +19,14 @@ import org.example.tripservice.model.Trip;
 import org.example.tripservice.repository.RouteRepository;
 import org.example.tripservice.repository.TripRepository;
 import org.example.tripservice.repository.TripSpecifications;
+import org.example.tripservice.search.TripSearchIndex;
+import org.example.outbox.service.OutboxService;
+import org.example.pagination.Cursor;
+import org.example.pagination.CursorPage;
+import org.example.pagination.Keyset;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +37,8 @@ import org.springframework.cache.annotation.Cacheable;
 import io.micrometer.observation.annotation.Observed;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -37,13 +47,16 @@ import java.util.UUID;
 @CacheConfig(cacheNames = "trips")
 @Observed(name = "trip.service")
 public class TripService {
+    private static final String DEPARTURE_TIME = "departureTime";
+
     private final TripRepository tripRepository;
     private final RouteRepository routeRepository;
     private final TripMapper tripMapper;
     private final OutboxService outboxService;
+    private final TripCache tripCache;
+    private final TripSearchIndex tripSearchIndex;
 
     @Transactional
-    @CacheEvict(value = "trip-pages", allEntries = true)
     public TripResponse createTrip(TripCreateRequest request) {
         if (request.arrivalTime().isBefore(request.departureTime())) {
             throw new IllegalArgumentException("Arrival time cannot be before departure time");
@@ -61,6 +74,7 @@ public class TripService {
         
         TripCreatedEvent event = tripMapper.toCreatedEvent(savedTrip);
         outboxService.saveEvent(savedTrip.getId(), EventType.TRIP_CREATED, event);
+        evictSearches(savedTrip);
 
         return tripMapper.toResponse(savedTrip);
     }
@@ -73,28 +87,61 @@ public class TripService {
                 .orElseThrow(() -> new TripNotFoundException("Trip not found with id: " + id));
     }
 
-    @Cacheable(
-        cacheNames = "trip-pages",
-        key = "#fromCity + ':' + #toCity + ':' + #date + ':' + #pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort"
-    )
     public Page<TripResponse> getTrips(String fromCity, String toCity, LocalDate date, Pageable pageable) {
-        log.info("Searching trips: from={}, to={}, date={}", fromCity, toCity, date);
-        
-        Specification<Trip> spec = Specification.where(TripSpecifications.withFromCity(fromCity))
+        Optional<Page<TripResponse>> indexed = tripSearchIndex.search(fromCity, toCity, date, pageable);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
+        return tripCache.getPage(fromCity, toCity, date, pageable, () -> {
+            log.info("Searching trips: from={}, to={}, date={}", fromCity, toCity, date);
+
+            Specification<Trip> spec = Specification.where(TripSpecifications.withFromCity(fromCity))
+                    .and(TripSpecifications.withToCity(toCity))
+                    .and(TripSpecifications.withDepartureDate(date))
+                    .and(TripSpecifications.withDepartureNotInPast());
+
+            return tripRepository.findAll(spec, pageable)
+                    .map(tripMapper::toResponse);
+        });
+    }
+
+    /**
+     * Upcoming trips in departure order, continuing after {@code cursor}. Seeks on
+     * {@code (departure_time, id)} instead of skipping rows, so deep pages cost the same as the
+     * first one, and the count only runs when asked for. Pages are not cached: every cursor is
+     * its own key and would only churn the page cache.
+     */
+    public CursorPage<TripResponse> scrollTrips(
+            String fromCity, String toCity, LocalDate date, String cursor, Integer size, boolean includeTotal) {
+        int pageSize = Keyset.pageSize(size);
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+
+        Specification<Trip> filter = Specification.where(TripSpecifications.withFromCity(fromCity))
                 .and(TripSpecifications.withToCity(toCity))
                 .and(TripSpecifications.withDepartureDate(date))
                 .and(TripSpecifications.withDepartureNotInPast());
-                
-        return tripRepository.findAll(spec, pageable)
+        Specification<Trip> seek = after != null
+                ? filter.and(Keyset.after(DEPARTURE_TIME, after.localPosition(), after.id(), Sort.Direction.ASC))
+                : filter;
+
+        List<Trip> rows = tripRepository.findBy(seek, query -> query
+                .project("route")
+                .sortBy(Keyset.sort(DEPARTURE_TIME, Sort.Direction.ASC))
+                .limit(pageSize + 1)
+                .all());
+        Long total = includeTotal ? tripRepository.count(filter) : null;
+
+        return Keyset.page(rows, pageSize, trip -> Cursor.of(trip.getDepartureTime(), trip.getId()), total)
                 .map(tripMapper::toResponse);
     }
 
     @Transactional
     @CachePut(key = "#id")
-    @CacheEvict(value = "trip-pages", allEntries = true)
     public TripResponse updateTrip(UUID id, TripUpdateRequest request) {
         Trip trip = tripRepository.findById(id)
                 .orElseThrow(() -> new TripNotFoundException("Trip not found with id: " + id));
+        evictSearches(trip);
         
         if (request.departureTime() != null && request.arrivalTime() != null) {
             if (request.arrivalTime().isBefore(request.departureTime())) {
@@ -122,12 +169,15 @@ public class TripService {
         log.info("Trip updated: ID={}, New Time={}, New Route={}", 
                 updatedTrip.getId(), updatedTrip.getDepartureTime(), 
                 updatedTrip.getRoute() != null ? updatedTrip.getRoute().getId() : "N/A");
-        
+        TripUpdatedEvent event = tripMapper.toUpdatedEvent(updatedTrip);
+        outboxService.saveEvent(updatedTrip.getId(), EventType.TRIP_UPDATED, event);
+        evictSearches(updatedTrip);
+
         return tripMapper.toResponse(updatedTrip);
     }
 
     @Transactional
-    @CacheEvict(value = "trip-pages", allEntries = true)
+    @CacheEvict(key = "#id")
     public void deleteTripById(UUID id) {
         Trip trip = tripRepository.findById(id)
                 .orElseThrow(() -> new TripNotFoundException("Trip not found with id: " + id));
@@ -137,6 +187,12 @@ public class TripService {
         
         TripCancelledEvent event = tripMapper.toCancelledEvent(trip);
         outboxService.saveEvent(trip.getId(), EventType.TRIP_CANCELLED, event);
+        evictSearches(trip);
+    }
+
+    private void evictSearches(Trip trip) {
+        Route route = trip.getRoute();
+        tripCache.evictSearches(route.getFromCity(), route.getToCity(), trip.getDepartureTime().toLocalDate());
     }
 
 }
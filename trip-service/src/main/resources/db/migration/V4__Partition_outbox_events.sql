@@ -0,0 +1,43 @@
+-- Range-partition outbox_events by day. Sent history is retired a whole partition at a time
+-- by the outbox housekeeper instead of being deleted row by row, and the claim query
+-- only ever touches the partial index over unsent rows.
+ALTER TABLE outbox_events RENAME TO outbox_events_legacy;
+ALTER TABLE outbox_events_legacy RENAME CONSTRAINT outbox_events_pkey TO outbox_events_legacy_pkey;
+DROP INDEX IF EXISTS idx_outbox_status_created;
+DROP INDEX IF EXISTS idx_outbox_aggregate_id;
+
+CREATE TABLE outbox_events (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload_json TEXT NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'NEW',
+    retry_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE outbox_events_default PARTITION OF outbox_events DEFAULT;
+
+DO $$
+DECLARE
+    day DATE;
+BEGIN
+    FOR day IN SELECT generate_series(current_date, current_date + 3, INTERVAL '1 day')::date LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF outbox_events FOR VALUES FROM (%L) TO (%L)',
+            'outbox_events_p' || to_char(day, 'YYYYMMDD'), day, day + 1
+        );
+    END LOOP;
+END $$;
+
+CREATE INDEX idx_outbox_events_new ON outbox_events (created_at) WHERE status = 'NEW';
+CREATE INDEX idx_outbox_aggregate_id ON outbox_events (aggregate_id);
+
+INSERT INTO outbox_events (id, aggregate_id, event_type, payload_json, status, retry_count, created_at, sent_at)
+SELECT id, aggregate_id, event_type, payload_json, status, retry_count, created_at, sent_at
+FROM outbox_events_legacy
+WHERE status <> 'SENT';
+
+DROP TABLE outbox_events_legacy;
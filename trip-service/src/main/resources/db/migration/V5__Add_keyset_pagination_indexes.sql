@@ -0,0 +1,8 @@
+-- Keyset pagination seeks on (departure_time, id), optionally narrowed to one route.
+-- The composite indexes also serve the plain departure lookups, so the narrower ones go.
+CREATE INDEX idx_trip_route_departure_id ON trips (route_id, departure_time, id);
+CREATE INDEX idx_trip_departure_id ON trips (departure_time, id);
+
+DROP INDEX IF EXISTS idx_trip_departure;
+DROP INDEX IF EXISTS idx_trip_departure_only;
+DROP INDEX IF EXISTS idx_trip_route_departure;
@@ -0,0 +1,7 @@
+-- KEYS[1] lock key
+-- ARGV[1] token the lock was taken with
+-- Deletes the lock only while it is still held with that token; returns the number of keys removed.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
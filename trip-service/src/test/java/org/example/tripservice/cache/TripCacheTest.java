@@ -0,0 +1,140 @@
+package org.example.tripservice.cache;
+
+import org.example.tripservice.dto.response.TripResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TripCacheTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 1);
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ConcurrentMapCache pages = new ConcurrentMapCache(TripCacheKeys.TRIP_PAGES);
+    private final Pageable pageable = PageRequest.of(0, 10);
+    private TripCache tripCache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cacheManager.getCache(TripCacheKeys.TRIP_PAGES)).thenReturn(pages);
+        tripCache = new TripCache(cacheManager, redisTemplate, 10, 1.0, 1, "lock::", 5000, 500, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tripCache.shutdown();
+    }
+
+    @Test
+    void getPage_ConcurrentMissesShareOneLoad() throws Exception {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Page<TripResponse>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return tripCache.getPage("Minsk", "Grodno", DATE, pageable, () -> {
+                        loads.incrementAndGet();
+                        sleep(100);
+                        return new PageImpl<>(List.of(), pageable, 0);
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Page<TripResponse>> result : results) {
+                assertEquals(0, result.get().getTotalElements());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getPage_WaitsForPageLoadedByAnotherInstance() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        String key = TripCacheKeys.page("Minsk", "Grodno", DATE, pageable);
+        Thread otherInstance = new Thread(() -> {
+            sleep(50);
+            pages.put(key, new CachedTripPage(List.of(), 3, 5, Long.MAX_VALUE));
+        });
+        otherInstance.start();
+
+        Page<TripResponse> page = tripCache.getPage("Minsk", "Grodno", DATE, pageable, () -> {
+            throw new AssertionError("page should come from the other instance");
+        });
+
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void getPage_ServesFreshPageWithoutLoading() {
+        String key = TripCacheKeys.page("Minsk", "Grodno", DATE, pageable);
+        pages.put(key, new CachedTripPage(List.of(), 7, 5, System.currentTimeMillis() + 600_000));
+
+        Page<TripResponse> page = tripCache.getPage("Minsk", "Grodno", DATE, pageable, () -> {
+            throw new AssertionError("fresh page should not be reloaded");
+        });
+
+        assertEquals(7, page.getTotalElements());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldRefreshEarly_OnlyCloseToExpiry() {
+        long now = System.currentTimeMillis();
+
+        assertFalse(tripCache.shouldRefreshEarly(new CachedTripPage(List.of(), 0, 1, now + 600_000)));
+        assertTrue(tripCache.shouldRefreshEarly(new CachedTripPage(List.of(), 0, 1, now - 1)));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.tripservice.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private RedisCache remote;
+
+    @Mock
+    private RedisCacheWriter cacheWriter;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TwoLevelCache(
+                TripCacheKeys.TRIP_PAGES,
+                Caffeine.newBuilder().maximumSize(100).build(),
+                remote,
+                invalidationBus);
+    }
+
+    @Test
+    void get_PromotesRemoteHitToLocalTier() {
+        UUID key = UUID.randomUUID();
+        when(remote.get(key)).thenReturn(new SimpleValueWrapper("trip"));
+
+        assertEquals("trip", cache.get(key, String.class));
+        assertEquals("trip", cache.get(key, String.class));
+
+        verify(remote, times(1)).get(key);
+    }
+
+    @Test
+    void getWithLoader_LoadsOnceAndWritesThrough() {
+        AtomicInteger loads = new AtomicInteger();
+
+        String first = cache.get("key", () -> "value-" + loads.incrementAndGet());
+        String second = cache.get("key", () -> "value-" + loads.incrementAndGet());
+
+        assertEquals("value-1", first);
+        assertEquals("value-1", second);
+        verify(remote).put("key", "value-1");
+    }
+
+    @Test
+    void put_BroadcastsEviction() {
+        cache.put("key", "value");
+
+        verify(remote).put("key", "value");
+        verify(invalidationBus).publish(TripCacheKeys.TRIP_PAGES, CacheInvalidationBus.Operation.EVICT, "key");
+        assertEquals("value", cache.get("key", String.class));
+    }
+
+    @Test
+    void evictByPrefix_CleansMatchingEntriesOnly() {
+        when(remote.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig());
+        when(remote.getNativeCache()).thenReturn(cacheWriter);
+        cache.put("Moscow|Kazan|2030-01-01|0|10|UNSORTED", "kazan");
+        cache.put("Moscow|Tver|2030-01-01|0|10|UNSORTED", "tver");
+
+        cache.evictByPrefix("Moscow|Kazan|2030-01-01|");
+
+        verify(cacheWriter).clean(eq(TripCacheKeys.TRIP_PAGES),
+                eq("trip-pages::Moscow|Kazan|2030-01-01|*".getBytes(StandardCharsets.UTF_8)));
+        verify(invalidationBus).publish(TripCacheKeys.TRIP_PAGES,
+                CacheInvalidationBus.Operation.EVICT_PREFIX, "Moscow|Kazan|2030-01-01|");
+        assertFalse(((com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache())
+                .asMap().containsKey("Moscow|Kazan|2030-01-01|0|10|UNSORTED"));
+        assertEquals("tver", cache.get("Moscow|Tver|2030-01-01|0|10|UNSORTED", String.class));
+    }
+
+    @Test
+    void invalidateLocal_LeavesRedisUntouched() {
+        cache.put("key", "value");
+        clearInvocations(remote);
+        when(remote.get("key")).thenReturn(null);
+
+        cache.invalidateLocal(CacheInvalidationBus.Operation.EVICT, "key");
+
+        assertNull(cache.get("key"));
+        verify(remote).get("key");
+        verify(remote, never()).evict(any());
+    }
+}
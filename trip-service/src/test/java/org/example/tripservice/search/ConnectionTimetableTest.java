@@ -0,0 +1,109 @@
+package org.example.tripservice.search;
+
+import org.example.kafka.event.BusType;
+import org.example.tripservice.dto.response.RouteResponse;
+import org.example.tripservice.dto.response.TripResponse;
+import org.example.tripservice.model.TripStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionTimetableTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 3, 1, 0, 0);
+    private static final long TRANSFER = 30 * 60;
+
+    @Test
+    void earliestArrival_ChainsTripsThroughTransferCity() {
+        TripResponse toMinsk = trip("Гродно", "Минск", 8, 12, 20);
+        TripResponse toVitebsk = trip("Минск", "Витебск", 13, 17, 15);
+        ConnectionTimetable timetable = ConnectionTimetable.of(1, List.of(toVitebsk, toMinsk));
+
+        List<TripResponse> itinerary = timetable.earliestArrival("Гродно", "Витебск", DAY, DAY.plusDays(2), TRANSFER, 3);
+
+        assertEquals(List.of(toMinsk, toVitebsk), itinerary);
+    }
+
+    @Test
+    void earliestArrival_RespectsMinimumTransferTime() {
+        TripResponse toMinsk = trip("Гродно", "Минск", 8, 12, 20);
+        TripResponse tooSoon = trip("Минск", "Витебск", 12, 16, 15);
+        TripResponse later = trip("Минск", "Витебск", 14, 18, 15);
+        ConnectionTimetable timetable = ConnectionTimetable.of(1, List.of(toMinsk, tooSoon, later));
+
+        List<TripResponse> itinerary = timetable.earliestArrival("Гродно", "Витебск", DAY, DAY.plusDays(2), TRANSFER, 3);
+
+        assertEquals(List.of(toMinsk, later), itinerary);
+    }
+
+    @Test
+    void earliestArrival_PrefersDirectTripWhenItArrivesFirst() {
+        TripResponse direct = trip("Гродно", "Витебск", 9, 15, 60);
+        TripResponse toMinsk = trip("Гродно", "Минск", 8, 12, 20);
+        TripResponse toVitebsk = trip("Минск", "Витебск", 13, 17, 15);
+        ConnectionTimetable timetable = ConnectionTimetable.of(1, List.of(direct, toMinsk, toVitebsk));
+
+        List<TripResponse> itinerary = timetable.earliestArrival("Гродно", "Витебск", DAY, DAY.plusDays(2), TRANSFER, 3);
+
+        assertEquals(List.of(direct), itinerary);
+    }
+
+    @Test
+    void earliestArrival_LimitsNumberOfLegs() {
+        TripResponse toLida = trip("Гродно", "Лида", 6, 8, 5);
+        TripResponse toMinsk = trip("Лида", "Минск", 9, 11, 10);
+        TripResponse toVitebsk = trip("Минск", "Витебск", 12, 16, 15);
+        ConnectionTimetable timetable = ConnectionTimetable.of(1, List.of(toLida, toMinsk, toVitebsk));
+
+        assertEquals(3, timetable.earliestArrival("Гродно", "Витебск", DAY, DAY.plusDays(2), TRANSFER, 3).size());
+        assertTrue(timetable.earliestArrival("Гродно", "Витебск", DAY, DAY.plusDays(2), TRANSFER, 2).isEmpty());
+    }
+
+    @Test
+    void cheapest_PicksCheaperConnectionOverFasterDirectTrip() {
+        TripResponse direct = trip("Гродно", "Витебск", 9, 15, 60);
+        TripResponse toMinsk = trip("Гродно", "Минск", 8, 12, 20);
+        TripResponse toVitebsk = trip("Минск", "Витебск", 13, 17, 15);
+        ConnectionTimetable timetable = ConnectionTimetable.of(1, List.of(direct, toMinsk, toVitebsk));
+
+        List<TripResponse> itinerary = timetable.cheapest("Гродно", "Витебск", DAY, DAY.plusDays(2), TRANSFER, 3);
+
+        assertEquals(List.of(toMinsk, toVitebsk), itinerary);
+    }
+
+    @Test
+    void cheapest_IgnoresTripsDepartingBeforeRequestedTime() {
+        TripResponse cheapEarly = trip("Гродно", "Минск", 6, 10, 5);
+        TripResponse later = trip("Гродно", "Минск", 12, 16, 25);
+        ConnectionTimetable timetable = ConnectionTimetable.of(1, List.of(cheapEarly, later));
+
+        List<TripResponse> itinerary = timetable.cheapest("Гродно", "Минск", DAY.plusHours(11), DAY.plusDays(2), TRANSFER, 3);
+
+        assertEquals(List.of(later), itinerary);
+    }
+
+    @Test
+    void search_UnknownCityOrNoPathIsEmpty() {
+        ConnectionTimetable timetable = ConnectionTimetable.of(1, List.of(trip("Гродно", "Минск", 8, 12, 20)));
+
+        assertTrue(timetable.earliestArrival("Брест", "Минск", DAY, DAY.plusDays(2), TRANSFER, 3).isEmpty());
+        assertTrue(timetable.cheapest("Минск", "Гродно", DAY, DAY.plusDays(2), TRANSFER, 3).isEmpty());
+    }
+
+    private static TripResponse trip(String from, String to, int departureHour, int arrivalHour, int price) {
+        return new TripResponse(
+                UUID.randomUUID(),
+                new RouteResponse(UUID.randomUUID(), from, to),
+                DAY.plusHours(departureHour),
+                DAY.plusHours(arrivalHour),
+                BigDecimal.valueOf(price),
+                50,
+                TripStatus.SCHEDULED,
+                BusType.BUS_50);
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.tripservice.search;
+
+import org.example.kafka.event.BusType;
+import org.example.tripservice.dto.response.RouteResponse;
+import org.example.tripservice.dto.response.TripResponse;
+import org.example.tripservice.mapper.TripMapper;
+import org.example.tripservice.model.Trip;
+import org.example.tripservice.model.TripStatus;
+import org.example.tripservice.repository.TripRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TripSearchIndexTest {
+
+    private static final RouteResponse MINSK_GRODNO = new RouteResponse(UUID.randomUUID(), "Минск", "Гродно");
+    private static final RouteResponse MINSK_VITEBSK = new RouteResponse(UUID.randomUUID(), "Минск", "Витебск");
+
+    @Mock
+    private TripRepository tripRepository;
+
+    @Mock
+    private TripMapper tripMapper;
+
+    @InjectMocks
+    private TripSearchIndex tripSearchIndex;
+
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tripSearchIndex, "enabled", true);
+        tomorrow = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    void search_ReturnsRouteTripsForDateOrderedByDeparture() {
+        TripResponse late = trip(MINSK_GRODNO, tomorrow.atTime(18, 0));
+        TripResponse early = trip(MINSK_GRODNO, tomorrow.atTime(8, 0));
+        TripResponse otherRoute = trip(MINSK_VITEBSK, tomorrow.atTime(9, 0));
+        TripResponse otherDay = trip(MINSK_GRODNO, tomorrow.plusDays(1).atTime(9, 0));
+        load(late, early, otherRoute, otherDay);
+
+        Page<TripResponse> page = tripSearchIndex
+                .search("Минск", "Гродно", tomorrow, PageRequest.of(0, 10))
+                .orElseThrow();
+
+        assertEquals(List.of(early, late), page.getContent());
+        assertEquals(2, page.getTotalElements());
+    }
+
+    @Test
+    void search_PagesAcrossDaysWithoutDate() {
+        TripResponse first = trip(MINSK_GRODNO, tomorrow.atTime(8, 0));
+        TripResponse second = trip(MINSK_GRODNO, tomorrow.atTime(12, 0));
+        TripResponse third = trip(MINSK_GRODNO, tomorrow.plusDays(2).atTime(7, 0));
+        load(third, second, first);
+
+        Page<TripResponse> page = tripSearchIndex
+                .search("Минск", "Гродно", null, PageRequest.of(1, 2))
+                .orElseThrow();
+
+        assertEquals(List.of(third), page.getContent());
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void search_UnknownRouteIsEmptyPage() {
+        load(trip(MINSK_GRODNO, tomorrow.atTime(8, 0)));
+
+        Page<TripResponse> page = tripSearchIndex
+                .search("Гродно", "Брест", tomorrow, PageRequest.of(0, 10))
+                .orElseThrow();
+
+        assertTrue(page.isEmpty());
+        assertEquals(0, page.getTotalElements());
+    }
+
+    @Test
+    void search_FallsBackForOpenCityOrOtherSort() {
+        load(trip(MINSK_GRODNO, tomorrow.atTime(8, 0)));
+
+        assertTrue(tripSearchIndex.search(null, "Гродно", tomorrow, PageRequest.of(0, 10)).isEmpty());
+        assertTrue(tripSearchIndex.search("Минск", "Гродно", tomorrow,
+                PageRequest.of(0, 10, Sort.by("price"))).isEmpty());
+        assertTrue(tripSearchIndex.search("Минск", "Гродно", tomorrow,
+                PageRequest.of(0, 10, Sort.by("departureTime"))).isPresent());
+    }
+
+    @Test
+    void search_FallsBackUntilLoaded() {
+        assertTrue(tripSearchIndex.search("Минск", "Гродно", tomorrow, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void reload_MovesRescheduledTripAndRemoveDropsIt() {
+        TripResponse trip = trip(MINSK_GRODNO, tomorrow.atTime(8, 0));
+        load(trip);
+
+        TripResponse rescheduled = new TripResponse(trip.id(), MINSK_GRODNO, tomorrow.plusDays(1).atTime(8, 0),
+                tomorrow.plusDays(1).atTime(12, 0), trip.price(), trip.totalSeats(), TripStatus.SCHEDULED, trip.busType());
+        Trip entity = entity(rescheduled);
+        when(tripRepository.findById(trip.id())).thenReturn(Optional.of(entity));
+        when(tripMapper.toResponse(entity)).thenReturn(rescheduled);
+
+        tripSearchIndex.reload(trip.id());
+
+        assertEquals(0, tripSearchIndex.search("Минск", "Гродно", tomorrow, PageRequest.of(0, 10))
+                .orElseThrow().getTotalElements());
+        assertEquals(List.of(rescheduled), tripSearchIndex.search("Минск", "Гродно", tomorrow.plusDays(1),
+                PageRequest.of(0, 10)).orElseThrow().getContent());
+
+        tripSearchIndex.remove(trip.id());
+
+        assertEquals(0, tripSearchIndex.size());
+        assertEquals(0, tripSearchIndex.search("Минск", "Гродно", null, PageRequest.of(0, 10))
+                .orElseThrow().getTotalElements());
+    }
+
+    private void load(TripResponse... trips) {
+        List<Trip> entities = new ArrayList<>();
+        for (TripResponse trip : trips) {
+            Trip entity = entity(trip);
+            entities.add(entity);
+            when(tripMapper.toResponse(entity)).thenReturn(trip);
+        }
+        when(tripRepository.findByDepartureTimeGreaterThanEqual(any())).thenReturn(entities);
+        tripSearchIndex.rebuild();
+    }
+
+    private static Trip entity(TripResponse trip) {
+        Trip entity = new Trip();
+        entity.setId(trip.id());
+        entity.setDepartureTime(trip.departureTime());
+        entity.setArrivalTime(trip.arrivalTime());
+        return entity;
+    }
+
+    private static TripResponse trip(RouteResponse route, LocalDateTime departure) {
+        return new TripResponse(UUID.randomUUID(), route, departure, departure.plusHours(4),
+                BigDecimal.valueOf(30), 50, TripStatus.SCHEDULED, BusType.BUS_50);
+    }
+}
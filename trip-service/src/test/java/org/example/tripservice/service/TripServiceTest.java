@@ -1,6 +1,8 @@
 package org.example.tripservice.service;
 
 import org.example.kafka.event.TripCreatedEvent;
+import org.example.tripservice.cache.TripCache;
+import org.example.tripservice.search.TripSearchIndex;
 import org.example.tripservice.dto.request.TripCreateRequest;
 import org.example.tripservice.dto.response.RouteResponse;
 import org.example.tripservice.dto.response.TripResponse;
@@ -9,12 +11,16 @@ import org.example.tripservice.model.Route;
 import org.example.tripservice.model.Trip;
 import org.example.tripservice.repository.RouteRepository;
 import org.example.tripservice.repository.TripRepository;
+import org.example.outbox.service.OutboxService;
+import org.example.pagination.Cursor;
+import org.example.pagination.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
 import org.example.tripservice.model.TripStatus;
 import org.example.kafka.event.BusType;
@@ -23,6 +29,7 @@ import org.example.kafka.event.EventType;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -46,6 +53,12 @@ class TripServiceTest {
     @Mock
     private OutboxService outboxService;
 
+    @Mock
+    private TripCache tripCache;
+
+    @Mock
+    private TripSearchIndex tripSearchIndex;
+
     @InjectMocks
     private TripService tripService;
 
@@ -98,6 +111,7 @@ class TripServiceTest {
         assertEquals(tripId, result.id());
         verify(tripRepository).save(any(Trip.class));
         verify(outboxService).saveEvent(tripId, EventType.TRIP_CREATED, event);
+        verify(tripCache).evictSearches("Moscow", "Saint Petersburg", trip.getDepartureTime().toLocalDate());
     }
 
     @Test
@@ -107,7 +121,26 @@ class TripServiceTest {
                 BigDecimal.valueOf(1500), BusType.BUS_50);
 
         assertThrows(IllegalArgumentException.class, () -> tripService.createTrip(request));
-        verifyNoInteractions(routeRepository, tripRepository, outboxService);
+        verifyNoInteractions(routeRepository, tripRepository, outboxService, tripCache);
     }
-}
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void scrollTrips_ReturnsCursorOfLastTripAndSkipsCount() {
+        Trip later = new Trip();
+        later.setId(UUID.randomUUID());
+        later.setRoute(route);
+        later.setDepartureTime(trip.getDepartureTime().plusHours(2));
+        doReturn(List.of(trip, later)).when(tripRepository).findBy(any(Specification.class), any());
+        when(tripMapper.toResponse(trip)).thenReturn(tripResponse);
+
+        CursorPage<TripResponse> page = tripService.scrollTrips("Moscow", "Saint Petersburg", null, null, 1, false);
+
+        assertEquals(List.of(tripResponse), page.content());
+        assertTrue(page.hasNext());
+        assertEquals(Cursor.of(trip.getDepartureTime(), tripId), Cursor.decode(page.nextCursor()));
+        assertNull(page.totalElements());
+        verify(tripRepository, never()).count(any(Specification.class));
+        verifyNoInteractions(tripCache);
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.userservice.controller.docs.UserControllerDocs;
 import org.example.userservice.dto.response.UserResponse;
 import org.example.userservice.service.UserService;
+import org.example.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -39,6 +40,16 @@ public class UserController implements UserControllerDocs {
         return ResponseEntity.ok(users);
     }
 
+    @Override
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<UserResponse>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(userService.scrollUsers(cursor, size, includeTotal));
+    }
+
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable UUID id) {
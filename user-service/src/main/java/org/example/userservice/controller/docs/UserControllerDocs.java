@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.pagination.CursorPage;
 import org.example.userservice.dto.response.UserResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +33,22 @@ public interface UserControllerDocs {
             @Parameter(description = "Sorting, e.g. createdAt,desc") String sort
     );
 
+    @Operation(
+        summary = "Scroll users",
+        description = "Returns user profiles newest first using keyset pagination. Pass nextCursor from the previous "
+                + "response to get the next page; the total count is only computed when includeTotal is set",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Page of users fetched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "403", description = "Access denied (ADMIN only)")
+        }
+    )
+    ResponseEntity<CursorPage<UserResponse>> scrollUsers(
+            @Parameter(description = "Cursor from nextCursor of the previous page") String cursor,
+            @Parameter(description = "Number of items per page (1-100, default 20)") Integer size,
+            @Parameter(description = "Whether to compute the total number of users") boolean includeTotal
+    );
+
     @Operation(
         summary = "Get user profile by id",
         description = "Returns profile data for a specific user",
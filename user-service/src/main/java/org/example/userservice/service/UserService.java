@@ -11,10 +11,14 @@ import org.example.userservice.mapper.UserMapper;
 import org.example.userservice.model.User;
 import org.example.userservice.repository.UserRepository;
 import org.example.userservice.util.SecurityUtils;
+import org.example.pagination.Cursor;
+import org.example.pagination.CursorPage;
+import org.example.pagination.Keyset;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -25,6 +29,8 @@ import java.util.UUID;
 @Slf4j
 public class UserService {
 
+    private static final String CREATED_AT = "createdAt";
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
 
@@ -77,6 +83,29 @@ public class UserService {
                 .map(userMapper::toUserResponse);
     }
 
+    /**
+     * Newest users first, continuing after {@code cursor}. Unlike the offset listing this seeks on
+     * {@code (created_at, id)}, so deep pages cost the same as the first one.
+     */
+    @Transactional
+    public CursorPage<UserResponse> scrollUsers(String cursor, Integer size, boolean includeTotal) {
+        int pageSize = Keyset.pageSize(size);
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+
+        log.info("Admin requested users scroll: size={}, after={}", pageSize, after);
+        Specification<User> seek = after != null
+                ? Keyset.after(CREATED_AT, after.position(), after.id(), Sort.Direction.DESC)
+                : (root, query, cb) -> null;
+        List<User> rows = userRepository.findBy(seek, query -> query
+                .sortBy(Keyset.sort(CREATED_AT, Sort.Direction.DESC))
+                .limit(pageSize + 1)
+                .all());
+        Long total = includeTotal ? userRepository.count() : null;
+
+        return Keyset.page(rows, pageSize, user -> new Cursor(user.getCreatedAt(), user.getId()), total)
+                .map(userMapper::toUserResponse);
+    }
+
     @Transactional
     public UserResponse getUserById(UUID userId) {
         log.info("Admin requested user profile {}", userId);
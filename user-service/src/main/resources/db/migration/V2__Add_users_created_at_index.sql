@@ -0,0 +1,2 @@
+-- Keyset pagination of the admin user list seeks on (created_at, id) newest first
+CREATE INDEX idx_users_created_id ON users (created_at DESC, id DESC);
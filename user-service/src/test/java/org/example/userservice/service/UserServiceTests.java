@@ -7,6 +7,9 @@ import org.example.userservice.exception.UserNotFoundException;
 import org.example.userservice.mapper.UserMapper;
 import org.example.userservice.model.User;
 import org.example.userservice.repository.UserRepository;
+import org.example.pagination.Cursor;
+import org.example.pagination.CursorPage;
+import org.example.pagination.InvalidCursorException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.Instant;
 import java.util.Collections;
@@ -152,6 +156,30 @@ class UserServiceTests {
         verify(userMapper, never()).toUserResponse(any(User.class));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void scrollUsers_MoreUsersExist_ReturnsNextCursor() {
+        User older = new User();
+        older.setId(UUID.randomUUID());
+        older.setCreatedAt(user.getCreatedAt().minusSeconds(60));
+        doReturn(List.of(user, older)).when(userRepository).findBy(any(Specification.class), any());
+        when(userMapper.toUserResponse(user)).thenReturn(userResponse);
+
+        CursorPage<UserResponse> result = userService.scrollUsers(null, 1, false);
+
+        assertEquals(List.of(userResponse), result.content());
+        assertTrue(result.hasNext());
+        assertEquals(new Cursor(user.getCreatedAt(), userId), Cursor.decode(result.nextCursor()));
+        assertNull(result.totalElements());
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    void scrollUsers_InvalidCursor_ThrowsException() {
+        assertThrows(InvalidCursorException.class, () -> userService.scrollUsers("not a cursor", 10, false));
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void getUserById_UserFound_ReturnsUserResponse() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));